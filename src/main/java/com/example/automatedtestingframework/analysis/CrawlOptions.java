@@ -0,0 +1,15 @@
+package com.example.automatedtestingframework.analysis;
+
+/**
+ * User supplied limits for a breadth-first crawl of the analysed site.
+ */
+public record CrawlOptions(int maxDepth, int maxPages) {
+
+    public static final int MAX_DEPTH_LIMIT = 10;
+    public static final int MAX_PAGES_LIMIT = 5000;
+
+    public CrawlOptions {
+        maxDepth = Math.max(0, Math.min(maxDepth, MAX_DEPTH_LIMIT));
+        maxPages = Math.max(1, Math.min(maxPages, MAX_PAGES_LIMIT));
+    }
+}
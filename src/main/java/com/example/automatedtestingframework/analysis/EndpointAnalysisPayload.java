@@ -7,8 +7,16 @@ public record EndpointAnalysisPayload(
     List<FileResourceFinding> fileResources,
     List<HtmlEndpointFinding> htmlEndpoints,
     List<NetworkRequestFinding> networkRequests,
-    List<String> issues
+    List<String> issues,
+    CrawlSummary crawl
 ) {
+    public EndpointAnalysisPayload(List<FileResourceFinding> fileResources,
+                                   List<HtmlEndpointFinding> htmlEndpoints,
+                                   List<NetworkRequestFinding> networkRequests,
+                                   List<String> issues) {
+        this(fileResources, htmlEndpoints, networkRequests, issues, null);
+    }
+
     public EndpointAnalysisPayload {
         fileResources = fileResources != null ? fileResources : new ArrayList<>();
         htmlEndpoints = htmlEndpoints != null ? htmlEndpoints : new ArrayList<>();
@@ -37,4 +45,12 @@ public record EndpointAnalysisPayload(
         int statusCode,
         String contentType
     ) { }
+
+    public record CrawlSummary(
+        int pagesVisited,
+        int depthReached,
+        int sitemapSeeds,
+        int disallowedByRobots,
+        boolean truncated
+    ) { }
 }
@@ -0,0 +1,47 @@
+package com.example.automatedtestingframework.analysis;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public final class HtmlEndpointExtractor {
+
+    private HtmlEndpointExtractor() {
+    }
+
+    public static Set<EndpointAnalysisPayload.HtmlEndpointFinding> extract(Document document) {
+        Set<EndpointAnalysisPayload.HtmlEndpointFinding> results = new LinkedHashSet<>();
+
+        for (Element link : document.select("a[href]")) {
+            String href = link.attr("abs:href");
+            if (!href.isBlank()) {
+                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("a", href.strip(), link.text()));
+            }
+        }
+
+        for (Element script : document.select("script[src]")) {
+            String src = script.attr("abs:src");
+            if (!src.isBlank()) {
+                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("script", src.strip(), ""));
+            }
+        }
+
+        for (Element resource : document.select("link[href]")) {
+            String href = resource.attr("abs:href");
+            if (!href.isBlank()) {
+                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("link", href.strip(), resource.attr("rel")));
+            }
+        }
+
+        for (Element form : document.select("form[action]")) {
+            String action = form.attr("abs:action");
+            if (!action.isBlank()) {
+                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("form", action.strip(), form.attr("method")));
+            }
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.automatedtestingframework.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal robots.txt evaluator: picks the group naming our product token (falling back to
+ * {@code *}) and applies the longest matching Allow/Disallow rule, supporting the {@code *} and
+ * {@code $} wildcards. A group for our agent replaces the {@code *} group even when it allows
+ * everything.
+ */
+public final class RobotsRules {
+
+    private static final RobotsRules ALLOW_ALL = new RobotsRules(List.of());
+
+    private final List<Rule> rules;
+
+    private RobotsRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static RobotsRules allowAll() {
+        return ALLOW_ALL;
+    }
+
+    public static RobotsRules parse(String robotsTxt, String userAgent) {
+        if (robotsTxt == null || robotsTxt.isBlank()) {
+            return ALLOW_ALL;
+        }
+        String agentToken = productToken(userAgent);
+
+        List<Rule> specific = new ArrayList<>();
+        List<Rule> wildcard = new ArrayList<>();
+        boolean specificGroupSeen = false;
+        boolean matchesAgent = false;
+        boolean matchesWildcard = false;
+        boolean readingAgents = false;
+
+        for (String rawLine : robotsTxt.split("\\r?\\n")) {
+            String line = stripComment(rawLine);
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String field = line.substring(0, colon).trim().toLowerCase(Locale.ENGLISH);
+            String value = line.substring(colon + 1).trim();
+
+            if ("user-agent".equals(field)) {
+                if (!readingAgents) {
+                    matchesAgent = false;
+                    matchesWildcard = false;
+                }
+                readingAgents = true;
+                if ("*".equals(value)) {
+                    matchesWildcard = true;
+                } else if (!value.isEmpty() && agentToken.equals(productToken(value))) {
+                    matchesAgent = true;
+                    specificGroupSeen = true;
+                }
+                continue;
+            }
+
+            readingAgents = false;
+            if (!"allow".equals(field) && !"disallow".equals(field)) {
+                continue;
+            }
+            if (value.isEmpty()) {
+                // An empty Disallow permits everything and carries no rule
+                continue;
+            }
+            Rule rule = new Rule(value, toPattern(value), "allow".equals(field));
+            if (matchesAgent) {
+                specific.add(rule);
+            }
+            if (matchesWildcard) {
+                wildcard.add(rule);
+            }
+        }
+
+        List<Rule> selected = specificGroupSeen ? specific : wildcard;
+        return selected.isEmpty() ? ALLOW_ALL : new RobotsRules(List.copyOf(selected));
+    }
+
+    public boolean isAllowed(String pathAndQuery) {
+        String target = pathAndQuery == null || pathAndQuery.isEmpty() ? "/" : pathAndQuery;
+        Rule best = null;
+        for (Rule rule : rules) {
+            if (!rule.pattern().matcher(target).lookingAt()) {
+                continue;
+            }
+            if (best == null
+                || rule.value().length() > best.value().length()
+                || (rule.value().length() == best.value().length() && rule.allow())) {
+                best = rule;
+            }
+        }
+        return best == null || best.allow();
+    }
+
+    private static String productToken(String userAgent) {
+        return userAgent.trim().split("[/\\s]", 2)[0].toLowerCase(Locale.ENGLISH);
+    }
+
+    private static String stripComment(String line) {
+        int hash = line.indexOf('#');
+        return hash >= 0 ? line.substring(0, hash) : line;
+    }
+
+    private static Pattern toPattern(String value) {
+        boolean anchored = value.endsWith("$");
+        String body = anchored ? value.substring(0, value.length() - 1) : value;
+        StringBuilder regex = new StringBuilder();
+        for (String part : body.split("\\*", -1)) {
+            if (!regex.isEmpty()) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        if (anchored) {
+            regex.append('$');
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private record Rule(String value, Pattern pattern, boolean allow) { }
+}
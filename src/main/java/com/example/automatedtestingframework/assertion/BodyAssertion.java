@@ -0,0 +1,43 @@
+package com.example.automatedtestingframework.assertion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A structural check against a JSON response, compiled from one entry of a request's
+ * {@code assertions} array, e.g. {@code {"path": "$.items", "length": 3}}.
+ */
+public record BodyAssertion(JsonPath path, Kind kind, JsonNode expected) {
+
+    public enum Kind {
+        EXISTS,
+        NOT_EXISTS,
+        EQUALS,
+        LENGTH,
+        SCHEMA;
+
+        boolean needsValue() {
+            return this == EQUALS || this == SCHEMA;
+        }
+    }
+
+    public static BodyAssertion fromDefinition(JsonNode node) {
+        JsonPath path = JsonPath.parse(node.path("path").asText("$"));
+        if (node.has("equals")) {
+            return new BodyAssertion(path, Kind.EQUALS, node.get("equals"));
+        }
+        if (node.has("length")) {
+            if (!node.get("length").canConvertToInt()) {
+                throw new IllegalArgumentException("Assertion length must be an integer for " + path);
+            }
+            return new BodyAssertion(path, Kind.LENGTH, node.get("length"));
+        }
+        if (node.has("schema")) {
+            if (!node.get("schema").isObject()) {
+                throw new IllegalArgumentException("Assertion schema must be an object for " + path);
+            }
+            return new BodyAssertion(path, Kind.SCHEMA, node.get("schema"));
+        }
+        boolean exists = node.path("exists").asBoolean(true);
+        return new BodyAssertion(path, exists ? Kind.EXISTS : Kind.NOT_EXISTS, null);
+    }
+}
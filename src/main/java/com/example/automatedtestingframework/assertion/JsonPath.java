@@ -0,0 +1,94 @@
+package com.example.automatedtestingframework.assertion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JSONPath subset supported by body assertions: {@code $}, {@code .name}, {@code ['name']},
+ * {@code [n]}, {@code [*]} and {@code .*}. Filters and recursive descent are not supported so that
+ * every path can be resolved in a single forward pass over the token stream.
+ */
+public record JsonPath(String expression, List<Segment> segments) {
+
+    public record Segment(String name, int index, boolean wildcard) {
+
+        static Segment field(String name) {
+            return new Segment(name, -1, false);
+        }
+
+        static Segment element(int index) {
+            return new Segment(null, index, false);
+        }
+
+        static Segment any() {
+            return new Segment(null, -1, true);
+        }
+
+        public boolean matchesField(String field) {
+            return wildcard || (name != null && name.equals(field));
+        }
+
+        public boolean matchesIndex(int position) {
+            return wildcard || (name == null && index == position);
+        }
+    }
+
+    public JsonPath {
+        segments = List.copyOf(segments);
+    }
+
+    public static JsonPath parse(String expression) {
+        String path = expression == null ? "" : expression.strip();
+        if (!path.startsWith("$")) {
+            throw new IllegalArgumentException("JSONPath must start with '$': " + expression);
+        }
+        List<Segment> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                int end = i + 1;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                String name = path.substring(i + 1, end);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Empty segment in JSONPath: " + expression);
+                }
+                segments.add("*".equals(name) ? Segment.any() : Segment.field(name));
+                i = end;
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed bracket in JSONPath: " + expression);
+                }
+                String inner = path.substring(i + 1, close).strip();
+                if ("*".equals(inner)) {
+                    segments.add(Segment.any());
+                } else if (inner.length() >= 2 && (inner.startsWith("'") && inner.endsWith("'")
+                    || inner.startsWith("\"") && inner.endsWith("\""))) {
+                    segments.add(Segment.field(inner.substring(1, inner.length() - 1)));
+                } else {
+                    try {
+                        segments.add(Segment.element(Integer.parseInt(inner)));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Unsupported JSONPath segment [" + inner + "] in " + expression);
+                    }
+                }
+                i = close + 1;
+            } else {
+                throw new IllegalArgumentException("Unexpected '" + c + "' in JSONPath: " + expression);
+            }
+        }
+        return new JsonPath(path, segments);
+    }
+
+    public boolean hasWildcard() {
+        return segments.stream().anyMatch(Segment::wildcard);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
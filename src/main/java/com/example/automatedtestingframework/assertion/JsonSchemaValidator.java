@@ -0,0 +1,155 @@
+package com.example.automatedtestingframework.assertion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.DoublePredicate;
+import java.util.regex.Pattern;
+
+/**
+ * Validates a JSON value against the commonly used subset of JSON Schema (draft 7): {@code type},
+ * {@code enum}, {@code const}, {@code required}, {@code properties}, {@code additionalProperties},
+ * {@code items}, the size and range keywords, and {@code pattern}. Unknown keywords are ignored.
+ */
+public final class JsonSchemaValidator {
+
+    private static final int MAX_ERRORS = 5;
+
+    private JsonSchemaValidator() {
+    }
+
+    public static List<String> validate(JsonNode schema, JsonNode value) {
+        List<String> errors = new ArrayList<>();
+        validate(schema, value, "$", errors);
+        return errors;
+    }
+
+    private static void validate(JsonNode schema, JsonNode value, String at, List<String> errors) {
+        if (errors.size() >= MAX_ERRORS || schema == null || !schema.isObject()) {
+            return;
+        }
+        JsonNode type = schema.get("type");
+        if (type != null && !matchesType(type, value)) {
+            errors.add("%s: expected type %s but was %s".formatted(at, type.isArray() ? type.toString() : type.asText(), typeOf(value)));
+            return;
+        }
+        if (schema.has("const") && !JsonValues.equivalent(schema.get("const"), value)) {
+            errors.add("%s: expected %s".formatted(at, schema.get("const")));
+        }
+        JsonNode allowed = schema.get("enum");
+        if (allowed != null && allowed.isArray()) {
+            boolean found = false;
+            for (JsonNode candidate : allowed) {
+                found |= JsonValues.equivalent(candidate, value);
+            }
+            if (!found) {
+                errors.add("%s: %s is not one of %s".formatted(at, value, allowed));
+            }
+        }
+
+        if (value.isObject()) {
+            validateObject(schema, value, at, errors);
+        } else if (value.isArray()) {
+            checkBound(schema, "minItems", value.size(), at, errors, true);
+            checkBound(schema, "maxItems", value.size(), at, errors, false);
+            JsonNode items = schema.get("items");
+            if (items != null && items.isObject()) {
+                for (int i = 0; i < value.size(); i++) {
+                    validate(items, value.get(i), at + "[" + i + "]", errors);
+                }
+            }
+        } else if (value.isTextual()) {
+            int length = value.asText().codePointCount(0, value.asText().length());
+            checkBound(schema, "minLength", length, at, errors, true);
+            checkBound(schema, "maxLength", length, at, errors, false);
+            JsonNode pattern = schema.get("pattern");
+            if (pattern != null && !Pattern.compile(pattern.asText()).matcher(value.asText()).find()) {
+                errors.add("%s: \"%s\" does not match pattern %s".formatted(at, value.asText(), pattern.asText()));
+            }
+        } else if (value.isNumber()) {
+            double number = value.asDouble();
+            checkRange(schema, "minimum", number, at, errors, n -> number >= n);
+            checkRange(schema, "maximum", number, at, errors, n -> number <= n);
+            checkRange(schema, "exclusiveMinimum", number, at, errors, n -> number > n);
+            checkRange(schema, "exclusiveMaximum", number, at, errors, n -> number < n);
+        }
+    }
+
+    private static void validateObject(JsonNode schema, JsonNode value, String at, List<String> errors) {
+        JsonNode required = schema.get("required");
+        if (required != null && required.isArray()) {
+            for (JsonNode name : required) {
+                if (!value.has(name.asText())) {
+                    errors.add("%s: missing required property '%s'".formatted(at, name.asText()));
+                }
+            }
+        }
+        JsonNode properties = schema.path("properties");
+        JsonNode additional = schema.get("additionalProperties");
+        for (Iterator<Map.Entry<String, JsonNode>> it = value.fields(); it.hasNext();) {
+            Map.Entry<String, JsonNode> field = it.next();
+            String childPath = at + "." + field.getKey();
+            if (properties.has(field.getKey())) {
+                validate(properties.get(field.getKey()), field.getValue(), childPath, errors);
+            } else if (additional != null && additional.isBoolean() && !additional.asBoolean()) {
+                errors.add("%s: unexpected property".formatted(childPath));
+            } else if (additional != null && additional.isObject()) {
+                validate(additional, field.getValue(), childPath, errors);
+            }
+        }
+    }
+
+    private static boolean matchesType(JsonNode type, JsonNode value) {
+        if (type.isArray()) {
+            for (JsonNode option : type) {
+                if (matchesType(option, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return switch (type.asText()) {
+            case "object" -> value.isObject();
+            case "array" -> value.isArray();
+            case "string" -> value.isTextual();
+            case "boolean" -> value.isBoolean();
+            case "null" -> value.isNull();
+            case "integer" -> value.isIntegralNumber()
+                || (value.isNumber() && value.decimalValue().stripTrailingZeros().scale() <= 0);
+            case "number" -> value.isNumber();
+            default -> true;
+        };
+    }
+
+    private static String typeOf(JsonNode value) {
+        return switch (value.getNodeType()) {
+            case OBJECT -> "object";
+            case ARRAY -> "array";
+            case STRING -> "string";
+            case BOOLEAN -> "boolean";
+            case NUMBER -> value.isIntegralNumber() ? "integer" : "number";
+            case NULL -> "null";
+            default -> value.getNodeType().name().toLowerCase(Locale.ROOT);
+        };
+    }
+
+    private static void checkBound(JsonNode schema, String keyword, int actual, String at,
+                                   List<String> errors, boolean lower) {
+        JsonNode bound = schema.get(keyword);
+        if (bound != null && bound.canConvertToInt() && (lower ? actual < bound.asInt() : actual > bound.asInt())) {
+            errors.add("%s: %s %d violated by %d".formatted(at, keyword, bound.asInt(), actual));
+        }
+    }
+
+    private static void checkRange(JsonNode schema, String keyword, double actual, String at,
+                                   List<String> errors, DoublePredicate satisfied) {
+        JsonNode bound = schema.get(keyword);
+        if (bound != null && bound.isNumber() && !satisfied.test(bound.asDouble())) {
+            errors.add("%s: %s %s violated by %s".formatted(at, keyword, bound.asText(), actual));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.automatedtestingframework.assertion;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Evaluates {@link BodyAssertion}s and extracts captured values in one forward pass over a JSON
+ * document. Only values an assertion needs to compare, or a capture needs to keep, are
+ * materialised as trees; everything else is skipped token by token and array lengths are counted
+ * without building the elements. Parsing stops as soon as every assertion without a wildcard and
+ * every capture has seen its value.
+ */
+public final class StreamingJsonEvaluator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * @param failure  the first failing assertion's message, or empty when every assertion passed
+     * @param captured the first value found for each capture; captures that matched nothing are absent
+     */
+    public record Evaluation(Optional<String> failure, Map<String, JsonNode> captured) {
+    }
+
+    private final List<Tracker> trackers = new ArrayList<>();
+
+    private StreamingJsonEvaluator(List<BodyAssertion> assertions, Map<String, JsonPath> captures) {
+        assertions.forEach(assertion -> trackers.add(new Tracker(assertion.path(), assertion, null)));
+        captures.forEach((name, path) -> trackers.add(new Tracker(path, null, name)));
+    }
+
+    public static Optional<String> evaluate(InputStream body, List<BodyAssertion> assertions) throws IOException {
+        return evaluate(body, assertions, Map.of()).failure();
+    }
+
+    public static Evaluation evaluate(InputStream body,
+                                      List<BodyAssertion> assertions,
+                                      Map<String, JsonPath> captures) throws IOException {
+        if (assertions.isEmpty() && captures.isEmpty()) {
+            return new Evaluation(Optional.empty(), Map.of());
+        }
+        StreamingJsonEvaluator evaluator = new StreamingJsonEvaluator(assertions, captures);
+        try (JsonParser parser = MAPPER.createParser(body)) {
+            // The caller owns the stream; it may still need the remaining bytes
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() == null) {
+                return new Evaluation(Optional.of("Response body is empty"), Map.of());
+            }
+            List<Cursor> cursors = evaluator.trackers.stream().map(tracker -> new Cursor(tracker, 0)).toList();
+            evaluator.walk(parser, cursors);
+        }
+        Map<String, JsonNode> captured = new LinkedHashMap<>();
+        for (Tracker tracker : evaluator.trackers) {
+            if (tracker.captureName != null && tracker.captured != null) {
+                captured.put(tracker.captureName, tracker.captured);
+            }
+        }
+        Optional<String> failure = evaluator.trackers.stream()
+            .map(Tracker::failure)
+            .flatMap(Optional::stream)
+            .findFirst();
+        return new Evaluation(failure, captured);
+    }
+
+    /**
+     * Consumes the value the parser is positioned on. Returns {@code true} when evaluation can stop.
+     */
+    private boolean walk(JsonParser parser, List<Cursor> cursors) throws IOException {
+        List<Tracker> complete = new ArrayList<>();
+        List<Cursor> partial = new ArrayList<>();
+        boolean needsValue = false;
+        for (Cursor cursor : cursors) {
+            if (cursor.next() == cursor.tracker().segments().size()) {
+                complete.add(cursor.tracker());
+                needsValue |= cursor.tracker().needsValue();
+            } else {
+                partial.add(cursor);
+            }
+        }
+
+        if (needsValue) {
+            // Materialise once; deeper paths below this point are resolved against the tree
+            JsonNode value = parser.readValueAsTree();
+            complete.forEach(tracker -> tracker.accept(value));
+            for (Cursor cursor : partial) {
+                resolve(value, cursor.tracker(), cursor.next());
+            }
+            return allResolved();
+        }
+
+        JsonToken token = parser.currentToken();
+        int count = 0;
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            boolean object = token == JsonToken.START_OBJECT;
+            if (partial.isEmpty() && complete.stream().noneMatch(Tracker::countsLength)) {
+                parser.skipChildren();
+            } else {
+                JsonToken end = object ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+                while (parser.nextToken() != end) {
+                    String field = null;
+                    if (object) {
+                        field = parser.currentName();
+                        parser.nextToken();
+                    }
+                    List<Cursor> children = new ArrayList<>();
+                    for (Cursor cursor : partial) {
+                        JsonPath.Segment segment = cursor.tracker().segments().get(cursor.next());
+                        if (object ? segment.matchesField(field) : segment.matchesIndex(count)) {
+                            children.add(new Cursor(cursor.tracker(), cursor.next() + 1));
+                        }
+                    }
+                    count++;
+                    if (children.isEmpty()) {
+                        parser.skipChildren();
+                    } else if (walk(parser, children)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (Tracker tracker : complete) {
+            tracker.acceptShape(token, count);
+        }
+        return allResolved();
+    }
+
+    private void resolve(JsonNode node, Tracker tracker, int next) {
+        if (node == null || node.isMissingNode()) {
+            return;
+        }
+        if (next == tracker.segments().size()) {
+            tracker.accept(node);
+            return;
+        }
+        JsonPath.Segment segment = tracker.segments().get(next);
+        if (segment.wildcard()) {
+            node.elements().forEachRemaining(child -> resolve(child, tracker, next + 1));
+        } else if (segment.name() != null) {
+            resolve(node.isObject() ? node.get(segment.name()) : null, tracker, next + 1);
+        } else {
+            resolve(node.isArray() ? node.get(segment.index()) : null, tracker, next + 1);
+        }
+    }
+
+    private boolean allResolved() {
+        for (Tracker tracker : trackers) {
+            if (tracker.wildcard || tracker.matches == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Cursor(Tracker tracker, int next) {
+    }
+
+    private static final class Tracker {
+
+        private final JsonPath path;
+        private final BodyAssertion assertion;
+        private final String captureName;
+        private final boolean wildcard;
+        private int matches;
+        private String failure;
+        private JsonNode captured;
+
+        private Tracker(JsonPath path, BodyAssertion assertion, String captureName) {
+            this.path = path;
+            this.assertion = assertion;
+            this.captureName = captureName;
+            // A capture keeps its first match, so it never has to wait for further wildcard hits
+            this.wildcard = assertion != null && path.hasWildcard();
+        }
+
+        List<JsonPath.Segment> segments() {
+            return path.segments();
+        }
+
+        boolean needsValue() {
+            return assertion == null || assertion.kind().needsValue();
+        }
+
+        boolean countsLength() {
+            return assertion != null && assertion.kind() == BodyAssertion.Kind.LENGTH;
+        }
+
+        void accept(JsonNode value) {
+            matches++;
+            if (assertion == null) {
+                if (captured == null) {
+                    captured = value;
+                }
+                return;
+            }
+            if (failure != null) {
+                return;
+            }
+            String path = assertion.path().expression();
+            switch (assertion.kind()) {
+                case EQUALS -> {
+                    if (!JsonValues.equivalent(assertion.expected(), value)) {
+                        failure = "Expected %s to equal %s but was %s".formatted(path, assertion.expected(), abbreviate(value));
+                    }
+                }
+                case SCHEMA -> {
+                    List<String> errors = JsonSchemaValidator.validate(assertion.expected(), value);
+                    if (!errors.isEmpty()) {
+                        failure = "Schema validation failed for %s: %s".formatted(path, String.join("; ", errors));
+                    }
+                }
+                case LENGTH -> acceptLength(value.isContainerNode() ? value.size() : -1);
+                default -> {
+                }
+            }
+        }
+
+        /**
+         * Records a match for an assertion that only needs the value's shape, not its content.
+         */
+        void acceptShape(JsonToken token, int count) {
+            matches++;
+            if (countsLength() && failure == null) {
+                acceptLength(token == JsonToken.START_ARRAY || token == JsonToken.START_OBJECT ? count : -1);
+            }
+        }
+
+        private void acceptLength(int length) {
+            int expected = assertion.expected().asInt();
+            if (length < 0) {
+                failure = "Expected %s to be an array or object".formatted(assertion.path());
+            } else if (length != expected) {
+                failure = "Expected %s length %d but was %d".formatted(assertion.path(), expected, length);
+            }
+        }
+
+        Optional<String> failure() {
+            if (assertion == null) {
+                return Optional.empty();
+            }
+            String path = this.path.expression();
+            return switch (assertion.kind()) {
+                case EXISTS -> matches == 0 ? Optional.of("Path " + path + " not found in response") : Optional.empty();
+                case NOT_EXISTS -> matches > 0 ? Optional.of("Path " + path + " should not be present") : Optional.empty();
+                default -> matches == 0
+                    ? Optional.of("Path " + path + " not found in response")
+                    : Optional.ofNullable(failure);
+            };
+        }
+
+        private static String abbreviate(JsonNode value) {
+            String text = value.toString();
+            return text.length() > 120 ? text.substring(0, 117) + "..." : text;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.automatedtestingframework.browser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How a project's UI cases launch Chrome: URL patterns and resource types to block, whether to
+ * switch off browser features a functional check never needs, and optional CPU and network
+ * throttling. Blocking and throttling go through DevTools commands named by method, like
+ * {@link NetworkActivityTracker}, so they do not depend on a versioned CDP binding.
+ */
+public record LaunchProfile(List<String> blockedUrls,
+                            Set<String> blockedTypes,
+                            boolean lightweight,
+                            double cpuSlowdown,
+                            NetworkPreset network) {
+
+    private static final Logger log = LoggerFactory.getLogger(LaunchProfile.class);
+
+    public static final LaunchProfile DEFAULT = new LaunchProfile(List.of(), Set.of(), false, 1, null);
+
+    private static final Set<String> RESOURCE_TYPES = Set.of(
+        "Document", "Stylesheet", "Image", "Media", "Font", "Script", "TextTrack", "XHR", "Fetch",
+        "Prefetch", "EventSource", "WebSocket", "Manifest", "Ping", "CSPViolationReport", "Other");
+
+    private static final List<String> LIGHTWEIGHT_ARGUMENTS = List.of(
+        "--disable-extensions",
+        "--disable-background-networking",
+        "--disable-component-update",
+        "--disable-default-apps",
+        "--disable-sync",
+        "--mute-audio",
+        "--no-first-run",
+        "--disable-features=Translate,MediaRouter,OptimizationHints,AutofillServerCommunication");
+
+    public LaunchProfile {
+        blockedUrls = List.copyOf(blockedUrls);
+        blockedTypes = Set.copyOf(blockedTypes);
+    }
+
+    /**
+     * Reads {@code {"blockUrls": ["*google-analytics.com*"], "blockTypes": ["Image", "Font", "Media"],
+     * "lightweight": true, "cpu": "mid-tier-mobile", "network": "fast-3g"}}. {@code cpu} also takes
+     * a slowdown factor; {@code network} is one of {@code slow-3g}, {@code fast-3g} or {@code 4g}.
+     */
+    public static LaunchProfile fromJson(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Launch profile must be a JSON object");
+        }
+        List<String> urls = new ArrayList<>();
+        node.path("blockUrls").forEach(value -> {
+            if (!value.asText().isBlank()) {
+                urls.add(value.asText().trim());
+            }
+        });
+        Set<String> types = new LinkedHashSet<>();
+        node.path("blockTypes").forEach(value -> types.add(resourceType(value.asText())));
+        return new LaunchProfile(urls, types,
+            node.path("lightweight").asBoolean(false),
+            cpuSlowdown(node.path("cpu")),
+            node.hasNonNull("network") ? NetworkPreset.parse(node.get("network").asText()) : null);
+    }
+
+    public List<String> chromeArguments() {
+        List<String> arguments = new ArrayList<>();
+        if (lightweight) {
+            arguments.addAll(LIGHTWEIGHT_ARGUMENTS);
+        }
+        if (blockedTypes.contains("Image")) {
+            // Cheaper than intercepting: images are never requested at all
+            arguments.add("--blink-settings=imagesEnabled=false");
+        }
+        return arguments;
+    }
+
+    public boolean needsDevTools() {
+        return !blockedUrls.isEmpty() || !blockedTypes.isEmpty() || cpuSlowdown > 1 || network != null;
+    }
+
+    /**
+     * Installs blocking and throttling on the session. Requests of a blocked type are paused by
+     * the Fetch domain and failed as blocked by the client before they leave the browser.
+     */
+    public void applyTo(DevTools devTools) {
+        if (!blockedUrls.isEmpty()) {
+            devTools.send(new Command<Void>("Network.setBlockedURLs", Map.of("urls", blockedUrls)));
+        }
+        if (!blockedTypes.isEmpty()) {
+            devTools.addListener(NetworkActivityTracker.event("Fetch.requestPaused"), params -> {
+                try {
+                    devTools.send(new Command<Void>("Fetch.failRequest",
+                        Map.of("requestId", String.valueOf(params.get("requestId")), "errorReason", "BlockedByClient")));
+                } catch (RuntimeException ex) {
+                    log.debug("Could not fail blocked request: {}", ex.getMessage());
+                }
+            });
+            List<Map<String, Object>> patterns = blockedTypes.stream()
+                .map(type -> Map.<String, Object>of("urlPattern", "*", "resourceType", type, "requestStage", "Request"))
+                .toList();
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+        }
+        if (cpuSlowdown > 1) {
+            devTools.send(new Command<Void>("Emulation.setCPUThrottlingRate", Map.of("rate", cpuSlowdown)));
+        }
+        if (network != null) {
+            devTools.send(new Command<Void>("Network.emulateNetworkConditions", Map.of(
+                "offline", false,
+                "latency", network.latencyMs(),
+                "downloadThroughput", network.downloadBytesPerSecond(),
+                "uploadThroughput", network.uploadBytesPerSecond())));
+        }
+    }
+
+    private static String resourceType(String value) {
+        return RESOURCE_TYPES.stream()
+            .filter(type -> type.equalsIgnoreCase(value.trim()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown resource type '" + value + "'"));
+    }
+
+    private static double cpuSlowdown(JsonNode node) {
+        if (node.isMissingNode() || node.isNull()) {
+            return 1;
+        }
+        double rate = switch (node.asText().trim().toLowerCase(Locale.ROOT)) {
+            case "none" -> 1;
+            case "mid-tier-mobile" -> 4;
+            case "low-end-mobile" -> 6;
+            default -> {
+                if (!node.isNumber()) {
+                    throw new IllegalArgumentException("Unknown CPU throttling preset '" + node.asText() + "'");
+                }
+                yield node.asDouble();
+            }
+        };
+        if (rate < 1 || rate > 20) {
+            throw new IllegalArgumentException("CPU slowdown must be between 1 and 20");
+        }
+        return rate;
+    }
+
+    /**
+     * Network conditions matching Chrome DevTools' throttling presets.
+     */
+    public enum NetworkPreset {
+        SLOW_3G(2000, 50_000, 50_000),
+        FAST_3G(562.5, 180_000, 84_375),
+        FOUR_G(165, 1_012_500, 168_750);
+
+        private final double latencyMs;
+        private final double downloadBytesPerSecond;
+        private final double uploadBytesPerSecond;
+
+        NetworkPreset(double latencyMs, double downloadBytesPerSecond, double uploadBytesPerSecond) {
+            this.latencyMs = latencyMs;
+            this.downloadBytesPerSecond = downloadBytesPerSecond;
+            this.uploadBytesPerSecond = uploadBytesPerSecond;
+        }
+
+        public double latencyMs() {
+            return latencyMs;
+        }
+
+        public double downloadBytesPerSecond() {
+            return downloadBytesPerSecond;
+        }
+
+        public double uploadBytesPerSecond() {
+            return uploadBytesPerSecond;
+        }
+
+        public static NetworkPreset parse(String value) {
+            return switch (value == null ? "" : value.trim().toLowerCase(Locale.ROOT)) {
+                case "slow-3g" -> SLOW_3G;
+                case "fast-3g" -> FAST_3G;
+                case "4g" -> FOUR_G;
+                default -> throw new IllegalArgumentException("Unknown network preset '" + value + "'");
+            };
+        }
+    }
+}
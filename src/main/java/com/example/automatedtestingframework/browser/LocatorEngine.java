@@ -0,0 +1,152 @@
+package com.example.automatedtestingframework.browser;
+
+import com.example.automatedtestingframework.plan.UiStep;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Element lookup for one browser session. Every strategy is resolved by a single script that
+ * returns the first visible match, so a lookup is one round-trip instead of a find plus a
+ * visibility query per candidate, and several locators can be resolved in the same call. Found
+ * elements are cached by locator for the rest of the session; a caller that hits a stale or
+ * hidden cached element calls {@link #invalidate} and looks it up again.
+ *
+ * <p>Waiting is explicit only: the session's implicit wait should be zero so a missing element
+ * costs the locator's own timeout and nothing more.
+ */
+public final class LocatorEngine {
+
+    private static final String RESOLVE_SCRIPT = """
+        const visible = el => {
+          if (!el || !el.isConnected) return false;
+          const style = getComputedStyle(el);
+          if (style.visibility === 'hidden' || style.display === 'none') return false;
+          const rect = el.getBoundingClientRect();
+          return rect.width > 0 && rect.height > 0;
+        };
+        const candidates = (strategy, selector) => {
+          switch (strategy) {
+            case 'id': { const el = document.getElementById(selector); return el ? [el] : []; }
+            case 'name': return Array.from(document.getElementsByName(selector));
+            case 'xpath': {
+              const found = document.evaluate(selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+              const nodes = [];
+              for (let i = 0; i < found.snapshotLength; i++) nodes.push(found.snapshotItem(i));
+              return nodes;
+            }
+            default: return Array.from(document.querySelectorAll(selector));
+          }
+        };
+        return arguments[0].map(spec => {
+          try {
+            return candidates(spec[0], spec[1]).find(visible) || null;
+          } catch (e) {
+            return { error: String(e && e.message || e) };
+          }
+        });
+        """;
+
+    private final WebDriver driver;
+    private final Duration pollInterval;
+    private final Map<String, WebElement> cache = new HashMap<>();
+    private int roundTrips;
+
+    LocatorEngine(WebDriver driver, Duration pollInterval) {
+        this.driver = driver;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * The first visible element matching {@code target}, waiting up to its timeout. Locators in
+     * {@code lookahead} are resolved in the same round-trip and cached when already present, so
+     * the steps that use them next skip their own lookup.
+     *
+     * @throws IllegalArgumentException when the selector is not valid for its strategy
+     * @throws IllegalStateException when no visible element appears within the timeout
+     */
+    public WebElement find(UiStep.Locator target, List<UiStep.Locator> lookahead) {
+        WebElement cached = cache.get(key(target));
+        if (cached != null) {
+            return cached;
+        }
+        List<UiStep.Locator> batch = new ArrayList<>();
+        batch.add(target);
+        lookahead.stream()
+            .filter(locator -> !cache.containsKey(key(locator)) && !key(locator).equals(key(target)))
+            .forEach(batch::add);
+
+        long deadline = System.nanoTime() + Duration.ofMillis(target.timeoutMs()).toNanos();
+        while (true) {
+            List<?> resolved = resolve(batch);
+            for (int i = 1; i < resolved.size(); i++) {
+                if (resolved.get(i) instanceof WebElement element) {
+                    cache.put(key(batch.get(i)), element);
+                }
+            }
+            Object first = resolved.isEmpty() ? null : resolved.get(0);
+            if (first instanceof WebElement element) {
+                cache.put(key(target), element);
+                return element;
+            }
+            if (first instanceof Map<?, ?> error) {
+                throw new IllegalArgumentException("Invalid %s selector '%s': %s"
+                    .formatted(target.strategy(), target.selector(), error.get("error")));
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IllegalStateException(
+                    String.format("Element not found: %s (by: %s). URL: %s. Make sure the selector matches an element on the page.",
+                        target.selector(), target.strategy(), driver.getCurrentUrl()));
+            }
+            // Only the element this step needs is worth waiting for
+            batch = List.of(target);
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while looking for " + target.selector(), ex);
+            }
+        }
+    }
+
+    public boolean isCached(UiStep.Locator target) {
+        return cache.containsKey(key(target));
+    }
+
+    public void invalidate(UiStep.Locator target) {
+        cache.remove(key(target));
+    }
+
+    /**
+     * Drops every cached element, e.g. after navigating to another page.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Script executions made so far; lets the step log show how many lookups were saved.
+     */
+    public int roundTrips() {
+        return roundTrips;
+    }
+
+    private List<?> resolve(List<UiStep.Locator> batch) {
+        List<List<String>> specs = batch.stream()
+            .map(locator -> List.of(locator.strategy(), locator.selector()))
+            .toList();
+        roundTrips++;
+        Object result = ((JavascriptExecutor) driver).executeScript(RESOLVE_SCRIPT, specs);
+        return result instanceof List<?> list ? list : List.of();
+    }
+
+    private static String key(UiStep.Locator locator) {
+        return locator.strategy() + '\u0000' + locator.selector();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.automatedtestingframework.browser;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Counts in-flight requests for one browser session from DevTools {@code Network} events.
+ * Events are declared by method name rather than through a versioned CDP binding so the
+ * tracker keeps working when the installed Chrome moves ahead of the bundled devtools module.
+ * When DevTools is unavailable it falls back to watching the page's resource timing entries.
+ *
+ * <p>The DevTools client has no way to remove a single listener, and clearing them all would
+ * also drop the ones other components installed on the same session (request blocking, say).
+ * Listeners added through {@link #subscribe} are therefore registered once and go quiet when the
+ * tracker is closed.
+ */
+public final class NetworkActivityTracker implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkActivityTracker.class);
+
+    // Streaming requests never finish and would otherwise hold the page "busy" forever
+    private static final Set<String> LONG_LIVED_TYPES = Set.of("EventSource", "WebSocket");
+
+    private final WebDriver driver;
+    private final DevTools devTools;
+    private final Set<String> inflight = ConcurrentHashMap.newKeySet();
+    private volatile long lastActivityNanos = System.nanoTime();
+    private volatile long lastResourceCount = -1;
+    private volatile boolean closed;
+
+    private NetworkActivityTracker(WebDriver driver, DevTools devTools) {
+        this.driver = driver;
+        this.devTools = devTools;
+    }
+
+    public static NetworkActivityTracker attach(WebDriver driver) {
+        if (driver instanceof HasDevTools hasDevTools) {
+            try {
+                DevTools devTools = hasDevTools.getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                NetworkActivityTracker tracker = new NetworkActivityTracker(driver, devTools);
+                tracker.listen();
+                devTools.send(new Command<Void>("Network.enable", Map.of()));
+                return tracker;
+            } catch (RuntimeException ex) {
+                log.debug("DevTools network tracking unavailable, falling back to resource timing: {}", ex.getMessage());
+            }
+        }
+        return new NetworkActivityTracker(driver, null);
+    }
+
+    public boolean isEventDriven() {
+        return devTools != null;
+    }
+
+    /**
+     * Number of requests currently in flight, or {@code -1} when only resource timing is available.
+     */
+    public int inflightCount() {
+        return devTools != null ? inflight.size() : -1;
+    }
+
+    /**
+     * True once no tracked request is in flight and nothing has started or finished for {@code quietMillis}.
+     */
+    public boolean isIdle(long quietMillis) {
+        if (devTools == null) {
+            pollResourceTiming();
+        } else if (!inflight.isEmpty()) {
+            return false;
+        }
+        return System.nanoTime() - lastActivityNanos >= quietMillis * 1_000_000L;
+    }
+
+    /**
+     * Exposes the raw DevTools session for callers that send commands or install listeners that
+     * should outlive the tracker, or {@code null}.
+     */
+    public DevTools devTools() {
+        return devTools;
+    }
+
+    /**
+     * Delivers {@code method} events to {@code listener} until the tracker is closed.
+     *
+     * @throws IllegalStateException when the tracker is polling resource timing instead
+     */
+    public void subscribe(String method, Consumer<Map<String, Object>> listener) {
+        if (devTools == null) {
+            throw new IllegalStateException("DevTools is not available for this session");
+        }
+        devTools.addListener(event(method), params -> {
+            if (!closed) {
+                listener.accept(params);
+            }
+        });
+    }
+
+    private void listen() {
+        subscribe("Network.requestWillBeSent", params -> {
+            if (!LONG_LIVED_TYPES.contains(String.valueOf(params.get("type")))) {
+                inflight.add(String.valueOf(params.get("requestId")));
+            }
+            touch();
+        });
+        subscribe("Network.loadingFinished", params -> {
+            inflight.remove(String.valueOf(params.get("requestId")));
+            touch();
+        });
+        subscribe("Network.loadingFailed", params -> {
+            inflight.remove(String.valueOf(params.get("requestId")));
+            touch();
+        });
+    }
+
+    private void pollResourceTiming() {
+        try {
+            Object count = ((JavascriptExecutor) driver)
+                .executeScript("return performance.getEntriesByType('resource').length;");
+            long current = count instanceof Number number ? number.longValue() : 0L;
+            if (current != lastResourceCount) {
+                lastResourceCount = current;
+                touch();
+            }
+        } catch (RuntimeException ex) {
+            // The page is mid-navigation; treat it as activity so the quiet window restarts
+            touch();
+        }
+    }
+
+    private void touch() {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    /**
+     * Silences the tracker's own listeners. Listeners other components added to the session stay.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        inflight.clear();
+    }
+
+    static Event<Map<String, Object>> event(String method) {
+        Function<JsonInput, Map<String, Object>> mapper = input -> input.read(Json.MAP_TYPE);
+        return new Event<>(method, mapper);
+    }
+}
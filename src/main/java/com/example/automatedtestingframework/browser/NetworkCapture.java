@@ -0,0 +1,90 @@
+package com.example.automatedtestingframework.browser;
+
+import com.example.automatedtestingframework.analysis.EndpointAnalysisPayload.NetworkRequestFinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams DevTools {@code Network} events into request findings as responses arrive. Only the
+ * method and URL of each pending request are remembered; bodies are never fetched. Once
+ * {@code limit} findings are recorded further events are dropped.
+ */
+public final class NetworkCapture {
+
+    private final int limit;
+    private final Map<String, PendingRequest> pending = new ConcurrentHashMap<>();
+    private final List<NetworkRequestFinding> findings = new ArrayList<>();
+
+    private NetworkCapture(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Subscribes to the tracker's DevTools session until the tracker is closed, or returns empty
+     * when the tracker is polling resource timing instead.
+     */
+    public static Optional<NetworkCapture> attach(NetworkActivityTracker tracker, int limit) {
+        if (!tracker.isEventDriven()) {
+            return Optional.empty();
+        }
+        NetworkCapture capture = new NetworkCapture(limit);
+        tracker.subscribe("Network.requestWillBeSent", capture::onRequest);
+        tracker.subscribe("Network.responseReceived", capture::onResponse);
+        tracker.subscribe("Network.loadingFailed", capture::onFailure);
+        return Optional.of(capture);
+    }
+
+    public synchronized boolean isFull() {
+        return findings.size() >= limit;
+    }
+
+    public synchronized List<NetworkRequestFinding> findings() {
+        return new ArrayList<>(findings);
+    }
+
+    private void onRequest(Map<String, Object> params) {
+        if (isFull()) {
+            return;
+        }
+        Object request = params.get("request");
+        if (request instanceof Map<?, ?> map && map.get("url") instanceof String url && url.startsWith("http")) {
+            Object method = map.get("method");
+            pending.put(String.valueOf(params.get("requestId")),
+                new PendingRequest(method != null ? method.toString() : "GET", url.strip()));
+        }
+    }
+
+    private void onResponse(Map<String, Object> params) {
+        PendingRequest request = pending.remove(String.valueOf(params.get("requestId")));
+        if (request == null || !(params.get("response") instanceof Map<?, ?> response)) {
+            return;
+        }
+        int status = response.get("status") instanceof Number number ? number.intValue() : -1;
+        Object mimeType = response.get("mimeType");
+        record(new NetworkRequestFinding(request.method(), request.url(), status,
+            mimeType != null ? mimeType.toString() : ""));
+    }
+
+    private void onFailure(Map<String, Object> params) {
+        PendingRequest request = pending.remove(String.valueOf(params.get("requestId")));
+        if (request != null) {
+            record(new NetworkRequestFinding(request.method(), request.url(), -1, ""));
+        }
+    }
+
+    private synchronized void record(NetworkRequestFinding finding) {
+        if (findings.size() < limit) {
+            findings.add(finding);
+        }
+        if (findings.size() >= limit) {
+            pending.clear();
+        }
+    }
+
+    private record PendingRequest(String method, String url) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.automatedtestingframework.browser;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cookies and localStorage of the page a session fixture ended on at {@code url}. WebDriver only
+ * exposes the current origin's cookies, so state kept on another domain (a separate identity
+ * provider, say) is not carried over; restoring opens the captured origin first because cookies
+ * and storage can only be written for the page that is loaded.
+ */
+public record SessionSnapshot(String url,
+                              Set<Cookie> cookies,
+                              Map<String, String> localStorage,
+                              Instant capturedAt,
+                              Instant expiresAt) {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionSnapshot.class);
+
+    private static final String READ_STORAGE = """
+        const entries = {};
+        for (let i = 0; i < localStorage.length; i++) {
+          const key = localStorage.key(i);
+          entries[key] = localStorage.getItem(key);
+        }
+        return entries;
+        """;
+
+    private static final String WRITE_STORAGE = """
+        localStorage.clear();
+        const entries = arguments[0];
+        Object.keys(entries).forEach(key => localStorage.setItem(key, entries[key]));
+        """;
+
+    public SessionSnapshot {
+        URI uri = URI.create(url);
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            throw new IllegalStateException("Session fixture ended on " + url + ", which has no origin to capture");
+        }
+        cookies = Set.copyOf(cookies);
+        localStorage = Map.copyOf(localStorage);
+    }
+
+    /**
+     * Reads the session state of the current page. The snapshot expires after {@code ttl} or
+     * when its earliest expiring cookie does, whichever comes first.
+     */
+    public static SessionSnapshot capture(WebDriver driver, Duration ttl, Instant now) {
+        String url = driver.getCurrentUrl();
+        Set<Cookie> cookies = driver.manage().getCookies();
+        Map<String, String> storage = new LinkedHashMap<>();
+        Object entries = ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+        if (entries instanceof Map<?, ?> map) {
+            map.forEach((key, value) -> storage.put(String.valueOf(key), String.valueOf(value)));
+        }
+        Instant expiresAt = now.plus(ttl);
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiresAt)) {
+                expiresAt = cookie.getExpiry().toInstant();
+            }
+        }
+        return new SessionSnapshot(url, cookies, storage, now, expiresAt);
+    }
+
+    public String origin() {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : "");
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Opens the captured origin and writes the cookies and storage into it. Cookies the browser
+     * refuses for this origin are skipped. The browser is left on the origin's root page.
+     */
+    public void restore(WebDriver driver) {
+        String origin = origin();
+        driver.get(origin + "/");
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            try {
+                driver.manage().addCookie(cookie);
+            } catch (WebDriverException ex) {
+                log.debug("Skipped cookie {} while restoring session for {}: {}", cookie.getName(), origin, ex.getMessage());
+            }
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, localStorage);
+    }
+}
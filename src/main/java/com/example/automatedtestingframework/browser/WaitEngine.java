@@ -0,0 +1,162 @@
+package com.example.automatedtestingframework.browser;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Readiness conditions for browser steps. Every condition is polled at a short fixed interval so a
+ * step continues as soon as the page settles instead of sleeping for a worst-case delay.
+ */
+@Component
+public class WaitEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitEngine.class);
+
+    private static final String BOUNDING_RECT_SCRIPT =
+        "const r = arguments[0].getBoundingClientRect();" +
+            "return [r.x, r.y, r.width, r.height].join(',');";
+
+    private static final String RUNNING_ANIMATIONS_SCRIPT =
+        "const target = arguments[0] || document;" +
+            "if (typeof target.getAnimations !== 'function') { return 0; }" +
+            "const list = target === document ? document.getAnimations() : target.getAnimations({ subtree: true });" +
+            "return list.filter(a => a.playState === 'running'" +
+            " && !(a.effect && a.effect.getTiming && a.effect.getTiming().iterations === Infinity)).length;";
+
+    public enum Condition {
+        NETWORK_IDLE,
+        ELEMENT_STABLE,
+        ANIMATIONS_DONE,
+        DOCUMENT_READY;
+
+        public static Condition parse(String raw) {
+            String key = raw == null ? "" : raw.replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+            return switch (key) {
+                case "networkidle" -> NETWORK_IDLE;
+                case "elementstable", "stable" -> ELEMENT_STABLE;
+                case "animationsdone", "animationdone", "animations" -> ANIMATIONS_DONE;
+                case "documentready", "load", "ready" -> DOCUMENT_READY;
+                default -> throw new IllegalArgumentException("Unknown wait condition: " + raw);
+            };
+        }
+    }
+
+    private final Duration pollInterval;
+    private final long networkQuietMillis;
+    private final Duration settleTimeout;
+
+    public WaitEngine(@Value("${ui.wait.poll-ms:50}") long pollMs,
+                      @Value("${ui.wait.network-quiet-ms:200}") long networkQuietMillis,
+                      @Value("${ui.wait.settle-timeout-ms:5000}") long settleTimeoutMs) {
+        this.pollInterval = Duration.ofMillis(Math.max(10, pollMs));
+        this.networkQuietMillis = Math.max(0, networkQuietMillis);
+        this.settleTimeout = Duration.ofMillis(Math.max(0, settleTimeoutMs));
+    }
+
+    public NetworkActivityTracker track(WebDriver driver) {
+        return NetworkActivityTracker.attach(driver);
+    }
+
+    /**
+     * Element lookup for one session, polling at the same interval as every other wait.
+     */
+    public LocatorEngine locators(WebDriver driver) {
+        return new LocatorEngine(driver, pollInterval);
+    }
+
+    public Duration settleTimeout() {
+        return settleTimeout;
+    }
+
+    public void documentReady(WebDriver driver, Duration timeout) {
+        poll(driver, timeout, "document ready").until(d ->
+            "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+    }
+
+    public void networkIdle(WebDriver driver, NetworkActivityTracker tracker, Duration timeout) {
+        poll(driver, timeout, "network idle").until(d -> tracker.isIdle(networkQuietMillis));
+    }
+
+    /**
+     * Waits until the element's bounding box is identical on two consecutive polls, which covers
+     * smooth scrolling and layout shifts caused by late-loading content.
+     */
+    public void elementStable(WebDriver driver, WebElement element, Duration timeout) {
+        AtomicReference<Object> previous = new AtomicReference<>();
+        poll(driver, timeout, "element stable").until(d -> {
+            Object rect = ((JavascriptExecutor) d).executeScript(BOUNDING_RECT_SCRIPT, element);
+            return rect != null && rect.equals(previous.getAndSet(rect));
+        });
+    }
+
+    /**
+     * Waits for finite CSS and Web Animations on the element subtree, or on the whole document when
+     * {@code element} is null. Infinite animations such as spinners are ignored.
+     */
+    public void animationsDone(WebDriver driver, WebElement element, Duration timeout) {
+        poll(driver, timeout, "animations done").until(d -> {
+            Object running = ((JavascriptExecutor) d).executeScript(RUNNING_ANIMATIONS_SCRIPT, element);
+            return !(running instanceof Number number) || number.longValue() == 0;
+        });
+    }
+
+    public void await(Condition condition, WebDriver driver, NetworkActivityTracker tracker,
+                      WebElement element, Duration timeout) {
+        switch (condition) {
+            case NETWORK_IDLE -> networkIdle(driver, tracker, timeout);
+            case ELEMENT_STABLE -> {
+                if (element == null) {
+                    throw new IllegalArgumentException("elementStable requires a selector");
+                }
+                elementStable(driver, element, timeout);
+            }
+            case ANIMATIONS_DONE -> animationsDone(driver, element, timeout);
+            case DOCUMENT_READY -> documentReady(driver, timeout);
+        }
+    }
+
+    /**
+     * Best-effort variant used between steps: waits for the page to settle but never fails the step.
+     * Returns {@code false} when the timeout elapsed first.
+     */
+    public boolean settle(WebDriver driver, NetworkActivityTracker tracker, Duration timeout) {
+        return settle(driver, tracker, timeout, () -> false);
+    }
+
+    /**
+     * As {@link #settle(WebDriver, NetworkActivityTracker, Duration)}, but also returns as soon as
+     * {@code stopEarly} reports true.
+     */
+    public boolean settle(WebDriver driver, NetworkActivityTracker tracker, Duration timeout, BooleanSupplier stopEarly) {
+        try {
+            poll(driver, timeout, "network idle")
+                .until(d -> stopEarly.getAsBoolean() || tracker.isIdle(networkQuietMillis));
+            return true;
+        } catch (TimeoutException ex) {
+            log.debug("Page did not reach network idle within {} ms ({} requests in flight)",
+                timeout.toMillis(), tracker.inflightCount());
+            return false;
+        }
+    }
+
+    private FluentWait<WebDriver> poll(WebDriver driver, Duration timeout, String description) {
+        return new FluentWait<>(driver)
+            .withTimeout(timeout)
+            .pollingEvery(pollInterval)
+            .ignoring(StaleElementReferenceException.class)
+            .withMessage(() -> description + " not reached within " + timeout.toMillis() + " ms");
+    }
+}
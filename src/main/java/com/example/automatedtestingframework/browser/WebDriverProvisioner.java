@@ -0,0 +1,237 @@
+package com.example.automatedtestingframework.browser;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the chromedriver binary once, in the background after startup, and starts every
+ * Chrome session from it so no caller pays for version checks or downloads. In offline mode the
+ * binary is only looked up in the local cache, which has to be populated beforehand (or
+ * {@code webdriver.chromedriver-path} set) on air-gapped hosts. A failed resolution is retried
+ * by the next session that needs a driver once {@code retry-seconds} have passed.
+ */
+@Component
+public class WebDriverProvisioner {
+
+    private static final Logger log = LoggerFactory.getLogger(WebDriverProvisioner.class);
+
+    private final String cachePath;
+    private final String driverPath;
+    private final boolean offline;
+    private final Duration awaitTimeout;
+    private final Duration retryAfter;
+    private final Executor executor;
+    private CompletableFuture<ResolvedDriver> resolution;
+    private Instant failedAt;
+    private String failure;
+
+    public WebDriverProvisioner(@Value("${webdriver.cache-path:}") String cachePath,
+                                @Value("${webdriver.chromedriver-path:}") String driverPath,
+                                @Value("${webdriver.offline:false}") boolean offline,
+                                @Value("${webdriver.await-seconds:120}") long awaitSeconds,
+                                @Value("${webdriver.retry-seconds:60}") long retrySeconds) {
+        this.cachePath = resolveCachePath(cachePath);
+        this.driverPath = driverPath == null ? "" : driverPath.trim();
+        this.offline = offline;
+        this.awaitTimeout = Duration.ofSeconds(Math.max(1, awaitSeconds));
+        this.retryAfter = Duration.ofSeconds(Math.max(0, retrySeconds));
+        this.executor = runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-provisioner");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        start();
+    }
+
+    /**
+     * Starts a Chrome session on the resolved binary, waiting for resolution to finish if it is
+     * still running.
+     *
+     * @throws IllegalStateException when no chromedriver could be resolved
+     */
+    public ChromeDriver newChromeDriver(ChromeOptions options) {
+        ResolvedDriver driver = awaitDriver();
+        ChromeDriverService service = new ChromeDriverService.Builder()
+            .usingDriverExecutable(driver.path().toFile())
+            .usingAnyFreePort()
+            .build();
+        return new ChromeDriver(service, options);
+    }
+
+    public ResolvedDriver awaitDriver() {
+        CompletableFuture<ResolvedDriver> current = start();
+        try {
+            return current.get(awaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for chromedriver", ex);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("chromedriver was not resolved within " + awaitTimeout.toSeconds() + "s");
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("chromedriver unavailable: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * Where resolution stands, for the health endpoint.
+     */
+    public synchronized Status status() {
+        if (resolution == null || !resolution.isDone()) {
+            return new Status(State.RESOLVING, null, null, offline);
+        }
+        if (resolution.isCompletedExceptionally()) {
+            return new Status(State.FAILED, null, failure, offline);
+        }
+        return new Status(State.READY, resolution.join(), null, offline);
+    }
+
+    private synchronized CompletableFuture<ResolvedDriver> start() {
+        boolean retry = resolution != null && resolution.isCompletedExceptionally()
+            && failedAt != null && !Instant.now().isBefore(failedAt.plus(retryAfter));
+        if (resolution == null || retry) {
+            resolution = CompletableFuture.supplyAsync(this::resolve, executor);
+            resolution.whenComplete((driver, error) -> onResolved(driver, error));
+        }
+        return resolution;
+    }
+
+    private synchronized void onResolved(ResolvedDriver driver, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            failedAt = Instant.now();
+            failure = cause.getMessage();
+            log.error("Could not resolve chromedriver; UI tests and network analysis are unavailable: {}", failure);
+        } else {
+            failedAt = null;
+            failure = null;
+            log.info("Using chromedriver {} at {}", driver.version() != null ? driver.version() : "", driver.path());
+        }
+    }
+
+    private ResolvedDriver resolve() {
+        if (!driverPath.isEmpty()) {
+            return executable(Path.of(driverPath), null);
+        }
+        Path cache = Path.of(cachePath);
+        if (offline) {
+            return findCachedDriver(cache)
+                .map(path -> executable(path, path.getParent().getFileName().toString()))
+                .orElseThrow(() -> new IllegalStateException(
+                    "offline mode and no chromedriver cached under " + cache.toAbsolutePath()));
+        }
+        try {
+            Files.createDirectories(cache);
+        } catch (IOException e) {
+            log.warn("Failed to create WebDriver cache directory {}: {}", cache, e.getMessage());
+        }
+        long started = System.nanoTime();
+        WebDriverManager manager = WebDriverManager.chromedriver()
+            .cachePath(cachePath)
+            .avoidBrowserDetection();
+        manager.setup();
+        log.debug("chromedriver resolved in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return executable(Path.of(manager.getDownloadedDriverPath()), manager.getDownloadedDriverVersion());
+    }
+
+    private static ResolvedDriver executable(Path path, String version) {
+        if (!Files.isRegularFile(path) || !Files.isExecutable(path)) {
+            throw new IllegalStateException(path + " is not an executable chromedriver");
+        }
+        return new ResolvedDriver(path, version);
+    }
+
+    /**
+     * The newest chromedriver in a WebDriverManager cache, whose layout is
+     * {@code chromedriver/<platform>/<version>/chromedriver}.
+     */
+    static Optional<Path> findCachedDriver(Path cache) {
+        if (!Files.isDirectory(cache)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.walk(cache, 6)) {
+            return files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.equals("chromedriver") || name.equals("chromedriver.exe");
+                })
+                .filter(Files::isRegularFile)
+                .max(Comparator.comparing((Path path) -> path.getParent().getFileName().toString(), WebDriverProvisioner::compareVersions));
+        } catch (IOException ex) {
+            log.warn("Could not scan WebDriver cache {}: {}", cache, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static int compareVersions(String left, String right) {
+        String[] a = left.split("\\.");
+        String[] b = right.split("\\.");
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            int x = i < a.length ? parseOrZero(a[i]) : 0;
+            int y = i < b.length ? parseOrZero(b[i]) : 0;
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+        }
+        return 0;
+    }
+
+    private static int parseOrZero(String part) {
+        try {
+            return Integer.parseInt(part);
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private static String resolveCachePath(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.trim();
+        }
+        String property = System.getProperty("wdm.cachePath");
+        if (property != null && !property.isBlank()) {
+            return property;
+        }
+        String env = System.getenv("WDM_CACHE_PATH");
+        if (env != null && !env.isBlank()) {
+            return env;
+        }
+        return "/tmp/webdriver";
+    }
+
+    public enum State {
+        RESOLVING, READY, FAILED
+    }
+
+    public record ResolvedDriver(Path path, String version) {
+    }
+
+    public record Status(State state, ResolvedDriver driver, String error, boolean offline) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.automatedtestingframework.controller;
+
+import com.example.automatedtestingframework.storage.ArtifactStore;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Serves stored artifacts. Keys are content hashes, so the hash doubles as a strong ETag and
+ * responses can be cached forever. Range requests and If-None-Match are answered by Spring MVC's
+ * resource handling, which streams the file rather than loading it.
+ */
+@Controller
+public class ArtifactController {
+
+    private final ArtifactStore artifactStore;
+
+    public ArtifactController(ArtifactStore artifactStore) {
+        this.artifactStore = artifactStore;
+    }
+
+    @GetMapping("/artifacts/{key:.+}")
+    public ResponseEntity<Resource> artifact(@PathVariable String key) {
+        Path path = artifactStore.locate(key).orElse(null);
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Resource resource = new FileSystemResource(path);
+        return ResponseEntity.ok()
+            .eTag(key.substring(0, key.indexOf('.')))
+            .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable())
+            .contentType(MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM))
+            .body(resource);
+    }
+}
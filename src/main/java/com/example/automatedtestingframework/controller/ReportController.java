@@ -8,6 +8,7 @@ import com.example.automatedtestingframework.repository.ProjectRepository;
 import com.example.automatedtestingframework.repository.UserRepository;
 import com.example.automatedtestingframework.service.ReportingService;
 import com.example.automatedtestingframework.service.ReportExportService;
+import com.example.automatedtestingframework.service.TimelineService;
 import com.example.automatedtestingframework.service.dto.ReportAnalytics;
 import com.example.automatedtestingframework.util.JsonParserUtil;
 import org.springframework.data.domain.Page;
@@ -16,6 +17,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -38,17 +40,20 @@ public class ReportController {
 
     private final ReportingService reportingService;
     private final ReportExportService reportExportService;
+    private final TimelineService timelineService;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
     private final JsonParserUtil jsonParserUtil;
 
     public ReportController(ReportingService reportingService,
                             ReportExportService reportExportService,
+                            TimelineService timelineService,
                             ProjectRepository projectRepository,
                             UserRepository userRepository,
                             JsonParserUtil jsonParserUtil) {
         this.reportingService = reportingService;
         this.reportExportService = reportExportService;
+        this.timelineService = timelineService;
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
         this.jsonParserUtil = jsonParserUtil;
@@ -141,6 +146,21 @@ public class ReportController {
         return "redirect:" + buildRedirect(projectId, type, normalizedStatus, from, to);
     }
 
+    @GetMapping("/reports/{reportId}/timeline")
+    public String timeline(@AuthenticationPrincipal UserDetails principal,
+                           @PathVariable Long reportId,
+                           Model model) {
+        User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+        com.example.automatedtestingframework.model.Report report = reportingService.findReport(reportId)
+            .filter(candidate -> candidate.getProject() != null
+                && candidate.getProject().getOwner() != null
+                && candidate.getProject().getOwner().getId().equals(user.getId()))
+            .orElseThrow(() -> new IllegalArgumentException("Report not found"));
+        model.addAttribute("report", report);
+        model.addAttribute("frames", timelineService.frames(reportId));
+        return "report-timeline";
+    }
+
     @GetMapping("/regression-monitoring")
     public String regressionMonitoring(@AuthenticationPrincipal UserDetails principal, Model model) {
         User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
@@ -76,7 +76,11 @@ public class SchedulerController {
                                              @RequestHeader(value = "X-AUTOMATION-TOKEN", required = false) String token) {
         // Future enhancement: validate token. For now ensure project exists.
         Project project = projectRepository.findById(projectId).orElseThrow();
-        schedulingService.executeProject(projectId);
-        return ResponseEntity.accepted().body("Execution triggered for project " + project.getName());
+        SchedulingService.RunTrigger trigger = schedulingService.executeProject(projectId);
+        return ResponseEntity.accepted().body(switch (trigger.outcome()) {
+            case STARTED -> "Execution triggered for project " + project.getName();
+            case ATTACHED -> "Execution already queued for project %s (run %d)".formatted(project.getName(), trigger.runId());
+            case QUEUED -> "Follow-up execution queued for project %s after run %d".formatted(project.getName(), trigger.runId());
+        });
     }
 }
@@ -1,6 +1,8 @@
 package com.example.automatedtestingframework.controller;
 
+import com.example.automatedtestingframework.analysis.CrawlOptions;
 import com.example.automatedtestingframework.analysis.EndpointAnalysisPayload;
+import com.example.automatedtestingframework.load.LoadProfile;
 import com.example.automatedtestingframework.model.EndpointAnalysisResult;
 import com.example.automatedtestingframework.model.GeneratedActionFile;
 import com.example.automatedtestingframework.model.Project;
@@ -10,10 +12,22 @@ import com.example.automatedtestingframework.model.User;
 import com.example.automatedtestingframework.repository.GeneratedActionFileRepository;
 import com.example.automatedtestingframework.repository.EndpointAnalysisResultRepository;
 import com.example.automatedtestingframework.repository.ProjectRepository;
+import com.example.automatedtestingframework.repository.TestCaseBatchRepository;
 import com.example.automatedtestingframework.repository.TestCaseRepository;
 import com.example.automatedtestingframework.repository.UserRepository;
+import com.example.automatedtestingframework.retry.RetryPolicy;
+import com.example.automatedtestingframework.service.DatasetService;
 import com.example.automatedtestingframework.service.EndpointAnalysisService;
+import com.example.automatedtestingframework.service.FlakinessService;
+import com.example.automatedtestingframework.service.LaunchProfileService;
+import com.example.automatedtestingframework.service.LoadTestService;
+import com.example.automatedtestingframework.service.NotificationService;
+import com.example.automatedtestingframework.service.OpenApiImportService;
+import com.example.automatedtestingframework.service.RetryService;
+import com.example.automatedtestingframework.service.RunRegistry;
+import com.example.automatedtestingframework.service.SessionFixtureService;
 import com.example.automatedtestingframework.service.SchedulingService;
+import com.example.automatedtestingframework.traffic.TrafficMode;
 import com.example.automatedtestingframework.util.JsonParserUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +42,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -45,6 +61,15 @@ public class TestManagementController {
     private final JsonParserUtil jsonParserUtil;
     private final SchedulingService schedulingService;
     private final EndpointAnalysisService endpointAnalysisService;
+    private final OpenApiImportService openApiImportService;
+    private final TestCaseBatchRepository testCaseBatchRepository;
+    private final DatasetService datasetService;
+    private final LoadTestService loadTestService;
+    private final RetryService retryService;
+    private final LaunchProfileService launchProfileService;
+    private final SessionFixtureService sessionFixtureService;
+    private final FlakinessService flakinessService;
+    private final RunRegistry runRegistry;
 
     private static final Logger logger = LoggerFactory.getLogger(TestManagementController.class);
 
@@ -55,7 +80,16 @@ public class TestManagementController {
                                     UserRepository userRepository,
                                     JsonParserUtil jsonParserUtil,
                                     SchedulingService schedulingService,
-                                    EndpointAnalysisService endpointAnalysisService) {
+                                    EndpointAnalysisService endpointAnalysisService,
+                                    OpenApiImportService openApiImportService,
+                                    TestCaseBatchRepository testCaseBatchRepository,
+                                    DatasetService datasetService,
+                                    LoadTestService loadTestService,
+                                    RetryService retryService,
+                                    LaunchProfileService launchProfileService,
+                                    SessionFixtureService sessionFixtureService,
+                                    FlakinessService flakinessService,
+                                    RunRegistry runRegistry) {
         this.testCaseRepository = testCaseRepository;
         this.projectRepository = projectRepository;
         this.generatedActionFileRepository = generatedActionFileRepository;
@@ -64,6 +98,15 @@ public class TestManagementController {
         this.jsonParserUtil = jsonParserUtil;
         this.schedulingService = schedulingService;
         this.endpointAnalysisService = endpointAnalysisService;
+        this.openApiImportService = openApiImportService;
+        this.testCaseBatchRepository = testCaseBatchRepository;
+        this.datasetService = datasetService;
+        this.loadTestService = loadTestService;
+        this.retryService = retryService;
+        this.launchProfileService = launchProfileService;
+        this.sessionFixtureService = sessionFixtureService;
+        this.flakinessService = flakinessService;
+        this.runRegistry = runRegistry;
     }
 
     @GetMapping("/test-management")
@@ -85,6 +128,7 @@ public class TestManagementController {
             model.addAttribute("recentStatus", lastRun.map(TestCase::getLastRunStatus).orElse(null));
             model.addAttribute("actions", generatedActionFileRepository.findByProject(project));
             model.addAttribute("project", project);
+            model.addAttribute("activeRuns", runRegistry.activeRuns(project.getId()));
 
             List<EndpointAnalysisResult> analyses = endpointAnalysisResultRepository.findTop10ByProjectOrderByExecutedAtDesc(project);
             model.addAttribute("analysisResults", analyses.stream()
@@ -130,13 +174,17 @@ public class TestManagementController {
     public String triggerEndpointAnalysis(@AuthenticationPrincipal UserDetails principal,
                                           @PathVariable Long projectId,
                                           @RequestParam("domainUrl") String domainUrl,
+                                          @RequestParam(name = "crawl", defaultValue = "false") boolean crawl,
+                                          @RequestParam(name = "crawlDepth", defaultValue = "2") int crawlDepth,
+                                          @RequestParam(name = "crawlPages", defaultValue = "200") int crawlPages,
                                           RedirectAttributes redirectAttributes) {
         try {
             User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
             Project project = projectRepository.findById(projectId).orElseThrow();
             validateProjectOwnership(user, project);
 
-            EndpointAnalysisResult result = endpointAnalysisService.performAnalysis(project, domainUrl);
+            CrawlOptions crawlOptions = crawl ? new CrawlOptions(crawlDepth, crawlPages) : null;
+            EndpointAnalysisResult result = endpointAnalysisService.performAnalysis(project, domainUrl, crawlOptions);
             redirectAttributes.addFlashAttribute("message",
                 "Endpoint analysis completed with status %s".formatted(result.getStatus()));
         } catch (IllegalArgumentException ex) {
@@ -148,14 +196,59 @@ public class TestManagementController {
         return "redirect:/test-management?projectId=" + projectId + "#analysis";
     }
 
+    @PostMapping("/test-management/project/{projectId}/openapi-import")
+    public String importOpenApi(@AuthenticationPrincipal UserDetails principal,
+                                @PathVariable Long projectId,
+                                @RequestParam(value = "file", required = false) MultipartFile file,
+                                @RequestParam(value = "specUrl", required = false) String specUrl,
+                                @RequestParam(value = "analysisId", required = false) Long analysisId,
+                                @RequestParam(value = "baseUrl", required = false) String baseUrl,
+                                RedirectAttributes redirectAttributes) {
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            validateProjectOwnership(user, project);
+
+            OpenApiImportService.ImportSummary summary;
+            if (file != null && !file.isEmpty()) {
+                summary = openApiImportService.importSpec(project,
+                    new String(file.getBytes(), StandardCharsets.UTF_8), fallbackBaseUrl(baseUrl, project));
+            } else if (specUrl != null && !specUrl.isBlank()) {
+                summary = openApiImportService.importFromUrl(project, specUrl, baseUrl);
+            } else if (analysisId != null) {
+                EndpointAnalysisResult analysis = endpointAnalysisResultRepository.findById(analysisId)
+                    .filter(result -> result.getProject().getId().equals(project.getId()))
+                    .orElseThrow(() -> new IllegalArgumentException("Analysis not found for this project"));
+                summary = openApiImportService.importFromAnalysis(project, analysis);
+            } else {
+                throw new IllegalArgumentException("Upload a specification, provide its URL, or pick an analysis");
+            }
+            redirectAttributes.addFlashAttribute("message",
+                "Generated %d API tests from the specification (%d created, %d updated)".formatted(
+                    summary.operations(), summary.created(), summary.updated()));
+        } catch (IllegalArgumentException | IOException ex) {
+            logger.warn("OpenAPI import failed for project {}: {}", projectId, ex.getMessage());
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        } catch (Exception ex) {
+            logger.error("OpenAPI import failed for project {}", projectId, ex);
+            redirectAttributes.addFlashAttribute("error", "OpenAPI import failed: " + ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
     @PostMapping("/test-management/test/{id}/run")
-    public String runTest(@PathVariable Long id, RedirectAttributes redirectAttributes) {
+    public String runTest(@PathVariable Long id,
+                          @RequestParam(name = "mode", required = false) String mode,
+                          RedirectAttributes redirectAttributes) {
         Long projectId = null;
         try {
             TestCase testCase = testCaseRepository.findById(id).orElseThrow();
             projectId = testCase.getProject().getId();
-            schedulingService.executeTestCase(testCase);
-            redirectAttributes.addFlashAttribute("message", "Execution queued for '%s'".formatted(testCase.getName()));
+            TrafficMode trafficMode = mode == null || mode.isBlank() ? null : TrafficMode.parse(mode);
+            schedulingService.executeTestCase(testCase, trafficMode);
+            redirectAttributes.addFlashAttribute("message", trafficMode == null
+                ? "Execution queued for '%s'".formatted(testCase.getName())
+                : "%s execution queued for '%s'".formatted(trafficMode, testCase.getName()));
         } catch (Exception e) {
             logger.error("Error starting test with ID " + id, e);
             redirectAttributes.addFlashAttribute("error", "Failed to start test: " + e.getMessage());
@@ -163,6 +256,61 @@ public class TestManagementController {
         return "redirect:/test-management?projectId=" + projectId;
     }
 
+    @PostMapping("/test-management/test/{id}/dataset")
+    public String uploadDataset(@AuthenticationPrincipal UserDetails principal,
+                                @PathVariable Long id,
+                                @RequestParam(value = "file", required = false) MultipartFile file,
+                                @RequestParam(name = "clear", defaultValue = "false") boolean clear,
+                                RedirectAttributes redirectAttributes) {
+        Long projectId = null;
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            TestCase testCase = testCaseRepository.findById(id).orElseThrow();
+            projectId = testCase.getProject().getId();
+            validateProjectOwnership(user, testCase.getProject());
+            if (testCase.getType() != TestCaseType.API) {
+                throw new IllegalArgumentException("Datasets are only supported for API tests");
+            }
+
+            if (clear) {
+                datasetService.clear(testCase);
+                redirectAttributes.addFlashAttribute("message", "Removed dataset from '%s'".formatted(testCase.getName()));
+            } else {
+                datasetService.store(testCase, file);
+                redirectAttributes.addFlashAttribute("message",
+                    "Attached %s dataset to '%s'".formatted(testCase.getDatasetFormat(), testCase.getName()));
+            }
+            testCaseRepository.save(testCase);
+        } catch (IllegalArgumentException | IOException ex) {
+            logger.warn("Dataset upload failed for test {}: {}", id, ex.getMessage());
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
+    @PostMapping("/test-management/test/{id}/quarantine")
+    public String toggleQuarantine(@AuthenticationPrincipal UserDetails principal,
+                                   @PathVariable Long id,
+                                   @RequestParam(name = "quarantined") boolean quarantined,
+                                   RedirectAttributes redirectAttributes) {
+        Long projectId = null;
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            TestCase testCase = testCaseRepository.findById(id).orElseThrow();
+            projectId = testCase.getProject().getId();
+            validateProjectOwnership(user, testCase.getProject());
+
+            flakinessService.setQuarantine(testCase, quarantined,
+                quarantined ? "Quarantined manually by " + user.getEmail() : null);
+            redirectAttributes.addFlashAttribute("message", quarantined
+                ? "'%s' is quarantined; its failures are reported separately".formatted(testCase.getName())
+                : "'%s' released from quarantine".formatted(testCase.getName()));
+        } catch (IllegalArgumentException ex) {
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
     @PostMapping("/test-management/tests/import")
     public String importTests(@AuthenticationPrincipal UserDetails principal,
                               @RequestParam Long projectId,
@@ -187,8 +335,7 @@ public class TestManagementController {
                 return "redirect:/test-management?projectId=" + projectId;
             }
 
-            int created = 0;
-            int updated = 0;
+            List<TestCase> drafts = new ArrayList<>();
             Iterator<JsonNode> iterator = testsNode.elements();
             while (iterator.hasNext()) {
                 JsonNode testNode = iterator.next();
@@ -208,26 +355,18 @@ public class TestManagementController {
                 String definitionJson = resolveDefinition(testNode);
                 jsonParserUtil.parse(definitionJson); // validation
 
-                TestCase testCase = testCaseRepository.findByProjectAndNameIgnoreCase(project, name)
-                    .orElseGet(() -> {
-                        TestCase tc = new TestCase();
-                        tc.setProject(project);
-                        tc.setName(name);
-                        return tc;
-                    });
-                boolean isNew = testCase.getId() == null;
-                testCase.setType(type);
-                testCase.setDefinitionJson(definitionJson);
-                testCaseRepository.save(testCase);
-                if (isNew) {
-                    created++;
-                } else {
-                    updated++;
-                }
+                TestCase draft = new TestCase();
+                draft.setProject(project);
+                draft.setName(name);
+                draft.setType(type);
+                draft.setDefinitionJson(definitionJson);
+                drafts.add(draft);
             }
 
+            TestCaseBatchRepository.UpsertResult result = testCaseBatchRepository.upsert(project, drafts);
             redirectAttributes.addFlashAttribute("message",
-                "Imported %d tests (%d created, %d updated)".formatted(created + updated, created, updated));
+                "Imported %d tests (%d created, %d updated)".formatted(
+                    result.created() + result.updated(), result.created(), result.updated()));
         } catch (IllegalArgumentException | IOException ex) {
             logger.error("Bulk import failed", ex);
             redirectAttributes.addFlashAttribute("error", ex.getMessage());
@@ -246,9 +385,12 @@ public class TestManagementController {
             validateProjectOwnership(user, project);
 
             int sanitizedThreads = Math.max(1, Math.min(threadCount, 64));
-            schedulingService.executeProjectAsync(project, sanitizedThreads);
-            redirectAttributes.addFlashAttribute("message",
-                "Triggered project run with %d parallel workers".formatted(sanitizedThreads));
+            SchedulingService.RunTrigger trigger = schedulingService.executeProjectAsync(project, sanitizedThreads);
+            redirectAttributes.addFlashAttribute("message", switch (trigger.outcome()) {
+                case STARTED -> "Triggered project run with %d parallel workers".formatted(sanitizedThreads);
+                case ATTACHED -> "An identical project run is already queued; joined it";
+                case QUEUED -> "A project run is in progress; a follow-up run will start when it finishes";
+            });
         } catch (Exception ex) {
             logger.error("Failed to trigger project run", ex);
             redirectAttributes.addFlashAttribute("error", "Failed to start project run: " + ex.getMessage());
@@ -256,6 +398,189 @@ public class TestManagementController {
         return "redirect:/test-management?projectId=" + projectId;
     }
 
+    @PostMapping("/test-management/run/{runId}/cancel")
+    public String cancelRun(@AuthenticationPrincipal UserDetails principal,
+                            @PathVariable Long runId,
+                            RedirectAttributes redirectAttributes) {
+        Long projectId = null;
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            RunRegistry.ActiveRun run = runRegistry.find(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Run has already finished"));
+            projectId = run.projectId();
+            validateProjectOwnership(user, projectRepository.findById(projectId).orElseThrow());
+
+            run.context().cancel("Cancelled by " + user.getEmail());
+            redirectAttributes.addFlashAttribute("message",
+                "Cancelled '%s'; queued cases were dropped and running ones stopped".formatted(run.label()));
+        } catch (IllegalArgumentException ex) {
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
+    @PostMapping("/test-management/project/{projectId}/load")
+    public String runLoadTest(@AuthenticationPrincipal UserDetails principal,
+                              @PathVariable Long projectId,
+                              @RequestParam(name = "testCaseId", required = false) Long testCaseId,
+                              @RequestParam(name = "model", defaultValue = "OPEN") LoadProfile.Model model,
+                              @RequestParam(name = "rps", defaultValue = "10") int rps,
+                              @RequestParam(name = "concurrency", defaultValue = "10") int concurrency,
+                              @RequestParam(name = "durationSeconds", defaultValue = "30") long durationSeconds,
+                              @RequestParam(name = "mode", required = false) String mode,
+                              @RequestParam(name = "maxErrorPercent", defaultValue = "1") double maxErrorPercent,
+                              RedirectAttributes redirectAttributes) {
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            validateProjectOwnership(user, project);
+
+            List<TestCase> cases = testCaseId != null
+                ? List.of(testCaseRepository.findById(testCaseId)
+                    .filter(testCase -> testCase.getProject().getId().equals(projectId))
+                    .orElseThrow(() -> new IllegalArgumentException("Test case not found in this project")))
+                : testCaseRepository.findByProject(project).stream()
+                    .filter(testCase -> testCase.getType() == TestCaseType.API)
+                    .toList();
+            LoadProfile profile = new LoadProfile(model, rps, concurrency, Duration.ofSeconds(durationSeconds),
+                TrafficMode.parse(mode), maxErrorPercent);
+            loadTestService.startAsync(project, cases, profile);
+            redirectAttributes.addFlashAttribute("message",
+                "Load test started for %d API test(s); results will appear in Reports".formatted(cases.size()));
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
+    @PostMapping("/test-management/project/{projectId}/execution-settings")
+    public String updateExecutionSettings(@AuthenticationPrincipal UserDetails principal,
+                                          @PathVariable Long projectId,
+                                          @RequestParam(name = "maxConcurrency", required = false) Integer maxConcurrency,
+                                          RedirectAttributes redirectAttributes) {
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            validateProjectOwnership(user, project);
+
+            Integer sanitized = maxConcurrency == null || maxConcurrency <= 0 ? null : Math.min(maxConcurrency, 64);
+            project.setMaxConcurrency(sanitized);
+            projectRepository.save(project);
+            redirectAttributes.addFlashAttribute("message", sanitized == null
+                ? "Dataset iterations will use the default concurrency"
+                : "Dataset iterations will run up to %d at a time".formatted(sanitized));
+        } catch (IllegalArgumentException ex) {
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
+    @PostMapping("/test-management/project/{projectId}/retry-policy")
+    public String updateRetryPolicy(@AuthenticationPrincipal UserDetails principal,
+                                    @PathVariable Long projectId,
+                                    @RequestParam(name = "retryPolicy", required = false) String retryPolicy,
+                                    RedirectAttributes redirectAttributes) {
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            validateProjectOwnership(user, project);
+
+            if (retryPolicy == null || retryPolicy.isBlank()) {
+                project.setRetryPolicyJson(null);
+                redirectAttributes.addFlashAttribute("message", "Failed tests will no longer be retried by default");
+            } else {
+                RetryPolicy policy = retryService.parse(retryPolicy);
+                project.setRetryPolicyJson(retryPolicy.trim());
+                redirectAttributes.addFlashAttribute("message",
+                    "Failed tests will be tried up to %d times".formatted(policy.maxAttempts()));
+            }
+            projectRepository.save(project);
+        } catch (IllegalArgumentException ex) {
+            redirectAttributes.addFlashAttribute("error", "Invalid retry policy: " + ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
+    @PostMapping("/test-management/project/{projectId}/launch-profile")
+    public String updateLaunchProfile(@AuthenticationPrincipal UserDetails principal,
+                                      @PathVariable Long projectId,
+                                      @RequestParam(name = "launchProfile", required = false) String launchProfile,
+                                      RedirectAttributes redirectAttributes) {
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            validateProjectOwnership(user, project);
+
+            if (launchProfile == null || launchProfile.isBlank()) {
+                project.setLaunchProfileJson(null);
+                redirectAttributes.addFlashAttribute("message", "UI tests will launch a full browser");
+            } else {
+                launchProfileService.parse(launchProfile);
+                if (launchProfile.trim().length() > 2048) {
+                    throw new IllegalArgumentException("Launch profile must be at most 2048 characters");
+                }
+                project.setLaunchProfileJson(launchProfile.trim());
+                redirectAttributes.addFlashAttribute("message", "Launch profile saved");
+            }
+            projectRepository.save(project);
+        } catch (IllegalArgumentException ex) {
+            redirectAttributes.addFlashAttribute("error", "Invalid launch profile: " + ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
+    @PostMapping("/test-management/project/{projectId}/session-fixtures")
+    public String updateSessionFixtures(@AuthenticationPrincipal UserDetails principal,
+                                        @PathVariable Long projectId,
+                                        @RequestParam(name = "sessionFixtures", required = false) String sessionFixtures,
+                                        RedirectAttributes redirectAttributes) {
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            validateProjectOwnership(user, project);
+
+            if (sessionFixtures == null || sessionFixtures.isBlank()) {
+                project.setSessionFixturesJson(null);
+                redirectAttributes.addFlashAttribute("message", "Session fixtures removed");
+            } else {
+                int count = sessionFixtureService.parse(sessionFixtures).size();
+                project.setSessionFixturesJson(sessionFixtures.trim());
+                redirectAttributes.addFlashAttribute("message", "Saved " + count + " session fixture(s)");
+            }
+            projectRepository.save(project);
+            sessionFixtureService.clear(projectId);
+        } catch (IllegalArgumentException ex) {
+            redirectAttributes.addFlashAttribute("error", "Invalid session fixtures: " + ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
+    @PostMapping("/test-management/project/{projectId}/notifications")
+    public String updateNotificationRecipients(@AuthenticationPrincipal UserDetails principal,
+                                               @PathVariable Long projectId,
+                                               @RequestParam(name = "recipients", required = false) String recipients,
+                                               RedirectAttributes redirectAttributes) {
+        try {
+            User user = userRepository.findByEmail(principal.getUsername()).orElseThrow();
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            validateProjectOwnership(user, project);
+
+            List<String> parsed = recipients == null ? List.of() : NotificationService.parseRecipients(recipients);
+            String joined = String.join(", ", parsed);
+            if (joined.length() > 1024) {
+                throw new IllegalArgumentException("Recipient list is too long");
+            }
+            project.setNotificationRecipients(parsed.isEmpty() ? null : joined);
+            projectRepository.save(project);
+            redirectAttributes.addFlashAttribute("message", parsed.isEmpty()
+                ? "Run summaries will be mailed to the project owner"
+                : "Run summaries will be mailed to %d recipients".formatted(parsed.size()));
+        } catch (IllegalArgumentException ex) {
+            redirectAttributes.addFlashAttribute("error", ex.getMessage());
+        }
+        return "redirect:/test-management?projectId=" + projectId;
+    }
+
     @PostMapping("/test-management/action")
     public String createActionFile(@AuthenticationPrincipal UserDetails principal,
                                    @RequestParam Long projectId,
@@ -287,6 +612,13 @@ public class TestManagementController {
         return payload != null ? payload.trim() : null;
     }
 
+    private String fallbackBaseUrl(String baseUrl, Project project) {
+        if (baseUrl != null && !baseUrl.isBlank()) {
+            return baseUrl.trim();
+        }
+        return project.getAppDomain();
+    }
+
     private String resolveDefinition(JsonNode testNode) {
         JsonNode definitionNode = testNode.path("definition");
         if (definitionNode.isMissingNode() || definitionNode.isNull()) {
@@ -329,5 +661,11 @@ public class TestManagementController {
         public EndpointAnalysisPayload getPayload() {
             return payload;
         }
+
+        public boolean isApiSpecDiscovered() {
+            return payload.fileResources().stream()
+                .anyMatch(resource -> resource.accessible()
+                    && ("/openapi.json".equals(resource.path()) || "/swagger.json".equals(resource.path())));
+        }
     }
 }
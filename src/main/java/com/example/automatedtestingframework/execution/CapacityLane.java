@@ -0,0 +1,86 @@
+package com.example.automatedtestingframework.execution;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A fixed budget of capacity units shared by every run. Work is admitted by its cost in units and
+ * waits in arrival order until enough are free; an optional gate can additionally hold work back
+ * while the machine itself is short of a resource, but never the only work in the lane, so a lane
+ * cannot stall on a gate that other processes keep closed.
+ */
+public final class CapacityLane {
+
+    private static final long POLL_MILLIS = 250;
+
+    private final String name;
+    private final int capacity;
+    private final Semaphore units;
+    private final BooleanSupplier gate;
+
+    public CapacityLane(String name, int capacity, BooleanSupplier gate) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Lane " + name + " needs at least one unit of capacity");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.units = new Semaphore(capacity, true);
+        this.gate = gate == null ? () -> true : gate;
+    }
+
+    /**
+     * Blocks until {@code cost} units (capped at the lane's capacity) are granted.
+     *
+     * @throws ExecutionCancelledException when the context is cancelled while waiting
+     */
+    public Lease acquire(int cost, ExecutionContext context) {
+        int wanted = Math.max(1, Math.min(cost, capacity));
+        while (true) {
+            context.checkpoint();
+            try {
+                if (units.tryAcquire(wanted, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    boolean alone = units.availablePermits() + wanted >= capacity;
+                    if (alone || gate.getAsBoolean()) {
+                        return new Lease(wanted);
+                    }
+                    units.release(wanted);
+                    TimeUnit.MILLISECONDS.sleep(POLL_MILLIS);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ExecutionCancelledException("Interrupted while waiting for " + name + " capacity", ex);
+            }
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int inUse() {
+        return capacity - units.availablePermits();
+    }
+
+    public final class Lease implements AutoCloseable {
+
+        private final int granted;
+        private boolean released;
+
+        private Lease(int granted) {
+            this.granted = granted;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                units.release(granted);
+            }
+        }
+    }
+}
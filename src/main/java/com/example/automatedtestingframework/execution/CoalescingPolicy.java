@@ -0,0 +1,26 @@
+package com.example.automatedtestingframework.execution;
+
+import java.util.Locale;
+
+/**
+ * What a project-run trigger does while a run with the same parameters is already queued or
+ * running: {@code NONE} starts another run regardless, {@code ATTACH} joins the existing run, and
+ * {@code QUEUE_ONE} joins it if it has not started yet and otherwise queues a single follow-up run
+ * that every later trigger shares, so changes made after the current run began still get tested.
+ */
+public enum CoalescingPolicy {
+    NONE,
+    ATTACH,
+    QUEUE_ONE;
+
+    public static CoalescingPolicy parse(String value) {
+        if (value == null || value.isBlank()) {
+            return QUEUE_ONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown coalescing policy '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.automatedtestingframework.execution;
+
+/**
+ * Thrown at a checkpoint once the surrounding run or case was cancelled or ran past its deadline.
+ */
+public class ExecutionCancelledException extends IllegalStateException {
+
+    public ExecutionCancelledException(String message) {
+        super(message);
+    }
+
+    public ExecutionCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.automatedtestingframework.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deadline and cancellation state shared by everything working on one run or one case. Contexts
+ * form a tree: a child inherits its parent's deadline unless its own is earlier, and is cancelled
+ * together with it. Work stops cooperatively at {@link #checkpoint()} calls between steps; calls
+ * that block (a socket read, a WebDriver command) are broken by {@link #onCancel} hooks that fire
+ * as soon as the context is cancelled or its deadline passes. Hooks run on their own threads, so
+ * a hook that blocks (quitting a hung browser, say) never holds up cancellation or other deadlines.
+ */
+public final class ExecutionContext implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionContext.class);
+
+    private static final ScheduledExecutorService DEADLINES = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "execution-deadlines");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicInteger HOOK_THREADS = new AtomicInteger(1);
+
+    private static final ExecutorService HOOKS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "execution-cancel-hook-" + HOOK_THREADS.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ExecutionContext parent;
+    private final Instant deadline;
+    private final String timeoutReason;
+    private final List<Runnable> hooks = new CopyOnWriteArrayList<>();
+    private final Set<ExecutionContext> children = ConcurrentHashMap.newKeySet();
+    private final ScheduledFuture<?> timer;
+    private volatile String cancelReason;
+
+    private ExecutionContext(ExecutionContext parent, Instant deadline, String timeoutReason, boolean ownsDeadline) {
+        this.parent = parent;
+        this.deadline = deadline;
+        this.timeoutReason = timeoutReason;
+        this.timer = ownsDeadline
+            ? DEADLINES.schedule(() -> cancel(timeoutReason),
+                Math.max(0, Duration.between(Instant.now(), deadline).toMillis()), TimeUnit.MILLISECONDS)
+            : null;
+    }
+
+    /**
+     * A top-level context without a deadline; it only ends when cancelled.
+     */
+    public static ExecutionContext unbounded() {
+        return new ExecutionContext(null, null, null, false);
+    }
+
+    /**
+     * @param label what the deadline applies to, used in the timeout message
+     */
+    public static ExecutionContext root(Duration timeout, String label) {
+        return new ExecutionContext(null, Instant.now().plus(timeout), timeoutMessage(label, timeout), true);
+    }
+
+    /**
+     * A context for part of this one's work that must also finish within {@code timeout}.
+     */
+    public ExecutionContext child(Duration timeout, String label) {
+        Instant own = Instant.now().plus(timeout);
+        boolean shorter = deadline == null || own.isBefore(deadline);
+        ExecutionContext child = shorter
+            ? new ExecutionContext(this, own, timeoutMessage(label, timeout), true)
+            : new ExecutionContext(this, deadline, timeoutReason, false);
+        children.add(child);
+        String reason = cancelReason;
+        if (reason != null) {
+            child.cancel(reason);
+        }
+        return child;
+    }
+
+    /**
+     * Marks this context and all of its children cancelled and hands their hooks to the hook
+     * threads. Only the first reason is kept.
+     */
+    public void cancel(String reason) {
+        synchronized (this) {
+            if (cancelReason != null) {
+                return;
+            }
+            cancelReason = reason;
+        }
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        children.forEach(child -> child.cancel(reason));
+        for (Runnable hook : hooks) {
+            HOOKS.execute(() -> runHook(hook));
+        }
+    }
+
+    private static void runHook(Runnable hook) {
+        try {
+            hook.run();
+        } catch (RuntimeException ex) {
+            log.debug("Cancellation hook failed: {}", ex.getMessage());
+        }
+    }
+
+    public boolean isCancelled() {
+        if (cancelReason == null && deadline != null && !Instant.now().isBefore(deadline)) {
+            cancel(timeoutReason);
+        }
+        return cancelReason != null;
+    }
+
+    /**
+     * @return why the context was cancelled, or null while it is still live
+     */
+    public String cancelReason() {
+        return isCancelled() ? cancelReason : null;
+    }
+
+    /**
+     * @throws ExecutionCancelledException when the context was cancelled or its deadline passed
+     */
+    public void checkpoint() {
+        if (isCancelled()) {
+            throw new ExecutionCancelledException(cancelReason);
+        }
+    }
+
+    /**
+     * The smaller of {@code cap} and the time left before the deadline, never below one millisecond
+     * so it can be handed to APIs that reject zero timeouts.
+     */
+    public Duration remaining(Duration cap) {
+        if (deadline == null) {
+            return cap;
+        }
+        Duration left = Duration.between(Instant.now(), deadline);
+        Duration bounded = left.compareTo(cap) < 0 ? left : cap;
+        return bounded.compareTo(Duration.ofMillis(1)) < 0 ? Duration.ofMillis(1) : bounded;
+    }
+
+    /**
+     * Runs {@code hook} once when the context is cancelled, or right away if it already is. Close
+     * the returned registration once the guarded work is done.
+     */
+    public Registration onCancel(Runnable hook) {
+        AtomicBoolean ran = new AtomicBoolean();
+        Runnable once = () -> {
+            if (ran.compareAndSet(false, true)) {
+                hook.run();
+            }
+        };
+        hooks.add(once);
+        if (cancelReason != null) {
+            once.run();
+        }
+        return () -> hooks.remove(once);
+    }
+
+    /**
+     * Interrupts the calling thread on cancellation so blocking I/O and sleeps give up. Closing the
+     * registration clears an interrupt it delivered, leaving the thread fit for reuse by its pool.
+     */
+    public Registration interruptOnCancel() {
+        Thread thread = Thread.currentThread();
+        Object lock = new Object();
+        boolean[] state = new boolean[2]; // {closed, fired}
+        Registration registration = onCancel(() -> {
+            synchronized (lock) {
+                if (!state[0]) {
+                    state[1] = true;
+                    thread.interrupt();
+                }
+            }
+        });
+        return () -> {
+            registration.close();
+            synchronized (lock) {
+                state[0] = true;
+            }
+            if (state[1] && Thread.currentThread() == thread) {
+                Thread.interrupted();
+            }
+        };
+    }
+
+    /**
+     * Stops the deadline timer and detaches from the parent. Hooks still registered are dropped.
+     */
+    @Override
+    public void close() {
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        if (parent != null) {
+            parent.children.remove(this);
+        }
+        hooks.clear();
+    }
+
+    private static String timeoutMessage(String label, Duration timeout) {
+        return "%s exceeded its %ds timeout".formatted(label, timeout.toSeconds());
+    }
+
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
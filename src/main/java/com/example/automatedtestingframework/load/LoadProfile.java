@@ -0,0 +1,48 @@
+package com.example.automatedtestingframework.load;
+
+import com.example.automatedtestingframework.traffic.TrafficMode;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run. {@code OPEN} starts iterations at a fixed arrival rate of
+ * {@code targetRps} no matter how slowly the target answers, with at most {@code concurrency}
+ * in flight; {@code CLOSED} keeps {@code concurrency} virtual users looping back to back.
+ * A run fails when more than {@code maxErrorPercent} of its iterations fail.
+ */
+public record LoadProfile(Model model,
+                          int targetRps,
+                          int concurrency,
+                          Duration duration,
+                          TrafficMode trafficMode,
+                          double maxErrorPercent) {
+
+    public enum Model {
+        OPEN,
+        CLOSED
+    }
+
+    public LoadProfile {
+        if (model == null) {
+            throw new IllegalArgumentException("Load model is required");
+        }
+        if (model == Model.OPEN && targetRps <= 0) {
+            throw new IllegalArgumentException("Target RPS must be positive for an open-model run");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (trafficMode == TrafficMode.RECORD) {
+            throw new IllegalArgumentException("Load runs cannot record traffic; use LIVE or REPLAY");
+        }
+        if (maxErrorPercent < 0 || maxErrorPercent > 100) {
+            throw new IllegalArgumentException("Error threshold must be between 0 and 100 percent");
+        }
+        if (trafficMode == null) {
+            trafficMode = TrafficMode.LIVE;
+        }
+    }
+}
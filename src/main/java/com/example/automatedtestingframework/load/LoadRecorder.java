@@ -0,0 +1,121 @@
+package com.example.automatedtestingframework.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects iteration latencies of a load run in microseconds. Workers record into a lock-free
+ * {@link Recorder}; a single sampler thread calls {@link #sample} once per interval to swap out
+ * the interval histogram, append a timeline point and fold it into the run total.
+ */
+public final class LoadRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    public record TimelinePoint(long elapsedMillis, long requests, long errors, double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    private final LongAdder intervalErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final List<TimelinePoint> timeline = new ArrayList<>();
+    private Histogram recycled;
+    private long totalErrors;
+
+    public void record(long latencyNanos, boolean error) {
+        recorder.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (error) {
+            intervalErrors.increment();
+        }
+    }
+
+    /**
+     * Counts an arrival that was never started because the run's queue was full.
+     */
+    public void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * Closes the current interval. Must only be called from one thread at a time.
+     */
+    public synchronized void sample(long elapsedMillis) {
+        Histogram interval = recorder.getIntervalHistogram(recycled);
+        long errors = intervalErrors.sumThenReset();
+        totalErrors += errors;
+        total.add(interval);
+        timeline.add(new TimelinePoint(elapsedMillis, interval.getTotalCount(), errors,
+            millis(interval.getValueAtPercentile(50)),
+            millis(interval.getValueAtPercentile(99)),
+            millis(interval.getMaxValue())));
+        recycled = interval;
+    }
+
+    public synchronized long count() {
+        return total.getTotalCount();
+    }
+
+    public synchronized long errors() {
+        return totalErrors;
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public synchronized double percentileMillis(double percentile) {
+        return millis(total.getValueAtPercentile(percentile));
+    }
+
+    public synchronized double maxMillis() {
+        return millis(total.getMaxValue());
+    }
+
+    public synchronized List<TimelinePoint> timeline() {
+        return List.copyOf(timeline);
+    }
+
+    /**
+     * Summary, timeline and the full histogram (compressed, Base64) so runs can be merged or
+     * re-plotted later with HdrHistogram tooling.
+     */
+    public synchronized Map<String, Object> toArtifact() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("unit", "ms");
+        latency.put("mean", total.getTotalCount() == 0 ? 0 : total.getMean() / 1000.0);
+        for (double percentile : new double[] {50, 90, 95, 99, 99.9}) {
+            latency.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                millis(total.getValueAtPercentile(percentile)));
+        }
+        latency.put("max", millis(total.getMaxValue()));
+
+        ByteBuffer buffer = ByteBuffer.allocate(total.getNeededByteBufferCapacity());
+        int length = total.encodeIntoCompressedByteBuffer(buffer);
+        byte[] encoded = new byte[length];
+        buffer.flip();
+        buffer.get(encoded);
+
+        Map<String, Object> artifact = new LinkedHashMap<>();
+        artifact.put("requests", total.getTotalCount());
+        artifact.put("errors", totalErrors);
+        artifact.put("dropped", dropped.sum());
+        artifact.put("latency", latency);
+        artifact.put("timeline", List.copyOf(timeline));
+        artifact.put("histogram", Base64.getEncoder().encodeToString(encoded));
+        return artifact;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
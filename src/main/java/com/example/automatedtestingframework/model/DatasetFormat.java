@@ -0,0 +1,6 @@
+package com.example.automatedtestingframework.model;
+
+public enum DatasetFormat {
+    CSV,
+    NDJSON
+}
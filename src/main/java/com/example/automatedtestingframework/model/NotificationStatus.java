@@ -0,0 +1,7 @@
+package com.example.automatedtestingframework.model;
+
+public enum NotificationStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
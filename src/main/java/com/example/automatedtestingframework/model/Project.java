@@ -61,6 +61,22 @@ public class Project {
     @Column(length = 512)
     private String appDomain;
 
+    @Column
+    private Integer maxConcurrency;
+
+    @Column(length = 1024)
+    private String retryPolicyJson;
+
+    @Column(length = 1024)
+    private String notificationRecipients;
+
+    @Column(length = 2048)
+    private String launchProfileJson;
+
+    @Lob
+    @Column(columnDefinition = "LONGTEXT")
+    private String sessionFixturesJson;
+
     public Long getId() {
         return id;
     }
@@ -196,4 +212,44 @@ public class Project {
     public void setAppDomain(String appDomain) {
         this.appDomain = appDomain;
     }
+
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public String getRetryPolicyJson() {
+        return retryPolicyJson;
+    }
+
+    public void setRetryPolicyJson(String retryPolicyJson) {
+        this.retryPolicyJson = retryPolicyJson;
+    }
+
+    public String getLaunchProfileJson() {
+        return launchProfileJson;
+    }
+
+    public void setLaunchProfileJson(String launchProfileJson) {
+        this.launchProfileJson = launchProfileJson;
+    }
+
+    public String getSessionFixturesJson() {
+        return sessionFixturesJson;
+    }
+
+    public void setSessionFixturesJson(String sessionFixturesJson) {
+        this.sessionFixturesJson = sessionFixturesJson;
+    }
+
+    public String getNotificationRecipients() {
+        return notificationRecipients;
+    }
+
+    public void setNotificationRecipients(String notificationRecipients) {
+        this.notificationRecipients = notificationRecipients;
+    }
 }
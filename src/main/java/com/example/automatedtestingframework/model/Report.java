@@ -46,6 +46,16 @@ public class Report {
     @Column(length = 80)
     private String environment;
 
+    @Column
+    private Integer attempts;
+
+    @Column(nullable = false)
+    private boolean quarantined;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReportKind kind = ReportKind.TEST;
+
     public Long getId() {
         return id;
     }
@@ -149,4 +159,28 @@ public class Report {
         }
         return Duration.between(startedAt, completedAt).getSeconds();
     }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public boolean isQuarantined() {
+        return quarantined;
+    }
+
+    public void setQuarantined(boolean quarantined) {
+        this.quarantined = quarantined;
+    }
+
+    public ReportKind getKind() {
+        return kind;
+    }
+
+    public void setKind(ReportKind kind) {
+        this.kind = kind;
+    }
 }
@@ -38,6 +38,23 @@ public class TestCase {
     @Column
     private Integer lastResponseCode;
 
+    @Column(length = 512)
+    private String datasetPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private DatasetFormat datasetFormat;
+
+    // The default keeps inserts that do not go through JPA valid on strict MySQL
+    @Column(nullable = false, columnDefinition = "bit not null default 0")
+    private boolean quarantined;
+
+    @Column
+    private OffsetDateTime quarantinedAt;
+
+    @Column(length = 512)
+    private String quarantineReason;
+
     @Column(nullable = false)
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
@@ -132,8 +149,48 @@ public class TestCase {
         this.updatedAt = updatedAt;
     }
 
+    public String getDatasetPath() {
+        return datasetPath;
+    }
+
+    public void setDatasetPath(String datasetPath) {
+        this.datasetPath = datasetPath;
+    }
+
+    public DatasetFormat getDatasetFormat() {
+        return datasetFormat;
+    }
+
+    public void setDatasetFormat(DatasetFormat datasetFormat) {
+        this.datasetFormat = datasetFormat;
+    }
+
     @PreUpdate
     public void touchUpdatedAt() {
         this.updatedAt = OffsetDateTime.now();
     }
+
+    public boolean isQuarantined() {
+        return quarantined;
+    }
+
+    public void setQuarantined(boolean quarantined) {
+        this.quarantined = quarantined;
+    }
+
+    public OffsetDateTime getQuarantinedAt() {
+        return quarantinedAt;
+    }
+
+    public void setQuarantinedAt(OffsetDateTime quarantinedAt) {
+        this.quarantinedAt = quarantinedAt;
+    }
+
+    public String getQuarantineReason() {
+        return quarantineReason;
+    }
+
+    public void setQuarantineReason(String quarantineReason) {
+        this.quarantineReason = quarantineReason;
+    }
 }
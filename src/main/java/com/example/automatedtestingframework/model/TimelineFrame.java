@@ -0,0 +1,116 @@
+package com.example.automatedtestingframework.model;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One captured frame of a UI run's step timeline. Consecutive steps that left the page looking the
+ * same share a single frame, which then covers {@code firstStep} through {@code lastStep}.
+ */
+@Entity
+@Table(name = "report_timeline_frames", indexes = {
+    @Index(name = "idx_timeline_report", columnList = "report_id, first_step")
+})
+public class TimelineFrame {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Report report;
+
+    @Column(name = "first_step", nullable = false)
+    private int firstStep;
+
+    @Column(name = "last_step", nullable = false)
+    private int lastStep;
+
+    @Column(nullable = false)
+    private String label;
+
+    @Column(name = "captured_at", nullable = false)
+    private OffsetDateTime capturedAt;
+
+    @Column(name = "screenshot_url", length = 512)
+    private String screenshotUrl;
+
+    @Column(name = "dom_url", length = 512)
+    private String domUrl;
+
+    @Column(name = "image_hash")
+    private Long imageHash;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Report getReport() {
+        return report;
+    }
+
+    public void setReport(Report report) {
+        this.report = report;
+    }
+
+    public int getFirstStep() {
+        return firstStep;
+    }
+
+    public void setFirstStep(int firstStep) {
+        this.firstStep = firstStep;
+    }
+
+    public int getLastStep() {
+        return lastStep;
+    }
+
+    public void setLastStep(int lastStep) {
+        this.lastStep = lastStep;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public OffsetDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public void setCapturedAt(OffsetDateTime capturedAt) {
+        this.capturedAt = capturedAt;
+    }
+
+    public String getScreenshotUrl() {
+        return screenshotUrl;
+    }
+
+    public void setScreenshotUrl(String screenshotUrl) {
+        this.screenshotUrl = screenshotUrl;
+    }
+
+    public String getDomUrl() {
+        return domUrl;
+    }
+
+    public void setDomUrl(String domUrl) {
+        this.domUrl = domUrl;
+    }
+
+    public Long getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(Long imageHash) {
+        this.imageHash = imageHash;
+    }
+}
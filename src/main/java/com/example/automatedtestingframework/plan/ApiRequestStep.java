@@ -0,0 +1,61 @@
+package com.example.automatedtestingframework.plan;
+
+import com.example.automatedtestingframework.assertion.BodyAssertion;
+import com.example.automatedtestingframework.util.AhoCorasickMatcher;
+import com.example.automatedtestingframework.util.TemplateString;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One HTTP request of an API test. URL, header values and body may reference variables captured
+ * by earlier requests; {@code uri} is pre-built when the URL has no placeholders and is null
+ * otherwise. {@code headers} alternates names and values and must not be modified.
+ * {@code maxBodyBytes} caps how much of the response is read; 0 uses the global limit.
+ */
+public record ApiRequestStep(String name,
+                             String method,
+                             TemplateString url,
+                             URI uri,
+                             TemplateString[] headers,
+                             TemplateString body,
+                             int expectedStatus,
+                             AhoCorasickMatcher expectContains,
+                             List<BodyAssertion> assertions,
+                             List<ResponseCapture> captures,
+                             long maxBodyBytes) {
+
+    public ApiRequestStep {
+        assertions = List.copyOf(assertions);
+        captures = List.copyOf(captures);
+    }
+
+    public boolean hasBody() {
+        return body != null;
+    }
+
+    public URI resolveUri(Map<String, String> variables) {
+        return uri != null ? uri : URI.create(url.render(variables));
+    }
+
+    public String[] resolveHeaders(Map<String, String> variables) {
+        String[] resolved = new String[headers.length];
+        for (int i = 0; i < headers.length; i++) {
+            resolved[i] = headers[i].render(variables);
+        }
+        return resolved;
+    }
+
+    public String resolveBody(Map<String, String> variables) {
+        return body.render(variables);
+    }
+
+    /**
+     * True when the response body has to be read at all.
+     */
+    public boolean inspectsBody() {
+        return !expectContains.isEmpty() || !assertions.isEmpty()
+            || captures.stream().anyMatch(capture -> capture.header() == null);
+    }
+}
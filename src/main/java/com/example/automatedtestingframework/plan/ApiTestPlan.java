@@ -0,0 +1,25 @@
+package com.example.automatedtestingframework.plan;
+
+import com.example.automatedtestingframework.retry.RetryPolicy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of an API test definition: the {@code requests} array in execution order, the
+ * initial values of the case's variable scope from its {@code variables} object, and the rows of
+ * an inline {@code dataset}. Each dataset row runs the requests once with its values layered over
+ * {@code variables}; an empty dataset means a single plain run. {@code retry} is null when the
+ * definition has no {@code retry} object and the project policy applies.
+ */
+public record ApiTestPlan(List<ApiRequestStep> requests,
+                          Map<String, String> variables,
+                          List<Map<String, String>> dataset,
+                          RetryPolicy retry) {
+
+    public ApiTestPlan {
+        requests = List.copyOf(requests);
+        variables = Map.copyOf(variables);
+        dataset = dataset.stream().<Map<String, String>>map(Map::copyOf).toList();
+    }
+}
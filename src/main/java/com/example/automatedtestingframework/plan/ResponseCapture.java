@@ -0,0 +1,35 @@
+package com.example.automatedtestingframework.plan;
+
+import com.example.automatedtestingframework.assertion.JsonPath;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.regex.Pattern;
+
+/**
+ * Stores part of a response in the test case's variable scope so later requests can reference it
+ * as {@code {{variable}}}. Exactly one of {@code jsonPath}, {@code header} and {@code regex} is set.
+ */
+public record ResponseCapture(String variable, JsonPath jsonPath, String header, Pattern regex, int group) {
+
+    /**
+     * Accepts {@code "$.token"} as shorthand for a JSONPath capture, or an object with one of
+     * {@code jsonPath}, {@code header} or {@code regex} (plus optional {@code group}).
+     */
+    public static ResponseCapture fromDefinition(String variable, JsonNode node) {
+        if (node.isTextual()) {
+            return new ResponseCapture(variable, JsonPath.parse(node.asText()), null, null, 0);
+        }
+        if (node.hasNonNull("jsonPath")) {
+            return new ResponseCapture(variable, JsonPath.parse(node.get("jsonPath").asText()), null, null, 0);
+        }
+        if (node.hasNonNull("header")) {
+            return new ResponseCapture(variable, null, node.get("header").asText(), null, 0);
+        }
+        if (node.hasNonNull("regex")) {
+            Pattern regex = Pattern.compile(node.get("regex").asText());
+            int group = node.path("group").asInt(regex.matcher("").groupCount() > 0 ? 1 : 0);
+            return new ResponseCapture(variable, null, null, regex, group);
+        }
+        throw new IllegalArgumentException("Capture '" + variable + "' needs a jsonPath, header or regex");
+    }
+}
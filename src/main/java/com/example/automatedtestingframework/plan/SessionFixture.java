@@ -0,0 +1,25 @@
+package com.example.automatedtestingframework.plan;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Named setup steps shared by a project's UI cases, typically a login. The browser state they
+ * leave behind is captured once and restored into later sessions until {@code ttl} passes, a
+ * captured cookie expires, or {@code verify} no longer finds its element after a restore.
+ * {@code definition} is the fixture's JSON as saved; a snapshot taken under a different
+ * definition is never restored.
+ */
+public record SessionFixture(String name,
+                             List<UiStep> steps,
+                             Duration ttl,
+                             String verifyUrl,
+                             UiStep.Locator verify,
+                             String definition) {
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+
+    public SessionFixture {
+        steps = List.copyOf(steps);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.automatedtestingframework.plan;
+
+import com.example.automatedtestingframework.assertion.BodyAssertion;
+import com.example.automatedtestingframework.browser.WaitEngine;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.retry.RetryPolicy;
+import com.example.automatedtestingframework.util.AhoCorasickMatcher;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import com.example.automatedtestingframework.util.TemplateString;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openqa.selenium.By;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Turns a test case's {@code definitionJson} into an immutable plan once and reuses it until the
+ * test case is edited. Entries are keyed by test case id and invalidated when {@code updatedAt}
+ * moves, so a definition saved through any path is picked up on its next run. At most
+ * {@code plan.cache-size} plans are kept; the least recently used one is dropped to make room, so
+ * plans of deleted or long-idle cases do not stay in memory for the life of the process.
+ */
+@Component
+public class TestPlanCompiler {
+
+    private final JsonParserUtil jsonParserUtil;
+    private final Map<Long, CachedPlan> cache;
+
+    public TestPlanCompiler(JsonParserUtil jsonParserUtil, @Value("${plan.cache-size:2000}") int cacheSize) {
+        this.jsonParserUtil = jsonParserUtil;
+        int capacity = Math.max(1, cacheSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPlan> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public ApiTestPlan apiPlan(TestCase testCase) {
+        return cached(testCase, ApiTestPlan.class, this::compileApi);
+    }
+
+    public UiTestPlan uiPlan(TestCase testCase) {
+        return cached(testCase, UiTestPlan.class, this::compileUi);
+    }
+
+    private <T> T cached(TestCase testCase, Class<T> type, Function<JsonNode, T> compiler) {
+        Long id = testCase.getId();
+        OffsetDateTime version = testCase.getUpdatedAt();
+        if (id == null || version == null) {
+            return compiler.apply(jsonParserUtil.parse(testCase.getDefinitionJson()));
+        }
+        CachedPlan entry;
+        synchronized (cache) {
+            entry = cache.get(id);
+        }
+        if (entry != null && entry.version().equals(version) && type.isInstance(entry.plan())) {
+            return type.cast(entry.plan());
+        }
+        T plan = compiler.apply(jsonParserUtil.parse(testCase.getDefinitionJson()));
+        synchronized (cache) {
+            cache.put(id, new CachedPlan(version, plan));
+        }
+        return plan;
+    }
+
+    ApiTestPlan compileApi(JsonNode definition) {
+        List<ApiRequestStep> steps = new ArrayList<>();
+        for (JsonNode node : definition.withArray("requests")) {
+            List<TemplateString> headers = new ArrayList<>();
+            JsonNode headerNode = node.path("headers");
+            if (headerNode.isObject()) {
+                for (Iterator<Map.Entry<String, JsonNode>> it = headerNode.fields(); it.hasNext();) {
+                    Map.Entry<String, JsonNode> entry = it.next();
+                    headers.add(TemplateString.compile(entry.getKey()));
+                    headers.add(TemplateString.compile(entry.getValue().asText()));
+                }
+            }
+            List<String> contains = new ArrayList<>();
+            node.path("expectContains").forEach(value -> contains.add(value.asText()));
+            List<BodyAssertion> assertions = new ArrayList<>();
+            node.path("assertions").forEach(assertion -> assertions.add(BodyAssertion.fromDefinition(assertion)));
+            List<ResponseCapture> captures = new ArrayList<>();
+            node.path("capture").fields().forEachRemaining(entry ->
+                captures.add(ResponseCapture.fromDefinition(entry.getKey(), entry.getValue())));
+
+            TemplateString url = TemplateString.compileUrl(node.path("url").asText());
+            steps.add(new ApiRequestStep(
+                node.path("name").asText("Unnamed"),
+                node.path("method").asText("GET"),
+                url,
+                url.isConstant() ? URI.create(url.toString()) : null,
+                headers.toArray(TemplateString[]::new),
+                body(node.path("body")),
+                node.path("expectedStatus").asInt(200),
+                AhoCorasickMatcher.compile(contains),
+                assertions,
+                captures,
+                Math.max(0, node.path("maxBodyBytes").asLong(0))));
+        }
+        Map<String, String> variables = textValues(definition.path("variables"));
+        List<Map<String, String>> dataset = new ArrayList<>();
+        for (JsonNode row : definition.path("dataset")) {
+            if (!row.isObject()) {
+                throw new IllegalArgumentException("Each dataset row must be a JSON object");
+            }
+            dataset.add(textValues(row));
+        }
+        return new ApiTestPlan(steps, variables, dataset, retry(definition));
+    }
+
+    private static RetryPolicy retry(JsonNode definition) {
+        return definition.hasNonNull("retry") ? RetryPolicy.fromJson(definition.get("retry")) : null;
+    }
+
+    private static Map<String, String> textValues(JsonNode object) {
+        Map<String, String> values = new LinkedHashMap<>();
+        object.fields().forEachRemaining(entry ->
+            values.put(entry.getKey(), entry.getValue().isTextual() ? entry.getValue().asText() : entry.getValue().toString()));
+        return values;
+    }
+
+    UiTestPlan compileUi(JsonNode definition) {
+        String fixture = definition.path("fixture").asText("").trim();
+        return new UiTestPlan(uiSteps(definition), retry(definition), definition.path("timeline").asBoolean(false),
+            fixture.isEmpty() ? null : fixture);
+    }
+
+    /**
+     * Compiles a project's session fixtures, {@code {"login": {"steps": [...], "ttlSeconds": 900,
+     * "verify": {"url": "https://app.example.com/account", "selector": "#logout"}}}}. Steps use the
+     * same schema as a UI case; {@code verify} is optional.
+     *
+     * @throws IllegalArgumentException when the JSON is not a valid fixture map
+     */
+    public Map<String, SessionFixture> compileFixtures(String json) {
+        JsonNode root = jsonParserUtil.parse(json);
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Session fixtures must be a JSON object keyed by fixture name");
+        }
+        Map<String, SessionFixture> fixtures = new LinkedHashMap<>();
+        root.fields().forEachRemaining(entry -> {
+            String name = entry.getKey().trim();
+            JsonNode node = entry.getValue();
+            if (name.isEmpty() || !node.isObject()) {
+                throw new IllegalArgumentException("Fixture '" + entry.getKey() + "' must be a JSON object");
+            }
+            List<UiStep> steps = uiSteps(node);
+            if (steps.isEmpty()) {
+                throw new IllegalArgumentException("Fixture '" + name + "' has no steps");
+            }
+            long ttlSeconds = node.path("ttlSeconds").asLong(SessionFixture.DEFAULT_TTL.toSeconds());
+            if (ttlSeconds < 1) {
+                throw new IllegalArgumentException("Fixture '" + name + "' ttlSeconds must be positive");
+            }
+            JsonNode verify = node.path("verify");
+            fixtures.put(name, new SessionFixture(name, steps, Duration.ofSeconds(ttlSeconds),
+                verify.hasNonNull("url") ? verify.get("url").asText() : null,
+                verify.hasNonNull("selector") ? locator(verify) : null,
+                node.toString()));
+        });
+        return fixtures;
+    }
+
+    private List<UiStep> uiSteps(JsonNode definition) {
+        List<UiStep> steps = new ArrayList<>();
+        for (JsonNode node : definition.withArray("steps")) {
+            String action = node.path("action").asText();
+            steps.add(switch (action) {
+                case "navigate" -> new UiStep.Navigate(node.path("url").asText());
+                case "click" -> new UiStep.Click(locator(node), node.path("settle").asBoolean(false));
+                case "type" -> new UiStep.Type(
+                    locator(node),
+                    node.path("text").asText(node.path("value").asText("")),
+                    Boolean.parseBoolean(node.path("useJavascript").asText("false")));
+                case "assertTitle" -> new UiStep.AssertTitle(node.path("value").asText());
+                case "wait" -> new UiStep.Wait(
+                    node.hasNonNull("until") ? WaitEngine.Condition.parse(node.path("until").asText()) : null,
+                    node.hasNonNull("selector") ? locator(node) : null,
+                    node.path("timeoutMs").asLong(10000),
+                    node.path("millis").asLong(500));
+                default -> new UiStep.Unknown(action);
+            });
+        }
+        return steps;
+    }
+
+    private UiStep.Locator locator(JsonNode node) {
+        String strategy = node.path("by").asText("css");
+        String selector = node.path("selector").asText();
+        By by = switch (strategy) {
+            case "id" -> By.id(selector);
+            case "name" -> By.name(selector);
+            case "xpath" -> By.xpath(selector);
+            default -> By.cssSelector(selector);
+        };
+        return new UiStep.Locator(strategy, selector, by, Math.max(500, node.path("timeoutMs").asLong(10000)));
+    }
+
+    private TemplateString body(JsonNode body) {
+        if (body.isMissingNode() || body.isNull()) {
+            return null;
+        }
+        // Inline JSON bodies are sent as written rather than collapsing to an empty string
+        if (body.isContainerNode()) {
+            return TemplateString.compileJson(jsonParserUtil.toJson(body));
+        }
+        String text = body.asText();
+        String start = text.stripLeading();
+        return start.startsWith("{") || start.startsWith("[")
+            ? TemplateString.compileJson(text)
+            : TemplateString.compile(text);
+    }
+
+    private record CachedPlan(OffsetDateTime version, Object plan) {
+    }
+}
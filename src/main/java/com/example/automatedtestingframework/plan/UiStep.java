@@ -0,0 +1,40 @@
+package com.example.automatedtestingframework.plan;
+
+import com.example.automatedtestingframework.browser.WaitEngine;
+import org.openqa.selenium.By;
+
+/**
+ * A single UI action with its arguments already resolved. Element targets carry a pre-built
+ * {@link By} so locating an element does not re-interpret the selector strings on every run.
+ */
+public sealed interface UiStep {
+
+    record Locator(String strategy, String selector, By by, long timeoutMs) {
+    }
+
+    record Navigate(String url) implements UiStep {
+    }
+
+    /**
+     * {@code settle} waits for the page to go quiet after the click, for clicks that start
+     * requests the next step depends on.
+     */
+    record Click(Locator target, boolean settle) implements UiStep {
+    }
+
+    record Type(Locator target, String text, boolean useJavascript) implements UiStep {
+    }
+
+    record AssertTitle(String expected) implements UiStep {
+    }
+
+    /**
+     * {@code until} is null for a plain pause of {@code millis}; otherwise the named readiness
+     * condition is awaited for up to {@code timeoutMs}, optionally scoped to {@code target}.
+     */
+    record Wait(WaitEngine.Condition until, Locator target, long timeoutMs, long millis) implements UiStep {
+    }
+
+    record Unknown(String action) implements UiStep {
+    }
+}
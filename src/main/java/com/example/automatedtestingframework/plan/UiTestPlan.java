@@ -0,0 +1,18 @@
+package com.example.automatedtestingframework.plan;
+
+import com.example.automatedtestingframework.retry.RetryPolicy;
+
+import java.util.List;
+
+/**
+ * Compiled form of a UI test definition: the {@code steps} array in execution order, the case's
+ * own {@code retry} policy, or null when the project policy applies, whether a frame is
+ * captured after every step ({@code "timeline": true}), and the name of the project session
+ * fixture the steps start from ({@code "fixture": "login"}), or null.
+ */
+public record UiTestPlan(List<UiStep> steps, RetryPolicy retry, boolean timeline, String fixture) {
+
+    public UiTestPlan {
+        steps = List.copyOf(steps);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.automatedtestingframework.repository;
+
+import com.example.automatedtestingframework.model.NotificationOutbox;
+import com.example.automatedtestingframework.model.NotificationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    @Query("""
+        SELECT DISTINCT n.projectId FROM NotificationOutbox n
+        WHERE n.status = :status AND n.nextAttemptAt <= :now
+        """)
+    List<Long> findProjectsDue(@Param("status") NotificationStatus status, @Param("now") OffsetDateTime now);
+
+    /**
+     * The project's rows that are due, oldest first. Rows still waiting out a backoff stay out of
+     * the batch so a new run completing does not resend them ahead of schedule.
+     */
+    @Query("""
+        SELECT n FROM NotificationOutbox n
+        WHERE n.projectId = :projectId AND n.status = :status AND n.nextAttemptAt <= :now
+        ORDER BY n.createdAt ASC
+        """)
+    List<NotificationOutbox> findDue(@Param("projectId") Long projectId,
+                                     @Param("status") NotificationStatus status,
+                                     @Param("now") OffsetDateTime now);
+
+    Optional<NotificationOutbox> findTopByProjectIdAndStatusOrderBySentAtDesc(Long projectId, NotificationStatus status);
+}
@@ -3,6 +3,8 @@ package com.example.automatedtestingframework.repository;
 import com.example.automatedtestingframework.model.Project;
 import com.example.automatedtestingframework.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,22 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByOwner(User owner);
     Optional<Project> findByOwnerAndNameIgnoreCase(User owner, String name);
     Optional<Project> findByIdAndOwner(Long id, User owner);
+
+    @Query("SELECT p.maxConcurrency FROM Project p WHERE p.id = :id")
+    Integer findMaxConcurrency(@Param("id") Long id);
+
+    @Query("SELECT p.retryPolicyJson FROM Project p WHERE p.id = :id")
+    String findRetryPolicyJson(@Param("id") Long id);
+
+    @Query("SELECT p.launchProfileJson FROM Project p WHERE p.id = :id")
+    String findLaunchProfileJson(@Param("id") Long id);
+
+    @Query("SELECT p.sessionFixturesJson FROM Project p WHERE p.id = :id")
+    String findSessionFixturesJson(@Param("id") Long id);
+
+    @Query("SELECT p.notificationRecipients FROM Project p WHERE p.id = :id")
+    String findNotificationRecipients(@Param("id") Long id);
+
+    @Query("SELECT p.owner.email FROM Project p WHERE p.id = :id")
+    String findOwnerEmail(@Param("id") Long id);
 }
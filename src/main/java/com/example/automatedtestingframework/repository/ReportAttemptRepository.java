@@ -0,0 +1,12 @@
+package com.example.automatedtestingframework.repository;
+
+import com.example.automatedtestingframework.model.Report;
+import com.example.automatedtestingframework.model.ReportAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReportAttemptRepository extends JpaRepository<ReportAttempt, Long> {
+
+    List<ReportAttempt> findByReportOrderByAttemptNumberAsc(Report report);
+}
@@ -2,14 +2,19 @@ package com.example.automatedtestingframework.repository;
 
 import com.example.automatedtestingframework.model.Project;
 import com.example.automatedtestingframework.model.Report;
+import com.example.automatedtestingframework.model.ReportKind;
 import com.example.automatedtestingframework.model.TestCaseType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ReportRepository extends JpaRepository<Report, Long> {
 
@@ -41,4 +46,57 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
                                                            @Param("from") OffsetDateTime from,
                                                            @Param("to") OffsetDateTime to,
                                                            Pageable pageable);
+
+        /**
+         * Latest functional outcomes of a test case, newest first. {@link ReportKind#LOAD} reports
+         * are excluded because their pass/fail reflects the error budget, not the case itself.
+         */
+        @Query("""
+                SELECT r FROM Report r
+                WHERE r.testCase.id = :testCaseId
+                  AND r.status IN ('PASSED', 'FAILED')
+                  AND r.kind = com.example.automatedtestingframework.model.ReportKind.TEST
+                ORDER BY r.startedAt DESC
+                """)
+        List<Report> findRecentOutcomes(@Param("testCaseId") Long testCaseId, Pageable pageable);
+
+        @Query("""
+                SELECT r.status AS status, r.quarantined AS quarantined, COUNT(r) AS total FROM Report r
+                WHERE r.id IN :ids
+                GROUP BY r.status, r.quarantined
+                """)
+        List<OutcomeCount> countOutcomes(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Failing, non-quarantined reports among {@code ids} with the error cut to a prefix in the
+         * database, so a page of failures never pulls whole LONGTEXT messages into memory.
+         */
+        @Query("""
+                SELECT tc.name AS testName, SUBSTRING(r.errorMessage, 1, 512) AS errorPrefix FROM Report r
+                LEFT JOIN r.testCase tc
+                WHERE r.id IN :ids
+                  AND r.status <> 'PASSED'
+                  AND r.quarantined = false
+                ORDER BY r.id
+                """)
+        List<FailureLine> findFailureLines(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+        @Modifying
+        @Transactional
+        @Query("UPDATE Report r SET r.screenshotUrl = :url WHERE r.id = :id")
+        int updateScreenshotUrl(@Param("id") Long id, @Param("url") String url);
+
+        interface OutcomeCount {
+                String getStatus();
+
+                Boolean getQuarantined();
+
+                long getTotal();
+        }
+
+        interface FailureLine {
+                String getTestName();
+
+                String getErrorPrefix();
+        }
 }
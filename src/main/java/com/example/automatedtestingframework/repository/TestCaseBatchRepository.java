@@ -0,0 +1,88 @@
+package com.example.automatedtestingframework.repository;
+
+import com.example.automatedtestingframework.model.Project;
+import com.example.automatedtestingframework.model.TestCase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JDBC batch path for writing many test cases at once. JPA cannot batch inserts with IDENTITY keys,
+ * so bulk imports go through plain batched statements inside a single transaction.
+ */
+@Repository
+public class TestCaseBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO test_cases (name, type, project_id, definition_json, quarantined, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String UPDATE_SQL = """
+        UPDATE test_cases SET type = ?, definition_json = ?, updated_at = ?
+        WHERE id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TestCaseRepository testCaseRepository;
+
+    public TestCaseBatchRepository(JdbcTemplate jdbcTemplate, TestCaseRepository testCaseRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.testCaseRepository = testCaseRepository;
+    }
+
+    /**
+     * Inserts new test cases and updates the definition of existing ones matched by name (case-insensitive).
+     * When the same name appears more than once in {@code drafts}, the last occurrence wins.
+     */
+    @Transactional
+    public UpsertResult upsert(Project project, List<TestCase> drafts) {
+        Map<String, TestCase> existing = new HashMap<>();
+        for (TestCase testCase : testCaseRepository.findByProject(project)) {
+            existing.putIfAbsent(key(testCase.getName()), testCase);
+        }
+
+        Map<String, TestCase> unique = new LinkedHashMap<>();
+        drafts.forEach(draft -> unique.put(key(draft.getName()), draft));
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        unique.forEach((name, draft) -> {
+            TestCase match = existing.get(name);
+            if (match != null) {
+                updates.add(new Object[]{draft.getType().name(), draft.getDefinitionJson(), now, match.getId()});
+            } else {
+                inserts.add(new Object[]{draft.getName(), draft.getType().name(), project.getId(),
+                    draft.getDefinitionJson(), false, now, now});
+            }
+        });
+
+        executeInBatches(INSERT_SQL, inserts);
+        executeInBatches(UPDATE_SQL, updates);
+        return new UpsertResult(inserts.size(), updates.size());
+    }
+
+    private void executeInBatches(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private String key(String name) {
+        return name.trim().toLowerCase(Locale.ENGLISH);
+    }
+
+    public record UpsertResult(int created, int updated) { }
+}
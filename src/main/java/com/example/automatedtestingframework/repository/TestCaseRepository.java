@@ -4,7 +4,12 @@ import com.example.automatedtestingframework.model.Project;
 import com.example.automatedtestingframework.model.TestCase;
 import com.example.automatedtestingframework.model.TestCaseType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +17,33 @@ public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
     List<TestCase> findByProject(Project project);
     List<TestCase> findByProjectAndType(Project project, TestCaseType type);
     Optional<TestCase> findByProjectAndNameIgnoreCase(Project project, String name);
+
+    /**
+     * Records a run outcome with a bulk update so {@code updatedAt} keeps tracking definition edits only.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE TestCase t
+            SET t.lastRunAt = :runAt, t.lastRunStatus = :status,
+                t.lastErrorMessage = :error, t.lastResponseCode = :responseCode
+            WHERE t.id = :id
+            """)
+    int recordLastRun(@Param("id") Long id,
+                      @Param("runAt") OffsetDateTime runAt,
+                      @Param("status") String status,
+                      @Param("error") String error,
+                      @Param("responseCode") Integer responseCode);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE TestCase t
+            SET t.quarantined = :quarantined, t.quarantinedAt = :at, t.quarantineReason = :reason
+            WHERE t.id = :id
+            """)
+    int updateQuarantine(@Param("id") Long id,
+                         @Param("quarantined") boolean quarantined,
+                         @Param("at") OffsetDateTime at,
+                         @Param("reason") String reason);
 }
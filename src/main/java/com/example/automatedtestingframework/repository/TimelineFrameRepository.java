@@ -0,0 +1,11 @@
+package com.example.automatedtestingframework.repository;
+
+import com.example.automatedtestingframework.model.TimelineFrame;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface TimelineFrameRepository extends JpaRepository<TimelineFrame, Long> {
+
+    List<TimelineFrame> findByReportIdOrderByFirstStepAsc(Long reportId);
+}
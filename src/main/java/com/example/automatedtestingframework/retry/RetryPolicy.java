@@ -0,0 +1,98 @@
+package com.example.automatedtestingframework.retry;
+
+import com.example.automatedtestingframework.execution.ExecutionCancelledException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * When and how often a failed run is tried again. A failure is retried while attempts remain and
+ * either its response status is listed in {@code retryOnStatus} or an exception in its cause chain
+ * (or a superclass of one) is listed in {@code retryOnExceptions} by simple or qualified name.
+ * Assertion failures on a successful response and cancelled runs are never retried.
+ */
+public record RetryPolicy(int maxAttempts,
+                          Duration initialBackoff,
+                          Duration maxBackoff,
+                          double multiplier,
+                          double jitter,
+                          Set<Integer> retryOnStatus,
+                          Set<String> retryOnExceptions) {
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1, 0, Set.of(), Set.of());
+
+    private static final int MAX_ATTEMPTS = 10;
+    private static final Set<Integer> DEFAULT_STATUS = Set.of(429, 502, 503, 504);
+    private static final Set<String> DEFAULT_EXCEPTIONS = Set.of(
+        "java.io.IOException",
+        "org.openqa.selenium.TimeoutException",
+        "org.openqa.selenium.StaleElementReferenceException",
+        "org.openqa.selenium.NoSuchSessionException");
+
+    public RetryPolicy {
+        retryOnStatus = Set.copyOf(retryOnStatus);
+        retryOnExceptions = Set.copyOf(retryOnExceptions);
+    }
+
+    /**
+     * Reads {@code {"maxAttempts": 3, "backoffMs": 500, "maxBackoffMs": 10000, "multiplier": 2,
+     * "jitter": 0.5, "retryOnStatus": [503], "retryOnExceptions": ["IOException"]}}. Omitted lists
+     * fall back to gateway/throttling statuses and transport or browser timeouts.
+     */
+    public static RetryPolicy fromJson(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Retry policy must be a JSON object");
+        }
+        int maxAttempts = node.path("maxAttempts").asInt(3);
+        if (maxAttempts < 1 || maxAttempts > MAX_ATTEMPTS) {
+            throw new IllegalArgumentException("Retry maxAttempts must be between 1 and " + MAX_ATTEMPTS);
+        }
+        long backoffMs = Math.max(0, node.path("backoffMs").asLong(500));
+        long maxBackoffMs = Math.max(backoffMs, node.path("maxBackoffMs").asLong(30_000));
+        double multiplier = Math.max(1, node.path("multiplier").asDouble(2));
+        double jitter = Math.min(1, Math.max(0, node.path("jitter").asDouble(0.5)));
+
+        Set<Integer> statuses = new LinkedHashSet<>();
+        node.path("retryOnStatus").forEach(value -> statuses.add(value.asInt()));
+        Set<String> exceptions = new LinkedHashSet<>();
+        node.path("retryOnExceptions").forEach(value -> exceptions.add(value.asText()));
+        return new RetryPolicy(maxAttempts, Duration.ofMillis(backoffMs), Duration.ofMillis(maxBackoffMs),
+            multiplier, jitter,
+            node.has("retryOnStatus") ? statuses : DEFAULT_STATUS,
+            node.has("retryOnExceptions") ? exceptions : DEFAULT_EXCEPTIONS);
+    }
+
+    /**
+     * @param attempt the 1-based number of the attempt that just failed
+     */
+    public boolean shouldRetry(int attempt, Integer statusCode, Throwable failure) {
+        if (attempt >= maxAttempts || failure instanceof ExecutionCancelledException) {
+            return false;
+        }
+        return (statusCode != null && retryOnStatus.contains(statusCode)) || matches(failure);
+    }
+
+    /**
+     * Exponential delay before the attempt after {@code attempt}, reduced by up to {@code jitter}
+     * of itself at random so retries from parallel runs do not land together.
+     */
+    public Duration backoff(int attempt, RandomGenerator random) {
+        double base = initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1);
+        double capped = Math.min(base, maxBackoff.toMillis());
+        return Duration.ofMillis(Math.round(capped * (1 - jitter * random.nextDouble())));
+    }
+
+    private boolean matches(Throwable failure) {
+        for (Throwable current = failure; current != null; current = current.getCause() == current ? null : current.getCause()) {
+            for (Class<?> type = current.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+                if (retryOnExceptions.contains(type.getName()) || retryOnExceptions.contains(type.getSimpleName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.automatedtestingframework.retry;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Runs an attempt function under a {@link RetryPolicy}, sleeping with backoff between attempts.
+ */
+public final class RetryRunner {
+
+    /**
+     * What the runner needs to know about an attempt's result to decide on another try.
+     */
+    public interface Outcome {
+
+        boolean passed();
+
+        Integer responseCode();
+
+        String errorMessage();
+
+        Throwable failure();
+    }
+
+    /**
+     * @param backoffMs the delay taken before the next attempt, or 0 for the last one
+     */
+    public record Attempt<T>(int number, T result, OffsetDateTime startedAt, long durationMs, long backoffMs) {
+    }
+
+    private RetryRunner() {
+    }
+
+    /**
+     * Returns every attempt made, in order; the last one is the final outcome. An interrupt during
+     * backoff ends the run with the attempts made so far and keeps the interrupt flag set.
+     */
+    public static <T extends Outcome> List<Attempt<T>> run(RetryPolicy policy, IntFunction<T> attempt) {
+        List<Attempt<T>> attempts = new ArrayList<>();
+        for (int number = 1; ; number++) {
+            OffsetDateTime startedAt = OffsetDateTime.now();
+            long began = System.nanoTime();
+            T result = attempt.apply(number);
+            long durationMs = (System.nanoTime() - began) / 1_000_000;
+            boolean retry = !result.passed() && policy.shouldRetry(number, result.responseCode(), result.failure());
+            long backoffMs = retry ? policy.backoff(number, ThreadLocalRandom.current()).toMillis() : 0;
+            attempts.add(new Attempt<>(number, result, startedAt, durationMs, backoffMs));
+            if (!retry) {
+                return attempts;
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return attempts;
+            }
+        }
+    }
+}
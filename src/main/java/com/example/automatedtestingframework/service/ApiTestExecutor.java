@@ -1,119 +1,489 @@
 package com.example.automatedtestingframework.service;
 
+import com.example.automatedtestingframework.assertion.JsonPath;
+import com.example.automatedtestingframework.assertion.StreamingJsonEvaluator;
+import com.example.automatedtestingframework.execution.CapacityLane;
+import com.example.automatedtestingframework.execution.ExecutionContext;
 import com.example.automatedtestingframework.model.Report;
 import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.plan.ApiRequestStep;
+import com.example.automatedtestingframework.plan.ApiTestPlan;
+import com.example.automatedtestingframework.plan.ResponseCapture;
+import com.example.automatedtestingframework.plan.TestPlanCompiler;
+import com.example.automatedtestingframework.repository.ProjectRepository;
 import com.example.automatedtestingframework.repository.ReportRepository;
 import com.example.automatedtestingframework.repository.TestCaseRepository;
-import com.example.automatedtestingframework.util.JsonParserUtil;
+import com.example.automatedtestingframework.retry.RetryPolicy;
+import com.example.automatedtestingframework.retry.RetryRunner;
+import com.example.automatedtestingframework.traffic.TrafficMode;
+import com.example.automatedtestingframework.traffic.TrafficSession;
+import com.example.automatedtestingframework.util.AhoCorasickMatcher;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URI;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ApiTestExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(ApiTestExecutor.class);
 
-    private final JsonParserUtil jsonParserUtil;
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final TestPlanCompiler testPlanCompiler;
     private final ReportRepository reportRepository;
     private final TestCaseRepository testCaseRepository;
+    private final ProjectRepository projectRepository;
+    private final DatasetService datasetService;
+    private final TrafficArchiveService trafficArchiveService;
+    private final RetryService retryService;
+    private final FlakinessService flakinessService;
+    private final long maxBodyBytes;
+    private final int regexCaptureBytes;
+    private final int defaultDatasetConcurrency;
+    private final int maxIterations;
+    private final Duration stepTimeout;
+    private final Duration caseTimeout;
+    private final Map<Long, CapacityLane> datasetLanes = new ConcurrentHashMap<>();
 
-    public ApiTestExecutor(JsonParserUtil jsonParserUtil,
+    public ApiTestExecutor(TestPlanCompiler testPlanCompiler,
                            ReportRepository reportRepository,
-                           TestCaseRepository testCaseRepository) {
-        this.jsonParserUtil = jsonParserUtil;
+                           TestCaseRepository testCaseRepository,
+                           ProjectRepository projectRepository,
+                           DatasetService datasetService,
+                           TrafficArchiveService trafficArchiveService,
+                           RetryService retryService,
+                           FlakinessService flakinessService,
+                           @Value("${api.response.max-bytes:0}") long maxBodyBytes,
+                           @Value("${api.capture.regex-max-bytes:1048576}") int regexCaptureBytes,
+                           @Value("${execution.dataset.default-concurrency:4}") int defaultDatasetConcurrency,
+                           @Value("${execution.dataset.max-iterations:10000}") int maxIterations,
+                           @Value("${execution.timeout.step-seconds:60}") long stepTimeoutSeconds,
+                           @Value("${execution.timeout.case-seconds:600}") long caseTimeoutSeconds) {
+        this.testPlanCompiler = testPlanCompiler;
         this.reportRepository = reportRepository;
         this.testCaseRepository = testCaseRepository;
+        this.projectRepository = projectRepository;
+        this.datasetService = datasetService;
+        this.trafficArchiveService = trafficArchiveService;
+        this.retryService = retryService;
+        this.flakinessService = flakinessService;
+        this.maxBodyBytes = Math.max(0, maxBodyBytes);
+        this.regexCaptureBytes = Math.max(1, regexCaptureBytes);
+        this.defaultDatasetConcurrency = Math.max(1, defaultDatasetConcurrency);
+        this.maxIterations = Math.max(1, maxIterations);
+        this.stepTimeout = Duration.ofSeconds(Math.max(1, stepTimeoutSeconds));
+        this.caseTimeout = Duration.ofSeconds(Math.max(1, caseTimeoutSeconds));
     }
 
     public Report execute(TestCase testCase) {
-        JsonNode definition = jsonParserUtil.parse(testCase.getDefinitionJson());
+        return execute(testCase, trafficArchiveService.defaultMode());
+    }
+
+    public Report execute(TestCase testCase, ExecutionContext run) {
+        return execute(testCase, trafficArchiveService.defaultMode(), run);
+    }
+
+    public Report execute(TestCase testCase, TrafficMode mode) {
+        return execute(testCase, mode, ExecutionContext.unbounded());
+    }
+
+    /**
+     * @param run the run this case belongs to; the case gets its own deadline within it and stops
+     *            with a failed report when either is cancelled
+     */
+    public Report execute(TestCase testCase, TrafficMode mode, ExecutionContext run) {
         HttpClient client = HttpClient.newBuilder().build();
         OffsetDateTime start = OffsetDateTime.now();
+        String summary = "API test execution for %s".formatted(testCase.getName());
+        IterationResult result;
+        List<RetryRunner.Attempt<IterationResult>> attempts = List.of();
+        int attemptCount = 1;
+        ExecutionContext context = run.child(caseTimeout, "Test case");
+        try (context;
+             ExecutionContext.Registration interrupt = context.interruptOnCancel();
+             TrafficSession session = trafficArchiveService.open(testCase, mode)) {
+            ApiTestPlan plan = testPlanCompiler.apiPlan(testCase);
+            RetryPolicy policy = retryService.policyFor(testCase, plan.retry());
+            if (testCase.getDatasetPath() != null || !plan.dataset().isEmpty()) {
+                DatasetRun dataset = runDataset(client, session, plan, policy, testCase, context);
+                summary = "API data-driven execution for %s (%d/%d iterations passed)"
+                    .formatted(testCase.getName(), dataset.passed(), dataset.iterations());
+                result = dataset.result();
+                attemptCount = dataset.maxAttempts();
+            } else {
+                attempts = RetryRunner.run(policy, attempt -> runIteration(client, session, plan, plan.variables(), context));
+                result = attempts.get(attempts.size() - 1).result();
+                attemptCount = attempts.size();
+                if (attemptCount > 1) {
+                    result = result.withDetails(RetryService.describe(attempts) + result.details());
+                }
+            }
+            if (mode != TrafficMode.LIVE) {
+                summary += mode == TrafficMode.RECORD ? " [recorded]" : " [replayed]";
+            }
+        } catch (Exception ex) {
+            log.error("API test execution failed", ex);
+            result = new IterationResult("FAILED", null, ex.getMessage(), "", ex);
+        }
+        String cancelled = context.cancelReason();
+        if (cancelled != null && !result.passed()) {
+            // Interrupted calls fail with transport errors; the deadline or cancel is the real cause
+            result = new IterationResult("FAILED", result.responseCode(), cancelled, result.details(), result.failure());
+        }
+
+        Report report = new Report();
+        report.setProject(testCase.getProject());
+        report.setTestCase(testCase);
+        report.setStartedAt(start);
+        report.setCompletedAt(OffsetDateTime.now());
+        report.setStatus(result.status());
+        report.setDetails(result.details());
+        report.setSummary(summary);
+        report.setErrorMessage(result.errorMessage());
+        report.setResponseCode(result.responseCode());
+        report.setAttempts(attemptCount);
+        report.setQuarantined(testCase.isQuarantined());
+
+        Report saved = reportRepository.save(report);
+        retryService.recordAttempts(saved, attempts);
+        updateTestCaseLastRun(testCase, result.status(), result.errorMessage(), result.responseCode());
+        flakinessService.evaluate(testCase);
+        return saved;
+    }
+
+    private IterationResult runIteration(HttpClient client,
+                                         TrafficSession session,
+                                         ApiTestPlan plan,
+                                         Map<String, String> initialVariables,
+                                         ExecutionContext context) {
+        return runIteration(client, session, plan, initialVariables, context, true);
+    }
+
+    /**
+     * Runs every request of the plan once against its own copy of the variable scope. Load runs
+     * pass {@code logFailures=false} so a failing target does not flood the log with stack traces.
+     * Each request is bounded by the step timeout and whatever is left of the context's deadline.
+     */
+    IterationResult runIteration(HttpClient client,
+                                 TrafficSession session,
+                                 ApiTestPlan plan,
+                                 Map<String, String> initialVariables,
+                                 ExecutionContext context,
+                                 boolean logFailures) {
         StringBuilder detailsBuilder = new StringBuilder();
         String status = "PASSED";
         Integer lastResponseCode = null;
         String lastErrorMessage = null;
+        Throwable cause = null;
         try {
-            Iterator<JsonNode> iterator = definition.withArray("requests").elements();
-            while (iterator.hasNext()) {
-                JsonNode requestNode = iterator.next();
-                HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
-                    .uri(URI.create(requestNode.path("url").asText()))
-                    .method(requestNode.path("method").asText("GET"), buildBodyPublisher(requestNode));
-
-                JsonNode headers = requestNode.path("headers");
-                if (headers.isObject()) {
-                    for (Iterator<Map.Entry<String, JsonNode>> it = headers.fields(); it.hasNext();) {
-                        Map.Entry<String, JsonNode> entry = it.next();
-                        requestBuilder.header(entry.getKey(), entry.getValue().asText());
-                    }
-                }
-
-                HttpResponse<String> response = client.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofString());
+            Map<String, String> variables = new HashMap<>(initialVariables);
+            for (ApiRequestStep step : plan.requests()) {
+                context.checkpoint();
+                byte[] requestBody = step.hasBody() ? resolveBody(step, variables) : null;
+                HttpRequest request = buildRequest(step, variables, requestBody, context.remaining(stepTimeout));
+                TrafficSession.Exchange response = session.send(client, request, requestBody);
                 lastResponseCode = response.statusCode();
-                detailsBuilder.append("Request: ").append(requestNode.path("name").asText("Unnamed"))
+                detailsBuilder.append("Request: ").append(step.name())
                     .append(" -> ").append(response.statusCode()).append('\n');
 
-                int expectedStatus = requestNode.path("expectedStatus").asInt(200);
-                if (response.statusCode() != expectedStatus) {
-                    status = "FAILED";
-                    lastErrorMessage = "Expected status %d but got %d".formatted(expectedStatus, response.statusCode());
-                    break;
-                }
+                try (InputStream body = response.body()) {
+                    if (response.statusCode() != step.expectedStatus()) {
+                        status = "FAILED";
+                        lastErrorMessage = "Expected status %d but got %d".formatted(step.expectedStatus(), response.statusCode());
+                        break;
+                    }
 
-                JsonNode contains = requestNode.path("expectContains");
-                if (contains.isArray()) {
-                    for (JsonNode node : contains) {
-                        if (!response.body().contains(node.asText())) {
-                            status = "FAILED";
-                            lastErrorMessage = "Response missing text: " + node.asText();
-                            break;
-                        }
+                    String failure = null;
+                    if (step.inspectsBody()) {
+                        long limit = step.maxBodyBytes() > 0 ? step.maxBodyBytes() : maxBodyBytes;
+                        boolean needsPrefix = step.captures().stream().anyMatch(capture -> capture.regex() != null);
+                        ScanningInputStream scanning = new ScanningInputStream(
+                            body, step.expectContains().newScan(), limit, needsPrefix ? regexCaptureBytes : 0);
+                        failure = checkBody(scanning, step, variables);
+                    }
+                    if (failure == null) {
+                        failure = captureHeaders(response.headers(), step, variables);
                     }
-                    if (!"PASSED".equals(status)) {
+                    if (failure != null) {
+                        status = "FAILED";
+                        lastErrorMessage = failure;
                         break;
                     }
+                    if (!step.captures().isEmpty()) {
+                        detailsBuilder.append("  captured: ").append(step.captures().stream()
+                            .map(ResponseCapture::variable)
+                            .collect(Collectors.joining(", "))).append('\n');
+                    }
                 }
             }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            status = "FAILED";
+            lastErrorMessage = "Interrupted";
+            cause = ex;
         } catch (Exception ex) {
             status = "FAILED";
             lastErrorMessage = ex.getMessage();
-            log.error("API test execution failed", ex);
+            cause = ex;
+            if (logFailures) {
+                log.error("API test execution failed", ex);
+            }
         }
+        return new IterationResult(status, lastResponseCode, lastErrorMessage, detailsBuilder.toString(), cause);
+    }
 
-        Report report = new Report();
-        report.setProject(testCase.getProject());
-        report.setTestCase(testCase);
-        report.setStartedAt(start);
-        report.setCompletedAt(OffsetDateTime.now());
-        report.setStatus(status);
-        report.setDetails(detailsBuilder.toString());
-        report.setSummary("API test execution for %s".formatted(testCase.getName()));
-        report.setErrorMessage(lastErrorMessage);
-        report.setResponseCode(lastResponseCode);
+    /**
+     * Runs one iteration per dataset row. Rows are pulled lazily and a row is only read once the
+     * project's dataset lane grants an iteration slot; the lane is shared by every case of the
+     * project, so {@code maxConcurrency} bounds the iterations in flight across a whole run however
+     * many data-driven cases it runs side by side. Each iteration is retried on its own under
+     * {@code policy}.
+     */
+    private DatasetRun runDataset(HttpClient client,
+                                  TrafficSession session,
+                                  ApiTestPlan plan,
+                                  RetryPolicy policy,
+                                  TestCase testCase,
+                                  ExecutionContext context) throws IOException, InterruptedException {
+        CapacityLane lane = datasetLane(testCase.getProject().getId());
+        ExecutorService pool = Executors.newFixedThreadPool(lane.capacity(), datasetThreadFactory(testCase.getId()));
+        // Queued iterations are dropped and running ones interrupted as soon as the case is cancelled;
+        // the hook lives as long as the case context, a late call on a finished pool is harmless
+        context.onCancel(() ->
+            pool.shutdownNow().forEach(task -> ((Future<?>) task).cancel(false)));
+        List<Future<List<RetryRunner.Attempt<IterationResult>>>> iterations = new ArrayList<>();
+        boolean truncated = false;
+        try (Stream<Map<String, String>> rows = testCase.getDatasetPath() != null
+            ? datasetService.open(testCase)
+            : plan.dataset().stream()) {
+            Iterator<Map<String, String>> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                context.checkpoint();
+                if (iterations.size() >= maxIterations) {
+                    truncated = true;
+                    break;
+                }
+                CapacityLane.Lease slot = lane.acquire(1, context);
+                try {
+                    Map<String, String> variables = new HashMap<>(plan.variables());
+                    variables.putAll(iterator.next());
+                    FutureTask<List<RetryRunner.Attempt<IterationResult>>> iteration = new FutureTask<>(() -> {
+                        try (slot) {
+                            return RetryRunner.run(policy, attempt -> runIteration(client, session, plan, variables, context));
+                        }
+                    }) {
+                        @Override
+                        protected void done() {
+                            // An iteration dropped from the queue never runs, so it hands its slot back here
+                            if (isCancelled()) {
+                                slot.close();
+                            }
+                        }
+                    };
+                    pool.execute(iteration);
+                    iterations.add(iteration);
+                } catch (RuntimeException ex) {
+                    slot.close();
+                    throw ex;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (iterations.isEmpty()) {
+            throw new IllegalStateException("Dataset has no rows");
+        }
 
-        Report saved = reportRepository.save(report);
-        updateTestCaseLastRun(testCase, status, lastErrorMessage, lastResponseCode);
-        return saved;
+        StringBuilder details = new StringBuilder();
+        int passed = 0;
+        int maxAttempts = 1;
+        IterationResult firstFailure = null;
+        Integer lastResponseCode = null;
+        for (int i = 0; i < iterations.size(); i++) {
+            IterationResult result;
+            int attempts = 1;
+            try {
+                List<RetryRunner.Attempt<IterationResult>> tries = iterations.get(i).get();
+                result = tries.get(tries.size() - 1).result();
+                attempts = tries.size();
+            } catch (ExecutionException ex) {
+                result = new IterationResult("FAILED", null, String.valueOf(ex.getCause().getMessage()), "", ex.getCause());
+            } catch (CancellationException ex) {
+                result = new IterationResult("FAILED", null, "Not run: " + context.cancelReason(), "", ex);
+            }
+            maxAttempts = Math.max(maxAttempts, attempts);
+            int number = i + 1;
+            details.append("Iteration ").append(number).append(": ").append(result.status())
+                .append(attempts > 1 ? " (attempt %d)".formatted(attempts) : "")
+                .append(result.errorMessage() != null ? " - " + result.errorMessage() : "").append('\n');
+            result.details().lines().forEach(line -> details.append("  ").append(line).append('\n'));
+            if ("PASSED".equals(result.status())) {
+                passed++;
+            } else if (firstFailure == null) {
+                firstFailure = new IterationResult(result.status(), result.responseCode(),
+                    "Iteration %d: %s".formatted(number, result.errorMessage()), "", result.failure());
+            }
+            if (result.responseCode() != null) {
+                lastResponseCode = result.responseCode();
+            }
+        }
+        if (truncated) {
+            details.append("Dataset truncated after ").append(maxIterations).append(" iterations\n");
+        }
+        IterationResult aggregate = firstFailure != null
+            ? firstFailure.withDetails(details.toString())
+            : new IterationResult("PASSED", lastResponseCode, null, details.toString(), null);
+        return new DatasetRun(aggregate, iterations.size(), passed, maxAttempts);
+    }
+
+    /**
+     * The project's dataset lane, replaced when its {@code maxConcurrency} changes. Leases taken
+     * from a replaced lane are still returned to it, so the old limit drains off on its own.
+     */
+    private CapacityLane datasetLane(Long projectId) {
+        Integer configured = projectRepository.findMaxConcurrency(projectId);
+        int concurrency = Math.max(1, Math.min(configured != null && configured > 0 ? configured : defaultDatasetConcurrency, 64));
+        return datasetLanes.compute(projectId, (id, lane) -> lane != null && lane.capacity() == concurrency
+            ? lane
+            : new CapacityLane("project " + id + " dataset", concurrency, null));
+    }
+
+    private ThreadFactory datasetThreadFactory(Long testCaseId) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("dataset-" + testCaseId + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private byte[] resolveBody(ApiRequestStep step, Map<String, String> variables) {
+        try {
+            return step.resolveBody(variables).getBytes(StandardCharsets.UTF_8);
+        } catch (IllegalStateException ex) {
+            throw new IllegalStateException("Request '%s': %s".formatted(step.name(), ex.getMessage()), ex);
+        }
     }
 
-    private HttpRequest.BodyPublisher buildBodyPublisher(JsonNode requestNode) {
-        JsonNode body = requestNode.path("body");
-        if (body.isMissingNode() || body.isNull()) {
-            return HttpRequest.BodyPublishers.noBody();
+    private HttpRequest buildRequest(ApiRequestStep step, Map<String, String> variables, byte[] body, Duration timeout) {
+        try {
+            HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(step.resolveUri(variables))
+                .timeout(timeout)
+                .method(step.method(), body != null
+                    ? HttpRequest.BodyPublishers.ofByteArray(body)
+                    : HttpRequest.BodyPublishers.noBody());
+            if (step.headers().length > 0) {
+                requestBuilder.headers(step.resolveHeaders(variables));
+            }
+            return requestBuilder.build();
+        } catch (IllegalStateException ex) {
+            throw new IllegalStateException("Request '%s': %s".formatted(step.name(), ex.getMessage()), ex);
         }
-        return HttpRequest.BodyPublishers.ofString(body.asText(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Evaluates structural assertions and JSONPath captures on the streaming parser, then keeps
+     * reading only while some {@code expectContains} text is still unmatched or a regex capture
+     * needs more of the body. Bytes seen by the parser are scanned on the way through, so the body
+     * is read at most once and never buffered beyond the regex capture window.
+     */
+    private String checkBody(ScanningInputStream body, ApiRequestStep step, Map<String, String> variables) throws IOException {
+        Map<String, JsonPath> jsonCaptures = new LinkedHashMap<>();
+        for (ResponseCapture capture : step.captures()) {
+            if (capture.jsonPath() != null) {
+                jsonCaptures.put(capture.variable(), capture.jsonPath());
+            }
+        }
+
+        String assertionFailure = null;
+        Map<String, JsonNode> captured = Map.of();
+        if (!step.assertions().isEmpty() || !jsonCaptures.isEmpty()) {
+            try {
+                StreamingJsonEvaluator.Evaluation evaluation =
+                    StreamingJsonEvaluator.evaluate(body, step.assertions(), jsonCaptures);
+                assertionFailure = evaluation.failure().orElse(null);
+                captured = evaluation.captured();
+            } catch (JsonProcessingException ex) {
+                assertionFailure = body.limitReached()
+                    ? "Response exceeded %d bytes before assertions could be evaluated".formatted(body.limit)
+                    : "Response is not valid JSON: " + ex.getOriginalMessage();
+            }
+        }
+        AhoCorasickMatcher.Scan scan = body.drainUntilMatched();
+        if (!scan.allFound()) {
+            return "Response missing text: " + scan.missing().get(0)
+                + (body.limitReached() ? " (searched first %d bytes)".formatted(body.limit) : "");
+        }
+        if (assertionFailure != null) {
+            return assertionFailure;
+        }
+
+        for (ResponseCapture capture : step.captures()) {
+            if (capture.jsonPath() != null) {
+                JsonNode value = captured.get(capture.variable());
+                if (value == null) {
+                    return "Capture '%s' found nothing at %s".formatted(capture.variable(), capture.jsonPath());
+                }
+                variables.put(capture.variable(), value.isValueNode() ? value.asText() : value.toString());
+            } else if (capture.regex() != null) {
+                Matcher matcher = capture.regex().matcher(body.bufferedPrefix());
+                if (!matcher.find()) {
+                    return "Capture '%s' found no match for /%s/ in the first %d bytes"
+                        .formatted(capture.variable(), capture.regex().pattern(), regexCaptureBytes);
+                }
+                variables.put(capture.variable(), matcher.group(capture.group()));
+            }
+        }
+        return null;
+    }
+
+    private String captureHeaders(HttpHeaders headers, ApiRequestStep step, Map<String, String> variables) {
+        for (ResponseCapture capture : step.captures()) {
+            if (capture.header() == null) {
+                continue;
+            }
+            Optional<String> value = headers.firstValue(capture.header());
+            if (value.isEmpty()) {
+                return "Capture '%s' found no %s header".formatted(capture.variable(), capture.header());
+            }
+            variables.put(capture.variable(), value.get());
+        }
+        return null;
     }
 
     private void updateTestCaseLastRun(TestCase testCase, String status, String error, Integer responseCode) {
@@ -121,6 +491,90 @@ public class ApiTestExecutor {
         testCase.setLastRunStatus(status);
         testCase.setLastErrorMessage(error);
         testCase.setLastResponseCode(responseCode);
-        testCaseRepository.save(testCase);
+        testCaseRepository.recordLastRun(testCase.getId(), testCase.getLastRunAt(), status, error, responseCode);
+    }
+
+    record IterationResult(String status,
+                           Integer responseCode,
+                           String errorMessage,
+                           String details,
+                           Throwable failure) implements RetryRunner.Outcome {
+
+        @Override
+        public boolean passed() {
+            return "PASSED".equals(status);
+        }
+
+        IterationResult withDetails(String details) {
+            return new IterationResult(status, responseCode, errorMessage, details, failure);
+        }
+    }
+
+    private record DatasetRun(IterationResult result, int iterations, int passed, int maxAttempts) {
+    }
+
+    /**
+     * Feeds every byte read through it into a contains scan, keeps the first {@code prefixLimit}
+     * bytes for regex captures, and reports end of stream once {@code limit} bytes have been consumed.
+     */
+    private static final class ScanningInputStream extends FilterInputStream {
+
+        private final AhoCorasickMatcher.Scan scan;
+        private final long limit;
+        private final int prefixLimit;
+        private final ByteArrayOutputStream prefix;
+        private long consumed;
+
+        private ScanningInputStream(InputStream in, AhoCorasickMatcher.Scan scan, long limit, int prefixLimit) {
+            super(in);
+            this.scan = scan;
+            this.limit = limit > 0 ? limit : Long.MAX_VALUE;
+            this.prefixLimit = Math.max(0, prefixLimit);
+            this.prefix = prefixLimit > 0 ? new ByteArrayOutputStream(Math.min(prefixLimit, BUFFER_SIZE)) : null;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (consumed >= limit) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, limit - consumed));
+            if (read > 0) {
+                consumed += read;
+                if (!scan.allFound()) {
+                    scan.feed(buffer, offset, read);
+                }
+                if (prefix != null && prefix.size() < prefixLimit) {
+                    prefix.write(buffer, offset, Math.min(read, prefixLimit - prefix.size()));
+                }
+            }
+            return read;
+        }
+
+        boolean limitReached() {
+            return consumed >= limit;
+        }
+
+        AhoCorasickMatcher.Scan drainUntilMatched() throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!scan.allFound() && read(buffer, 0, buffer.length) != -1) {
+                // bytes are scanned inside read()
+            }
+            return scan;
+        }
+
+        String bufferedPrefix() throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (prefix.size() < prefixLimit && read(buffer, 0, buffer.length) != -1) {
+                // bytes are copied into the prefix inside read()
+            }
+            return prefix.toString(StandardCharsets.UTF_8);
+        }
     }
 }
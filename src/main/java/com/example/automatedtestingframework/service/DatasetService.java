@@ -0,0 +1,277 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.DatasetFormat;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stores uploaded datasets for data-driven test cases and reads them back row by row. Uploads are
+ * streamed straight to disk and rows are parsed lazily, so a dataset is never held in memory.
+ */
+@Service
+public class DatasetService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetService.class);
+
+    private final JsonParserUtil jsonParserUtil;
+    private final Path datasetDirectory;
+
+    public DatasetService(JsonParserUtil jsonParserUtil,
+                          @Value("${artifacts.dir:artifacts}") String artifactsDirectory) {
+        this.jsonParserUtil = jsonParserUtil;
+        this.datasetDirectory = Path.of(artifactsDirectory, "datasets");
+    }
+
+    /**
+     * Replaces the test case's dataset with the uploaded file. The format is taken from the file
+     * extension ({@code .csv}, {@code .ndjson} or {@code .jsonl}).
+     */
+    public void store(TestCase testCase, MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("Dataset file is empty");
+        }
+        DatasetFormat format = formatOf(file.getOriginalFilename());
+        Files.createDirectories(datasetDirectory);
+        Path target = datasetDirectory.resolve("%d-%d.%s".formatted(
+            testCase.getId(), System.currentTimeMillis(), format.name().toLowerCase(Locale.ROOT)));
+        Path temp = Files.createTempFile(datasetDirectory, "upload-", ".tmp");
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        String previous = testCase.getDatasetPath();
+        testCase.setDatasetPath(target.toString());
+        testCase.setDatasetFormat(format);
+        deleteQuietly(previous);
+    }
+
+    public void clear(TestCase testCase) {
+        deleteQuietly(testCase.getDatasetPath());
+        testCase.setDatasetPath(null);
+        testCase.setDatasetFormat(null);
+    }
+
+    /**
+     * Opens the stored dataset as a lazily parsed stream of rows. The caller must close the stream.
+     */
+    public Stream<Map<String, String>> open(TestCase testCase) throws IOException {
+        Path path = Path.of(testCase.getDatasetPath());
+        BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        Iterator<Map<String, String>> rows = testCase.getDatasetFormat() == DatasetFormat.NDJSON
+            ? new NdjsonRows(reader)
+            : new CsvRows(reader);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+    }
+
+    private DatasetFormat formatOf(String filename) {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return DatasetFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return DatasetFormat.NDJSON;
+        }
+        throw new IllegalArgumentException("Dataset must be a .csv, .ndjson or .jsonl file");
+    }
+
+    private void deleteQuietly(String path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(path));
+        } catch (IOException ex) {
+            log.warn("Failed to delete dataset {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private abstract static class LineRows implements Iterator<Map<String, String>> {
+
+        protected final BufferedReader reader;
+        protected int lineNumber;
+        private Map<String, String> next;
+
+        LineRows(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = readRow();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, String> row = next;
+            next = null;
+            return row;
+        }
+
+        protected String readLine() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank());
+            return line;
+        }
+
+        abstract Map<String, String> readRow() throws IOException;
+    }
+
+    private final class NdjsonRows extends LineRows {
+
+        NdjsonRows(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        Map<String, String> readRow() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            JsonNode node;
+            try {
+                node = jsonParserUtil.parse(line);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Dataset line %d is not valid JSON".formatted(lineNumber), ex);
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Dataset line %d must be a JSON object".formatted(lineNumber));
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            node.fields().forEachRemaining(field -> row.put(field.getKey(),
+                field.getValue().isValueNode() ? field.getValue().asText() : field.getValue().toString()));
+            return row;
+        }
+    }
+
+    /**
+     * RFC 4180 rows keyed by the header line. Quoted fields may contain commas, doubled quotes
+     * and line breaks. A byte order mark in front of the header, as spreadsheet exports write it,
+     * is dropped so it does not end up in the first column's name.
+     */
+    private static final class CsvRows extends LineRows {
+
+        private List<String> header;
+
+        CsvRows(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        Map<String, String> readRow() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+            }
+            List<String> values = readRecord();
+            if (values == null) {
+                return null;
+            }
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i).strip(), i < values.size() ? values.get(i) : "");
+            }
+            return row;
+        }
+
+        private List<String> readRecord() throws IOException {
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            if (header == null && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    String continuation = reader.readLine();
+                    lineNumber++;
+                    if (continuation == null) {
+                        throw new IllegalArgumentException("Unterminated quoted field in dataset near line " + lineNumber);
+                    }
+                    field.append('\n');
+                    line = continuation;
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -1,34 +1,33 @@
 package com.example.automatedtestingframework.service;
 
+import com.example.automatedtestingframework.analysis.CrawlOptions;
 import com.example.automatedtestingframework.analysis.EndpointAnalysisPayload;
+import com.example.automatedtestingframework.analysis.HtmlEndpointExtractor;
+import com.example.automatedtestingframework.browser.NetworkActivityTracker;
+import com.example.automatedtestingframework.browser.NetworkCapture;
+import com.example.automatedtestingframework.browser.WaitEngine;
+import com.example.automatedtestingframework.browser.WebDriverProvisioner;
+import com.example.automatedtestingframework.execution.ExecutionContext;
 import com.example.automatedtestingframework.model.EndpointAnalysisResult;
 import com.example.automatedtestingframework.model.EndpointAnalysisStatus;
 import com.example.automatedtestingframework.model.Project;
 import com.example.automatedtestingframework.repository.EndpointAnalysisResultRepository;
 import com.example.automatedtestingframework.util.JsonParserUtil;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import net.lightbody.bmp.BrowserMobProxy;
-import net.lightbody.bmp.BrowserMobProxyServer;
-import net.lightbody.bmp.client.ClientUtil;
-import net.lightbody.bmp.core.har.Har;
-import net.lightbody.bmp.core.har.HarEntry;
-import net.lightbody.bmp.proxy.CaptureType;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
 import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.Proxy;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.ExpectedCondition;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.http.HttpClient;
@@ -38,12 +37,19 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class EndpointAnalysisService {
@@ -51,14 +57,42 @@ public class EndpointAnalysisService {
     private static final Logger logger = LoggerFactory.getLogger(EndpointAnalysisService.class);
     private static final String USER_AGENT = "AutomationPlatformBot/1.0";
     private static final String[] COMMON_RESOURCES = {"/sitemap.xml", "/robots.txt", "/swagger.json", "/openapi.json"};
+    private static final int MAX_NETWORK_FINDINGS = 150;
+    // Time for a crawl that stopped at its deadline to hand back the pages it collected
+    private static final Duration CRAWL_HANDOFF = Duration.ofSeconds(1);
 
     private final EndpointAnalysisResultRepository repository;
     private final JsonParserUtil jsonParserUtil;
     private final HttpClient httpClient;
-
-    public EndpointAnalysisService(EndpointAnalysisResultRepository repository, JsonParserUtil jsonParserUtil) {
+    private final Executor analysisExecutor;
+    private final Duration fileStageTimeout;
+    private final Duration htmlStageTimeout;
+    private final Duration networkStageTimeout;
+    private final Duration crawlStageTimeout;
+    private final SiteCrawlerService siteCrawlerService;
+    private final WaitEngine waitEngine;
+    private final WebDriverProvisioner webDriverProvisioner;
+
+    public EndpointAnalysisService(EndpointAnalysisResultRepository repository,
+                                   JsonParserUtil jsonParserUtil,
+                                   SiteCrawlerService siteCrawlerService,
+                                   WaitEngine waitEngine,
+                                   WebDriverProvisioner webDriverProvisioner,
+                                   @Qualifier("analysisExecutor") Executor analysisExecutor,
+                                   @Value("${analysis.timeout.files-ms:20000}") long fileStageTimeoutMs,
+                                   @Value("${analysis.timeout.html-ms:20000}") long htmlStageTimeoutMs,
+                                   @Value("${analysis.timeout.network-ms:60000}") long networkStageTimeoutMs,
+                                   @Value("${analysis.timeout.crawl-ms:180000}") long crawlStageTimeoutMs) {
         this.repository = repository;
         this.jsonParserUtil = jsonParserUtil;
+        this.siteCrawlerService = siteCrawlerService;
+        this.waitEngine = waitEngine;
+        this.webDriverProvisioner = webDriverProvisioner;
+        this.analysisExecutor = analysisExecutor;
+        this.fileStageTimeout = Duration.ofMillis(fileStageTimeoutMs);
+        this.htmlStageTimeout = Duration.ofMillis(htmlStageTimeoutMs);
+        this.networkStageTimeout = Duration.ofMillis(networkStageTimeoutMs);
+        this.crawlStageTimeout = Duration.ofMillis(crawlStageTimeoutMs);
         this.httpClient = HttpClient.newBuilder()
             .followRedirects(HttpClient.Redirect.NORMAL)
             .connectTimeout(Duration.ofSeconds(10))
@@ -66,6 +100,14 @@ public class EndpointAnalysisService {
     }
 
     public EndpointAnalysisResult performAnalysis(Project project, String inputDomain) {
+        return performAnalysis(project, inputDomain, null);
+    }
+
+    /**
+     * Runs the analysis; when {@code crawlOptions} is given the HTML stage crawls the site
+     * breadth-first instead of parsing only the target page.
+     */
+    public EndpointAnalysisResult performAnalysis(Project project, String inputDomain, CrawlOptions crawlOptions) {
         Objects.requireNonNull(project, "project must not be null");
         if (inputDomain == null || inputDomain.isBlank()) {
             throw new IllegalArgumentException("Domain URL is required");
@@ -75,43 +117,67 @@ public class EndpointAnalysisService {
         logger.info("Starting endpoint analysis for project {} on {}", project.getId(), domain.displayUrl());
 
         List<String> issues = new ArrayList<>();
-        List<EndpointAnalysisPayload.FileResourceFinding> fileFindings = new ArrayList<>();
-        List<EndpointAnalysisPayload.HtmlEndpointFinding> htmlFindings = new ArrayList<>();
-        List<EndpointAnalysisPayload.NetworkRequestFinding> networkFindings = new ArrayList<>();
-
-        // File-based analysis
-        try {
-            fileFindings = analyseCommonResources(domain.rootUrl());
-        } catch (Exception ex) {
-            if (ex instanceof InterruptedException interrupted) {
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException("Analysis interrupted", interrupted);
-            }
-            logger.warn("File-based analysis failed for {}", domain.rootUrl(), ex);
-            issues.add("File analysis failed: " + ex.getMessage());
-        }
-
-        // HTML parsing analysis
-        try {
-            htmlFindings = analyseHtml(domain.targetUrl());
-        } catch (Exception ex) {
-            if (ex instanceof InterruptedException interrupted) {
-                Thread.currentThread().interrupt();
-                throw new IllegalStateException("Analysis interrupted", interrupted);
-            }
-            logger.warn("HTML parsing analysis failed for {}", domain.targetUrl(), ex);
-            issues.add("HTML parsing failed: " + ex.getMessage());
+        List<EndpointAnalysisPayload.FileResourceFinding> fileFindings;
+        List<EndpointAnalysisPayload.HtmlEndpointFinding> htmlFindings;
+        List<EndpointAnalysisPayload.NetworkRequestFinding> networkFindings;
+        AtomicReference<EndpointAnalysisPayload.CrawlSummary> crawlSummary = new AtomicReference<>();
+
+        // All three stages start together; each one is awaited against its own deadline, and a
+        // stage that misses it is cancelled through its context so its thread and browser are freed
+        long startedAt = System.nanoTime();
+        ExecutionContext htmlContext = ExecutionContext.unbounded();
+        ExecutionContext networkContext = ExecutionContext.unbounded();
+        Map<String, CompletableFuture<ResourceProbe>> resourceProbes = probeCommonResources(domain.rootUrl());
+        long htmlDeadline = startedAt + (crawlOptions != null ? crawlStageTimeout : htmlStageTimeout).toNanos();
+        CompletableFuture<List<EndpointAnalysisPayload.HtmlEndpointFinding>> htmlStage;
+        if (crawlOptions != null) {
+            // The crawl reuses the robots.txt and sitemap.xml bodies fetched by the resource probes
+            CompletableFuture<ResourceProbe> robots = resourceProbes.get("/robots.txt");
+            CompletableFuture<ResourceProbe> sitemap = resourceProbes.get("/sitemap.xml");
+            htmlStage = CompletableFuture.allOf(robots, sitemap)
+                .exceptionally(ex -> null)
+                .thenApplyAsync(ignored -> {
+                    try (ExecutionContext.Registration interrupt = htmlContext.interruptOnCancel()) {
+                        // The crawler stops at the deadline itself and returns the pages it already has
+                        SiteCrawlerService.CrawlResult crawl = siteCrawlerService.crawl(
+                            domain.targetUrl(), accessibleBody(robots), accessibleBody(sitemap), crawlOptions, htmlDeadline);
+                        crawlSummary.set(crawl.summary());
+                        return crawl.findings();
+                    }
+                }, analysisExecutor);
+        } else {
+            htmlStage = CompletableFuture.supplyAsync(() -> {
+                try (ExecutionContext.Registration interrupt = htmlContext.interruptOnCancel()) {
+                    return analyseHtml(domain.targetUrl());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, analysisExecutor);
         }
+        CompletableFuture<List<EndpointAnalysisPayload.NetworkRequestFinding>> networkStage =
+            CompletableFuture.supplyAsync(() -> analyseNetworkTraffic(domain.targetUrl(), networkContext), analysisExecutor);
 
-        // Headless browser network capture
         try {
-            networkFindings = analyseNetworkTraffic(domain.targetUrl());
-        } catch (Exception ex) {
-            logger.warn("Network capture failed for {}", domain.targetUrl(), ex);
-            issues.add("Network capture failed: " + ex.getMessage());
+            fileFindings = collectResourceFindings(resourceProbes, startedAt + fileStageTimeout.toNanos(), issues);
+            htmlFindings = crawlOptions != null
+                ? awaitStage("Site crawl", htmlStage, htmlContext, htmlDeadline + CRAWL_HANDOFF.toNanos(), issues)
+                : awaitStage("HTML parsing", htmlStage, htmlContext, htmlDeadline, issues);
+            networkFindings = awaitStage("Network capture", networkStage, networkContext,
+                startedAt + networkStageTimeout.toNanos(), issues);
+        } catch (InterruptedException interrupted) {
+            resourceProbes.values().forEach(probe -> probe.cancel(true));
+            htmlStage.cancel(true);
+            networkStage.cancel(true);
+            htmlContext.cancel("Analysis interrupted");
+            networkContext.cancel("Analysis interrupted");
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Analysis interrupted", interrupted);
         }
+        logger.info("Endpoint analysis for {} finished in {} ms", domain.displayUrl(),
+            Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
 
-        EndpointAnalysisPayload payload = new EndpointAnalysisPayload(fileFindings, htmlFindings, networkFindings, issues);
+        EndpointAnalysisPayload payload = new EndpointAnalysisPayload(
+            fileFindings, htmlFindings, networkFindings, issues, crawlSummary.get());
 
         EndpointAnalysisResult result = new EndpointAnalysisResult();
         result.setProject(project);
@@ -133,48 +199,102 @@ public class EndpointAnalysisService {
         return repository.save(result);
     }
 
-    private List<EndpointAnalysisPayload.FileResourceFinding> analyseCommonResources(String baseUrl) throws IOException, InterruptedException {
-        List<EndpointAnalysisPayload.FileResourceFinding> findings = new ArrayList<>();
+    /**
+     * Waits for a stage until its deadline. Cancelling the future alone would not stop a stage that
+     * is already running, so a timed-out stage's context is cancelled too, which interrupts its
+     * thread and quits its browser.
+     */
+    private <T> List<T> awaitStage(String stage,
+                                   CompletableFuture<List<T>> future,
+                                   ExecutionContext context,
+                                   long deadlineNanos,
+                                   List<String> issues) throws InterruptedException {
+        try {
+            return future.get(remainingNanos(deadlineNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            context.cancel(stage + " timed out");
+            logger.warn("{} stage timed out", stage);
+            issues.add(stage + " timed out");
+        } catch (ExecutionException ex) {
+            Throwable cause = unwrap(ex);
+            logger.warn("{} stage failed", stage, cause);
+            issues.add(stage + " failed: " + cause.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    private Map<String, CompletableFuture<ResourceProbe>> probeCommonResources(String baseUrl) {
+        Map<String, CompletableFuture<ResourceProbe>> probes = new LinkedHashMap<>();
         for (String path : COMMON_RESOURCES) {
-            String target = baseUrl + path;
-            HttpRequest request = HttpRequest.newBuilder(URI.create(target))
-                .timeout(Duration.ofSeconds(10))
-                .header("User-Agent", USER_AGENT)
-                .GET()
-                .build();
-
-            HttpResponse<String> response;
-            try {
-                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-            } catch (IOException | InterruptedException ex) {
-                findings.add(new EndpointAnalysisPayload.FileResourceFinding(
-                    path,
-                    -1,
-                    false,
-                    0L,
-                    "",
-                    ex.getMessage()
-                ));
-                if (ex instanceof InterruptedException interruptedException) {
-                    Thread.currentThread().interrupt();
-                    throw interruptedException;
+            probes.put(path, probeResource(baseUrl, path));
+        }
+        return probes;
+    }
+
+    private CompletableFuture<ResourceProbe> probeResource(String baseUrl, String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(10))
+            .header("User-Agent", USER_AGENT)
+            .GET()
+            .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+            .handle((response, ex) -> {
+                if (ex != null) {
+                    return new ResourceProbe(new EndpointAnalysisPayload.FileResourceFinding(
+                        path,
+                        -1,
+                        false,
+                        0L,
+                        "",
+                        unwrap(ex).getMessage()
+                    ), null);
                 }
-                continue;
-            }
+                boolean accessible = response.statusCode() < 400;
+                String contentType = response.headers().firstValue("content-type").orElse("");
+                long length = response.body() != null ? response.body().length() : 0L;
+                String preview = accessible ? preview(response.body()) : response.body();
+                return new ResourceProbe(new EndpointAnalysisPayload.FileResourceFinding(
+                    path,
+                    response.statusCode(),
+                    accessible,
+                    length,
+                    contentType,
+                    preview
+                ), response.body());
+            });
+    }
 
-            boolean accessible = response.statusCode() < 400;
-            String contentType = response.headers().firstValue("content-type").orElse("");
-            long length = response.body() != null ? response.body().length() : 0L;
-            String preview = accessible ? preview(response.body()) : response.body();
-
-            findings.add(new EndpointAnalysisPayload.FileResourceFinding(
-                path,
-                response.statusCode(),
-                accessible,
-                length,
-                contentType,
-                preview
-            ));
+    private List<EndpointAnalysisPayload.FileResourceFinding> collectResourceFindings(
+        Map<String, CompletableFuture<ResourceProbe>> probes,
+        long deadlineNanos,
+        List<String> issues) throws InterruptedException {
+        try {
+            CompletableFuture.allOf(probes.values().toArray(CompletableFuture[]::new))
+                .get(remainingNanos(deadlineNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            logger.warn("File-based analysis did not finish within {} ms", fileStageTimeout.toMillis());
+        } catch (ExecutionException ex) {
+            // Probes map their own failures to findings, so this is not expected
+            logger.debug("Unexpected probe failure", ex);
+        }
+
+        // Keep whatever finished in time and report the rest as timed out
+        List<EndpointAnalysisPayload.FileResourceFinding> findings = new ArrayList<>();
+        List<String> pending = new ArrayList<>();
+        probes.forEach((path, probe) -> {
+            ResourceProbe result = probe.getNow(null);
+            if (result == null) {
+                probe.cancel(true);
+                pending.add(path);
+                findings.add(new EndpointAnalysisPayload.FileResourceFinding(path, -1, false, 0L, "", "Timed out"));
+            } else {
+                findings.add(result.finding());
+            }
+        });
+        if (!pending.isEmpty()) {
+            issues.add("File analysis timed out for " + String.join(", ", pending));
         }
         return findings;
     }
@@ -185,98 +305,46 @@ public class EndpointAnalysisService {
             .timeout(10_000)
             .get();
 
-        Set<EndpointAnalysisPayload.HtmlEndpointFinding> results = new LinkedHashSet<>();
-
-        for (Element link : document.select("a[href]")) {
-            String href = link.attr("abs:href");
-            if (!href.isBlank()) {
-                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("a", trimAbsoluteUrl(href), link.text()));
-            }
-        }
-
-        for (Element script : document.select("script[src]")) {
-            String src = script.attr("abs:src");
-            if (!src.isBlank()) {
-                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("script", trimAbsoluteUrl(src), ""));
-            }
-        }
-
-        for (Element resource : document.select("link[href]")) {
-            String href = resource.attr("abs:href");
-            if (!href.isBlank()) {
-                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("link", trimAbsoluteUrl(href), resource.attr("rel")));
-            }
-        }
-
-        for (Element form : document.select("form[action]")) {
-            String action = form.attr("abs:action");
-            if (!action.isBlank()) {
-                results.add(new EndpointAnalysisPayload.HtmlEndpointFinding("form", trimAbsoluteUrl(action), form.attr("method")));
-            }
-        }
-
+        Set<EndpointAnalysisPayload.HtmlEndpointFinding> results = HtmlEndpointExtractor.extract(document);
         return new ArrayList<>(results).subList(0, Math.min(results.size(), 100));
     }
 
-    private List<EndpointAnalysisPayload.NetworkRequestFinding> analyseNetworkTraffic(String targetUrl) {
-        List<EndpointAnalysisPayload.NetworkRequestFinding> networkFindings = new ArrayList<>();
-        BrowserMobProxy proxy = null;
+    private List<EndpointAnalysisPayload.NetworkRequestFinding> analyseNetworkTraffic(String targetUrl, ExecutionContext context) {
         WebDriver driver = null;
+        NetworkActivityTracker network = null;
+        ExecutionContext.Registration quit = null;
         try {
-            proxy = new BrowserMobProxyServer();
-            proxy.setTrustAllServers(true); // Trust all servers
-            proxy.start(0);
-            proxy.enableHarCaptureTypes(EnumSet.of(CaptureType.REQUEST_HEADERS, CaptureType.RESPONSE_HEADERS));
-            proxy.newHar("endpoint-analysis");
-
-            Proxy seleniumProxy = ClientUtil.createSeleniumProxy(proxy);
             ChromeOptions options = new ChromeOptions();
             options.addArguments("--headless=new", "--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage", "--window-size=1920,1080");
-            options.setProxy(seleniumProxy);
             options.setAcceptInsecureCerts(true);
+            // Return from get() at DOMContentLoaded; the capture below decides when the page is done
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
 
-            WebDriverManager.chromedriver().setup();
-            driver = new ChromeDriver(options);
+            driver = webDriverProvisioner.newChromeDriver(options);
+            quit = context.onCancel(driver::quit);
+            context.checkpoint();
+            network = waitEngine.track(driver);
+            Optional<NetworkCapture> capture = NetworkCapture.attach(network, MAX_NETWORK_FINDINGS);
 
             driver.get(targetUrl);
-            waitForPageReady(driver);
-            sleep(2000);
-
-            Har har = proxy.getHar();
-            if (har != null && har.getLog() != null && har.getLog().getEntries() != null) {
-                for (HarEntry entry : har.getLog().getEntries()) {
-                    if (entry.getRequest() == null) {
-                        continue;
-                    }
-                    String url = Optional.ofNullable(entry.getRequest().getUrl()).orElse("");
-                    if (url.isBlank()) {
-                        continue;
-                    }
-                    String method = Optional.ofNullable(entry.getRequest().getMethod()).orElse("GET");
-                    int status = entry.getResponse() != null ? entry.getResponse().getStatus() : -1;
-                    String contentType = entry.getResponse() != null && entry.getResponse().getHeaders() != null
-                        ? entry.getResponse().getHeaders().stream()
-                            .filter(h -> "content-type".equalsIgnoreCase(h.getName()))
-                            .findFirst()
-                            .map(net.lightbody.bmp.core.har.HarNameValuePair::getValue)
-                            .orElse("")
-                        : "";
-
-                    networkFindings.add(new EndpointAnalysisPayload.NetworkRequestFinding(
-                        method,
-                        trimAbsoluteUrl(url),
-                        status,
-                        contentType
-                    ));
-
-                    if (networkFindings.size() >= 150) {
-                        break;
-                    }
-                }
+            // Capture ends once the page goes quiet or the findings cap is reached, whichever is first
+            waitEngine.settle(driver, network, Duration.ofSeconds(15),
+                () -> capture.map(NetworkCapture::isFull).orElse(false));
+
+            if (capture.isPresent()) {
+                return capture.get().findings();
             }
+            logger.info("DevTools unavailable for {}, reading resource timing entries instead", targetUrl);
+            return readResourceTiming(driver);
         } catch (WebDriverException ex) {
             throw new IllegalStateException("Selenium execution failed: " + ex.getMessage(), ex);
         } finally {
+            if (quit != null) {
+                quit.close();
+            }
+            if (network != null) {
+                network.close();
+            }
             if (driver != null) {
                 try {
                     driver.quit();
@@ -284,26 +352,25 @@ public class EndpointAnalysisService {
                     logger.debug("Failed to close WebDriver cleanly", ex);
                 }
             }
-            if (proxy != null) {
-                try {
-                    proxy.stop();
-                } catch (Exception ex) {
-                    logger.debug("Failed to stop BrowserMob proxy cleanly", ex);
-                }
-            }
         }
-        return networkFindings;
     }
 
-    private void waitForPageReady(WebDriver driver) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        wait.until((ExpectedCondition<Boolean>) d -> {
-            if (d instanceof JavascriptExecutor executor) {
-                Object state = executor.executeScript("return document.readyState");
-                return "complete".equals(state);
+    private List<EndpointAnalysisPayload.NetworkRequestFinding> readResourceTiming(WebDriver driver) {
+        Object entries = ((JavascriptExecutor) driver).executeScript(
+            "return performance.getEntriesByType('resource').slice(0, arguments[0])" +
+                ".map(e => [e.name, e.responseStatus || 0]);", MAX_NETWORK_FINDINGS);
+        List<EndpointAnalysisPayload.NetworkRequestFinding> findings = new ArrayList<>();
+        if (entries instanceof List<?> list) {
+            for (Object entry : list) {
+                if (entry instanceof List<?> pair && pair.size() == 2) {
+                    String url = trimAbsoluteUrl(String.valueOf(pair.get(0)));
+                    int status = pair.get(1) instanceof Number number && number.intValue() > 0 ? number.intValue() : -1;
+                    // Resource timing does not expose the method or content type
+                    findings.add(new EndpointAnalysisPayload.NetworkRequestFinding("GET", url, status, ""));
+                }
             }
-            return true;
-        });
+        }
+        return findings;
     }
 
     private DomainContext normaliseDomain(String raw) {
@@ -343,12 +410,26 @@ public class EndpointAnalysisService {
         return url.strip();
     }
 
-    private void sleep(long millis) {
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException ex) {
-            Thread.currentThread().interrupt();
+    private String accessibleBody(CompletableFuture<ResourceProbe> probe) {
+        if (!probe.isDone() || probe.isCompletedExceptionally()) {
+            return null;
+        }
+        ResourceProbe result = probe.join();
+        return result.finding().accessible() ? result.body() : null;
+    }
+
+    private long remainingNanos(long deadlineNanos) {
+        return Math.max(0L, deadlineNanos - System.nanoTime());
+    }
+
+    private Throwable unwrap(Throwable throwable) {
+        Throwable current = throwable;
+        while ((current instanceof CompletionException
+            || current instanceof ExecutionException
+            || current instanceof UncheckedIOException) && current.getCause() != null) {
+            current = current.getCause();
         }
+        return current;
     }
 
     private String preview(String body) {
@@ -364,4 +445,6 @@ public class EndpointAnalysisService {
     }
 
     private record DomainContext(String rootUrl, String targetUrl, String displayUrl) { }
+
+    private record ResourceProbe(EndpointAnalysisPayload.FileResourceFinding finding, String body) { }
 }
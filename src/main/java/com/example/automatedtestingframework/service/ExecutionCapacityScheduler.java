@@ -0,0 +1,186 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.execution.CapacityLane;
+import com.example.automatedtestingframework.execution.ExecutionContext;
+import com.example.automatedtestingframework.model.TestCaseType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Admission control for test execution across all runs. API cases are I/O bound and share a wide
+ * lane; UI cases each hold a Chrome process and share a lane sized from the cores and the physical
+ * memory left after the JVM heap and a reserve. A UI case is also held back while available
+ * memory is below one browser's worth, unless no other browser is running. Available means what
+ * the kernel could hand out without swapping: the container's limit minus its working set, or
+ * {@code MemAvailable} from {@code /proc/meminfo}, whichever is lower. Free memory alone would
+ * keep the lane shut on any host whose page cache has filled up.
+ */
+@Service
+public class ExecutionCapacityScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionCapacityScheduler.class);
+    private static final long MB = 1024L * 1024L;
+    // cgroup v1 reports "no limit" as a page-rounded Long.MAX_VALUE
+    private static final long UNLIMITED = 1L << 60;
+
+    private final CapacityLane apiLane;
+    private final CapacityLane uiLane;
+    private final long browserMb;
+    private final long reserveMb;
+    private final Path procRoot;
+    private final Path cgroupRoot;
+
+    @Autowired
+    public ExecutionCapacityScheduler(@Value("${execution.capacity.api-slots:0}") int apiSlots,
+                                      @Value("${execution.capacity.ui-slots:0}") int uiSlots,
+                                      @Value("${execution.capacity.browser-mb:700}") long browserMb,
+                                      @Value("${execution.capacity.reserve-mb:1024}") long reserveMb,
+                                      @Value("${execution.capacity.browsers-per-core:0.75}") double browsersPerCore) {
+        this(apiSlots, uiSlots, browserMb, reserveMb, browsersPerCore, Path.of("/proc"), Path.of("/sys/fs/cgroup"));
+    }
+
+    ExecutionCapacityScheduler(int apiSlots, int uiSlots, long browserMb, long reserveMb, double browsersPerCore,
+                               Path procRoot, Path cgroupRoot) {
+        this.procRoot = procRoot;
+        this.cgroupRoot = cgroupRoot;
+        this.reserveMb = Math.max(0, reserveMb);
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.browserMb = Math.max(100, browserMb);
+        int apiCapacity = apiSlots > 0 ? apiSlots : Math.min(64, cores * 8);
+        int uiCapacity = uiSlots > 0 ? uiSlots : browserSlots(cores, this.browserMb, Math.max(0, reserveMb), browsersPerCore);
+        this.apiLane = new CapacityLane("API", apiCapacity, null);
+        this.uiLane = new CapacityLane("UI", uiCapacity, this::browserFits);
+        log.info("Execution capacity: {} API slots, {} browsers ({} cores, {} MB physical memory)",
+            apiCapacity, uiCapacity, cores, physicalMemory().total() / MB);
+    }
+
+    /**
+     * Waits for room in the case type's lane. Close the lease when the case finishes.
+     */
+    public CapacityLane.Lease admit(TestCaseType type, ExecutionContext context) {
+        return lane(type).acquire(1, context);
+    }
+
+    public CapacityLane lane(TestCaseType type) {
+        return type == TestCaseType.UI ? uiLane : apiLane;
+    }
+
+    static int browserSlots(int cores, long browserMb, long reserveMb, double browsersPerCore) {
+        long heapMb = Runtime.getRuntime().maxMemory() / MB;
+        long totalMb = physicalMemory().total() / MB;
+        long byMemory = totalMb > 0 ? (totalMb - heapMb - reserveMb) / browserMb : Long.MAX_VALUE;
+        long byCpu = (long) Math.floor(cores * Math.max(0.1, browsersPerCore));
+        return (int) Math.max(1, Math.min(Math.min(byMemory, byCpu), 64));
+    }
+
+    boolean browserFits() {
+        OptionalLong available = availableMemory();
+        if (available.isPresent()) {
+            return available.getAsLong() / MB >= browserMb;
+        }
+        // Nothing to measure: budget from the total as if every running browser used its estimate
+        long totalMb = physicalMemory().total() / MB;
+        if (totalMb <= 0) {
+            return true;
+        }
+        long heapMb = Runtime.getRuntime().maxMemory() / MB;
+        return totalMb - heapMb - reserveMb - (long) uiLane.inUse() * browserMb >= browserMb;
+    }
+
+    /**
+     * Bytes the kernel can still hand out to this container, or empty when neither the cgroup
+     * nor {@code /proc/meminfo} can be read.
+     */
+    OptionalLong availableMemory() {
+        OptionalLong container = cgroupAvailable();
+        OptionalLong host = memAvailable();
+        if (container.isPresent() && host.isPresent()) {
+            return OptionalLong.of(Math.min(container.getAsLong(), host.getAsLong()));
+        }
+        return container.isPresent() ? container : host;
+    }
+
+    private OptionalLong memAvailable() {
+        for (String line : readLines(procRoot.resolve("meminfo"))) {
+            if (line.startsWith("MemAvailable:")) {
+                String[] parts = line.trim().split("\\s+");
+                OptionalLong kb = parse(parts.length > 1 ? parts[1] : "");
+                return kb.isPresent() ? OptionalLong.of(kb.getAsLong() * 1024) : kb;
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * The memory limit minus the working set (usage without reclaimable inactive file pages), as
+     * the kernel and orchestrators count it. cgroup v2 is tried first, then v1.
+     */
+    private OptionalLong cgroupAvailable() {
+        OptionalLong v2 = cgroupAvailable(cgroupRoot.resolve("memory.max"), cgroupRoot.resolve("memory.current"),
+            cgroupRoot.resolve("memory.stat"), "inactive_file");
+        if (v2.isPresent()) {
+            return v2;
+        }
+        Path v1 = cgroupRoot.resolve("memory");
+        return cgroupAvailable(v1.resolve("memory.limit_in_bytes"), v1.resolve("memory.usage_in_bytes"),
+            v1.resolve("memory.stat"), "total_inactive_file");
+    }
+
+    private static OptionalLong cgroupAvailable(Path limitFile, Path usageFile, Path statFile, String inactiveKey) {
+        OptionalLong limit = parse(String.join("", readLines(limitFile)));
+        OptionalLong usage = parse(String.join("", readLines(usageFile)));
+        if (limit.isEmpty() || usage.isEmpty() || limit.getAsLong() >= UNLIMITED) {
+            return OptionalLong.empty();
+        }
+        long inactive = 0;
+        for (String line : readLines(statFile)) {
+            if (line.startsWith(inactiveKey + " ")) {
+                inactive = parse(line.substring(inactiveKey.length() + 1)).orElse(0);
+            }
+        }
+        long workingSet = Math.max(0, usage.getAsLong() - inactive);
+        return OptionalLong.of(Math.max(0, limit.getAsLong() - workingSet));
+    }
+
+    private static List<String> readLines(Path file) {
+        try {
+            return Files.isReadable(file) ? Files.readAllLines(file) : List.of();
+        } catch (IOException ex) {
+            return List.of();
+        }
+    }
+
+    private static OptionalLong parse(String value) {
+        try {
+            return OptionalLong.of(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            // cgroup v2 writes "max" for no limit
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Container-aware physical memory total, or -1 where the JVM cannot report it.
+     */
+    private static Memory physicalMemory() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean os) {
+            return new Memory(os.getTotalMemorySize());
+        }
+        return new Memory(-1);
+    }
+
+    private record Memory(long total) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.Report;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.repository.ReportRepository;
+import com.example.automatedtestingframework.repository.TestCaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Quarantines test cases whose outcome keeps flipping. After every run the latest reports of the
+ * case are scored: each PASSED/FAILED change between consecutive runs and each pass that needed a
+ * retry counts as one flake. A case is quarantined once enough runs are flaky and released again
+ * after a streak of first-attempt passes. Quarantined cases keep running so the history stays
+ * current, but their failures are reported separately from real failures.
+ */
+@Service
+public class FlakinessService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlakinessService.class);
+
+    record Score(int runs, int flips, int retriedPasses) {
+
+        double rate() {
+            return runs == 0 ? 0 : (flips + retriedPasses) / (double) runs;
+        }
+    }
+
+    private final ReportRepository reportRepository;
+    private final TestCaseRepository testCaseRepository;
+    private final int window;
+    private final int minRuns;
+    private final double threshold;
+    private final int releaseAfter;
+
+    public FlakinessService(ReportRepository reportRepository,
+                            TestCaseRepository testCaseRepository,
+                            @Value("${quarantine.window:20}") int window,
+                            @Value("${quarantine.min-runs:6}") int minRuns,
+                            @Value("${quarantine.flake-rate:0.3}") double threshold,
+                            @Value("${quarantine.release-after:10}") int releaseAfter) {
+        this.reportRepository = reportRepository;
+        this.testCaseRepository = testCaseRepository;
+        this.releaseAfter = Math.max(1, releaseAfter);
+        this.window = Math.max(Math.max(2, window), this.releaseAfter);
+        this.minRuns = Math.max(2, minRuns);
+        this.threshold = threshold;
+    }
+
+    public void evaluate(TestCase testCase) {
+        try {
+            List<Report> recent = reportRepository.findRecentOutcomes(testCase.getId(), PageRequest.of(0, window));
+            if (testCase.isQuarantined()) {
+                if (stableStreak(recent) >= releaseAfter) {
+                    setQuarantine(testCase, false, null);
+                    log.info("Released test case {} from quarantine after {} stable runs", testCase.getId(), releaseAfter);
+                }
+                return;
+            }
+            Score score = score(recent);
+            if (score.runs() >= minRuns && score.rate() >= threshold) {
+                String reason = "Flipped %d times and passed only on retry %d times in the last %d runs".formatted(
+                    score.flips(), score.retriedPasses(), score.runs());
+                setQuarantine(testCase, true, reason);
+                log.info("Quarantined test case {}: {}", testCase.getId(), reason);
+            }
+        } catch (Exception ex) {
+            log.warn("Flakiness evaluation failed for test case {}: {}", testCase.getId(), ex.getMessage());
+        }
+    }
+
+    public void setQuarantine(TestCase testCase, boolean quarantined, String reason) {
+        OffsetDateTime at = quarantined ? OffsetDateTime.now() : null;
+        testCase.setQuarantined(quarantined);
+        testCase.setQuarantinedAt(at);
+        testCase.setQuarantineReason(reason);
+        testCaseRepository.updateQuarantine(testCase.getId(), quarantined, at, reason);
+    }
+
+    /**
+     * @param newestFirst reports ordered from the most recent run backwards
+     */
+    static Score score(List<Report> newestFirst) {
+        int flips = 0;
+        int retriedPasses = 0;
+        for (int i = 0; i < newestFirst.size(); i++) {
+            Report report = newestFirst.get(i);
+            if (i > 0 && !report.getStatus().equals(newestFirst.get(i - 1).getStatus())) {
+                flips++;
+            }
+            if (passedOnRetry(report)) {
+                retriedPasses++;
+            }
+        }
+        return new Score(newestFirst.size(), flips, retriedPasses);
+    }
+
+    static int stableStreak(List<Report> newestFirst) {
+        int streak = 0;
+        for (Report report : newestFirst) {
+            if (!"PASSED".equals(report.getStatus()) || passedOnRetry(report)) {
+                break;
+            }
+            streak++;
+        }
+        return streak;
+    }
+
+    private static boolean passedOnRetry(Report report) {
+        return "PASSED".equals(report.getStatus()) && report.getAttempts() != null && report.getAttempts() > 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.browser.LaunchProfile;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.repository.ProjectRepository;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves the browser launch profile a project's UI cases run with.
+ */
+@Service
+public class LaunchProfileService {
+
+    private static final Logger log = LoggerFactory.getLogger(LaunchProfileService.class);
+
+    private final ProjectRepository projectRepository;
+    private final JsonParserUtil jsonParserUtil;
+
+    public LaunchProfileService(ProjectRepository projectRepository, JsonParserUtil jsonParserUtil) {
+        this.projectRepository = projectRepository;
+        this.jsonParserUtil = jsonParserUtil;
+    }
+
+    /**
+     * The project's profile, or the default full browser when none is set or it no longer parses.
+     */
+    public LaunchProfile profileFor(TestCase testCase) {
+        String json = projectRepository.findLaunchProfileJson(testCase.getProject().getId());
+        if (json == null || json.isBlank()) {
+            return LaunchProfile.DEFAULT;
+        }
+        try {
+            return parse(json);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring invalid launch profile of project {}: {}", testCase.getProject().getId(), ex.getMessage());
+            return LaunchProfile.DEFAULT;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException when the JSON is not a valid profile
+     */
+    public LaunchProfile parse(String json) {
+        return LaunchProfile.fromJson(jsonParserUtil.parse(json));
+    }
+}
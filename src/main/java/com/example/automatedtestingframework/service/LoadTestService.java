@@ -0,0 +1,392 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.execution.ExecutionContext;
+import com.example.automatedtestingframework.load.LoadProfile;
+import com.example.automatedtestingframework.load.LoadRecorder;
+import com.example.automatedtestingframework.model.Project;
+import com.example.automatedtestingframework.model.Report;
+import com.example.automatedtestingframework.model.ReportKind;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.model.TestCaseType;
+import com.example.automatedtestingframework.plan.ApiTestPlan;
+import com.example.automatedtestingframework.plan.TestPlanCompiler;
+import com.example.automatedtestingframework.repository.ReportRepository;
+import com.example.automatedtestingframework.traffic.TrafficSession;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives existing API test cases as load. Each iteration runs a case's full request chain;
+ * a suite rotates through its cases. Open-model runs measure latency from each iteration's
+ * scheduled start rather than its actual start, so time spent waiting behind a slow target is
+ * counted instead of silently omitted. Arrivals queue up to {@code load.queue-capacity}; any beyond
+ * that are counted as dropped, and iterations still queued when the drain times out are recorded
+ * as failures. Only one load run executes at a time.
+ */
+@Service
+public class LoadTestService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestService.class);
+
+    private final ApiTestExecutor apiTestExecutor;
+    private final TestPlanCompiler testPlanCompiler;
+    private final TrafficArchiveService trafficArchiveService;
+    private final ReportRepository reportRepository;
+    private final JsonParserUtil jsonParserUtil;
+    private final RunRegistry runRegistry;
+    private final Executor testExecutor;
+    private final Path loadDirectory;
+    private final int maxRps;
+    private final int maxConcurrency;
+    private final Duration maxDuration;
+    private final Duration drainTimeout;
+    private final int queueCapacity;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LoadTestService(ApiTestExecutor apiTestExecutor,
+                           TestPlanCompiler testPlanCompiler,
+                           TrafficArchiveService trafficArchiveService,
+                           ReportRepository reportRepository,
+                           JsonParserUtil jsonParserUtil,
+                           RunRegistry runRegistry,
+                           @Qualifier("testExecutor") Executor testExecutor,
+                           @Value("${artifacts.dir:artifacts}") String artifactsDirectory,
+                           @Value("${load.max-rps:2000}") int maxRps,
+                           @Value("${load.max-concurrency:256}") int maxConcurrency,
+                           @Value("${load.max-duration-seconds:900}") long maxDurationSeconds,
+                           @Value("${load.drain-timeout-seconds:30}") long drainTimeoutSeconds,
+                           @Value("${load.queue-capacity:10000}") int queueCapacity) {
+        this.apiTestExecutor = apiTestExecutor;
+        this.testPlanCompiler = testPlanCompiler;
+        this.trafficArchiveService = trafficArchiveService;
+        this.reportRepository = reportRepository;
+        this.jsonParserUtil = jsonParserUtil;
+        this.runRegistry = runRegistry;
+        this.testExecutor = testExecutor;
+        this.loadDirectory = Path.of(artifactsDirectory, "load");
+        this.maxRps = Math.max(1, maxRps);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxDuration = Duration.ofSeconds(Math.max(1, maxDurationSeconds));
+        this.drainTimeout = Duration.ofSeconds(Math.max(1, drainTimeoutSeconds));
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Validates the run and starts it on the test executor.
+     *
+     * @throws IllegalArgumentException when the cases or profile are not runnable
+     * @throws IllegalStateException    when another load run is still in progress
+     */
+    public void startAsync(Project project, List<TestCase> cases, LoadProfile profile) {
+        if (cases.isEmpty()) {
+            throw new IllegalArgumentException("Select at least one API test case");
+        }
+        if (cases.stream().anyMatch(testCase -> testCase.getType() != TestCaseType.API)) {
+            throw new IllegalArgumentException("Load runs only support API test cases");
+        }
+        if (profile.model() == LoadProfile.Model.OPEN && profile.targetRps() > maxRps) {
+            throw new IllegalArgumentException("Target RPS is limited to " + maxRps);
+        }
+        if (profile.concurrency() > maxConcurrency) {
+            throw new IllegalArgumentException("Concurrency is limited to " + maxConcurrency);
+        }
+        if (profile.duration().compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration is limited to %d seconds".formatted(maxDuration.toSeconds()));
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A load test is already running");
+        }
+        ExecutionContext context = ExecutionContext.root(profile.duration().plus(drainTimeout), "Load test");
+        RunRegistry.ActiveRun active = runRegistry.register(project.getId(), "Load test", context);
+        try {
+            testExecutor.execute(() -> {
+                try {
+                    if (!context.isCancelled()) {
+                        run(project, cases, profile, context);
+                    }
+                } catch (Exception ex) {
+                    log.error("Load test for project {} failed", project.getId(), ex);
+                } finally {
+                    context.close();
+                    runRegistry.complete(active);
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            context.close();
+            runRegistry.complete(active);
+            running.set(false);
+            throw ex;
+        }
+    }
+
+    Report run(Project project,
+               List<TestCase> cases,
+               LoadProfile profile,
+               ExecutionContext context) throws IOException, InterruptedException {
+        List<Target> targets = new ArrayList<>();
+        try {
+            for (TestCase testCase : cases) {
+                ApiTestPlan plan = testPlanCompiler.apiPlan(testCase);
+                targets.add(new Target(testCase, plan, trafficArchiveService.open(testCase, profile.trafficMode())));
+            }
+            return drive(project, targets, profile, context);
+        } finally {
+            for (Target target : targets) {
+                target.session().close();
+            }
+        }
+    }
+
+    private Report drive(Project project,
+                         List<Target> targets,
+                         LoadProfile profile,
+                         ExecutionContext context) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().build();
+        LoadRecorder recorder = new LoadRecorder();
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        long start = System.nanoTime();
+        long end = start + profile.duration().toNanos();
+
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(loadThreadFactory("load-sampler"));
+        sampler.scheduleAtFixedRate(() -> recorder.sample(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)),
+            1, 1, TimeUnit.SECONDS);
+        ExecutorService workers = new ThreadPoolExecutor(profile.concurrency(), profile.concurrency(), 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(queueCapacity), loadThreadFactory("load-worker"));
+        boolean drained;
+        try {
+            if (profile.model() == LoadProfile.Model.OPEN) {
+                scheduleArrivals(workers, client, targets, recorder, profile.targetRps(), start, end, context);
+            } else {
+                startVirtualUsers(workers, client, targets, recorder, profile.concurrency(), end, context);
+            }
+        } finally {
+            workers.shutdown();
+            drained = workers.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!drained) {
+                // Iterations that never started still count, as failures that waited since they were due
+                long now = System.nanoTime();
+                for (Runnable abandoned : workers.shutdownNow()) {
+                    if (abandoned instanceof Arrival arrival) {
+                        recorder.record(now - arrival.due(), true);
+                    }
+                }
+            }
+            sampler.shutdownNow();
+            sampler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        String stoppedEarly = elapsedNanos < profile.duration().toNanos() ? context.cancelReason() : null;
+        recorder.sample(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+
+        double achievedRps = recorder.count() / (elapsedNanos / 1e9);
+        long attempted = recorder.count() + recorder.dropped();
+        double errorPercent = attempted == 0 ? 100 : (recorder.errors() + recorder.dropped()) * 100.0 / attempted;
+        Path artifact = writeArtifact(targets, profile, recorder, startedAt, achievedRps, drained);
+
+        boolean failed = errorPercent > profile.maxErrorPercent();
+        String description = profile.model() == LoadProfile.Model.OPEN
+            ? "%d rps".formatted(profile.targetRps())
+            : "%d users".formatted(profile.concurrency());
+        String subject = targets.size() == 1
+            ? targets.get(0).testCase().getName()
+            : "%d API tests".formatted(targets.size());
+
+        Report report = new Report();
+        report.setProject(project);
+        report.setKind(ReportKind.LOAD);
+        report.setTestCase(targets.size() == 1 ? targets.get(0).testCase() : null);
+        report.setStartedAt(startedAt);
+        report.setCompletedAt(OffsetDateTime.now());
+        report.setStatus(failed ? "FAILED" : "PASSED");
+        report.setSummary("Load test (%s %s, %ds) for %s: %d iterations at %.1f rps, p99 %.1f ms, %.2f%% errors".formatted(
+            profile.model(), description, profile.duration().toSeconds(), subject,
+            recorder.count(), achievedRps, recorder.percentileMillis(99), errorPercent));
+        report.setDetails("""
+            Iterations: %d (%d failed, %d dropped)
+            Throughput: %.1f rps
+            Latency p50: %.1f ms
+            Latency p90: %.1f ms
+            Latency p99: %.1f ms
+            Latency p99.9: %.1f ms
+            Latency max: %.1f ms
+            Artifact: %s
+            """.formatted(recorder.count(), recorder.errors(), recorder.dropped(), achievedRps,
+            recorder.percentileMillis(50), recorder.percentileMillis(90), recorder.percentileMillis(99),
+            recorder.percentileMillis(99.9), recorder.maxMillis(), artifact)
+            + (drained ? "" : "Iterations still running or queued were abandoned after %ds\n".formatted(drainTimeout.toSeconds()))
+            + (stoppedEarly != null ? "Stopped early: %s\n".formatted(stoppedEarly) : ""));
+        report.setErrorMessage(failed
+            ? "Error rate %.2f%% exceeded %.2f%%".formatted(errorPercent, profile.maxErrorPercent())
+            : null);
+        return reportRepository.save(report);
+    }
+
+    /**
+     * Open model: iteration {@code i} is due at {@code start + i / rps} and its latency is
+     * measured from that instant, so queueing behind busy workers shows up in the results. An
+     * arrival the full queue rejects is counted as dropped rather than blocking the schedule.
+     */
+    private void scheduleArrivals(ExecutorService workers,
+                                  HttpClient client,
+                                  List<Target> targets,
+                                  LoadRecorder recorder,
+                                  int rps,
+                                  long start,
+                                  long end,
+                                  ExecutionContext context) throws InterruptedException {
+        double intervalNanos = 1e9 / rps;
+        for (long i = 0; ; i++) {
+            long due = start + Math.round(i * intervalNanos);
+            if (due - end >= 0 || context.isCancelled()) {
+                return;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long index = i;
+            try {
+                workers.execute(new Arrival(due, () -> {
+                    boolean passed = iterate(client, targets, index, context);
+                    recorder.record(System.nanoTime() - due, !passed);
+                }));
+            } catch (RejectedExecutionException ex) {
+                recorder.drop();
+            }
+        }
+    }
+
+    /**
+     * Closed model: each virtual user starts its next iteration as soon as the last one finished.
+     */
+    private void startVirtualUsers(ExecutorService workers,
+                                   HttpClient client,
+                                   List<Target> targets,
+                                   LoadRecorder recorder,
+                                   int users,
+                                   long end,
+                                   ExecutionContext context) {
+        AtomicLong counter = new AtomicLong();
+        for (int user = 0; user < users; user++) {
+            workers.execute(() -> {
+                while (System.nanoTime() - end < 0 && !Thread.currentThread().isInterrupted() && !context.isCancelled()) {
+                    long began = System.nanoTime();
+                    boolean passed = iterate(client, targets, counter.getAndIncrement(), context);
+                    recorder.record(System.nanoTime() - began, !passed);
+                }
+            });
+        }
+    }
+
+    private boolean iterate(HttpClient client, List<Target> targets, long index, ExecutionContext context) {
+        Target target = targets.get((int) (index % targets.size()));
+        ApiTestExecutor.IterationResult result = apiTestExecutor.runIteration(
+            client, target.session(), target.plan(), target.variables(index), context, false);
+        return "PASSED".equals(result.status());
+    }
+
+    private Path writeArtifact(List<Target> targets,
+                               LoadProfile profile,
+                               LoadRecorder recorder,
+                               OffsetDateTime startedAt,
+                               double achievedRps,
+                               boolean drained) throws IOException {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("model", profile.model());
+        settings.put("targetRps", profile.targetRps());
+        settings.put("concurrency", profile.concurrency());
+        settings.put("durationSeconds", profile.duration().toSeconds());
+        settings.put("trafficMode", profile.trafficMode());
+        settings.put("maxErrorPercent", profile.maxErrorPercent());
+
+        Map<String, Object> artifact = new LinkedHashMap<>();
+        artifact.put("startedAt", startedAt);
+        artifact.put("testCases", targets.stream().map(target -> target.testCase().getName()).toList());
+        artifact.put("profile", settings);
+        artifact.put("achievedRps", achievedRps);
+        artifact.put("drained", drained);
+        artifact.putAll(recorder.toArtifact());
+
+        Files.createDirectories(loadDirectory);
+        Path path = loadDirectory.resolve("%s-%d.json".formatted(
+            targets.size() == 1 ? "case-" + targets.get(0).testCase().getId() : "project-" + targets.get(0).testCase().getProject().getId(),
+            System.currentTimeMillis()));
+        Files.writeString(path, jsonParserUtil.toJson(artifact), StandardCharsets.UTF_8);
+        return path;
+    }
+
+    private ThreadFactory loadThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName(prefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * An open-model iteration, kept recognisable so one abandoned in the queue can still be
+     * recorded against the instant it was due.
+     */
+    private record Arrival(long due, Runnable body) implements Runnable {
+
+        @Override
+        public void run() {
+            body.run();
+        }
+    }
+
+    /**
+     * One case of the run. Inline dataset rows are cycled through so iterations vary their input.
+     */
+    private record Target(TestCase testCase, ApiTestPlan plan, TrafficSession session) {
+
+        Map<String, String> variables(long index) {
+            if (plan.dataset().isEmpty()) {
+                return plan.variables();
+            }
+            Map<String, String> variables = new HashMap<>(plan.variables());
+            variables.putAll(plan.dataset().get((int) (index % plan.dataset().size())));
+            return variables;
+        }
+    }
+}
@@ -1,89 +1,289 @@
 package com.example.automatedtestingframework.service;
 
+import com.example.automatedtestingframework.model.NotificationOutbox;
+import com.example.automatedtestingframework.model.NotificationStatus;
 import com.example.automatedtestingframework.model.Project;
 import com.example.automatedtestingframework.model.Report;
-import com.example.automatedtestingframework.model.User;
+import com.example.automatedtestingframework.repository.NotificationOutboxRepository;
+import com.example.automatedtestingframework.repository.ProjectRepository;
+import com.example.automatedtestingframework.repository.ReportRepository;
+import com.example.automatedtestingframework.retry.RetryPolicy;
+import com.example.automatedtestingframework.util.JsonParserUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Run-completion mail. Completing a run only writes an outbox row; a scheduled dispatcher mails
+ * pending rows per project, folding every run that finished within the digest window of the last
+ * mail into a single message and retrying failed deliveries with backoff. Only rows whose backoff
+ * has elapsed join a batch, so each row is retried on its own schedule.
+ */
 @Service
 public class NotificationService {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
+    static final String RUN_COMPLETED = "RUN_COMPLETED";
+    private static final int MAX_RUNS_LISTED = 20;
+
     private final RestTemplate restTemplate;
+    private final NotificationOutboxRepository outboxRepository;
+    private final ProjectRepository projectRepository;
+    private final ReportRepository reportRepository;
+    private final JsonParserUtil jsonParserUtil;
     private final String senderEmail;
     private final String senderName;
     private final String apiKey;
+    private final Duration digestWindow;
+    private final RetryPolicy deliveryPolicy;
+    private final String baseUrl;
+    private final int topFailures;
+    private final int maxFailuresScanned;
 
-    public NotificationService(@Value("${brevo.sender.email:no-reply@example.com}") String senderEmail,
+    public NotificationService(NotificationOutboxRepository outboxRepository,
+                               ProjectRepository projectRepository,
+                               ReportRepository reportRepository,
+                               JsonParserUtil jsonParserUtil,
+                               @Value("${brevo.sender.email:no-reply@example.com}") String senderEmail,
                                @Value("${brevo.sender.name:Automation Platform}") String senderName,
-                               @Value("${brevo.api-key:}") String apiKey) {
-        this.restTemplate = new RestTemplate();
+                               @Value("${brevo.api-key:}") String apiKey,
+                               @Value("${notifications.digest-window-seconds:300}") long digestWindowSeconds,
+                               @Value("${notifications.max-attempts:6}") int maxAttempts,
+                               @Value("${notifications.retry-backoff-seconds:30}") long retryBackoffSeconds,
+                               @Value("${app.base-url:}") String baseUrl,
+                               @Value("${notifications.digest.top-failures:10}") int topFailures,
+                               @Value("${notifications.digest.max-failures-scanned:500}") int maxFailuresScanned) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofSeconds(5));
+        requestFactory.setReadTimeout(Duration.ofSeconds(20));
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.outboxRepository = outboxRepository;
+        this.projectRepository = projectRepository;
+        this.reportRepository = reportRepository;
+        this.jsonParserUtil = jsonParserUtil;
         this.senderEmail = senderEmail;
         this.senderName = senderName;
         this.apiKey = apiKey;
+        this.digestWindow = Duration.ofSeconds(Math.max(0, digestWindowSeconds));
+        Duration backoff = Duration.ofSeconds(Math.max(1, retryBackoffSeconds));
+        this.deliveryPolicy = new RetryPolicy(Math.max(1, Math.min(maxAttempts, 10)), backoff, backoff.multipliedBy(64),
+            2, 0.2, Set.of(), Set.of());
+        this.baseUrl = baseUrl;
+        this.topFailures = Math.max(1, topFailures);
+        this.maxFailuresScanned = Math.max(0, maxFailuresScanned);
     }
 
-    public void notifyRunCompletion(Project project, List<Report> reports, List<User> recipients) {
-        if (recipients.isEmpty()) {
-            log.debug("Skip notification, no recipients configured");
-            return;
-        }
+    /**
+     * Queues the completion mail for a run. Never blocks on the mail provider.
+     */
+    public void notifyRunCompletion(Project project, List<Report> reports) {
         if (apiKey == null || apiKey.isBlank()) {
             log.warn("Brevo API key missing. Notification skipped.");
             return;
         }
+        OffsetDateTime now = OffsetDateTime.now();
+        NotificationOutbox event = new NotificationOutbox();
+        event.setProjectId(project.getId());
+        event.setProjectName(project.getName());
+        event.setEventType(RUN_COMPLETED);
+        OffsetDateTime startedAt = reports.stream()
+            .map(Report::getStartedAt)
+            .filter(Objects::nonNull)
+            .min(Comparator.naturalOrder())
+            .orElse(now);
+        event.setPayloadJson(jsonParserUtil.toJson(new RunCompleted(startedAt, now,
+            reports.stream().map(Report::getId).filter(Objects::nonNull).toList())));
+        event.setStatus(NotificationStatus.PENDING);
+        event.setCreatedAt(now);
+        event.setNextAttemptAt(now);
+        outboxRepository.save(event);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.dispatch-interval-ms:15000}")
+    public void dispatchPending() {
+        OffsetDateTime now = OffsetDateTime.now();
+        for (Long projectId : outboxRepository.findProjectsDue(NotificationStatus.PENDING, now)) {
+            try {
+                OffsetDateTime lastSent = outboxRepository
+                    .findTopByProjectIdAndStatusOrderBySentAtDesc(projectId, NotificationStatus.SENT)
+                    .map(NotificationOutbox::getSentAt)
+                    .orElse(null);
+                if (lastSent != null && lastSent.plus(digestWindow).isAfter(now)) {
+                    // Held back so every run finishing inside the window goes out as one digest
+                    continue;
+                }
+                dispatch(projectId, outboxRepository.findDue(projectId, NotificationStatus.PENDING, now));
+            } catch (RuntimeException ex) {
+                log.error("Notification dispatch for project {} failed", projectId, ex);
+            }
+        }
+    }
+
+    private void dispatch(Long projectId, List<NotificationOutbox> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        String projectName = batch.get(batch.size() - 1).getProjectName();
+        try {
+            List<String> recipients = recipientsFor(projectId);
+            if (recipients.isEmpty()) {
+                throw new IllegalStateException("No notification recipients for project " + projectName);
+            }
+            send(recipients,
+                batch.size() == 1
+                    ? "%s - Automated test results".formatted(projectName)
+                    : "%s - Automated test results (%d runs)".formatted(projectName, batch.size()),
+                buildHtml(projectId, projectName, batch));
+            batch.forEach(event -> {
+                event.setStatus(NotificationStatus.SENT);
+                event.setSentAt(now);
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(null);
+            });
+            log.info("Notification for {} run(s) of project {} dispatched to {} recipients",
+                batch.size(), projectId, recipients.size());
+        } catch (RuntimeException ex) {
+            // Anything that stops this batch (bad recipients, an unreadable payload, the mail API)
+            // counts as an attempt so the batch backs off and eventually fails instead of looping
+            log.warn("Notification for project {} failed: {}", projectId, ex.getMessage());
+            String error = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
+            batch.forEach(event -> {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(error.length() > 1024 ? error.substring(0, 1024) : error);
+                if (attempts >= deliveryPolicy.maxAttempts()) {
+                    event.setStatus(NotificationStatus.FAILED);
+                } else {
+                    event.setNextAttemptAt(now.plus(deliveryPolicy.backoff(attempts, ThreadLocalRandom.current())));
+                }
+            });
+        }
+        outboxRepository.saveAll(batch);
+    }
+
+    /**
+     * The project's configured recipients, or its owner when none are set.
+     */
+    private List<String> recipientsFor(Long projectId) {
+        String configured = projectRepository.findNotificationRecipients(projectId);
+        if (configured != null && !configured.isBlank()) {
+            return parseRecipients(configured);
+        }
+        String owner = projectRepository.findOwnerEmail(projectId);
+        return owner == null ? List.of() : List.of(owner);
+    }
 
+    /**
+     * @throws IllegalArgumentException when an entry is not an email address
+     */
+    public static List<String> parseRecipients(String value) {
+        List<String> recipients = Arrays.stream(value.split("[,;\\s]+"))
+            .map(String::trim)
+            .filter(entry -> !entry.isEmpty())
+            .distinct()
+            .toList();
+        for (String recipient : recipients) {
+            if (!recipient.matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+")) {
+                throw new IllegalArgumentException("Not an email address: " + recipient);
+            }
+        }
+        return recipients;
+    }
+
+    private void send(List<String> recipients, String subject, String html) {
         Map<String, Object> payload = new HashMap<>();
         Map<String, Object> sender = Map.of("name", senderName, "email", senderEmail);
         payload.put("sender", sender);
         payload.put("to", recipients.stream()
-            .map(user -> Map.of("email", user.getEmail(), "name", user.getFullName()))
+            .map(email -> Map.of("email", email))
             .toList());
-        payload.put("subject", String.format("%s - Automated test results", project.getName()));
-        payload.put("htmlContent", buildHtmlSummary(project, reports));
+        payload.put("subject", subject);
+        payload.put("htmlContent", html);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.set("api-key", apiKey);
 
-        try {
-            restTemplate.postForEntity("https://api.brevo.com/v3/smtp/email", new HttpEntity<>(payload, headers), String.class);
-            log.info("Notification dispatched to {} recipients", recipients.size());
-        } catch (Exception ex) {
-            log.error("Failed to notify via Brevo", ex);
+        restTemplate.postForEntity("https://api.brevo.com/v3/smtp/email", new HttpEntity<>(payload, headers), String.class);
+    }
+
+    /**
+     * Builds the digest from aggregate queries: per-run outcome counts plus at most
+     * {@code maxFailuresScanned} truncated failure lines across the whole batch.
+     */
+    private String buildHtml(Long projectId, String projectName, List<NotificationOutbox> batch) {
+        RunDigestBuilder digest = new RunDigestBuilder(projectName, topFailures, MAX_RUNS_LISTED);
+        int failureBudget = maxFailuresScanned;
+        OffsetDateTime from = null;
+        OffsetDateTime to = null;
+        for (NotificationOutbox event : batch) {
+            RunCompleted run = jsonParserUtil.parse(event.getPayloadJson(), RunCompleted.class);
+            OffsetDateTime startedAt = run.startedAt() != null ? run.startedAt() : run.completedAt();
+            from = from == null || startedAt.isBefore(from) ? startedAt : from;
+            to = to == null || run.completedAt().isAfter(to) ? run.completedAt() : to;
+            if (run.reportIds().isEmpty()) {
+                digest.addRun(run.completedAt(), 0, 0, 0);
+                continue;
+            }
+            long passed = 0;
+            long failed = 0;
+            long quarantined = 0;
+            for (ReportRepository.OutcomeCount count : reportRepository.countOutcomes(run.reportIds())) {
+                if ("PASSED".equalsIgnoreCase(count.getStatus())) {
+                    passed += count.getTotal();
+                } else if (Boolean.TRUE.equals(count.getQuarantined())) {
+                    // Quarantined failures are known-flaky and reported apart so they do not drown real regressions
+                    quarantined += count.getTotal();
+                } else {
+                    failed += count.getTotal();
+                }
+            }
+            digest.addRun(run.completedAt(), passed, failed, quarantined);
+            if (failed > 0 && failureBudget > 0) {
+                List<ReportRepository.FailureLine> failures =
+                    reportRepository.findFailureLines(run.reportIds(), PageRequest.of(0, failureBudget));
+                failures.forEach(line -> digest.addFailure(line.getTestName(), line.getErrorPrefix()));
+                failureBudget -= failures.size();
+            }
+        }
+        return digest.build(detailsUrl(projectId, from, to));
+    }
+
+    private String detailsUrl(Long projectId, OffsetDateTime from, OffsetDateTime to) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            return null;
+        }
+        StringBuilder url = new StringBuilder(baseUrl.replaceAll("/+$", ""))
+            .append("/reports?projectId=").append(projectId);
+        if (from != null && to != null) {
+            url.append("&from=").append(from.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate())
+                .append("&to=").append(to.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate());
         }
+        return url.toString();
     }
 
-    private String buildHtmlSummary(Project project, List<Report> reports) {
-        long passed = reports.stream().filter(r -> "PASSED".equalsIgnoreCase(r.getStatus())).count();
-        long failed = reports.size() - passed;
-        StringBuilder builder = new StringBuilder();
-        builder.append("<h2>Automation run summary for ").append(project.getName()).append("</h2>");
-        builder.append("<p>Passed: ").append(passed).append(" | Failed: ").append(failed).append("</p>");
-        builder.append("<table border='1' cellpadding='6' cellspacing='0'>");
-        builder.append("<tr><th>Test</th><th>Status</th><th>Type</th><th>Started</th><th>Completed</th><th>Error</th></tr>");
-        reports.forEach(report -> builder
-            .append("<tr>")
-            .append("<td>").append(report.getTestCase() != null ? report.getTestCase().getName() : "Ad-hoc").append("</td>")
-            .append("<td>").append(report.getStatus()).append("</td>")
-            .append("<td>").append(report.getTestCase() != null ? report.getTestCase().getType() : "-").append("</td>")
-            .append("<td>").append(report.getStartedAt()).append("</td>")
-            .append("<td>").append(report.getCompletedAt()).append("</td>")
-            .append("<td>").append(report.getErrorMessage() != null ? report.getErrorMessage() : "").append("</td>")
-            .append("</tr>"));
-        builder.append("</table>");
-        return builder.toString();
+    record RunCompleted(OffsetDateTime startedAt, OffsetDateTime completedAt, List<Long> reportIds) {
     }
 }
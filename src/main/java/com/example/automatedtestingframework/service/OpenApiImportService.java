@@ -0,0 +1,396 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.analysis.EndpointAnalysisPayload;
+import com.example.automatedtestingframework.model.EndpointAnalysisResult;
+import com.example.automatedtestingframework.model.Project;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.model.TestCaseType;
+import com.example.automatedtestingframework.repository.TestCaseBatchRepository;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Turns OpenAPI 3 / Swagger 2 documents into API test cases, one per operation, in the
+ * executor's "requests" format, and stores them through the batched test case path.
+ */
+@Service
+public class OpenApiImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenApiImportService.class);
+    private static final List<String> HTTP_METHODS = List.of("get", "put", "post", "delete", "patch", "head", "options");
+    private static final List<String> SPEC_PATHS = List.of("/openapi.json", "/swagger.json");
+    private static final int MAX_OPERATIONS = 2000;
+    private static final int MAX_SAMPLE_DEPTH = 6;
+    private static final int MAX_NAME_LENGTH = 160;
+
+    private final JsonParserUtil jsonParserUtil;
+    private final TestCaseBatchRepository testCaseBatchRepository;
+    private final HttpClient httpClient;
+
+    public OpenApiImportService(JsonParserUtil jsonParserUtil, TestCaseBatchRepository testCaseBatchRepository) {
+        this.jsonParserUtil = jsonParserUtil;
+        this.testCaseBatchRepository = testCaseBatchRepository;
+        this.httpClient = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    public ImportSummary importSpec(Project project, String specContent, String baseUrl) {
+        JsonNode spec = parseSpec(specContent);
+        List<TestCase> drafts = generateTestCases(project, spec, baseUrl);
+        if (drafts.isEmpty()) {
+            throw new IllegalArgumentException("The specification does not declare any operations");
+        }
+        TestCaseBatchRepository.UpsertResult result = testCaseBatchRepository.upsert(project, drafts);
+        log.info("Imported {} operations for project {} ({} created, {} updated)",
+            drafts.size(), project.getId(), result.created(), result.updated());
+        return new ImportSummary(drafts.size(), result.created(), result.updated());
+    }
+
+    public ImportSummary importFromUrl(Project project, String specUrl, String baseUrl) {
+        return importSpec(project, fetch(specUrl), baseUrl != null && !baseUrl.isBlank() ? baseUrl : rootOf(specUrl));
+    }
+
+    /**
+     * Imports the first OpenAPI/Swagger document that the given endpoint analysis found to be accessible.
+     */
+    public ImportSummary importFromAnalysis(Project project, EndpointAnalysisResult analysis) {
+        EndpointAnalysisPayload payload = jsonParserUtil.parse(analysis.getPayloadJson(), EndpointAnalysisPayload.class);
+        String root = rootOf(analysis.getDomain());
+        String specPath = payload.fileResources().stream()
+            .filter(EndpointAnalysisPayload.FileResourceFinding::accessible)
+            .map(EndpointAnalysisPayload.FileResourceFinding::path)
+            .filter(SPEC_PATHS::contains)
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("The analysis did not discover an OpenAPI or Swagger document"));
+        return importFromUrl(project, root + specPath, root);
+    }
+
+    List<TestCase> generateTestCases(Project project, JsonNode spec, String fallbackBaseUrl) {
+        String baseUrl = resolveBaseUrl(spec, fallbackBaseUrl);
+        boolean swagger2 = spec.has("swagger");
+        List<TestCase> drafts = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+
+        Iterator<Map.Entry<String, JsonNode>> paths = spec.path("paths").fields();
+        while (paths.hasNext() && drafts.size() < MAX_OPERATIONS) {
+            Map.Entry<String, JsonNode> pathEntry = paths.next();
+            JsonNode pathItem = pathEntry.getValue();
+            for (String method : HTTP_METHODS) {
+                JsonNode operation = pathItem.path(method);
+                if (!operation.isObject() || drafts.size() >= MAX_OPERATIONS) {
+                    continue;
+                }
+                List<JsonNode> parameters = new ArrayList<>();
+                pathItem.path("parameters").forEach(parameter -> parameters.add(resolveRef(spec, parameter)));
+                operation.path("parameters").forEach(parameter -> parameters.add(resolveRef(spec, parameter)));
+
+                ObjectNode request = JsonNodeFactory.instance.objectNode();
+                String name = uniqueName(operationName(method, pathEntry.getKey(), operation), usedNames);
+                request.put("name", name);
+                request.put("method", method.toUpperCase(Locale.ENGLISH));
+                request.put("url", baseUrl + buildPath(spec, pathEntry.getKey(), parameters));
+
+                ObjectNode headers = request.putObject("headers");
+                headers.put("Accept", "application/json");
+                for (JsonNode parameter : parameters) {
+                    if ("header".equals(parameter.path("in").asText()) && parameter.path("required").asBoolean(false)) {
+                        headers.put(parameter.path("name").asText(), sampleValue(spec, parameter).asText());
+                    }
+                }
+
+                Optional<JsonNode> body = swagger2 ? swagger2Body(spec, parameters) : openApi3Body(spec, operation);
+                body.ifPresent(example -> {
+                    headers.put("Content-Type", "application/json");
+                    request.put("body", example.isTextual() ? example.asText() : jsonParserUtil.toJson(example));
+                });
+                request.put("expectedStatus", expectedStatus(operation.path("responses")));
+
+                ObjectNode definition = JsonNodeFactory.instance.objectNode();
+                definition.putArray("requests").add(request);
+
+                TestCase testCase = new TestCase();
+                testCase.setProject(project);
+                testCase.setName(name);
+                testCase.setType(TestCaseType.API);
+                testCase.setDefinitionJson(jsonParserUtil.toJson(definition));
+                drafts.add(testCase);
+            }
+        }
+        return drafts;
+    }
+
+    private JsonNode parseSpec(String content) {
+        if (content == null || content.isBlank()) {
+            throw new IllegalArgumentException("Specification content is empty");
+        }
+        String trimmed = content.trim();
+        JsonNode spec;
+        if (trimmed.startsWith("{")) {
+            spec = jsonParserUtil.parse(trimmed);
+        } else {
+            try {
+                Object yaml = new Yaml(new SafeConstructor(new LoaderOptions())).load(trimmed);
+                spec = jsonParserUtil.toTree(yaml);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Specification is neither valid JSON nor YAML", ex);
+            }
+        }
+        if (spec == null || !(spec.has("openapi") || spec.has("swagger")) || !spec.path("paths").isObject()) {
+            throw new IllegalArgumentException("Not an OpenAPI or Swagger document");
+        }
+        return spec;
+    }
+
+    private String fetch(String specUrl) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(specUrl.trim()))
+                .timeout(Duration.ofSeconds(20))
+                .header("Accept", "application/json, application/yaml, text/yaml")
+                .GET()
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() >= 400) {
+                throw new IllegalArgumentException("Fetching %s returned status %d".formatted(specUrl, response.statusCode()));
+            }
+            return response.body();
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Unable to fetch specification: " + ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Specification download interrupted", ex);
+        }
+    }
+
+    private String resolveBaseUrl(JsonNode spec, String fallbackBaseUrl) {
+        String fallback = fallbackBaseUrl != null ? stripTrailingSlash(fallbackBaseUrl.trim()) : "";
+        if (spec.has("swagger")) {
+            String host = spec.path("host").asText("");
+            String basePath = spec.path("basePath").asText("");
+            if (!host.isBlank()) {
+                String scheme = spec.path("schemes").path(0).asText("https");
+                return stripTrailingSlash(scheme + "://" + host + basePath);
+            }
+            return stripTrailingSlash(fallback + basePath);
+        }
+        String server = spec.path("servers").path(0).path("url").asText("");
+        JsonNode variables = spec.path("servers").path(0).path("variables");
+        for (Iterator<Map.Entry<String, JsonNode>> it = variables.fields(); it.hasNext();) {
+            Map.Entry<String, JsonNode> variable = it.next();
+            server = server.replace("{" + variable.getKey() + "}", variable.getValue().path("default").asText(""));
+        }
+        if (server.startsWith("http://") || server.startsWith("https://")) {
+            return stripTrailingSlash(server);
+        }
+        return stripTrailingSlash(fallback + (server.startsWith("/") ? server : ""));
+    }
+
+    private String buildPath(JsonNode spec, String template, List<JsonNode> parameters) {
+        String path = template;
+        StringBuilder query = new StringBuilder();
+        for (JsonNode parameter : parameters) {
+            String in = parameter.path("in").asText();
+            String name = parameter.path("name").asText();
+            if ("path".equals(in)) {
+                path = path.replace("{" + name + "}", encode(sampleValue(spec, parameter).asText()));
+            } else if ("query".equals(in) && parameter.path("required").asBoolean(false)) {
+                query.append(query.isEmpty() ? '?' : '&')
+                    .append(encode(name)).append('=').append(encode(sampleValue(spec, parameter).asText()));
+            }
+        }
+        return path + query;
+    }
+
+    private Optional<JsonNode> openApi3Body(JsonNode spec, JsonNode operation) {
+        JsonNode requestBody = resolveRef(spec, operation.path("requestBody"));
+        JsonNode content = requestBody.path("content");
+        if (!content.isObject() || content.isEmpty()) {
+            return Optional.empty();
+        }
+        JsonNode media = content.has("application/json") ? content.get("application/json") : content.elements().next();
+        if (media.has("example")) {
+            return Optional.of(media.get("example"));
+        }
+        JsonNode examples = media.path("examples");
+        if (examples.isObject() && !examples.isEmpty()) {
+            JsonNode first = resolveRef(spec, examples.elements().next());
+            if (first.has("value")) {
+                return Optional.of(first.get("value"));
+            }
+        }
+        return Optional.of(sampleFromSchema(spec, media.path("schema"), 0));
+    }
+
+    private Optional<JsonNode> swagger2Body(JsonNode spec, List<JsonNode> parameters) {
+        return parameters.stream()
+            .filter(parameter -> "body".equals(parameter.path("in").asText()))
+            .findFirst()
+            .map(parameter -> sampleFromSchema(spec, parameter.path("schema"), 0));
+    }
+
+    private JsonNode sampleValue(JsonNode spec, JsonNode parameter) {
+        if (parameter.has("example")) {
+            return parameter.get("example");
+        }
+        // Swagger 2 declares type/format on the parameter itself
+        return sampleFromSchema(spec, parameter.has("schema") ? parameter.get("schema") : parameter, 0);
+    }
+
+    private JsonNode sampleFromSchema(JsonNode spec, JsonNode rawSchema, int depth) {
+        JsonNodeFactory factory = JsonNodeFactory.instance;
+        JsonNode schema = resolveRef(spec, rawSchema);
+        if (schema.has("example")) {
+            return schema.get("example");
+        }
+        if (schema.has("default")) {
+            return schema.get("default");
+        }
+        if (schema.path("enum").isArray() && !schema.path("enum").isEmpty()) {
+            return schema.path("enum").get(0);
+        }
+        if (depth >= MAX_SAMPLE_DEPTH) {
+            return factory.nullNode();
+        }
+        for (String composite : List.of("oneOf", "anyOf")) {
+            if (schema.path(composite).isArray() && !schema.path(composite).isEmpty()) {
+                return sampleFromSchema(spec, schema.path(composite).get(0), depth + 1);
+            }
+        }
+        if (schema.path("allOf").isArray()) {
+            ObjectNode merged = factory.objectNode();
+            for (JsonNode part : schema.path("allOf")) {
+                JsonNode sample = sampleFromSchema(spec, part, depth + 1);
+                if (sample.isObject()) {
+                    merged.setAll((ObjectNode) sample);
+                }
+            }
+            return merged;
+        }
+
+        String type = schema.path("type").asText(schema.has("properties") ? "object" : "string");
+        return switch (type) {
+            case "object" -> {
+                ObjectNode object = factory.objectNode();
+                for (Iterator<Map.Entry<String, JsonNode>> it = schema.path("properties").fields(); it.hasNext();) {
+                    Map.Entry<String, JsonNode> property = it.next();
+                    object.set(property.getKey(), sampleFromSchema(spec, property.getValue(), depth + 1));
+                }
+                yield object;
+            }
+            case "array" -> {
+                ArrayNode array = factory.arrayNode();
+                array.add(sampleFromSchema(spec, schema.path("items"), depth + 1));
+                yield array;
+            }
+            case "integer" -> factory.numberNode(1);
+            case "number" -> factory.numberNode(1.0);
+            case "boolean" -> factory.booleanNode(true);
+            default -> factory.textNode(sampleString(schema.path("format").asText("")));
+        };
+    }
+
+    private String sampleString(String format) {
+        return switch (format) {
+            case "date-time" -> "2024-01-01T00:00:00Z";
+            case "date" -> "2024-01-01";
+            case "email" -> "user@example.com";
+            case "uuid" -> "00000000-0000-0000-0000-000000000000";
+            case "uri", "url" -> "https://example.com";
+            default -> "sample";
+        };
+    }
+
+    private JsonNode resolveRef(JsonNode spec, JsonNode node) {
+        JsonNode current = node;
+        for (int hops = 0; hops < 10 && current.has("$ref"); hops++) {
+            String ref = current.get("$ref").asText();
+            if (!ref.startsWith("#/")) {
+                return JsonNodeFactory.instance.objectNode();
+            }
+            current = spec.at(ref.substring(1));
+        }
+        return current;
+    }
+
+    private int expectedStatus(JsonNode responses) {
+        int best = -1;
+        for (Iterator<String> it = responses.fieldNames(); it.hasNext();) {
+            String code = it.next();
+            if (code.length() == 3 && code.chars().allMatch(Character::isDigit)) {
+                int status = Integer.parseInt(code);
+                boolean success = status >= 200 && status < 400;
+                boolean bestIsSuccess = best >= 200 && best < 400;
+                if (best < 0 || (success && !bestIsSuccess) || (success == bestIsSuccess && status < best)) {
+                    best = status;
+                }
+            }
+        }
+        return best > 0 ? best : 200;
+    }
+
+    private String operationName(String method, String path, JsonNode operation) {
+        String operationId = operation.path("operationId").asText("");
+        String name = !operationId.isBlank()
+            ? operationId
+            : method.toUpperCase(Locale.ENGLISH) + " " + path;
+        return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+    }
+
+    private String uniqueName(String name, Set<String> usedNames) {
+        String candidate = name;
+        int suffix = 2;
+        while (!usedNames.add(candidate.toLowerCase(Locale.ENGLISH))) {
+            String tag = " (" + suffix++ + ")";
+            candidate = name.substring(0, Math.min(name.length(), MAX_NAME_LENGTH - tag.length())) + tag;
+        }
+        return candidate;
+    }
+
+    private String rootOf(String url) {
+        String prepared = url.startsWith("http://") || url.startsWith("https://") ? url : "https://" + url;
+        URI uri = URI.create(prepared.trim());
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException("Invalid URL: " + url);
+        }
+        return uri.getPort() > 0
+            ? "%s://%s:%d".formatted(uri.getScheme(), uri.getHost(), uri.getPort())
+            : "%s://%s".formatted(uri.getScheme(), uri.getHost());
+    }
+
+    private String stripTrailingSlash(String value) {
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    public record ImportSummary(int operations, int created, int updated) { }
+}
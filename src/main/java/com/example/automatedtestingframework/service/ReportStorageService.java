@@ -1,5 +1,6 @@
 package com.example.automatedtestingframework.service;
 
+import com.example.automatedtestingframework.storage.ArtifactStore;
 import io.imagekit.sdk.ImageKit;
 import io.imagekit.sdk.config.Configuration;
 import io.imagekit.sdk.models.FileCreateRequest;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
 import java.util.Base64;
 
 @Service
@@ -18,20 +20,22 @@ public class ReportStorageService {
     private static final Logger log = LoggerFactory.getLogger(ReportStorageService.class);
 
     private final ImageKit imageKit;
+    private final ArtifactStore artifactStore;
     private final boolean imageKitConfigured;
     private final String folder;
 
     public ReportStorageService(ImageKit imageKit,
+                                ArtifactStore artifactStore,
                                 @Value("${imagekit.report-folder:/reports}") String folder) {
         this.imageKit = imageKit;
+        this.artifactStore = artifactStore;
         this.folder = folder;
         this.imageKitConfigured = isConfigured(imageKit);
     }
 
     public String upload(byte[] payload, String fileName, String mimeType) {
         if (!imageKitConfigured) {
-            log.warn("ImageKit not configured; returning inline data URI for generated report {}", fileName);
-            return buildDataUri(payload, mimeType);
+            return storeLocally(payload, fileName, mimeType);
         }
 
         try {
@@ -52,8 +56,8 @@ public class ReportStorageService {
             log.error("Failed to upload generated report {} to ImageKit", fileName, ex);
         }
 
-        log.info("Falling back to inline data URI for report {}", fileName);
-        return buildDataUri(payload, mimeType);
+        log.info("Falling back to local artifact store for report {}", fileName);
+        return storeLocally(payload, fileName, mimeType);
     }
 
     private boolean isConfigured(ImageKit imageKit) {
@@ -67,8 +71,11 @@ public class ReportStorageService {
             && StringUtils.hasText(configuration.getUrlEndpoint());
     }
 
-    private String buildDataUri(byte[] payload, String mimeType) {
-        String type = StringUtils.hasText(mimeType) ? mimeType : "text/plain";
-        return "data:" + type + ";base64," + Base64.getEncoder().encodeToString(payload);
+    private String storeLocally(byte[] payload, String fileName, String mimeType) {
+        try {
+            return artifactStore.url(artifactStore.store(payload, mimeType));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Could not store generated report " + fileName, ex);
+        }
     }
 }
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 
@@ -69,6 +70,10 @@ public class ReportingService {
         return trend;
     }
 
+    public Optional<Report> findReport(Long reportId) {
+        return reportRepository.findById(reportId);
+    }
+
     public List<Report> latestReports(Project project, int limit) {
         return reportRepository.searchReports(project, null, null, null, null,
             PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "startedAt"))).getContent();
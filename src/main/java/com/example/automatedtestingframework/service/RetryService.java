@@ -0,0 +1,108 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.Report;
+import com.example.automatedtestingframework.model.ReportAttempt;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.repository.ProjectRepository;
+import com.example.automatedtestingframework.repository.ReportAttemptRepository;
+import com.example.automatedtestingframework.retry.RetryPolicy;
+import com.example.automatedtestingframework.retry.RetryRunner;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves which retry policy a run uses and stores the attempts of retried runs.
+ */
+@Service
+public class RetryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryService.class);
+
+    private final ProjectRepository projectRepository;
+    private final ReportAttemptRepository reportAttemptRepository;
+    private final JsonParserUtil jsonParserUtil;
+
+    public RetryService(ProjectRepository projectRepository,
+                        ReportAttemptRepository reportAttemptRepository,
+                        JsonParserUtil jsonParserUtil) {
+        this.projectRepository = projectRepository;
+        this.reportAttemptRepository = reportAttemptRepository;
+        this.jsonParserUtil = jsonParserUtil;
+    }
+
+    /**
+     * The case's own {@code retry} definition wins over the project's policy; without either a run
+     * gets a single attempt.
+     */
+    public RetryPolicy policyFor(TestCase testCase, RetryPolicy fromDefinition) {
+        if (fromDefinition != null) {
+            return fromDefinition;
+        }
+        String projectPolicy = projectRepository.findRetryPolicyJson(testCase.getProject().getId());
+        if (projectPolicy == null || projectPolicy.isBlank()) {
+            return RetryPolicy.NONE;
+        }
+        try {
+            return parse(projectPolicy);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Ignoring invalid retry policy of project {}: {}", testCase.getProject().getId(), ex.getMessage());
+            return RetryPolicy.NONE;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException when the JSON is not a valid policy
+     */
+    public RetryPolicy parse(String json) {
+        return RetryPolicy.fromJson(jsonParserUtil.parse(json));
+    }
+
+    /**
+     * Stores each attempt of a retried run; single-attempt runs are fully described by the report.
+     */
+    public void recordAttempts(Report report, List<? extends RetryRunner.Attempt<? extends RetryRunner.Outcome>> attempts) {
+        if (attempts.size() < 2) {
+            return;
+        }
+        List<ReportAttempt> rows = new ArrayList<>();
+        for (RetryRunner.Attempt<? extends RetryRunner.Outcome> attempt : attempts) {
+            ReportAttempt row = new ReportAttempt();
+            row.setReport(report);
+            row.setAttemptNumber(attempt.number());
+            row.setStatus(attempt.result().passed() ? "PASSED" : "FAILED");
+            row.setStartedAt(attempt.startedAt());
+            row.setDurationMs(attempt.durationMs());
+            row.setResponseCode(attempt.result().responseCode());
+            String error = attempt.result().errorMessage();
+            row.setErrorMessage(error != null && error.length() > 2048 ? error.substring(0, 2045) + "..." : error);
+            row.setBackoffMs(attempt.backoffMs() > 0 ? attempt.backoffMs() : null);
+            rows.add(row);
+        }
+        reportAttemptRepository.saveAll(rows);
+    }
+
+    /**
+     * One line per attempt for the report details, e.g. {@code Attempt 1: FAILED - timeout (retried after 480 ms)}.
+     */
+    public static String describe(List<? extends RetryRunner.Attempt<? extends RetryRunner.Outcome>> attempts) {
+        StringBuilder builder = new StringBuilder();
+        for (RetryRunner.Attempt<? extends RetryRunner.Outcome> attempt : attempts) {
+            builder.append("Attempt ").append(attempt.number()).append(": ")
+                .append(attempt.result().passed() ? "PASSED" : "FAILED");
+            String error = attempt.result().errorMessage();
+            if (!attempt.result().passed() && error != null) {
+                builder.append(" - ").append(error);
+            }
+            if (attempt.backoffMs() > 0) {
+                builder.append(" (retried after ").append(attempt.backoffMs()).append(" ms)");
+            }
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+}
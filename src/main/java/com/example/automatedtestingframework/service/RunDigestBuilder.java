@@ -0,0 +1,163 @@
+package com.example.automatedtestingframework.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compact HTML body for run-completion mail. Failures are folded into groups keyed by a normalised
+ * error signature and only the largest groups are rendered with a truncated example message, so the
+ * mail stays the same size whether a run had twenty cases or two thousand. Full detail lives on the
+ * reports page the digest links to.
+ */
+final class RunDigestBuilder {
+
+    static final int MESSAGE_LIMIT = 240;
+    static final int SIGNATURE_LIMIT = 160;
+    private static final int EXAMPLE_TESTS = 3;
+
+    private static final Pattern UUID = Pattern.compile("\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+    private static final Pattern HEX = Pattern.compile("\\b0x[0-9a-fA-F]+\\b|\\b(?=[0-9a-fA-F]*\\d)[0-9a-fA-F]{8,}\\b");
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final String projectName;
+    private final int maxGroups;
+    private final int maxRuns;
+    private final List<RunLine> runs = new ArrayList<>();
+    private final Map<String, FailureGroup> groups = new LinkedHashMap<>();
+    private long passed;
+    private long failed;
+    private long quarantined;
+    private long groupedFailures;
+    private int runCount;
+
+    RunDigestBuilder(String projectName, int maxGroups, int maxRuns) {
+        this.projectName = projectName;
+        this.maxGroups = Math.max(1, maxGroups);
+        this.maxRuns = Math.max(1, maxRuns);
+    }
+
+    void addRun(OffsetDateTime completedAt, long runPassed, long runFailed, long runQuarantined) {
+        passed += runPassed;
+        failed += runFailed;
+        quarantined += runQuarantined;
+        runCount++;
+        if (runs.size() < maxRuns) {
+            runs.add(new RunLine(completedAt, runPassed, runFailed, runQuarantined));
+        }
+    }
+
+    void addFailure(String testName, String errorMessage) {
+        groupedFailures++;
+        FailureGroup group = groups.computeIfAbsent(signature(errorMessage), key -> new FailureGroup(truncate(errorMessage)));
+        group.count++;
+        if (testName != null && group.tests.size() < EXAMPLE_TESTS && !group.tests.contains(testName)) {
+            group.tests.add(testName);
+        }
+    }
+
+    String build(String detailsUrl) {
+        StringBuilder html = new StringBuilder(4096);
+        html.append("<h2>Automation run summary for ").append(escape(projectName)).append("</h2>");
+        html.append("<p>Passed: ").append(passed).append(" | Failed: ").append(failed);
+        if (quarantined > 0) {
+            html.append(" | Quarantined: ").append(quarantined);
+        }
+        html.append("</p>");
+
+        if (runCount > 1) {
+            html.append("<p>Runs in this digest:</p><ul>");
+            runs.forEach(run -> html.append("<li>").append(run.completedAt())
+                .append(": ").append(run.passed()).append(" passed, ").append(run.failed()).append(" failed")
+                .append(run.quarantined() > 0 ? ", " + run.quarantined() + " quarantined" : "")
+                .append("</li>"));
+            if (runCount > runs.size()) {
+                html.append("<li>and ").append(runCount - runs.size()).append(" more</li>");
+            }
+            html.append("</ul>");
+        }
+
+        if (!groups.isEmpty()) {
+            List<Map.Entry<String, FailureGroup>> top = groups.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, FailureGroup> entry) -> entry.getValue().count).reversed())
+                .limit(maxGroups)
+                .toList();
+            html.append("<h3>Top failures</h3>");
+            html.append("<table border='1' cellpadding='6' cellspacing='0'>");
+            html.append("<tr><th>Count</th><th>Error</th><th>Tests</th></tr>");
+            for (Map.Entry<String, FailureGroup> entry : top) {
+                FailureGroup group = entry.getValue();
+                html.append("<tr><td>").append(group.count).append("</td>")
+                    .append("<td>").append(escape(group.example)).append("</td>")
+                    .append("<td>").append(escape(String.join(", ", group.tests)))
+                    .append(group.count > group.tests.size() ? ", ..." : "")
+                    .append("</td></tr>");
+            }
+            html.append("</table>");
+            if (groups.size() > top.size()) {
+                html.append("<p>and ").append(groups.size() - top.size()).append(" other error signatures</p>");
+            }
+            if (groupedFailures < failed) {
+                html.append("<p>Grouped from the first ").append(groupedFailures).append(" of ")
+                    .append(failed).append(" failures.</p>");
+            }
+        }
+
+        if (detailsUrl != null) {
+            html.append("<p><a href=\"").append(escape(detailsUrl)).append("\">View full results</a></p>");
+        }
+        return html.toString();
+    }
+
+    /**
+     * First line of an error with volatile parts (ids, numbers, hashes) replaced, so the same
+     * failure on different records or timestamps falls into one group.
+     */
+    static String signature(String errorMessage) {
+        if (errorMessage == null || errorMessage.isBlank()) {
+            return "(no error message)";
+        }
+        String firstLine = errorMessage.strip().lines().findFirst().orElse("");
+        if (firstLine.length() > SIGNATURE_LIMIT * 2) {
+            firstLine = firstLine.substring(0, SIGNATURE_LIMIT * 2);
+        }
+        String normalised = UUID.matcher(firstLine).replaceAll("<uuid>");
+        normalised = HEX.matcher(normalised).replaceAll("<hex>");
+        normalised = NUMBER.matcher(normalised).replaceAll("<n>");
+        normalised = WHITESPACE.matcher(normalised).replaceAll(" ");
+        return normalised.length() > SIGNATURE_LIMIT ? normalised.substring(0, SIGNATURE_LIMIT) : normalised;
+    }
+
+    static String truncate(String errorMessage) {
+        if (errorMessage == null || errorMessage.isBlank()) {
+            return "(no error message)";
+        }
+        String head = errorMessage.length() > MESSAGE_LIMIT * 2 ? errorMessage.substring(0, MESSAGE_LIMIT * 2) : errorMessage;
+        String compact = WHITESPACE.matcher(head.strip()).replaceAll(" ");
+        return compact.length() > MESSAGE_LIMIT ? compact.substring(0, MESSAGE_LIMIT) + "..." : compact;
+    }
+
+    private static String escape(String value) {
+        return value == null ? "" : HtmlUtils.htmlEscape(value);
+    }
+
+    private record RunLine(OffsetDateTime completedAt, long passed, long failed, long quarantined) {
+    }
+
+    private static final class FailureGroup {
+        private final String example;
+        private final List<String> tests = new ArrayList<>(EXAMPLE_TESTS);
+        private long count;
+
+        private FailureGroup(String example) {
+            this.example = example;
+        }
+    }
+}
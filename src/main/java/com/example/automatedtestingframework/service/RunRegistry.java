@@ -0,0 +1,52 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.execution.ExecutionContext;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory list of queued and running executions so they can be shown and cancelled. Runs are
+ * registered when submitted, not when they start, so cancelling also drains work still waiting
+ * for an executor thread.
+ */
+@Service
+public class RunRegistry {
+
+    private final Map<Long, ActiveRun> runs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ActiveRun register(Long projectId, String label, ExecutionContext context) {
+        ActiveRun run = new ActiveRun(sequence.incrementAndGet(), projectId, label, OffsetDateTime.now(), context);
+        runs.put(run.id(), run);
+        return run;
+    }
+
+    public void complete(ActiveRun run) {
+        runs.remove(run.id());
+    }
+
+    public Optional<ActiveRun> find(Long id) {
+        return Optional.ofNullable(runs.get(id));
+    }
+
+    public List<ActiveRun> activeRuns(Long projectId) {
+        return runs.values().stream()
+            .filter(run -> run.projectId().equals(projectId))
+            .sorted(Comparator.comparing(ActiveRun::startedAt))
+            .toList();
+    }
+
+    public record ActiveRun(Long id, Long projectId, String label, OffsetDateTime startedAt, ExecutionContext context) {
+
+        public boolean isCancelled() {
+            return context.isCancelled();
+        }
+    }
+}
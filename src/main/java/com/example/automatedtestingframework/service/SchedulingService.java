@@ -1,18 +1,23 @@
 package com.example.automatedtestingframework.service;
 
+import com.example.automatedtestingframework.execution.CapacityLane;
+import com.example.automatedtestingframework.execution.CoalescingPolicy;
+import com.example.automatedtestingframework.execution.ExecutionCancelledException;
+import com.example.automatedtestingframework.execution.ExecutionContext;
 import com.example.automatedtestingframework.model.Project;
 import com.example.automatedtestingframework.model.Report;
 import com.example.automatedtestingframework.model.SchedulerFrequency;
 import com.example.automatedtestingframework.model.SchedulerJob;
 import com.example.automatedtestingframework.model.TestCase;
-import com.example.automatedtestingframework.model.User;
+import com.example.automatedtestingframework.model.TestCaseType;
 import com.example.automatedtestingframework.repository.ProjectRepository;
 import com.example.automatedtestingframework.repository.SchedulerJobRepository;
 import com.example.automatedtestingframework.repository.TestCaseRepository;
-import com.example.automatedtestingframework.repository.UserRepository;
+import com.example.automatedtestingframework.traffic.TrafficMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -21,7 +26,12 @@ import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -31,43 +41,53 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 public class SchedulingService {
 
     private static final Logger log = LoggerFactory.getLogger(SchedulingService.class);
+    private static final String FULL_SUITE = "Full suite";
 
     private final SchedulerJobRepository schedulerJobRepository;
     private final TestCaseRepository testCaseRepository;
     private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final ApiTestExecutor apiTestExecutor;
     private final UiTestExecutor uiTestExecutor;
     private final TaskScheduler taskScheduler;
     private final Executor testExecutor;
+    private final RunRegistry runRegistry;
+    private final ExecutionCapacityScheduler capacityScheduler;
+    private final Duration runTimeout;
+    private final CoalescingPolicy coalescingPolicy;
 
     private final List<Long> runningJobs = new CopyOnWriteArrayList<>();
+    private final Map<RunKey, CoalescedRun> coalescedRuns = new HashMap<>();
 
     public SchedulingService(SchedulerJobRepository schedulerJobRepository,
                              TestCaseRepository testCaseRepository,
                              ProjectRepository projectRepository,
-                             UserRepository userRepository,
                              NotificationService notificationService,
                              ApiTestExecutor apiTestExecutor,
                              UiTestExecutor uiTestExecutor,
                              TaskScheduler taskScheduler,
-                             @Qualifier("testExecutor") Executor testExecutor) {
+                             @Qualifier("testExecutor") Executor testExecutor,
+                             RunRegistry runRegistry,
+                             ExecutionCapacityScheduler capacityScheduler,
+                             @Value("${execution.timeout.run-seconds:7200}") long runTimeoutSeconds,
+                             @Value("${execution.coalescing.policy:QUEUE_ONE}") String coalescingPolicy) {
         this.schedulerJobRepository = schedulerJobRepository;
         this.testCaseRepository = testCaseRepository;
         this.projectRepository = projectRepository;
-        this.userRepository = userRepository;
         this.notificationService = notificationService;
         this.apiTestExecutor = apiTestExecutor;
         this.uiTestExecutor = uiTestExecutor;
         this.taskScheduler = taskScheduler;
         this.testExecutor = testExecutor;
+        this.runRegistry = runRegistry;
+        this.capacityScheduler = capacityScheduler;
+        this.runTimeout = Duration.ofSeconds(Math.max(1, runTimeoutSeconds));
+        this.coalescingPolicy = CoalescingPolicy.parse(coalescingPolicy);
     }
 
     public SchedulerJob createJob(Long projectId, SchedulerFrequency frequency, String name, String cronExpression) {
@@ -119,40 +139,164 @@ public class SchedulingService {
         executeProject(project.getId());
     }
 
-    public void executeProject(Long projectId) {
-        executeProjectAsync(projectId, 0);
+    public RunTrigger executeProject(Long projectId) {
+        return executeProjectAsync(projectId, 0);
     }
 
-    public void executeProjectAsync(Project project, int requestedThreads) {
+    public RunTrigger executeProjectAsync(Project project, int requestedThreads) {
         if (project == null || project.getId() == null) {
             throw new IllegalArgumentException("Project must have an identifier");
         }
-        executeProjectAsync(project.getId(), requestedThreads);
+        return executeProjectAsync(project.getId(), requestedThreads);
     }
 
-    public void executeProjectAsync(Long projectId, int requestedThreads) {
-        testExecutor.execute(() -> executeProjectInternal(projectId, requestedThreads));
+    /**
+     * Queues a run of every case in the project, or folds the trigger into a run of the same cases
+     * that is already queued or running according to {@code execution.coalescing.policy}. A folded
+     * trigger's thread count replaces that of the run it joins if the run has not started yet.
+     * Runs are registered straight away so they can be cancelled while still waiting for a thread;
+     * a cancelled run no longer absorbs triggers, which start a fresh one instead.
+     */
+    public RunTrigger executeProjectAsync(Long projectId, int requestedThreads) {
+        RunKey key = new RunKey(projectId, FULL_SUITE);
+        if (coalescingPolicy == CoalescingPolicy.NONE) {
+            return new RunTrigger(RunTrigger.Outcome.STARTED, submitProjectRun(key, null, requestedThreads, FULL_SUITE).id());
+        }
+        synchronized (coalescedRuns) {
+            CoalescedRun current = coalescedRuns.get(key);
+            if (current == null || current.active.isCancelled()) {
+                // The cancelled run's own completion only ever removes its own slot
+                CoalescedRun created = new CoalescedRun();
+                created.requestedThreads = requestedThreads;
+                coalescedRuns.put(key, created);
+                try {
+                    submitProjectRun(key, created, requestedThreads, FULL_SUITE);
+                } catch (RuntimeException ex) {
+                    coalescedRuns.remove(key, created);
+                    throw ex;
+                }
+                return new RunTrigger(RunTrigger.Outcome.STARTED, created.active.id());
+            }
+            if (!current.started || current.followUp) {
+                current.requestedThreads = requestedThreads;
+            }
+            if (coalescingPolicy == CoalescingPolicy.ATTACH || !current.started || current.followUp) {
+                log.info("Run trigger for project {} attached to run {}", projectId, current.active.id());
+                return new RunTrigger(current.followUp ? RunTrigger.Outcome.QUEUED : RunTrigger.Outcome.ATTACHED,
+                    current.active.id());
+            }
+            current.followUp = true;
+            current.requestedThreads = requestedThreads;
+            log.info("Run trigger for project {} queued a follow-up to run {}", projectId, current.active.id());
+            return new RunTrigger(RunTrigger.Outcome.QUEUED, current.active.id());
+        }
+    }
+
+    private RunRegistry.ActiveRun submitProjectRun(RunKey key, CoalescedRun slot, int requestedThreads, String label) {
+        ExecutionContext run = ExecutionContext.root(runTimeout, "Run");
+        RunRegistry.ActiveRun active = runRegistry.register(key.projectId(), label, run);
+        if (slot != null) {
+            slot.active = active;
+            slot.started = false;
+        }
+        try {
+            testExecutor.execute(() -> {
+                int threads = requestedThreads;
+                if (slot != null) {
+                    synchronized (coalescedRuns) {
+                        slot.started = true;
+                        threads = slot.requestedThreads;
+                    }
+                }
+                try (run) {
+                    if (!run.isCancelled()) {
+                        executeProjectInternal(key.projectId(), threads, run);
+                    }
+                } finally {
+                    runRegistry.complete(active);
+                    if (slot != null) {
+                        finishCoalescedRun(key, slot);
+                    }
+                }
+            });
+        } catch (RuntimeException ex) {
+            run.close();
+            runRegistry.complete(active);
+            throw ex;
+        }
+        return active;
+    }
+
+    /**
+     * Starts the queued follow-up, if any. A cancelled run drops its follow-up too: whoever
+     * cancelled it asked for the project to stop, not to skip ahead.
+     */
+    private void finishCoalescedRun(RunKey key, CoalescedRun slot) {
+        synchronized (coalescedRuns) {
+            if (slot.followUp && !slot.active.isCancelled()) {
+                slot.followUp = false;
+                try {
+                    submitProjectRun(key, slot, slot.requestedThreads, key.selection() + " (follow-up)");
+                    return;
+                } catch (RuntimeException ex) {
+                    log.error("Could not start follow-up run for project {}", key.projectId(), ex);
+                }
+            }
+            coalescedRuns.remove(key, slot);
+        }
     }
 
     public void executeTestCase(TestCase testCase) {
+        executeTestCase(testCase, null);
+    }
+
+    /**
+     * @param trafficMode how an API case reaches its targets; null uses the configured default.
+     *                    Ignored for UI cases.
+     */
+    public void executeTestCase(TestCase testCase, TrafficMode trafficMode) {
         log.info("Starting test case execution: {} (ID: {})", testCase.getName(), testCase.getId());
-        testExecutor.execute(() -> {
-            try {
-                Report report = executeCase(testCase);
-                log.info("Test case {} completed with status: {}", testCase.getName(), report.getStatus());
-            } catch (Exception e) {
-                log.error("Failed to execute test case: {} (ID: {})", testCase.getName(), testCase.getId(), e);
-                // Update test case with error information
-                try {
-                    testCase.setLastRunAt(OffsetDateTime.now());
-                    testCase.setLastRunStatus("FAILED");
-                    testCase.setLastErrorMessage("Execution error: " + e.getMessage());
-                    testCaseRepository.save(testCase);
-                } catch (Exception saveEx) {
-                    log.error("Failed to save error state for test case {}", testCase.getId(), saveEx);
+        // The case applies its own deadline; this context only carries an explicit cancel
+        ExecutionContext run = ExecutionContext.unbounded();
+        RunRegistry.ActiveRun active = runRegistry.register(testCase.getProject().getId(), testCase.getName(), run);
+        try {
+            testExecutor.execute(() -> {
+                try (run) {
+                    if (run.isCancelled()) {
+                        log.info("Test case {} was cancelled before it started", testCase.getId());
+                        return;
+                    }
+                    runSingleCase(testCase, trafficMode, run);
+                } finally {
+                    runRegistry.complete(active);
                 }
+            });
+        } catch (RuntimeException ex) {
+            run.close();
+            runRegistry.complete(active);
+            throw ex;
+        }
+    }
+
+    private void runSingleCase(TestCase testCase, TrafficMode trafficMode, ExecutionContext run) {
+        try (CapacityLane.Lease lease = capacityScheduler.admit(testCase.getType(), run)) {
+            Report report = trafficMode != null && testCase.getType() == TestCaseType.API
+                ? apiTestExecutor.execute(testCase, trafficMode, run)
+                : executeCase(testCase, run);
+            log.info("Test case {} completed with status: {}", testCase.getName(), report.getStatus());
+        } catch (Exception e) {
+            log.error("Failed to execute test case: {} (ID: {})", testCase.getName(), testCase.getId(), e);
+            // Update test case with error information
+            try {
+                testCase.setLastRunAt(OffsetDateTime.now());
+                testCase.setLastRunStatus("FAILED");
+                testCase.setLastErrorMessage("Execution error: " + e.getMessage());
+                testCaseRepository.recordLastRun(testCase.getId(), testCase.getLastRunAt(), "FAILED",
+                    testCase.getLastErrorMessage(), testCase.getLastResponseCode());
+            } catch (Exception saveEx) {
+                log.error("Failed to save error state for test case {}", testCase.getId(), saveEx);
             }
-        });
+        }
     }
 
     public OffsetDateTime computeNextRun(SchedulerFrequency frequency, String cronExpression) {
@@ -165,7 +309,7 @@ public class SchedulingService {
         };
     }
 
-    private void executeProjectInternal(Long projectId, int requestedThreads) {
+    private void executeProjectInternal(Long projectId, int requestedThreads, ExecutionContext run) {
         Project project = projectRepository.findById(projectId).orElseThrow();
         log.info("Executing tests for project {} with requested thread count {}", project.getName(), requestedThreads);
         List<TestCase> cases = testCaseRepository.findByProject(project);
@@ -174,47 +318,56 @@ public class SchedulingService {
             return;
         }
 
-        int effectiveThreads = determineThreadCount(requestedThreads, cases.size());
-        log.debug("Effective thread count for project {} execution: {}", project.getName(), effectiveThreads);
-
         List<Report> reports = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger skipped = new AtomicInteger();
 
-        ExecutorService pool = effectiveThreads > 1
-            ? Executors.newFixedThreadPool(effectiveThreads, projectThreadFactory(project.getId()))
-            : null;
-
+        // API and UI cases run in their own lanes so a queue of browsers never holds up API checks
+        Map<TestCaseType, List<TestCase>> byType = cases.stream()
+            .collect(Collectors.groupingBy(TestCase::getType, () -> new EnumMap<>(TestCaseType.class), Collectors.toList()));
+        List<ExecutorService> pools = new ArrayList<>();
+        List<CompletableFuture<Report>> futures = new ArrayList<>();
         try {
-            Stream<TestCase> stream = cases.stream();
-            if (pool != null) {
-                List<CompletableFuture<Report>> futures = stream
-                    .map(testCase -> CompletableFuture.supplyAsync(() -> executeCase(testCase), pool))
-                    .collect(Collectors.toList());
-
-                futures.forEach(future -> {
-                    try {
-                        Report report = future.join();
-                        if (report != null) {
-                            reports.add(report);
-                        }
-                    } catch (CompletionException completionException) {
+            byType.forEach((type, laneCases) -> {
+                int threads = Math.min(determineThreadCount(requestedThreads, laneCases.size()),
+                    capacityScheduler.lane(type).capacity());
+                log.debug("Running {} {} cases of project {} on {} threads", laneCases.size(), type, project.getName(), threads);
+                ExecutorService pool = Executors.newFixedThreadPool(threads, projectThreadFactory(project.getId(), type));
+                pools.add(pool);
+                laneCases.forEach(testCase ->
+                    futures.add(CompletableFuture.supplyAsync(() -> executeAdmitted(testCase, run), pool)));
+            });
+            // Cancelling drops cases still queued and interrupts the ones in flight, whose own
+            // contexts are cancelled with the run and quit their browsers
+            run.onCancel(() -> {
+                futures.forEach(future -> future.cancel(false));
+                pools.forEach(ExecutorService::shutdownNow);
+            });
+
+            futures.forEach(future -> {
+                try {
+                    Report report = future.join();
+                    if (report != null) {
+                        reports.add(report);
+                    }
+                } catch (CancellationException cancelled) {
+                    skipped.incrementAndGet();
+                } catch (CompletionException completionException) {
+                    if (completionException.getCause() instanceof ExecutionCancelledException) {
+                        skipped.incrementAndGet();
+                    } else {
                         log.error("Test case run failed", completionException.getCause());
                     }
-                });
-            } else {
-                stream.forEach(testCase -> {
-                    Report report = executeCase(testCase);
-                    reports.add(report);
-                });
-            }
+                }
+            });
         } finally {
-            if (pool != null) {
-                pool.shutdown();
-            }
+            pools.forEach(ExecutorService::shutdown);
+        }
+        if (skipped.get() > 0) {
+            log.info("Run for project {} stopped ({}); {} of {} cases were not run",
+                project.getName(), run.cancelReason(), skipped.get(), cases.size());
         }
 
-        Project persisted = projectRepository.findById(project.getId()).orElse(project);
-        List<User> recipients = userRepository.findAll();
-        notificationService.notifyRunCompletion(persisted, new ArrayList<>(reports), recipients);
+        notificationService.notifyRunCompletion(project, new ArrayList<>(reports));
     }
 
     private int determineThreadCount(int requestedThreads, int totalCases) {
@@ -224,20 +377,61 @@ public class SchedulingService {
         return Math.max(1, Math.min(threads, 64));
     }
 
-    private ThreadFactory projectThreadFactory(Long projectId) {
+    private ThreadFactory projectThreadFactory(Long projectId, TestCaseType type) {
         AtomicInteger counter = new AtomicInteger(1);
         return runnable -> {
             Thread thread = new Thread(runnable);
-            thread.setName("project-" + projectId + "-" + counter.getAndIncrement());
+            thread.setName("project-" + projectId + "-" + type.name().toLowerCase(Locale.ROOT) + "-" + counter.getAndIncrement());
             thread.setDaemon(true);
             return thread;
         };
     }
 
-    private Report executeCase(TestCase testCase) {
+    /**
+     * What a trigger did: started a run, attached to one that has not started yet, or was folded
+     * into the single follow-up queued behind a running one. {@code runId} is the run it started or
+     * joined, or for a queued trigger the run its follow-up waits behind.
+     */
+    public record RunTrigger(Outcome outcome, Long runId) {
+
+        public enum Outcome {
+            STARTED,
+            ATTACHED,
+            QUEUED
+        }
+    }
+
+    /**
+     * Which cases a run covers; triggers for the same cases coalesce whatever thread count they
+     * ask for. Only the full suite can be triggered today.
+     */
+    private record RunKey(Long projectId, String selection) {
+    }
+
+    /**
+     * The run currently owning a {@link RunKey}, and the thread count its next start will use.
+     * Mutated only under the {@code coalescedRuns} lock.
+     */
+    private static final class CoalescedRun {
+        private RunRegistry.ActiveRun active;
+        private boolean started;
+        private boolean followUp;
+        private int requestedThreads;
+    }
+
+    /**
+     * Runs the case once its lane has room for it.
+     */
+    private Report executeAdmitted(TestCase testCase, ExecutionContext run) {
+        try (CapacityLane.Lease lease = capacityScheduler.admit(testCase.getType(), run)) {
+            return executeCase(testCase, run);
+        }
+    }
+
+    private Report executeCase(TestCase testCase, ExecutionContext run) {
         return switch (testCase.getType()) {
-            case API -> apiTestExecutor.execute(testCase);
-            case UI -> uiTestExecutor.execute(testCase);
+            case API -> apiTestExecutor.execute(testCase, run);
+            case UI -> uiTestExecutor.execute(testCase, run);
         };
     }
 }
@@ -1,60 +1,240 @@
 package com.example.automatedtestingframework.service;
 
+import com.example.automatedtestingframework.repository.ReportRepository;
+import com.example.automatedtestingframework.retry.RetryPolicy;
+import com.example.automatedtestingframework.storage.ArtifactStore;
 import io.imagekit.sdk.ImageKit;
 import io.imagekit.sdk.config.Configuration;
 import io.imagekit.sdk.models.FileCreateRequest;
 import io.imagekit.sdk.models.results.Result;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Base64;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Failure screenshots. The executor hands over the raw PNG once the browser is done with and goes
+ * on; re-encoding and upload happen on a small bounded pool that links the report when the image
+ * lands. When the queue is full the submitting test thread does the upload itself, which slows
+ * capture down rather than letting pending images pile up in memory.
+ */
 @Service
 public class ScreenshotService {
 
     private static final Logger log = LoggerFactory.getLogger(ScreenshotService.class);
 
     private final ImageKit imageKit;
+    private final ArtifactStore artifactStore;
+    private final ReportRepository reportRepository;
     private final boolean imageKitConfigured;
     private final String folder;
+    private final String format;
+    private final float quality;
+    private final int maxWidth;
+    private final RetryPolicy uploadPolicy;
+    private final ThreadPoolExecutor uploads;
 
     public ScreenshotService(ImageKit imageKit,
-                             @Value("${imagekit.folder:/UI_Report}") String folder) {
+                             ArtifactStore artifactStore,
+                             ReportRepository reportRepository,
+                             @Value("${imagekit.folder:/UI_Report}") String folder,
+                             @Value("${screenshots.format:jpeg}") String format,
+                             @Value("${screenshots.quality:0.75}") float quality,
+                             @Value("${screenshots.max-width:1280}") int maxWidth,
+                             @Value("${screenshots.upload-threads:2}") int uploadThreads,
+                             @Value("${screenshots.queue-capacity:32}") int queueCapacity,
+                             @Value("${screenshots.max-attempts:3}") int maxAttempts) {
         this.imageKit = imageKit;
+        this.artifactStore = artifactStore;
+        this.reportRepository = reportRepository;
         this.folder = folder;
         this.imageKitConfigured = isConfigured(imageKit);
+        this.format = format == null ? "jpeg" : format.trim().toLowerCase(Locale.ROOT);
+        this.quality = Math.max(0.1f, Math.min(quality, 1f));
+        this.maxWidth = maxWidth;
+        this.uploadPolicy = new RetryPolicy(Math.max(1, Math.min(maxAttempts, 10)), Duration.ofSeconds(1),
+            Duration.ofSeconds(15), 2, 0.2, Set.of(), Set.of("java.lang.Exception"));
+        int threads = Math.max(1, uploadThreads);
+        AtomicInteger counter = new AtomicInteger(1);
+        this.uploads = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("screenshot-upload-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
-    public String uploadScreenshot(byte[] data, String filename) {
-        if (!imageKitConfigured) {
-            log.warn("ImageKit credentials not configured; returning inline Base64 image");
-            return base64DataUri(data);
+    /**
+     * Queues a screenshot for the given report. The report's screenshot URL is set once the upload
+     * succeeds; a screenshot that cannot be stored after every retry is dropped with a log line.
+     */
+    public void uploadAsync(Long reportId, byte[] png, String name) {
+        uploads.execute(() -> {
+            String url = upload(png, name);
+            if (url != null) {
+                reportRepository.updateScreenshotUrl(reportId, url);
+            }
+        });
+    }
+
+    /**
+     * Re-encodes and stores a screenshot on the calling thread. ImageKit uploads are retried with
+     * backoff; only once the last attempt has failed does the image go to the artifact store,
+     * which is retried the same way.
+     *
+     * @return the image URL, or {@code null} when every attempt failed
+     */
+    public String upload(byte[] png, String name) {
+        EncodedImage image = encode(png, format, quality, maxWidth);
+        String filename = name + "." + image.extension();
+        if (imageKitConfigured) {
+            String url = withRetries(filename, "ImageKit", () -> uploadToImageKit(image, filename));
+            if (url != null || Thread.currentThread().isInterrupted()) {
+                return url;
+            }
+            log.warn("Storing screenshot {} in the artifact store instead", filename);
         }
+        return withRetries(filename, "artifact store",
+            () -> artifactStore.url(artifactStore.store(image.bytes(), image.contentType())));
+    }
 
-        try {
-            FileCreateRequest request = new FileCreateRequest(Base64.getEncoder().encodeToString(data), filename);
-            request.setUseUniqueFileName(true);
-            if (StringUtils.hasText(folder)) {
-                request.setFolder(folder.trim());
+    private String withRetries(String filename, String target, Callable<String> store) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return store.call();
+            } catch (Exception ex) {
+                if (!uploadPolicy.shouldRetry(attempt, null, ex)) {
+                    log.error("Giving up on storing screenshot {} in {} after {} attempts", filename, target, attempt, ex);
+                    return null;
+                }
+                log.warn("Screenshot {} {} attempt {} failed: {}", filename, target, attempt, ex.getMessage());
+                try {
+                    Thread.sleep(uploadPolicy.backoff(attempt, ThreadLocalRandom.current()).toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
             }
+        }
+    }
 
-            Result result = imageKit.upload(request);
-            if (result != null && StringUtils.hasText(result.getUrl())) {
-                String url = result.getUrl();
-                log.info("Screenshot uploaded successfully: {}", url);
-                return url;
+    /**
+     * @throws Exception whatever the SDK throws, or IllegalStateException when it returns no URL
+     */
+    private String uploadToImageKit(EncodedImage image, String filename) throws Exception {
+        FileCreateRequest request = new FileCreateRequest(Base64.getEncoder().encodeToString(image.bytes()), filename);
+        request.setUseUniqueFileName(true);
+        if (StringUtils.hasText(folder)) {
+            request.setFolder(folder.trim());
+        }
+
+        Result result = imageKit.upload(request);
+        if (result == null || !StringUtils.hasText(result.getUrl())) {
+            throw new IllegalStateException("ImageKit did not return a URL for " + filename);
+        }
+        log.info("Screenshot uploaded successfully: {}", result.getUrl());
+        return result.getUrl();
+    }
+
+    /**
+     * Downscales to {@code maxWidth} and re-encodes as JPEG or WebP. WebP needs an ImageIO plugin
+     * and falls back to JPEG without one; an image ImageIO cannot read is kept as PNG.
+     */
+    static EncodedImage encode(byte[] png, String format, float quality, int maxWidth) {
+        EncodedImage original = new EncodedImage(png, "image/png", "png");
+        if ("png".equals(format)) {
+            return original;
+        }
+        try {
+            BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+            if (source == null) {
+                return original;
+            }
+            BufferedImage scaled = scale(source, maxWidth);
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+            if (!writers.hasNext()) {
+                log.debug("No ImageIO writer for {}; encoding screenshot as JPEG", format);
+                writers = ImageIO.getImageWritersByFormatName("jpeg");
+                format = "jpeg";
+            }
+            ImageWriter writer = writers.next();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 4);
+            try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+                writer.setOutput(stream);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (param.canWriteCompressed()) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                        param.setCompressionType(param.getCompressionTypes()[0]);
+                    }
+                    param.setCompressionQuality(quality);
+                }
+                writer.write(null, new IIOImage(scaled, null, null), param);
+            } finally {
+                writer.dispose();
             }
+            return "webp".equals(format)
+                ? new EncodedImage(out.toByteArray(), "image/webp", "webp")
+                : new EncodedImage(out.toByteArray(), "image/jpeg", "jpg");
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not re-encode screenshot; keeping PNG: {}", ex.getMessage());
+            return original;
+        }
+    }
 
-            log.error("ImageKit SDK did not return a URL for file {}", filename);
-        } catch (Exception ex) {
-            log.error("Unexpected failure uploading screenshot via ImageKit SDK for file {}", filename, ex);
+    private static BufferedImage scale(BufferedImage source, int maxWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (maxWidth > 0 && width > maxWidth) {
+            height = Math.max(1, Math.round(height * (maxWidth / (float) width)));
+            width = maxWidth;
+        }
+        // JPEG has no alpha channel, so always draw onto an opaque RGB canvas
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
         }
+        return target;
+    }
 
-        log.info("Returning base64 encoded image as fallback");
-        return base64DataUri(data);
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        uploads.shutdown();
+        if (!uploads.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} screenshot uploads still pending at shutdown", uploads.getQueue().size());
+        }
     }
 
     private boolean isConfigured(ImageKit imageKit) {
@@ -68,7 +248,6 @@ public class ScreenshotService {
             && StringUtils.hasText(configuration.getUrlEndpoint());
     }
 
-    private String base64DataUri(byte[] data) {
-        return "data:image/png;base64," + Base64.getEncoder().encodeToString(data);
+    record EncodedImage(byte[] bytes, String contentType, String extension) {
     }
 }
@@ -0,0 +1,121 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.browser.SessionSnapshot;
+import com.example.automatedtestingframework.plan.SessionFixture;
+import com.example.automatedtestingframework.plan.TestPlanCompiler;
+import com.example.automatedtestingframework.repository.ProjectRepository;
+import org.openqa.selenium.WebDriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A project's session fixtures and the browser state they last produced. Snapshots are kept in
+ * memory only, since they hold live session cookies, and are dropped when they expire, when the
+ * fixture's definition changes, or when a case that started from one says it no longer works.
+ */
+@Service
+public class SessionFixtureService {
+
+    private final ProjectRepository projectRepository;
+    private final TestPlanCompiler testPlanCompiler;
+    private final Clock clock;
+    private final Map<String, CapturedSession> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> captureLocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SessionFixtureService(ProjectRepository projectRepository, TestPlanCompiler testPlanCompiler) {
+        this(projectRepository, testPlanCompiler, Clock.systemUTC());
+    }
+
+    SessionFixtureService(ProjectRepository projectRepository, TestPlanCompiler testPlanCompiler, Clock clock) {
+        this.projectRepository = projectRepository;
+        this.testPlanCompiler = testPlanCompiler;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the project has no fixture of that name or its
+     *                                  fixtures no longer parse
+     */
+    public SessionFixture fixture(Long projectId, String name) {
+        String json = projectRepository.findSessionFixturesJson(projectId);
+        if (json == null || json.isBlank()) {
+            throw new IllegalArgumentException("Unknown session fixture '" + name + "'");
+        }
+        SessionFixture fixture = parse(json).get(name);
+        if (fixture == null) {
+            throw new IllegalArgumentException("Unknown session fixture '" + name + "'");
+        }
+        return fixture;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the JSON is not a valid fixture map
+     */
+    public Map<String, SessionFixture> parse(String json) {
+        return testPlanCompiler.compileFixtures(json);
+    }
+
+    /**
+     * The snapshot to restore, if one was captured under the fixture's current definition and
+     * has not expired.
+     */
+    public Optional<SessionSnapshot> snapshot(Long projectId, SessionFixture fixture) {
+        String key = key(projectId, fixture.name());
+        CapturedSession captured = snapshots.get(key);
+        if (captured == null) {
+            return Optional.empty();
+        }
+        if (!captured.definition().equals(fixture.definition()) || captured.snapshot().isExpired(clock.instant())) {
+            snapshots.remove(key, captured);
+            return Optional.empty();
+        }
+        return Optional.of(captured.snapshot());
+    }
+
+    /**
+     * Captures the state the fixture's steps left in {@code driver} for later sessions.
+     */
+    public SessionSnapshot capture(Long projectId, SessionFixture fixture, WebDriver driver) {
+        SessionSnapshot snapshot = SessionSnapshot.capture(driver, fixture.ttl(), clock.instant());
+        snapshots.put(key(projectId, fixture.name()), new CapturedSession(fixture.definition(), snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Drops {@code snapshot} unless it was already replaced by a newer capture.
+     */
+    public void invalidate(Long projectId, String name, SessionSnapshot snapshot) {
+        snapshots.computeIfPresent(key(projectId, name),
+            (key, captured) -> captured.snapshot() == snapshot ? null : captured);
+    }
+
+    /**
+     * Drops every snapshot of the project, e.g. after its fixtures were edited.
+     */
+    public void clear(Long projectId) {
+        String prefix = projectId + ":";
+        snapshots.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Held while a fixture runs live so parallel cases wait for its snapshot instead of all
+     * logging in at once.
+     */
+    public ReentrantLock captureLock(Long projectId, String name) {
+        return captureLocks.computeIfAbsent(key(projectId, name), key -> new ReentrantLock());
+    }
+
+    private static String key(Long projectId, String name) {
+        return projectId + ":" + name;
+    }
+
+    private record CapturedSession(String definition, SessionSnapshot snapshot) {
+    }
+}
@@ -0,0 +1,334 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.analysis.CrawlOptions;
+import com.example.automatedtestingframework.analysis.EndpointAnalysisPayload;
+import com.example.automatedtestingframework.analysis.HtmlEndpointExtractor;
+import com.example.automatedtestingframework.analysis.RobotsRules;
+import com.example.automatedtestingframework.util.BloomFilter;
+import org.jsoup.Jsoup;
+import org.jsoup.UnsupportedMimeTypeException;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Breadth-first, same-origin crawler used by endpoint analysis when crawl mode is requested.
+ * Pages of one depth level are fetched concurrently; the frontier is deduplicated on normalised URLs.
+ * The deadline is enforced per page: once it passes, outstanding fetches are cancelled and the
+ * pages already crawled are returned as a truncated result. A sitemap index is followed one level
+ * deep, for as long as the page budget and deadline allow.
+ */
+@Service
+public class SiteCrawlerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiteCrawlerService.class);
+    private static final int FETCH_TIMEOUT_MS = 10_000;
+
+    private final String userAgent;
+    private final int concurrency;
+    private final boolean useBloomFilter;
+    private final int maxFindings;
+
+    public SiteCrawlerService(@Value("${analysis.crawl.user-agent:AutomationPlatformBot/1.0}") String userAgent,
+                              @Value("${analysis.crawl.concurrency:4}") int concurrency,
+                              @Value("${analysis.crawl.bloom-filter:false}") boolean useBloomFilter,
+                              @Value("${analysis.crawl.max-findings:5000}") int maxFindings) {
+        this.userAgent = userAgent;
+        this.concurrency = Math.max(1, Math.min(concurrency, 32));
+        this.useBloomFilter = useBloomFilter;
+        this.maxFindings = Math.max(1, maxFindings);
+    }
+
+    public CrawlResult crawl(String startUrl,
+                             String robotsTxt,
+                             String sitemapXml,
+                             CrawlOptions options,
+                             long deadlineNanos) {
+        String start = normalise(startUrl).orElseThrow(() -> new IllegalArgumentException("Invalid crawl start URL"));
+        String origin = originOf(start);
+        RobotsRules robots = RobotsRules.parse(robotsTxt, userAgent);
+        UrlFrontier frontier = new UrlFrontier(useBloomFilter, options.maxPages());
+
+        List<String> level = new ArrayList<>();
+        int disallowed = 0;
+        frontier.offer(start);
+        if (robots.isAllowed(pathAndQuery(start))) {
+            level.add(start);
+        } else {
+            disallowed++;
+        }
+
+        int sitemapSeeds = 0;
+        for (String loc : sitemapLocations(sitemapXml, origin, options.maxPages(), deadlineNanos)) {
+            Optional<String> normalised = normalise(loc).filter(url -> origin.equals(originOf(url)));
+            if (normalised.isEmpty() || !frontier.offer(normalised.get())) {
+                continue;
+            }
+            if (!robots.isAllowed(pathAndQuery(normalised.get()))) {
+                disallowed++;
+                continue;
+            }
+            level.add(normalised.get());
+            sitemapSeeds++;
+        }
+
+        Set<EndpointAnalysisPayload.HtmlEndpointFinding> findings = new LinkedHashSet<>();
+        int pagesVisited = 0;
+        int depthReached = 0;
+        boolean truncated = false;
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, crawlerThreadFactory());
+        List<Future<PageResult>> fetches = new ArrayList<>();
+        try {
+            crawl:
+            for (int depth = 0; depth <= options.maxDepth() && !level.isEmpty(); depth++) {
+                fetches.clear();
+                for (String url : level) {
+                    if (pagesVisited + fetches.size() >= options.maxPages()) {
+                        truncated = true;
+                        break;
+                    }
+                    if (System.nanoTime() >= deadlineNanos) {
+                        truncated = true;
+                        break;
+                    }
+                    fetches.add(pool.submit(() -> fetchPage(url)));
+                }
+                depthReached = depth;
+
+                List<String> next = new ArrayList<>();
+                for (Future<PageResult> fetch : fetches) {
+                    PageResult page;
+                    try {
+                        page = fetch.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    } catch (TimeoutException ex) {
+                        truncated = true;
+                        break crawl;
+                    }
+                    pagesVisited++;
+                    for (EndpointAnalysisPayload.HtmlEndpointFinding finding : page.findings()) {
+                        if (findings.size() >= maxFindings) {
+                            truncated = true;
+                            break;
+                        }
+                        findings.add(finding);
+                    }
+                    if (depth == options.maxDepth()) {
+                        continue;
+                    }
+                    for (String link : page.links()) {
+                        Optional<String> normalised = normalise(link).filter(url -> origin.equals(originOf(url)));
+                        if (normalised.isEmpty() || !frontier.offer(normalised.get())) {
+                            continue;
+                        }
+                        if (!robots.isAllowed(pathAndQuery(normalised.get()))) {
+                            disallowed++;
+                            continue;
+                        }
+                        next.add(normalised.get());
+                    }
+                }
+                level = next;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Crawl interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Crawl failed: " + ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            // Fetches still running past the deadline are abandoned, not waited for
+            fetches.forEach(fetch -> fetch.cancel(true));
+            pool.shutdownNow();
+        }
+
+        logger.info("Crawled {} pages from {} (depth {}, {} sitemap seeds, {} disallowed by robots.txt)",
+            pagesVisited, start, depthReached, sitemapSeeds, disallowed);
+        EndpointAnalysisPayload.CrawlSummary summary = new EndpointAnalysisPayload.CrawlSummary(
+            pagesVisited, depthReached, sitemapSeeds, disallowed, truncated);
+        return new CrawlResult(new ArrayList<>(findings), summary);
+    }
+
+    private PageResult fetchPage(String url) {
+        try {
+            Document document = Jsoup.connect(url)
+                .userAgent(userAgent)
+                .timeout(FETCH_TIMEOUT_MS)
+                .get();
+            List<String> links = new ArrayList<>();
+            for (Element anchor : document.select("a[href]")) {
+                String href = anchor.attr("abs:href");
+                if (!href.isBlank()) {
+                    links.add(href);
+                }
+            }
+            return new PageResult(HtmlEndpointExtractor.extract(document), links);
+        } catch (UnsupportedMimeTypeException ex) {
+            logger.debug("Skipping non-HTML resource {}", url);
+        } catch (IOException ex) {
+            logger.debug("Failed to fetch {} during crawl: {}", url, ex.getMessage());
+        }
+        return new PageResult(Set.of(), List.of());
+    }
+
+    private List<String> sitemapLocations(String sitemapXml, String origin, int budget, long deadlineNanos) {
+        if (sitemapXml == null || sitemapXml.isBlank()) {
+            return List.of();
+        }
+        Document sitemap;
+        try {
+            sitemap = Jsoup.parse(sitemapXml, "", Parser.xmlParser());
+        } catch (Exception ex) {
+            logger.debug("Unable to parse sitemap.xml", ex);
+            return List.of();
+        }
+        List<String> locations = new ArrayList<>(locs(sitemap, "url > loc"));
+        List<String> children = locs(sitemap, "sitemap > loc");
+        int followed = 0;
+        for (String child : children) {
+            if (locations.size() >= budget || System.nanoTime() >= deadlineNanos) {
+                break;
+            }
+            Optional<String> url = normalise(child).filter(candidate -> origin.equals(originOf(candidate)));
+            if (url.isEmpty()) {
+                logger.debug("Skipping off-origin sitemap {}", child);
+                continue;
+            }
+            Optional<Document> nested = fetchSitemap(url.get(), deadlineNanos);
+            if (nested.isPresent()) {
+                // Indexes nested inside an index are not followed
+                locations.addAll(locs(nested.get(), "url > loc"));
+                followed++;
+            }
+        }
+        if (!children.isEmpty()) {
+            logger.info("Followed {} of {} sitemaps listed in the sitemap index", followed, children.size());
+        }
+        return locations;
+    }
+
+    private Optional<Document> fetchSitemap(String url, long deadlineNanos) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remainingMs <= 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Jsoup.connect(url)
+                .userAgent(userAgent)
+                .timeout((int) Math.min(FETCH_TIMEOUT_MS, remainingMs))
+                .ignoreContentType(true)
+                .parser(Parser.xmlParser())
+                .get());
+        } catch (IOException ex) {
+            logger.debug("Failed to fetch sitemap {}: {}", url, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static List<String> locs(Document sitemap, String selector) {
+        return sitemap.select(selector).stream()
+            .map(Element::text)
+            .filter(text -> !text.isBlank())
+            .toList();
+    }
+
+    /**
+     * Lower-cases scheme and host, drops default ports and fragments, and keeps the raw path and query.
+     */
+    static Optional<String> normalise(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            URI uri = new URI(raw.strip()).normalize();
+            String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ENGLISH) : null;
+            if (!"http".equals(scheme) && !"https".equals(scheme) || uri.getHost() == null) {
+                return Optional.empty();
+            }
+            StringBuilder builder = new StringBuilder(scheme).append("://")
+                .append(uri.getHost().toLowerCase(Locale.ENGLISH));
+            int port = uri.getPort();
+            if (port > 0 && !(port == 80 && "http".equals(scheme)) && !(port == 443 && "https".equals(scheme))) {
+                builder.append(':').append(port);
+            }
+            String path = uri.getRawPath();
+            builder.append(path == null || path.isEmpty() ? "/" : path);
+            if (uri.getRawQuery() != null && !uri.getRawQuery().isEmpty()) {
+                builder.append('?').append(uri.getRawQuery());
+            }
+            return Optional.of(builder.toString());
+        } catch (URISyntaxException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static String originOf(String normalisedUrl) {
+        int pathStart = normalisedUrl.indexOf('/', normalisedUrl.indexOf("://") + 3);
+        return pathStart < 0 ? normalisedUrl : normalisedUrl.substring(0, pathStart);
+    }
+
+    private static String pathAndQuery(String normalisedUrl) {
+        int pathStart = normalisedUrl.indexOf('/', normalisedUrl.indexOf("://") + 3);
+        return pathStart < 0 ? "/" : normalisedUrl.substring(pathStart);
+    }
+
+    private ThreadFactory crawlerThreadFactory() {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("crawler-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public record CrawlResult(List<EndpointAnalysisPayload.HtmlEndpointFinding> findings,
+                              EndpointAnalysisPayload.CrawlSummary summary) { }
+
+    private record PageResult(Set<EndpointAnalysisPayload.HtmlEndpointFinding> findings, List<String> links) { }
+
+    /**
+     * Seen-set for the crawl frontier; optionally backed by a Bloom filter to keep memory flat on large sites.
+     */
+    private static final class UrlFrontier {
+
+        private final Set<String> seen;
+        private final BloomFilter bloomFilter;
+
+        private UrlFrontier(boolean useBloomFilter, int maxPages) {
+            if (useBloomFilter) {
+                this.seen = null;
+                this.bloomFilter = new BloomFilter(Math.max(1_000, maxPages * 50), 0.001);
+            } else {
+                this.seen = new HashSet<>();
+                this.bloomFilter = null;
+            }
+        }
+
+        private boolean offer(String url) {
+            return bloomFilter != null ? bloomFilter.put(url) : seen.add(url);
+        }
+    }
+}
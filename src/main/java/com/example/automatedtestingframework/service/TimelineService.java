@@ -0,0 +1,211 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.Report;
+import com.example.automatedtestingframework.model.TimelineFrame;
+import com.example.automatedtestingframework.repository.TimelineFrameRepository;
+import com.example.automatedtestingframework.storage.ArtifactStore;
+import com.example.automatedtestingframework.util.DifferenceHash;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-step capture timelines for UI runs. The step loop only grabs the screenshot bytes and, when
+ * enabled, the page source; hashing, re-encoding and storing run behind it on a shared pool, one
+ * frame after another per run so each frame can be compared with the one before. A frame within
+ * {@code dedup-distance} bits of its predecessor's difference hash is folded into it instead of
+ * being stored again, unless its page source differs: typing into a field or toggling hidden
+ * state often changes the DOM without moving a pixel, and that DOM is what a reader needs.
+ */
+@Service
+public class TimelineService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineService.class);
+
+    private final ArtifactStore artifactStore;
+    private final TimelineFrameRepository frameRepository;
+    private final String format;
+    private final float quality;
+    private final int maxWidth;
+    private final boolean captureDom;
+    private final int dedupDistance;
+    private final int maxInFlight;
+    private final ThreadPoolExecutor pool;
+
+    public TimelineService(ArtifactStore artifactStore,
+                           TimelineFrameRepository frameRepository,
+                           @Value("${screenshots.format:jpeg}") String format,
+                           @Value("${screenshots.quality:0.75}") float quality,
+                           @Value("${screenshots.max-width:1280}") int maxWidth,
+                           @Value("${ui.timeline.dom:true}") boolean captureDom,
+                           @Value("${ui.timeline.dedup-distance:3}") int dedupDistance,
+                           @Value("${ui.timeline.max-in-flight:4}") int maxInFlight,
+                           @Value("${ui.timeline.threads:2}") int threads) {
+        this.artifactStore = artifactStore;
+        this.frameRepository = frameRepository;
+        this.format = format;
+        this.quality = quality;
+        this.maxWidth = maxWidth;
+        this.captureDom = captureDom;
+        this.dedupDistance = Math.max(0, dedupDistance);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        int poolSize = Math.max(1, threads);
+        AtomicInteger counter = new AtomicInteger(1);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(64),
+            runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setName("timeline-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public Recorder recorder() {
+        return new Recorder();
+    }
+
+    public boolean capturesDom() {
+        return captureDom;
+    }
+
+    /**
+     * Persists the recorder's frames against the report once its pending captures are processed.
+     * Returns immediately.
+     */
+    public void attach(Report report, Recorder recorder) {
+        recorder.tail.whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("Timeline for report {} is incomplete: {}", report.getId(), error.getMessage());
+            }
+            List<TimelineFrame> frames = recorder.frames.stream().map(frame -> {
+                TimelineFrame entity = new TimelineFrame();
+                entity.setReport(report);
+                entity.setFirstStep(frame.firstStep);
+                entity.setLastStep(frame.lastStep);
+                entity.setLabel(frame.label);
+                entity.setCapturedAt(frame.capturedAt);
+                entity.setScreenshotUrl(frame.screenshotUrl);
+                entity.setDomUrl(frame.domUrl);
+                entity.setImageHash(frame.hash);
+                return entity;
+            }).toList();
+            if (!frames.isEmpty()) {
+                frameRepository.saveAll(frames);
+            }
+        });
+    }
+
+    public List<TimelineFrame> frames(Long reportId) {
+        return frameRepository.findByReportIdOrderByFirstStepAsc(reportId);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Timeline of a single attempt. {@link #record} is called from the step loop and only blocks
+     * when {@code max-in-flight} captures are still waiting to be processed.
+     */
+    public final class Recorder {
+
+        private final List<Frame> frames = new ArrayList<>();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+        private Recorder() {
+        }
+
+        public void record(int step, String label, byte[] png, String dom) {
+            OffsetDateTime capturedAt = OffsetDateTime.now();
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            tail = tail.thenRunAsync(() -> {
+                try {
+                    process(step, label, capturedAt, png, dom);
+                } catch (IOException | RuntimeException ex) {
+                    log.warn("Dropped timeline frame for step {}: {}", step, ex.getMessage());
+                } finally {
+                    inFlight.release();
+                }
+            }, pool);
+        }
+
+        private void process(int step, String label, OffsetDateTime capturedAt, byte[] png, String dom) throws IOException {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            Long hash = image == null ? null : DifferenceHash.of(image);
+            byte[] domDigest = dom == null ? null : sha256(dom);
+            Frame previous = frames.isEmpty() ? null : frames.get(frames.size() - 1);
+            if (previous != null && hash != null && previous.hash != null
+                && DifferenceHash.distance(previous.hash, hash) <= dedupDistance
+                && Arrays.equals(previous.domDigest, domDigest)) {
+                previous.lastStep = step;
+                return;
+            }
+            ScreenshotService.EncodedImage encoded = ScreenshotService.encode(png, format, quality, maxWidth);
+            Frame frame = new Frame(step, label, capturedAt, hash, domDigest);
+            frame.screenshotUrl = artifactStore.url(artifactStore.store(encoded.bytes(), encoded.contentType()));
+            if (dom != null) {
+                // Served as plain text so the captured page's scripts never run on our origin
+                frame.domUrl = artifactStore.url(artifactStore.store(dom.getBytes(StandardCharsets.UTF_8), "text/plain"));
+            }
+            frames.add(frame);
+        }
+    }
+
+    private static byte[] sha256(String dom) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(dom.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static final class Frame {
+        private final int firstStep;
+        private final String label;
+        private final OffsetDateTime capturedAt;
+        private final Long hash;
+        private final byte[] domDigest;
+        private int lastStep;
+        private String screenshotUrl;
+        private String domUrl;
+
+        private Frame(int step, String label, OffsetDateTime capturedAt, Long hash, byte[] domDigest) {
+            this.firstStep = step;
+            this.lastStep = step;
+            this.label = label.length() > 255 ? label.substring(0, 255) : label;
+            this.capturedAt = capturedAt;
+            this.hash = hash;
+            this.domDigest = domDigest;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.traffic.TrafficArchive;
+import com.example.automatedtestingframework.traffic.TrafficMode;
+import com.example.automatedtestingframework.traffic.TrafficSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Locates the recorded traffic of each API test case and opens the session a run should use.
+ * Archives live under {@code artifacts/traffic/<testCaseId>.ndjson.gz}; recording again replaces them.
+ */
+@Service
+public class TrafficArchiveService {
+
+    private final Path trafficDirectory;
+    private final int recordMaxBodyBytes;
+    private final TrafficMode defaultMode;
+
+    public TrafficArchiveService(@Value("${artifacts.dir:artifacts}") String artifactsDirectory,
+                                 @Value("${api.traffic.record-max-bytes:8388608}") int recordMaxBodyBytes,
+                                 @Value("${api.traffic.mode:LIVE}") String defaultMode) {
+        this.trafficDirectory = Path.of(artifactsDirectory, "traffic");
+        this.recordMaxBodyBytes = Math.max(0, recordMaxBodyBytes);
+        this.defaultMode = TrafficMode.parse(defaultMode);
+    }
+
+    public TrafficMode defaultMode() {
+        return defaultMode;
+    }
+
+    public boolean hasRecording(TestCase testCase) {
+        return Files.isRegularFile(archivePath(testCase));
+    }
+
+    public TrafficSession open(TestCase testCase, TrafficMode mode) throws IOException {
+        return switch (mode) {
+            case LIVE -> TrafficSession.live();
+            case RECORD -> TrafficSession.recording(archivePath(testCase), recordMaxBodyBytes);
+            case REPLAY -> {
+                if (!hasRecording(testCase)) {
+                    throw new IllegalStateException("No recorded traffic for '%s'; run it in RECORD mode first"
+                        .formatted(testCase.getName()));
+                }
+                yield TrafficSession.replay(TrafficArchive.read(archivePath(testCase)));
+            }
+        };
+    }
+
+    private Path archivePath(TestCase testCase) {
+        return trafficDirectory.resolve(testCase.getId() + ".ndjson.gz");
+    }
+}
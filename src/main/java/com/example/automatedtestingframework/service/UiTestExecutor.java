@@ -1,234 +1,527 @@
 package com.example.automatedtestingframework.service;
 
+import com.example.automatedtestingframework.browser.LaunchProfile;
+import com.example.automatedtestingframework.browser.LocatorEngine;
+import com.example.automatedtestingframework.browser.NetworkActivityTracker;
+import com.example.automatedtestingframework.browser.SessionSnapshot;
+import com.example.automatedtestingframework.browser.WaitEngine;
+import com.example.automatedtestingframework.browser.WebDriverProvisioner;
+import com.example.automatedtestingframework.execution.ExecutionCancelledException;
+import com.example.automatedtestingframework.execution.ExecutionContext;
 import com.example.automatedtestingframework.model.Report;
 import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.plan.SessionFixture;
+import com.example.automatedtestingframework.plan.TestPlanCompiler;
+import com.example.automatedtestingframework.plan.UiStep;
+import com.example.automatedtestingframework.plan.UiTestPlan;
 import com.example.automatedtestingframework.repository.ReportRepository;
 import com.example.automatedtestingframework.repository.TestCaseRepository;
-import com.example.automatedtestingframework.util.JsonParserUtil;
-import com.fasterxml.jackson.databind.JsonNode;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
+import com.example.automatedtestingframework.retry.RetryPolicy;
+import com.example.automatedtestingframework.retry.RetryRunner;
+import org.openqa.selenium.ElementNotInteractableException;
 import org.openqa.selenium.InvalidElementStateException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 public class UiTestExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(UiTestExecutor.class);
+    private static final int LOOKAHEAD_STEPS = 8;
 
-    private final JsonParserUtil jsonParserUtil;
+    private final TestPlanCompiler testPlanCompiler;
     private final ScreenshotService screenshotService;
+    private final TimelineService timelineService;
     private final ReportRepository reportRepository;
     private final TestCaseRepository testCaseRepository;
+    private final WaitEngine waitEngine;
+    private final WebDriverProvisioner webDriverProvisioner;
+    private final RetryService retryService;
+    private final LaunchProfileService launchProfileService;
+    private final SessionFixtureService sessionFixtureService;
+    private final FlakinessService flakinessService;
+    private final Duration stepTimeout;
+    private final Duration caseTimeout;
 
-    public UiTestExecutor(JsonParserUtil jsonParserUtil,
+    public UiTestExecutor(TestPlanCompiler testPlanCompiler,
                           ScreenshotService screenshotService,
+                          TimelineService timelineService,
                           ReportRepository reportRepository,
-                          TestCaseRepository testCaseRepository) {
-        this.jsonParserUtil = jsonParserUtil;
+                          TestCaseRepository testCaseRepository,
+                          WaitEngine waitEngine,
+                          WebDriverProvisioner webDriverProvisioner,
+                          RetryService retryService,
+                          LaunchProfileService launchProfileService,
+                          SessionFixtureService sessionFixtureService,
+                          FlakinessService flakinessService,
+                          @Value("${execution.timeout.step-seconds:60}") long stepTimeoutSeconds,
+                          @Value("${execution.timeout.case-seconds:600}") long caseTimeoutSeconds) {
+        this.testPlanCompiler = testPlanCompiler;
         this.screenshotService = screenshotService;
+        this.timelineService = timelineService;
         this.reportRepository = reportRepository;
         this.testCaseRepository = testCaseRepository;
-        String cachePath = resolveWebDriverCachePath();
-        try {
-            Files.createDirectories(Path.of(cachePath));
-        } catch (IOException e) {
-            log.warn("Failed to create WebDriver cache directory {}: {}", cachePath, e.getMessage());
-        }
-        WebDriverManager.chromedriver()
-            .cachePath(cachePath)
-            .avoidBrowserDetection()
-            .setup();
+        this.waitEngine = waitEngine;
+        this.webDriverProvisioner = webDriverProvisioner;
+        this.retryService = retryService;
+        this.launchProfileService = launchProfileService;
+        this.sessionFixtureService = sessionFixtureService;
+        this.flakinessService = flakinessService;
+        this.stepTimeout = Duration.ofSeconds(Math.max(1, stepTimeoutSeconds));
+        this.caseTimeout = Duration.ofSeconds(Math.max(1, caseTimeoutSeconds));
     }
 
     public Report execute(TestCase testCase) {
-        JsonNode definition = jsonParserUtil.parse(testCase.getDefinitionJson());
+        return execute(testCase, ExecutionContext.unbounded());
+    }
+
+    /**
+     * @param run the run this case belongs to; the case gets its own deadline within it and each
+     *            step is bounded by the step timeout, after which its browser is quit
+     */
+    public Report execute(TestCase testCase, ExecutionContext run) {
+        OffsetDateTime start = OffsetDateTime.now();
+        List<RetryRunner.Attempt<UiAttempt>> attempts;
+        ExecutionContext context = run.child(caseTimeout, "Test case");
+        try (context; ExecutionContext.Registration interrupt = context.interruptOnCancel()) {
+            UiTestPlan plan = testPlanCompiler.uiPlan(testCase);
+            RetryPolicy policy = retryService.policyFor(testCase, plan.retry());
+            LaunchProfile profile = launchProfileService.profileFor(testCase);
+            Long projectId = testCase.getProject().getId();
+            SessionFixture fixture = plan.fixture() != null
+                ? sessionFixtureService.fixture(projectId, plan.fixture())
+                : null;
+            attempts = RetryRunner.run(policy, attempt -> runAttempt(plan, profile, projectId, fixture, policy, attempt, context));
+        } catch (IllegalArgumentException ex) {
+            log.error("UI test definition could not be compiled", ex);
+            attempts = List.of(new RetryRunner.Attempt<>(1,
+                new UiAttempt("FAILED", ex.getMessage(), "", null, null, ex), start, 0, 0));
+        }
+        UiAttempt result = attempts.get(attempts.size() - 1).result();
+        String cancelled = context.cancelReason();
+        String errorMessage = cancelled != null && !result.passed() ? cancelled : result.errorMessage();
+        String details = attempts.size() > 1
+            ? RetryService.describe(attempts) + result.details()
+            : result.details();
+
+        Report report = new Report();
+        report.setProject(testCase.getProject());
+        report.setTestCase(testCase);
+        report.setStartedAt(start);
+        report.setCompletedAt(OffsetDateTime.now());
+        report.setStatus(result.status());
+        report.setDetails(details);
+        report.setSummary("UI test execution for %s".formatted(testCase.getName()));
+        report.setErrorMessage(errorMessage);
+        report.setAttempts(attempts.size());
+        report.setQuarantined(testCase.isQuarantined());
+
+        Report saved = reportRepository.save(report);
+        if (result.screenshot() != null) {
+            // Linked to the report by the upload pool once stored
+            screenshotService.uploadAsync(saved.getId(), result.screenshot(),
+                "ui-failure-" + testCase.getId() + "-" + System.currentTimeMillis());
+        }
+        if (result.timeline() != null) {
+            // Only the attempt the report describes keeps its timeline
+            timelineService.attach(saved, result.timeline());
+        }
+        retryService.recordAttempts(saved, attempts);
+        updateTestCaseLastRun(testCase, result.status(), errorMessage);
+        flakinessService.evaluate(testCase);
+        return saved;
+    }
+
+    /**
+     * Runs the plan once in a fresh browser. A failure screenshot is only taken when the policy
+     * will not try again, so retried attempts do not upload images nobody looks at. Each step gets
+     * its own deadline; a step that overruns it has its browser quit from under it. With the plan's
+     * timeline enabled a frame is grabbed after every step and on failure and handed to the
+     * recorder, which processes it off this thread. A case with a session fixture starts from the
+     * fixture's captured session instead of running its steps again.
+     */
+    private UiAttempt runAttempt(UiTestPlan plan,
+                                 LaunchProfile profile,
+                                 Long projectId,
+                                 SessionFixture fixture,
+                                 RetryPolicy policy,
+                                 int attempt,
+                                 ExecutionContext context) {
+        if (context.isCancelled()) {
+            return new UiAttempt("FAILED", context.cancelReason(), "", null, null,
+                new ExecutionCancelledException(context.cancelReason()));
+        }
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--headless=new", "--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage");
         options.addArguments("--window-size=1920,1080");
         options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments(profile.chromeArguments());
         Optional.ofNullable(System.getenv("CHROME_BIN"))
             .filter(bin -> !bin.isBlank())
             .ifPresent(options::setBinary);
-        WebDriver driver = new ChromeDriver(options);
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+        WebDriver driver = webDriverProvisioner.newChromeDriver(options);
+        // Element waits are explicit and per locator; an implicit wait would stack on top of them
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        NetworkActivityTracker network = waitEngine.track(driver);
+        applyLaunchProfile(profile, network);
+        LocatorEngine locators = waitEngine.locators(driver);
 
-        OffsetDateTime start = OffsetDateTime.now();
         StringBuilder details = new StringBuilder();
         String status = "PASSED";
         String errorMessage = null;
-        String screenshotUrl = null;
+        byte[] screenshot = null;
+        Throwable failure = null;
+        TimelineService.Recorder timeline = plan.timeline() ? timelineService.recorder() : null;
+        int number = 0;
+        String label = null;
+        SessionSnapshot restored = null;
 
         try {
-            for (JsonNode step : definition.withArray("steps")) {
-                String action = step.path("action").asText();
-                switch (action) {
-                    case "navigate" -> {
-                        String url = step.path("url").asText();
-                        driver.get(url);
-                        // Wait for page to be ready
-                        new WebDriverWait(driver, Duration.ofSeconds(10))
-                            .until(d -> ((org.openqa.selenium.JavascriptExecutor) d)
-                                .executeScript("return document.readyState").equals("complete"));
-                        details.append("Navigated to ").append(url).append('\n');
-                    }
-                    case "click" -> {
-                        WebElement element = findElement(driver, step);
-                        // Scroll element into view
-                        ((org.openqa.selenium.JavascriptExecutor) driver)
-                            .executeScript("arguments[0].scrollIntoView(true);", element);
-                        Thread.sleep(300); // Brief pause after scroll
-                        element.click();
-                        details.append("Clicked element: ").append(step.path("selector").asText()).append('\n');
-                    }
-                    case "type" -> {
-                        WebElement element = findElement(driver, step);
-                        if (!element.isEnabled()) {
-                            throw new IllegalStateException("Element is disabled and cannot be typed into: " + step.path("selector").asText());
-                        }
-
-                        String text = step.path("text").asText(step.path("value").asText(""));
-
-                        if ("select".equalsIgnoreCase(element.getTagName())) {
-                            Select select = new Select(element);
-                            try {
-                                select.selectByVisibleText(text);
-                            } catch (Exception ex) {
-                                selectByValueFallback(select, text);
-                            }
-                            details.append("Selected option in: ").append(step.path("selector").asText())
-                                .append(" -> ").append(text).append('\n');
-                            break;
-                        }
-
-                        if (Boolean.parseBoolean(step.path("useJavascript").asText("false"))) {
-                            setValueWithJavascript(driver, element, text);
-                        } else {
-                            try {
-                                element.clear();
-                            } catch (InvalidElementStateException e) {
-                                log.debug("Element clear failed, falling back to JS for selector {}", step.path("selector").asText());
-                                setValueWithJavascript(driver, element, "");
-                            }
-                            element.sendKeys(text);
-                        }
-
-                        details.append("Typed text into: ").append(step.path("selector").asText()).append('\n');
-                    }
-                    case "assertTitle" -> {
-                        String expected = step.path("value").asText();
-                        if (!driver.getTitle().contains(expected)) {
-                            throw new IllegalStateException("Expected title to contain %s but was %s".formatted(expected, driver.getTitle()));
-                        }
-                        details.append("Asserted title contains ").append(expected).append('\n');
-                    }
-                    case "wait" -> {
-                        long millis = step.path("millis").asLong(500);
-                        try {
-                            Thread.sleep(millis);
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            throw new IllegalStateException("Wait interrupted", e);
-                        }
-                        details.append("Waited for ").append(millis).append("ms").append('\n');
+            if (fixture != null) {
+                label = "Session fixture " + fixture.name();
+                restored = startSession(projectId, fixture, plan, driver, network, locators, details, context);
+            }
+            List<UiStep> steps = plan.steps();
+            for (UiStep step : steps) {
+                number++;
+                label = describe(step);
+                int index = number;
+                runStep(context, "Step " + index, driver, () -> {
+                    performStep(driver, network, locators, step, lookahead(steps, index), details);
+                    if (timeline != null) {
+                        recordFrame(timeline, driver, index, describe(step), capture(driver));
                     }
-                    default -> details.append("Skipped unknown action: ").append(action).append('\n');
-                }
+                    return null;
+                });
             }
         } catch (Exception ex) {
             status = "FAILED";
+            if (restored != null && fixture.verify() == null && !(ex instanceof ExecutionCancelledException)) {
+                // Without a check of its own, a failing case is the only sign the session went bad
+                sessionFixtureService.invalidate(projectId, fixture.name(), restored);
+            }
             errorMessage = ex.getMessage();
+            failure = ex;
             log.error("UI test execution failed", ex);
-            screenshotUrl = captureAndUpload(driver, testCase);
+            // A cancelled attempt's browser is already gone
+            boolean finalAttempt = !policy.shouldRetry(attempt, null, ex);
+            if ((finalAttempt || timeline != null) && !(ex instanceof ExecutionCancelledException)) {
+                byte[] shot = capture(driver);
+                if (finalAttempt) {
+                    screenshot = shot;
+                }
+                if (timeline != null) {
+                    recordFrame(timeline, driver, Math.max(number, 1), "Failed: " + (label != null ? label : "setup"), shot);
+                }
+            }
         } finally {
+            log.debug("Resolved UI step locators in {} script round-trips", locators.roundTrips());
+            network.close();
             driver.quit();
         }
+        return new UiAttempt(status, errorMessage, details.toString(), screenshot, timeline, failure);
+    }
 
-        Report report = new Report();
-        report.setProject(testCase.getProject());
-        report.setTestCase(testCase);
-        report.setStartedAt(start);
-        report.setCompletedAt(OffsetDateTime.now());
-        report.setStatus(status);
-        report.setDetails(details.toString());
-        report.setSummary("UI test execution for %s".formatted(testCase.getName()));
-        report.setErrorMessage(errorMessage);
-        report.setScreenshotUrl(screenshotUrl);
-
-        Report saved = reportRepository.save(report);
-        updateTestCaseLastRun(testCase, status, errorMessage);
-        return saved;
+    /**
+     * Bounds {@code body} by the step timeout and quits the browser when it overruns.
+     */
+    private <T> T runStep(ExecutionContext context, String name, WebDriver driver, Supplier<T> body) {
+        ExecutionContext stepContext = context.child(stepTimeout, name);
+        try (stepContext; ExecutionContext.Registration quit = stepContext.onCancel(driver::quit)) {
+            stepContext.checkpoint();
+            return body.get();
+        } catch (RuntimeException ex) {
+            // A quit browser surfaces as a session error; report the deadline that caused it
+            String reason = stepContext.cancelReason();
+            throw reason != null && !(ex instanceof ExecutionCancelledException)
+                ? new ExecutionCancelledException(reason, ex)
+                : ex;
+        }
     }
 
-    private WebElement findElement(WebDriver driver, JsonNode step) {
-        String by = step.path("by").asText("css");
-        String selector = step.path("selector").asText();
-        long timeoutMs = step.path("timeoutMs").asLong(10000);
-        if (timeoutMs < 500) {
-            timeoutMs = 500;
+    /**
+     * Brings the browser into the state the fixture's steps produce. A fresh snapshot is restored
+     * when there is one and it passes the fixture's check; otherwise the steps run here, under a
+     * per-fixture lock so parallel cases wait for this capture rather than repeating it.
+     *
+     * @return the snapshot that was restored, or null when the fixture ran live
+     */
+    private SessionSnapshot startSession(Long projectId, SessionFixture fixture, UiTestPlan plan, WebDriver driver,
+                                         NetworkActivityTracker network, LocatorEngine locators,
+                                         StringBuilder details, ExecutionContext context) throws InterruptedException {
+        SessionSnapshot restored = restoreSession(projectId, fixture, plan, driver, locators, details, context);
+        if (restored != null) {
+            return restored;
         }
-        Duration timeout = Duration.ofMillis(timeoutMs);
+        ReentrantLock lock = sessionFixtureService.captureLock(projectId, fixture.name());
+        lock.lockInterruptibly();
+        try {
+            // Another case may have captured the session while this one waited
+            restored = restoreSession(projectId, fixture, plan, driver, locators, details, context);
+            if (restored != null) {
+                return restored;
+            }
+            List<UiStep> steps = fixture.steps();
+            for (int i = 0; i < steps.size(); i++) {
+                UiStep step = steps.get(i);
+                int index = i + 1;
+                runStep(context, "Fixture " + fixture.name() + " step " + index, driver, () -> {
+                    performStep(driver, network, locators, step, lookahead(steps, index), details);
+                    return null;
+                });
+            }
+            sessionFixtureService.capture(projectId, fixture, driver);
+            details.append("Captured session fixture '").append(fixture.name()).append("'\n");
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
 
-        WebDriverWait wait = new WebDriverWait(driver, timeout);
+    private SessionSnapshot restoreSession(Long projectId, SessionFixture fixture, UiTestPlan plan, WebDriver driver,
+                                           LocatorEngine locators, StringBuilder details, ExecutionContext context) {
+        SessionSnapshot snapshot = sessionFixtureService.snapshot(projectId, fixture).orElse(null);
+        if (snapshot == null) {
+            return null;
+        }
+        boolean usable = runStep(context, "Restore fixture " + fixture.name(), driver, () -> {
+            snapshot.restore(driver);
+            locators.clear();
+            if (fixture.verify() != null) {
+                driver.get(fixture.verifyUrl() != null ? fixture.verifyUrl() : snapshot.url());
+                try {
+                    locators.find(fixture.verify(), List.of());
+                } catch (IllegalStateException ex) {
+                    // Start the live run from a clean slate rather than the rejected session
+                    driver.manage().deleteAllCookies();
+                    ((JavascriptExecutor) driver).executeScript("localStorage.clear();");
+                    return false;
+                }
+            } else if (plan.steps().isEmpty() || !(plan.steps().get(0) instanceof UiStep.Navigate)) {
+                // The case carries on from wherever the fixture left off
+                driver.get(snapshot.url());
+            }
+            return true;
+        });
+        if (!usable) {
+            log.info("Session fixture '{}' no longer passes its check; running it again", fixture.name());
+            sessionFixtureService.invalidate(projectId, fixture.name(), snapshot);
+            locators.clear();
+            return null;
+        }
+        details.append("Restored session fixture '").append(fixture.name()).append("' captured at ")
+            .append(snapshot.capturedAt()).append('\n');
+        return snapshot;
+    }
 
+    private void applyLaunchProfile(LaunchProfile profile, NetworkActivityTracker network) {
+        if (!profile.needsDevTools()) {
+            return;
+        }
+        if (network.devTools() == null) {
+            log.warn("DevTools unavailable; launch profile blocking and throttling not applied");
+            return;
+        }
         try {
-            By locator = switch (by) {
-                case "id" -> By.id(selector);
-                case "name" -> By.name(selector);
-                case "xpath" -> By.xpath(selector);
-                case "css" -> By.cssSelector(selector);
-                default -> By.cssSelector(selector);
-            };
-
-            // Wait for element to be present and visible
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-        } catch (Exception e) {
-            // Log page source for debugging
+            profile.applyTo(network.devTools());
+        } catch (RuntimeException ex) {
+            log.warn("Could not apply launch profile: {}", ex.getMessage());
+        }
+    }
+
+    private void recordFrame(TimelineService.Recorder timeline, WebDriver driver, int step, String label, byte[] png) {
+        if (png == null) {
+            return;
+        }
+        String dom = null;
+        if (timelineService.capturesDom()) {
             try {
-                String pageSource = driver.getPageSource();
-                log.error("Element not found with {} selector: {}. Current URL: {}. Page title: {}",
-                    by, selector, driver.getCurrentUrl(), driver.getTitle());
-                log.debug("Page source when element not found: {}", pageSource.substring(0, Math.min(500, pageSource.length())));
-            } catch (Exception debugEx) {
-                log.warn("Could not retrieve page details for debugging", debugEx);
+                dom = driver.getPageSource();
+            } catch (RuntimeException ex) {
+                log.debug("Could not read page source for timeline frame {}: {}", step, ex.getMessage());
+            }
+        }
+        timeline.record(step, label, png, dom);
+    }
+
+    private static String describe(UiStep step) {
+        return switch (step) {
+            case UiStep.Navigate navigate -> "Navigate to " + navigate.url();
+            case UiStep.Click click -> "Click " + click.target().selector();
+            case UiStep.Type type -> "Type into " + type.target().selector();
+            case UiStep.AssertTitle assertTitle -> "Assert title " + assertTitle.expected();
+            case UiStep.Wait wait -> wait.until() != null ? "Wait for " + wait.until() : "Wait " + wait.millis() + " ms";
+            case UiStep.Unknown unknown -> "Unknown action " + unknown.action();
+        };
+    }
+
+    /**
+     * Locators of the steps that follow {@code index} on the same page, resolved together with
+     * the current step's element. Stops at the next navigation since nothing beyond it exists yet.
+     */
+    private static List<UiStep.Locator> lookahead(List<UiStep> steps, int index) {
+        List<UiStep.Locator> upcoming = new ArrayList<>();
+        for (int i = index; i < steps.size() && upcoming.size() < LOOKAHEAD_STEPS; i++) {
+            switch (steps.get(i)) {
+                case UiStep.Navigate navigate -> {
+                    return upcoming;
+                }
+                case UiStep.Click click -> upcoming.add(click.target());
+                case UiStep.Type type -> upcoming.add(type.target());
+                case UiStep.Wait wait -> {
+                    if (wait.target() != null) {
+                        upcoming.add(wait.target());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return upcoming;
+    }
+
+    private void performStep(WebDriver driver, NetworkActivityTracker network, LocatorEngine locators,
+                             UiStep step, List<UiStep.Locator> lookahead, StringBuilder details) {
+        switch (step) {
+            case UiStep.Navigate navigate -> {
+                locators.clear();
+                driver.get(navigate.url());
+                waitEngine.documentReady(driver, Duration.ofSeconds(10));
+                // Let XHR issued on load land before the next step looks for elements
+                waitEngine.settle(driver, network, waitEngine.settleTimeout());
+                details.append("Navigated to ").append(navigate.url()).append('\n');
             }
+            case UiStep.Click click -> {
+                withElement(locators, click.target(), lookahead, element -> {
+                    ((JavascriptExecutor) driver)
+                        .executeScript("arguments[0].scrollIntoView({block: 'center'});", element);
+                    awaitStable(driver, element);
+                    element.click();
+                });
+                if (click.settle()) {
+                    waitEngine.settle(driver, network, waitEngine.settleTimeout());
+                }
+                details.append("Clicked element: ").append(click.target().selector()).append('\n');
+            }
+            case UiStep.Type type -> {
+                String selector = type.target().selector();
+                String text = type.text();
+                withElement(locators, type.target(), lookahead, element -> {
+                    if (!element.isEnabled()) {
+                        throw new IllegalStateException("Element is disabled and cannot be typed into: " + selector);
+                    }
+
+                    if ("select".equalsIgnoreCase(element.getTagName())) {
+                        Select select = new Select(element);
+                        try {
+                            select.selectByVisibleText(text);
+                        } catch (Exception ex) {
+                            selectByValueFallback(select, text);
+                        }
+                        details.append("Selected option in: ").append(selector)
+                            .append(" -> ").append(text).append('\n');
+                        return;
+                    }
 
-            throw new IllegalStateException(
-                String.format("Element not found: %s (by: %s). URL: %s. Make sure the selector matches an element on the page.",
-                    selector, by, driver.getCurrentUrl())
-            );
+                    if (type.useJavascript()) {
+                        setValueWithJavascript(driver, element, text);
+                    } else {
+                        try {
+                            element.clear();
+                        } catch (InvalidElementStateException e) {
+                            log.debug("Element clear failed, falling back to JS for selector {}", selector);
+                            setValueWithJavascript(driver, element, "");
+                        }
+                        element.sendKeys(text);
+                    }
+
+                    details.append("Typed text into: ").append(selector).append('\n');
+                });
+            }
+            case UiStep.AssertTitle assertTitle -> {
+                String expected = assertTitle.expected();
+                if (!driver.getTitle().contains(expected)) {
+                    throw new IllegalStateException("Expected title to contain %s but was %s".formatted(expected, driver.getTitle()));
+                }
+                details.append("Asserted title contains ").append(expected).append('\n');
+            }
+            case UiStep.Wait wait -> {
+                if (wait.until() != null) {
+                    Duration timeout = Duration.ofMillis(wait.timeoutMs());
+                    if (wait.target() != null) {
+                        withElement(locators, wait.target(), lookahead,
+                            element -> waitEngine.await(wait.until(), driver, network, element, timeout));
+                    } else {
+                        waitEngine.await(wait.until(), driver, network, null, timeout);
+                    }
+                    details.append("Waited until ").append(wait.until()).append('\n');
+                } else {
+                    try {
+                        Thread.sleep(wait.millis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Wait interrupted", e);
+                    }
+                    details.append("Waited for ").append(wait.millis()).append("ms").append('\n');
+                }
+            }
+            case UiStep.Unknown unknown -> details.append("Skipped unknown action: ").append(unknown.action()).append('\n');
+        }
+    }
+
+    private void awaitStable(WebDriver driver, WebElement element) {
+        try {
+            waitEngine.elementStable(driver, element, Duration.ofSeconds(2));
+        } catch (TimeoutException ex) {
+            // Continuously moving elements (carousels, marquees) are clicked where they currently are
+            log.debug("Element did not settle before click, clicking anyway");
         }
     }
 
-    private String captureAndUpload(WebDriver driver, TestCase testCase) {
+    /**
+     * Runs {@code action} on the element for {@code target}. An element served from the session
+     * cache may have been replaced or hidden since it was resolved; that case gets one fresh
+     * lookup before the failure counts.
+     */
+    private void withElement(LocatorEngine locators, UiStep.Locator target, List<UiStep.Locator> lookahead,
+                             Consumer<WebElement> action) {
+        boolean cached = locators.isCached(target);
         try {
-            byte[] bytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-            String url = screenshotService.uploadScreenshot(bytes, "ui-failure-" + testCase.getId() + "-" + System.currentTimeMillis() + ".png");
-            if (url != null) {
-                log.info("Screenshot uploaded successfully: {}", url);
+            action.accept(locators.find(target, lookahead));
+        } catch (StaleElementReferenceException | ElementNotInteractableException ex) {
+            if (!cached) {
+                throw ex;
             }
-            return url;
+            log.debug("Cached element for {} is no longer usable, resolving again", target.selector());
+            locators.invalidate(target);
+            action.accept(locators.find(target, List.of()));
+        }
+    }
+
+    private byte[] capture(WebDriver driver) {
+        try {
+            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
         } catch (Exception ex) {
             log.error("Failed to capture screenshot", ex);
             return null;
@@ -259,18 +552,24 @@ public class UiTestExecutor {
         testCase.setLastRunAt(OffsetDateTime.now());
         testCase.setLastRunStatus(status);
         testCase.setLastErrorMessage(error);
-        testCaseRepository.save(testCase);
+        testCaseRepository.recordLastRun(testCase.getId(), testCase.getLastRunAt(), status, error, testCase.getLastResponseCode());
     }
 
-    private String resolveWebDriverCachePath() {
-        String property = System.getProperty("wdm.cachePath");
-        if (property != null && !property.isBlank()) {
-            return property;
+    private record UiAttempt(String status,
+                             String errorMessage,
+                             String details,
+                             byte[] screenshot,
+                             TimelineService.Recorder timeline,
+                             Throwable failure) implements RetryRunner.Outcome {
+
+        @Override
+        public boolean passed() {
+            return "PASSED".equals(status);
         }
-        String env = System.getenv("WDM_CACHE_PATH");
-        if (env != null && !env.isBlank()) {
-            return env;
+
+        @Override
+        public Integer responseCode() {
+            return null;
         }
-        return "/tmp/webdriver";
     }
 }
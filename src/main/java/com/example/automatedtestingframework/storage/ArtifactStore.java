@@ -0,0 +1,39 @@
+package com.example.automatedtestingframework.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for run artifacts such as screenshots and exports. Keys are derived
+ * from the bytes, so storing the same content twice yields the same key and one copy, and a key
+ * never changes meaning once handed out.
+ */
+public interface ArtifactStore {
+
+    /**
+     * Stores the stream's bytes and returns the key they are addressed by.
+     */
+    StoredArtifact store(InputStream content, String contentType) throws IOException;
+
+    default StoredArtifact store(byte[] content, String contentType) throws IOException {
+        return store(new ByteArrayInputStream(content), contentType);
+    }
+
+    /**
+     * The file holding the artifact, if the key is well-formed and present.
+     */
+    Optional<Path> locate(String key);
+
+    /**
+     * Path under which the application serves the artifact.
+     */
+    default String url(StoredArtifact artifact) {
+        return "/artifacts/" + artifact.key();
+    }
+
+    record StoredArtifact(String key, String sha256, long size, boolean deduplicated) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.automatedtestingframework.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Filesystem {@link ArtifactStore}. Content is streamed into a temporary file while its SHA-256 is
+ * computed, then moved to {@code <root>/<aa>/<bb>/<hash>.<ext>}; when that file already exists the
+ * temporary copy is dropped instead. The extension only records the media type for serving.
+ */
+@Service
+public class LocalArtifactStore implements ArtifactStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalArtifactStore.class);
+    private static final Pattern KEY = Pattern.compile("([0-9a-f]{64})\\.([a-z0-9]{1,8})");
+    private static final Map<String, String> EXTENSIONS = Map.of(
+        "image/png", "png",
+        "image/jpeg", "jpg",
+        "image/webp", "webp",
+        "text/csv", "csv",
+        "text/plain", "txt",
+        "text/html", "html",
+        "application/json", "json",
+        "application/pdf", "pdf",
+        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final Path root;
+    private final Path incoming;
+
+    public LocalArtifactStore(@Value("${artifacts.store.root:artifacts/store}") String root) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.incoming = this.root.resolve("incoming");
+        Files.createDirectories(incoming);
+    }
+
+    @Override
+    public StoredArtifact store(InputStream content, String contentType) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = content.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = hash + "." + extension(contentType);
+            Path target = pathFor(hash, key);
+            if (Files.exists(target)) {
+                return new StoredArtifact(key, hash, size, true);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                move(temp, target);
+            } catch (FileAlreadyExistsException ex) {
+                // A concurrent upload of the same bytes won the race; its copy is identical
+                return new StoredArtifact(key, hash, size, true);
+            }
+            log.debug("Stored artifact {} ({} bytes)", key, size);
+            return new StoredArtifact(key, hash, size, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Optional<Path> locate(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        var matcher = KEY.matcher(key);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(matcher.group(1), key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathFor(String hash, String key) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(key);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target);
+        }
+    }
+
+    static String extension(String contentType) {
+        if (contentType == null) {
+            return "bin";
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return EXTENSIONS.getOrDefault(type, "bin");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.automatedtestingframework.traffic;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One archived request/response pair. {@code truncated} is set when the body was longer than
+ * the recording limit and only its prefix was kept.
+ */
+public record RecordedExchange(String fingerprint,
+                               String method,
+                               String url,
+                               int status,
+                               Map<String, List<String>> headers,
+                               byte[] body,
+                               boolean truncated) {
+}
@@ -0,0 +1,83 @@
+package com.example.automatedtestingframework.traffic;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends requests live and appends a copy of each exchange to the archive as soon as its response
+ * arrives, so nothing but the current body prefix is held in memory. Only the first
+ * {@code maxBodyBytes} of a body are recorded, and a longer one is marked truncated; the caller
+ * still reads the complete live body.
+ */
+final class RecordingSession implements TrafficSession {
+
+    private final Path archive;
+    private final int maxBodyBytes;
+    private TrafficArchive.Writer writer;
+
+    RecordingSession(Path archive, int maxBodyBytes) {
+        this.archive = archive;
+        this.maxBodyBytes = Math.max(0, maxBodyBytes);
+    }
+
+    @Override
+    public Exchange send(HttpClient client, HttpRequest request, byte[] body) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        PushbackInputStream rest = new PushbackInputStream(response.body(), 1);
+        byte[] prefix = rest.readNBytes(maxBodyBytes);
+        int next = rest.read();
+        if (next != -1) {
+            rest.unread(next);
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                headers.put(name, values);
+            }
+        });
+        RecordedExchange exchange = new RecordedExchange(
+            RequestFingerprint.of(request.method(), request.uri(), body),
+            request.method(),
+            RequestFingerprint.canonicalUrl(request.uri()),
+            response.statusCode(),
+            headers,
+            prefix,
+            next != -1);
+        writer().append(exchange);
+        return new Exchange(response.statusCode(), response.headers(),
+            new SequenceInputStream(new ByteArrayInputStream(prefix), rest));
+    }
+
+    @Override
+    public TrafficMode mode() {
+        return TrafficMode.RECORD;
+    }
+
+    /**
+     * Opened with the first response, so a run that never got one keeps the previous recording.
+     */
+    private synchronized TrafficArchive.Writer writer() throws IOException {
+        if (writer == null) {
+            writer = TrafficArchive.Writer.open(archive);
+        }
+        return writer;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.automatedtestingframework.traffic;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves recorded responses from an embedded loopback server. Requests keep their path, query,
+ * method, headers and body and only change host, so the executor runs its usual HTTP path end to
+ * end; the original origin travels in a header so the stub can rebuild the fingerprint. A request
+ * recorded several times is answered with its recordings in order, repeating the last one. A
+ * recording whose body was cut at the recording limit fails the request rather than passing the
+ * prefix off as the whole body.
+ */
+final class ReplaySession implements TrafficSession {
+
+    static final String ORIGIN_HEADER = "X-Replay-Origin";
+    static final String MISS_HEADER = "X-Replay-Miss";
+    static final String TRUNCATED_HEADER = "X-Replay-Truncated";
+
+    private static final int WORKERS = 8;
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "transfer-encoding", "connection", "date");
+
+    private final Map<String, List<RecordedExchange>> archive;
+    private final Map<String, AtomicInteger> served = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final HttpServer server;
+    private final String address;
+
+    ReplaySession(Map<String, List<RecordedExchange>> archive) throws IOException {
+        this.archive = archive;
+        this.workers = Executors.newFixedThreadPool(WORKERS, replayThreadFactory());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(workers);
+        server.createContext("/", this::handle);
+        server.start();
+        this.address = "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public Exchange send(HttpClient client, HttpRequest request, byte[] body) throws IOException, InterruptedException {
+        URI original = request.uri();
+        String path = original.getRawPath() == null || original.getRawPath().isEmpty() ? "/" : original.getRawPath();
+        URI routed = URI.create(address + path + (original.getRawQuery() != null ? "?" + original.getRawQuery() : ""));
+        HttpRequest replayed = HttpRequest.newBuilder(request, (name, value) -> true)
+            .uri(routed)
+            .header(ORIGIN_HEADER, original.getScheme() + "://" + original.getRawAuthority())
+            .build();
+        HttpResponse<InputStream> response = client.send(replayed, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.headers().firstValue(MISS_HEADER).isPresent()) {
+            response.body().close();
+            throw new IllegalStateException("No recorded response for %s %s"
+                .formatted(request.method(), RequestFingerprint.canonicalUrl(original)));
+        }
+        if (response.headers().firstValue(TRUNCATED_HEADER).isPresent()) {
+            response.body().close();
+            throw new IllegalStateException(("Recorded response for %s %s was cut at %s bytes; raise "
+                + "api.traffic.record-max-bytes and record it again").formatted(request.method(),
+                RequestFingerprint.canonicalUrl(original), response.headers().firstValue(TRUNCATED_HEADER).get()));
+        }
+        return new Exchange(response.statusCode(), response.headers(), response.body());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            String origin = exchange.getRequestHeaders().getFirst(ORIGIN_HEADER);
+            List<RecordedExchange> recordings = origin == null ? null : archive.get(RequestFingerprint.of(
+                exchange.getRequestMethod(), URI.create(origin + exchange.getRequestURI()), requestBody));
+            if (recordings == null) {
+                exchange.getResponseHeaders().add(MISS_HEADER, "true");
+                exchange.sendResponseHeaders(501, -1);
+                return;
+            }
+            int index = served.computeIfAbsent(recordings.get(0).fingerprint(), key -> new AtomicInteger()).getAndIncrement();
+            RecordedExchange recorded = recordings.get(Math.min(index, recordings.size() - 1));
+            if (recorded.truncated()) {
+                exchange.getResponseHeaders().add(TRUNCATED_HEADER, String.valueOf(recorded.body().length));
+                exchange.sendResponseHeaders(501, -1);
+                return;
+            }
+            recorded.headers().forEach((name, values) -> {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    exchange.getResponseHeaders().put(name, values);
+                }
+            });
+            boolean empty = recorded.body().length == 0 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+            exchange.sendResponseHeaders(recorded.status(), empty ? -1 : recorded.body().length);
+            if (!empty) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(recorded.body());
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public TrafficMode mode() {
+        return TrafficMode.REPLAY;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private static ThreadFactory replayThreadFactory() {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("traffic-replay-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.automatedtestingframework.traffic;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Identifies a request by method, canonical URL and body so a replay can find the response that
+ * was recorded for it. Headers are deliberately left out: tokens and trace ids change between
+ * runs without changing which response is expected.
+ */
+public final class RequestFingerprint {
+
+    private RequestFingerprint() {
+    }
+
+    public static String of(String method, URI uri, byte[] body) {
+        MessageDigest digest = sha256();
+        digest.update(method.toUpperCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        digest.update(canonicalUrl(uri).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        if (body != null) {
+            digest.update(body);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Scheme, authority, path and query exactly as sent; the fragment never reaches the server.
+     */
+    public static String canonicalUrl(URI uri) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return uri.getScheme().toLowerCase(Locale.ROOT) + "://" + uri.getRawAuthority().toLowerCase(Locale.ROOT)
+            + path + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.automatedtestingframework.traffic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped NDJSON file of {@link RecordedExchange}s, one per line in the order they were sent.
+ * Reading groups exchanges by fingerprint; a request sent several times (polling, dataset
+ * iterations) keeps every recorded response in order.
+ */
+public final class TrafficArchive {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private TrafficArchive() {
+    }
+
+    public static Map<String, List<RecordedExchange>> read(Path path) throws IOException {
+        Map<String, List<RecordedExchange>> index = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                RecordedExchange exchange = fromJson(MAPPER.readTree(line));
+                index.computeIfAbsent(exchange.fingerprint(), key -> new ArrayList<>()).add(exchange);
+            }
+        }
+        return index;
+    }
+
+    private static ObjectNode toJson(RecordedExchange exchange) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("fingerprint", exchange.fingerprint());
+        node.put("method", exchange.method());
+        node.put("url", exchange.url());
+        node.put("status", exchange.status());
+        ObjectNode headers = node.putObject("headers");
+        exchange.headers().forEach((name, values) -> values.forEach(headers.withArray(name)::add));
+        node.put("body", Base64.getEncoder().encodeToString(exchange.body()));
+        if (exchange.truncated()) {
+            node.put("truncated", true);
+        }
+        return node;
+    }
+
+    /**
+     * Appends exchanges to a temporary file next to {@code path} as they are recorded and moves it
+     * into place on close, so the previous archive stays intact until the new one is complete. An
+     * archive nothing was appended to is discarded and the previous one kept.
+     */
+    public static final class Writer implements Closeable {
+
+        private final Path path;
+        private final Path temp;
+        private final BufferedWriter out;
+        private int appended;
+        private boolean closed;
+
+        private Writer(Path path, Path temp, BufferedWriter out) {
+            this.path = path;
+            this.temp = temp;
+            this.out = out;
+        }
+
+        public static Writer open(Path path) throws IOException {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), "traffic-", ".tmp");
+            try {
+                return new Writer(path, temp, new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8)));
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(temp);
+                throw ex;
+            }
+        }
+
+        public synchronized void append(RecordedExchange exchange) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("Traffic archive " + path + " is already closed");
+            }
+            out.write(MAPPER.writeValueAsString(toJson(exchange)));
+            out.write('\n');
+            appended++;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                out.close();
+                if (appended > 0) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private static RecordedExchange fromJson(JsonNode node) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        node.path("headers").fields().forEachRemaining(entry -> {
+            List<String> values = new ArrayList<>();
+            entry.getValue().forEach(value -> values.add(value.asText()));
+            headers.put(entry.getKey(), values);
+        });
+        return new RecordedExchange(
+            node.path("fingerprint").asText(),
+            node.path("method").asText(),
+            node.path("url").asText(),
+            node.path("status").asInt(),
+            headers,
+            Base64.getDecoder().decode(node.path("body").asText("")),
+            node.path("truncated").asBoolean(false));
+    }
+}
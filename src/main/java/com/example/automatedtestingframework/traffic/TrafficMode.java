@@ -0,0 +1,25 @@
+package com.example.automatedtestingframework.traffic;
+
+import java.util.Locale;
+
+/**
+ * How an API run reaches its targets: {@code LIVE} sends every request over the network,
+ * {@code RECORD} does the same and archives each exchange, and {@code REPLAY} answers every
+ * request from the archive through a local stub server without touching the network.
+ */
+public enum TrafficMode {
+    LIVE,
+    RECORD,
+    REPLAY;
+
+    public static TrafficMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return LIVE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown traffic mode '" + value + "'");
+        }
+    }
+}
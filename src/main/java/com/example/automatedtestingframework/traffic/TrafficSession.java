@@ -0,0 +1,70 @@
+package com.example.automatedtestingframework.traffic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The transport of one API run. Sessions are shared by every iteration of the run, so
+ * implementations must be thread-safe; closing a recording session writes its archive.
+ */
+public interface TrafficSession extends AutoCloseable {
+
+    /**
+     * A response whose body has not been read yet. The caller closes {@code body}.
+     */
+    record Exchange(int statusCode, HttpHeaders headers, InputStream body) {
+    }
+
+    /**
+     * @param body the bytes {@code request} publishes, or null when it has none; needed because a
+     *             body publisher cannot be read back for fingerprinting
+     */
+    Exchange send(HttpClient client, HttpRequest request, byte[] body) throws IOException, InterruptedException;
+
+    TrafficMode mode();
+
+    @Override
+    void close() throws IOException;
+
+    static TrafficSession live() {
+        return LiveSession.INSTANCE;
+    }
+
+    static TrafficSession recording(Path archive, int maxBodyBytes) {
+        return new RecordingSession(archive, maxBodyBytes);
+    }
+
+    static TrafficSession replay(Map<String, List<RecordedExchange>> archive) throws IOException {
+        return new ReplaySession(archive);
+    }
+
+    final class LiveSession implements TrafficSession {
+
+        private static final LiveSession INSTANCE = new LiveSession();
+
+        private LiveSession() {
+        }
+
+        @Override
+        public Exchange send(HttpClient client, HttpRequest request, byte[] body) throws IOException, InterruptedException {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            return new Exchange(response.statusCode(), response.headers(), response.body());
+        }
+
+        @Override
+        public TrafficMode mode() {
+            return TrafficMode.LIVE;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
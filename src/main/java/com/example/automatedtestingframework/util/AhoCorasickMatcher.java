@@ -0,0 +1,207 @@
+package com.example.automatedtestingframework.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Multi-pattern substring matcher over UTF-8 bytes. Only the root keeps a full 256-entry row;
+ * every other state stores just its own edges, sorted, in shared flat arrays and falls back along
+ * its failure link on a miss. Scanning stays amortised constant work per input byte regardless of
+ * how many patterns are searched for, while memory grows with the number of trie edges rather than
+ * states times alphabet. Instances are immutable; per-scan state lives in a {@link Scan}.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ALPHABET = 256;
+
+    private final List<String> patterns;
+    private final int[] rootTransitions;
+    private final int[] edgeStart;
+    private final byte[] edgeSymbols;
+    private final int[] edgeTargets;
+    private final int[] failure;
+    private final int[][] outputs;
+
+    private AhoCorasickMatcher(List<String> patterns, int[] rootTransitions, int[] edgeStart, byte[] edgeSymbols,
+                               int[] edgeTargets, int[] failure, int[][] outputs) {
+        this.patterns = patterns;
+        this.rootTransitions = rootTransitions;
+        this.edgeStart = edgeStart;
+        this.edgeSymbols = edgeSymbols;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+    }
+
+    public static AhoCorasickMatcher compile(List<String> patterns) {
+        List<String> copy = List.copyOf(patterns);
+        List<TreeMap<Integer, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> terminal = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        terminal.add(new ArrayList<>());
+
+        for (int p = 0; p < copy.size(); p++) {
+            int state = 0;
+            for (byte b : copy.get(p).getBytes(StandardCharsets.UTF_8)) {
+                int symbol = b & 0xFF;
+                Integer next = trie.get(state).get(symbol);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(symbol, next);
+                    trie.add(new TreeMap<>());
+                    terminal.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            terminal.get(state).add(p);
+        }
+
+        // Flatten the sorted child maps into one edge list indexed by state
+        int size = trie.size();
+        int[] edgeStart = new int[size + 1];
+        byte[] edgeSymbols = new byte[size - 1];
+        int[] edgeTargets = new int[size - 1];
+        int edge = 0;
+        for (int state = 0; state < size; state++) {
+            edgeStart[state] = edge;
+            for (Map.Entry<Integer, Integer> child : trie.get(state).entrySet()) {
+                edgeSymbols[edge] = (byte) (int) child.getKey();
+                edgeTargets[edge] = child.getValue();
+                edge++;
+            }
+        }
+        edgeStart[size] = edge;
+
+        int[] rootTransitions = new int[ALPHABET];
+        for (Map.Entry<Integer, Integer> child : trie.get(0).entrySet()) {
+            rootTransitions[child.getKey()] = child.getValue();
+        }
+
+        int[] failure = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[0] = toArray(terminal.get(0));
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(copy, rootTransitions, edgeStart, edgeSymbols,
+            edgeTargets, failure, outputs);
+
+        // Breadth-first pass sets failure links and merges outputs along them; a state's failure
+        // target is always shallower, so its links are final by the time it is used
+        Deque<Integer> queue = new ArrayDeque<>(trie.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> merged = new ArrayList<>(terminal.get(state));
+            for (int output : outputs[failure[state]]) {
+                merged.add(output);
+            }
+            outputs[state] = toArray(merged);
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int next = edgeTargets[e];
+                failure[next] = state == 0 ? 0 : matcher.step(failure[state], edgeSymbols[e] & 0xFF);
+                queue.add(next);
+            }
+        }
+        return matcher;
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    public Scan newScan() {
+        return new Scan();
+    }
+
+    private int step(int state, int symbol) {
+        while (state != 0) {
+            int next = child(state, symbol);
+            if (next >= 0) {
+                return next;
+            }
+            state = failure[state];
+        }
+        return rootTransitions[symbol];
+    }
+
+    private int child(int state, int symbol) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int candidate = edgeSymbols[mid] & 0xFF;
+            if (candidate < symbol) {
+                low = mid + 1;
+            } else if (candidate > symbol) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tracks which patterns have been seen so far in one input. Not thread-safe.
+     */
+    public final class Scan {
+
+        private final BitSet found = new BitSet(patterns.size());
+        private int state;
+        private long bytesScanned;
+
+        private Scan() {
+            markOutputs(0);
+        }
+
+        /**
+         * Feeds the next chunk and returns {@code true} once every pattern has been found, at which
+         * point the caller can stop reading.
+         */
+        public boolean feed(byte[] buffer, int offset, int length) {
+            int current = state;
+            for (int i = offset; i < offset + length; i++) {
+                current = step(current, buffer[i] & 0xFF);
+                if (outputs[current].length > 0) {
+                    markOutputs(current);
+                }
+            }
+            state = current;
+            bytesScanned += length;
+            return allFound();
+        }
+
+        public boolean allFound() {
+            return found.cardinality() == patterns.size();
+        }
+
+        public long bytesScanned() {
+            return bytesScanned;
+        }
+
+        public List<String> missing() {
+            List<String> missing = new ArrayList<>();
+            for (int p = found.nextClearBit(0); p < patterns.size(); p = found.nextClearBit(p + 1)) {
+                missing.add(patterns.get(p));
+            }
+            return missing;
+        }
+
+        private void markOutputs(int target) {
+            for (int output : outputs[target]) {
+                found.set(output);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).distinct().toArray();
+    }
+}
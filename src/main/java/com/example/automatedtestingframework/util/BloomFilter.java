@@ -0,0 +1,67 @@
+package com.example.automatedtestingframework.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+
+/**
+ * Fixed-size Bloom filter for strings. False positives are possible, false negatives are not.
+ */
+public class BloomFilter {
+
+    private final BitSet bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.max(64, Math.min(optimalBits, Integer.MAX_VALUE - 8));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+        this.bits = new BitSet(bitCount);
+    }
+
+    /**
+     * Adds the value and reports whether it was (probably) absent before.
+     */
+    public boolean put(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int h1 = fnv1a(bytes);
+        int h2 = value.hashCode() | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            int index = Math.floorMod(h1 + i * h2, bitCount);
+            if (!bits.get(index)) {
+                bits.set(index);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public boolean mightContain(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int h1 = fnv1a(bytes);
+        int h2 = value.hashCode() | 1;
+        for (int i = 0; i < hashCount; i++) {
+            if (!bits.get(Math.floorMod(h1 + i * h2, bitCount))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int fnv1a(byte[] bytes) {
+        int hash = 0x811c9dc5;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x01000193;
+        }
+        return hash;
+    }
+}
@@ -34,6 +34,14 @@ public class JsonParserUtil {
         }
     }
 
+    public JsonNode toTree(Object value) {
+        try {
+            return objectMapper.valueToTree(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unable to convert value to JSON", e);
+        }
+    }
+
     public String toJson(Object value) {
         try {
             return objectMapper.writeValueAsString(value);
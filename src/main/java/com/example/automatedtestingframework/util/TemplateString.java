@@ -0,0 +1,175 @@
+package com.example.automatedtestingframework.util;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A string with {@code {{name}}} placeholders, split into literal and variable parts once at
+ * compile time. Rendering is a single pass over the parts; a template without placeholders
+ * returns its source unchanged. A template compiled with {@link #compileJson} escapes the values
+ * of placeholders that sit inside JSON string literals, so a value with quotes or line breaks
+ * cannot break out of the string; placeholders outside strings still insert raw JSON. One compiled
+ * with {@link #compileUrl} percent-encodes values that land in the path, query or fragment, while
+ * placeholders before the path (a base URL or host) insert raw.
+ */
+public final class TemplateString {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([A-Za-z0-9_.-]+)\\s*}}");
+
+    private final String source;
+    private final String[] literals;
+    private final String[] names;
+    private final Escaping[] escaping;
+
+    private TemplateString(String source, String[] literals, String[] names, Escaping[] escaping) {
+        this.source = source;
+        this.literals = literals;
+        this.names = names;
+        this.escaping = escaping;
+    }
+
+    public static TemplateString compile(String source) {
+        return compile(source, Escaping.NONE);
+    }
+
+    /**
+     * Compiles a JSON document template; see the class comment for how values are escaped.
+     */
+    public static TemplateString compileJson(String source) {
+        return compile(source, Escaping.JSON);
+    }
+
+    /**
+     * Compiles a URL template; see the class comment for how values are escaped.
+     */
+    public static TemplateString compileUrl(String source) {
+        return compile(source, Escaping.URL);
+    }
+
+    private static TemplateString compile(String source, Escaping mode) {
+        if (source == null) {
+            return null;
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Escaping> escaping = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(source);
+        int last = 0;
+        boolean inString = false;
+        boolean pastAuthority = false;
+        while (matcher.find()) {
+            String literal = source.substring(last, matcher.start());
+            Escaping escape = Escaping.NONE;
+            if (mode == Escaping.JSON) {
+                inString = endsInsideString(literal, inString);
+                escape = inString ? Escaping.JSON : Escaping.NONE;
+            } else if (mode == Escaping.URL) {
+                pastAuthority = pastAuthority || leavesAuthority(literal);
+                escape = pastAuthority ? Escaping.URL : Escaping.NONE;
+            }
+            literals.add(literal);
+            names.add(matcher.group(1));
+            escaping.add(escape);
+            last = matcher.end();
+        }
+        literals.add(source.substring(last));
+        return new TemplateString(source, literals.toArray(String[]::new), names.toArray(String[]::new),
+            escaping.toArray(Escaping[]::new));
+    }
+
+    /**
+     * Whether {@code text} reaches the path, query or fragment: any {@code /}, {@code ?} or
+     * {@code #} other than the slashes of a {@code ://} scheme separator.
+     */
+    private static boolean leavesAuthority(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.startsWith("://", i)) {
+                i += 2;
+            } else if (text.charAt(i) == '/' || text.charAt(i) == '?' || text.charAt(i) == '#') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Percent-encodes everything but RFC 3986 unreserved characters, so a value cannot add path
+     * segments, query parameters or a fragment.
+     */
+    private static void appendPercentEncoded(StringBuilder out, String value) {
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xFF;
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~') {
+                out.append((char) c);
+            } else {
+                out.append('%').append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                    .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+            }
+        }
+    }
+
+    /**
+     * Whether a JSON string literal is still open after {@code text}, given whether one was open
+     * before it.
+     */
+    private static boolean endsInsideString(String text, boolean inString) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString && c == '\\') {
+                i++;
+            } else if (c == '"') {
+                inString = !inString;
+            }
+        }
+        return inString;
+    }
+
+    public boolean isConstant() {
+        return names.length == 0;
+    }
+
+    public Set<String> variables() {
+        return new LinkedHashSet<>(List.of(names));
+    }
+
+    /**
+     * @throws IllegalStateException if a placeholder has no value in {@code variables}
+     */
+    public String render(Map<String, String> variables) {
+        if (names.length == 0) {
+            return source;
+        }
+        StringBuilder out = new StringBuilder(source.length() + 32);
+        for (int i = 0; i < names.length; i++) {
+            String value = variables.get(names[i]);
+            if (value == null) {
+                throw new IllegalStateException("Unresolved variable {{" + names[i] + "}}");
+            }
+            out.append(literals[i]);
+            switch (escaping[i]) {
+                case JSON -> out.append(JsonStringEncoder.getInstance().quoteAsString(value));
+                case URL -> appendPercentEncoded(out, value);
+                case NONE -> out.append(value);
+            }
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    private enum Escaping {
+        NONE, JSON, URL
+    }
+}
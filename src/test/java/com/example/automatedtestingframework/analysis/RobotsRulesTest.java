@@ -0,0 +1,94 @@
+package com.example.automatedtestingframework.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RobotsRulesTest {
+
+    private static final String AGENT = "AutomationPlatformBot/1.0";
+
+    @Test
+    void shouldApplyLongestMatchingRuleForWildcardGroup() {
+        String robots = """
+            User-agent: *
+            Disallow: /admin
+            Allow: /admin/public
+            Disallow: /*.pdf$
+            """;
+
+        RobotsRules rules = RobotsRules.parse(robots, AGENT);
+
+        assertThat(rules.isAllowed("/")).isTrue();
+        assertThat(rules.isAllowed("/admin/users")).isFalse();
+        assertThat(rules.isAllowed("/admin/public/page")).isTrue();
+        assertThat(rules.isAllowed("/docs/guide.pdf")).isFalse();
+        assertThat(rules.isAllowed("/docs/guide.pdf?download=1")).isTrue();
+    }
+
+    @Test
+    void shouldPreferGroupNamingOurAgent() {
+        String robots = """
+            User-agent: *
+            Disallow: /
+
+            User-agent: AutomationPlatformBot
+            Disallow: /private
+            """;
+
+        RobotsRules rules = RobotsRules.parse(robots, AGENT);
+
+        assertThat(rules.isAllowed("/catalog")).isTrue();
+        assertThat(rules.isAllowed("/private/area")).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreGroupsWhoseAgentIsOnlyPartOfOurs() {
+        String robots = """
+            User-agent: bot
+            Disallow: /
+
+            User-agent: platform
+            Disallow: /
+
+            User-agent: *
+            Disallow: /private
+            """;
+
+        RobotsRules rules = RobotsRules.parse(robots, AGENT);
+
+        assertThat(rules.isAllowed("/catalog")).isTrue();
+        assertThat(rules.isAllowed("/private/area")).isFalse();
+    }
+
+    @Test
+    void shouldMatchOurAgentCaseInsensitively() {
+        String robots = """
+            User-agent: automationplatformbot
+            Disallow: /private
+            """;
+
+        assertThat(RobotsRules.parse(robots, AGENT).isAllowed("/private/area")).isFalse();
+    }
+
+    @Test
+    void shouldLetAnAllowAllGroupForOurAgentOverrideTheWildcard() {
+        String robots = """
+            User-agent: *
+            Disallow: /
+
+            User-agent: AutomationPlatformBot
+            Disallow:
+            """;
+
+        RobotsRules rules = RobotsRules.parse(robots, AGENT);
+
+        assertThat(rules.isAllowed("/")).isTrue();
+        assertThat(rules.isAllowed("/catalog/item")).isTrue();
+    }
+
+    @Test
+    void shouldAllowEverythingWhenRobotsMissing() {
+        assertThat(RobotsRules.parse(null, AGENT).isAllowed("/anything")).isTrue();
+    }
+}
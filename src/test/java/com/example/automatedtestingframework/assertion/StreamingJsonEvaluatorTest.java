@@ -0,0 +1,90 @@
+package com.example.automatedtestingframework.assertion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingJsonEvaluatorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String BODY = """
+        {"status":"ok","meta":{"total":3},
+         "items":[{"id":1,"name":"a"},{"id":2,"name":"b"},{"id":3,"name":"c"}],
+         "tags":{"x":1,"y":2}}
+        """;
+
+    @Test
+    void shouldEvaluateStructuralAssertions() throws IOException {
+        List<BodyAssertion> assertions = List.of(
+            assertion("{\"path\":\"$.status\",\"equals\":\"ok\"}"),
+            assertion("{\"path\":\"$.meta.total\",\"equals\":3.0}"),
+            assertion("{\"path\":\"$.items\",\"length\":3}"),
+            assertion("{\"path\":\"$['tags']\",\"length\":2}"),
+            assertion("{\"path\":\"$.items[1].name\",\"equals\":\"b\"}"),
+            assertion("{\"path\":\"$.items[*].id\",\"schema\":{\"type\":\"integer\",\"minimum\":1}}"),
+            assertion("{\"path\":\"$.missing\",\"exists\":false}"));
+
+        assertThat(StreamingJsonEvaluator.evaluate(stream(BODY), assertions)).isEmpty();
+    }
+
+    @Test
+    void shouldReportFirstFailure() throws IOException {
+        Optional<String> failure = StreamingJsonEvaluator.evaluate(stream(BODY), List.of(
+            assertion("{\"path\":\"$.items\",\"length\":2}"),
+            assertion("{\"path\":\"$.status\",\"equals\":\"ok\"}")));
+
+        assertThat(failure).contains("Expected $.items length 2 but was 3");
+
+        Optional<String> schemaFailure = StreamingJsonEvaluator.evaluate(stream(BODY), List.of(assertion("""
+            {"path":"$.items[0]","schema":{"type":"object","required":["id","price"],
+              "properties":{"name":{"type":"string","maxLength":0}}}}
+            """)));
+
+        assertThat(schemaFailure).hasValueSatisfying(message -> assertThat(message)
+            .contains("missing required property 'price'")
+            .contains("$.name: maxLength 0 violated by 1"));
+    }
+
+    @Test
+    void shouldStopReadingOnceEveryPathIsResolved() throws IOException {
+        String body = "{\"id\":7,\"payload\":[" + "1,".repeat(100_000) + "1]}";
+        CountingStream counting = new CountingStream(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(StreamingJsonEvaluator.evaluate(counting, List.of(assertion("{\"path\":\"$.id\",\"equals\":7}"))))
+            .isEmpty();
+        assertThat(counting.consumed).isLessThan(body.length() / 10);
+    }
+
+    private BodyAssertion assertion(String json) throws IOException {
+        return BodyAssertion.fromDefinition(MAPPER.readTree(json));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class CountingStream extends ByteArrayInputStream {
+
+        private int consumed;
+
+        private CountingStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) {
+            int read = super.read(buffer, offset, length);
+            consumed += Math.max(read, 0);
+            return read;
+        }
+    }
+}
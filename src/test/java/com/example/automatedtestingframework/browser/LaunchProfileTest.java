@@ -0,0 +1,40 @@
+package com.example.automatedtestingframework.browser;
+
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LaunchProfileTest {
+
+    private final JsonParserUtil json = new JsonParserUtil();
+
+    @Test
+    void parsesBlockingFeaturesAndThrottlingPresets() {
+        LaunchProfile profile = LaunchProfile.fromJson(json.parse("""
+            {"blockUrls": ["*google-analytics.com*"], "blockTypes": ["image", "Font"],
+             "lightweight": true, "cpu": "mid-tier-mobile", "network": "fast-3g"}
+            """));
+
+        assertThat(profile.blockedTypes()).containsExactlyInAnyOrder("Image", "Font");
+        assertThat(profile.cpuSlowdown()).isEqualTo(4);
+        assertThat(profile.network()).isEqualTo(LaunchProfile.NetworkPreset.FAST_3G);
+        assertThat(profile.needsDevTools()).isTrue();
+        assertThat(profile.chromeArguments())
+            .contains("--disable-extensions", "--blink-settings=imagesEnabled=false");
+        assertThat(LaunchProfile.DEFAULT.needsDevTools()).isFalse();
+        assertThat(LaunchProfile.DEFAULT.chromeArguments()).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownTypesAndPresets() {
+        assertThatThrownBy(() -> LaunchProfile.fromJson(json.parse("{\"blockTypes\": [\"Video\"]}")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Video");
+        assertThatThrownBy(() -> LaunchProfile.fromJson(json.parse("{\"network\": \"5g\"}")))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LaunchProfile.fromJson(json.parse("{\"cpu\": 50}")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.automatedtestingframework.browser;
+
+import com.example.automatedtestingframework.plan.UiStep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class LocatorEngineTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    private static final UiStep.Locator EMAIL = locator("email", 1000);
+    private static final UiStep.Locator PASSWORD = locator("password", 1000);
+
+    private WebDriver driver;
+    private LocatorEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+        engine = new LocatorEngine(driver, Duration.ofMillis(10));
+    }
+
+    @Test
+    void resolvesLookaheadInTheSameRoundTripAndCachesIt() {
+        WebElement email = Mockito.mock(WebElement.class);
+        WebElement password = Mockito.mock(WebElement.class);
+        Mockito.when(((JavascriptExecutor) driver).executeScript(anyString(), any(Object[].class)))
+            .thenReturn(List.of(email, password));
+
+        assertThat(engine.find(EMAIL, List.of(PASSWORD))).isSameAs(email);
+        assertThat(engine.find(PASSWORD, List.of())).isSameAs(password);
+        assertThat(engine.roundTrips()).isEqualTo(1);
+
+        engine.invalidate(PASSWORD);
+        assertThat(engine.isCached(PASSWORD)).isFalse();
+        assertThat(engine.isCached(EMAIL)).isTrue();
+    }
+
+    @Test
+    void pollsOnlyForTheTargetUntilItAppears() {
+        WebElement email = Mockito.mock(WebElement.class);
+        Mockito.when(((JavascriptExecutor) driver).executeScript(anyString(), any(Object[].class)))
+            .thenReturn(Arrays.asList(null, null))
+            .thenReturn(Arrays.asList((Object) null))
+            .thenReturn(List.of(email));
+
+        assertThat(engine.find(EMAIL, List.of(PASSWORD))).isSameAs(email);
+        assertThat(engine.roundTrips()).isEqualTo(3);
+        assertThat(engine.isCached(PASSWORD)).isFalse();
+    }
+
+    @Test
+    void failsAfterTimeoutWithoutReadingThePageSource() {
+        Mockito.when(((JavascriptExecutor) driver).executeScript(anyString(), any(Object[].class)))
+            .thenReturn(Arrays.asList((Object) null));
+        Mockito.when(driver.getCurrentUrl()).thenReturn("https://example.test/login");
+
+        assertThatThrownBy(() -> engine.find(locator("missing", 50), List.of()))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Element not found: missing")
+            .hasMessageContaining("https://example.test/login");
+        Mockito.verify(driver, Mockito.never()).getPageSource();
+    }
+
+    @Test
+    void reportsInvalidSelectorsImmediately() {
+        Mockito.when(((JavascriptExecutor) driver).executeScript(anyString(), any(Object[].class)))
+            .thenReturn(List.of(Map.of("error", "'##' is not a valid selector")));
+
+        assertThatThrownBy(() -> engine.find(new UiStep.Locator("css", "##", By.cssSelector("##"), 60_000), List.of()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid css selector '##'");
+        assertThat(engine.roundTrips()).isEqualTo(1);
+    }
+
+    private static UiStep.Locator locator(String id, long timeoutMs) {
+        return new UiStep.Locator("id", id, By.id(id), timeoutMs);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.automatedtestingframework.browser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WebDriverProvisionerTest {
+
+    @TempDir
+    Path cache;
+
+    @Test
+    void offlineModeUsesNewestCachedDriver() throws Exception {
+        cachedDriver("chromedriver/linux64/99.0.4844.51");
+        Path newest = cachedDriver("chromedriver/linux64/130.0.6723.58");
+        cachedDriver("chromedriver/linux64/130.0.6723.9");
+
+        WebDriverProvisioner provisioner = new WebDriverProvisioner(cache.toString(), "", true, 5, 60);
+        WebDriverProvisioner.ResolvedDriver driver = provisioner.awaitDriver();
+
+        assertThat(driver.path()).isEqualTo(newest);
+        assertThat(driver.version()).isEqualTo("130.0.6723.58");
+        assertThat(provisioner.status().state()).isEqualTo(WebDriverProvisioner.State.READY);
+    }
+
+    @Test
+    void offlineModeWithEmptyCacheFailsWithoutNetwork() {
+        WebDriverProvisioner provisioner = new WebDriverProvisioner(cache.toString(), "", true, 5, 60);
+
+        assertThatThrownBy(provisioner::awaitDriver)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("no chromedriver cached under");
+        assertThat(provisioner.status().state()).isEqualTo(WebDriverProvisioner.State.FAILED);
+        assertThat(new WebDriverHealthIndicator(provisioner).health().getStatus()).isEqualTo(WebDriverHealthIndicator.DEGRADED);
+    }
+
+    @Test
+    void comparesVersionsNumerically() {
+        assertThat(WebDriverProvisioner.compareVersions("130.0.6723.58", "99.0.4844.51")).isPositive();
+        assertThat(WebDriverProvisioner.compareVersions("130.0.6723.9", "130.0.6723.58")).isNegative();
+        assertThat(WebDriverProvisioner.compareVersions("130.0", "130.0.0")).isZero();
+    }
+
+    private Path cachedDriver(String directory) throws Exception {
+        Path dir = Files.createDirectories(cache.resolve(directory));
+        Path binary = Files.createFile(dir.resolve("chromedriver"));
+        Files.setPosixFilePermissions(binary, PosixFilePermissions.fromString("rwxr-xr-x"));
+        return binary;
+    }
+}
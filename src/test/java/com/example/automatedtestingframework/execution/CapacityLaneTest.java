@@ -0,0 +1,44 @@
+package com.example.automatedtestingframework.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CapacityLaneTest {
+
+    @Test
+    void admitsWorkUpToCapacityAndQueuesTheRest() throws Exception {
+        CapacityLane lane = new CapacityLane("UI", 2, null);
+        ExecutionContext run = ExecutionContext.unbounded();
+        CapacityLane.Lease first = lane.acquire(1, run);
+        CapacityLane.Lease second = lane.acquire(1, run);
+
+        CompletableFuture<CapacityLane.Lease> third = CompletableFuture.supplyAsync(() -> lane.acquire(1, run));
+        assertThat(lane.inUse()).isEqualTo(2);
+        Thread.sleep(300);
+        assertThat(third).isNotDone();
+
+        first.close();
+        third.get(2, TimeUnit.SECONDS).close();
+        second.close();
+        assertThat(lane.inUse()).isZero();
+    }
+
+    @Test
+    void closedGateHoldsBackAllButTheOnlyWorkInTheLane() throws Exception {
+        CapacityLane lane = new CapacityLane("UI", 4, () -> false);
+        ExecutionContext run = ExecutionContext.root(Duration.ofMillis(700), "Run");
+
+        try (CapacityLane.Lease alone = lane.acquire(1, run)) {
+            assertThatThrownBy(() -> lane.acquire(1, run))
+                .isInstanceOf(ExecutionCancelledException.class)
+                .hasMessageContaining("timeout");
+        }
+        assertThat(lane.inUse()).isZero();
+    }
+}
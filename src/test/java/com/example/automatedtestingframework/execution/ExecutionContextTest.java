@@ -0,0 +1,74 @@
+package com.example.automatedtestingframework.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutionContextTest {
+
+    @Test
+    void childDeadlineFiresHooksWithoutCancellingTheParent() throws Exception {
+        try (ExecutionContext run = ExecutionContext.root(Duration.ofMinutes(5), "Run");
+             ExecutionContext step = run.child(Duration.ofMillis(50), "Step 1")) {
+            CountDownLatch quit = new CountDownLatch(1);
+            step.onCancel(quit::countDown);
+
+            assertThat(quit.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThatThrownBy(step::checkpoint)
+                .isInstanceOf(ExecutionCancelledException.class)
+                .hasMessage("Step 1 exceeded its 0s timeout");
+            assertThat(run.isCancelled()).isFalse();
+            assertThat(step.remaining(Duration.ofSeconds(1))).isEqualTo(Duration.ofMillis(1));
+        }
+    }
+
+    @Test
+    void cancellingRunInterruptsBlockedWorkInChildren() throws Exception {
+        ExecutionContext run = ExecutionContext.unbounded();
+        ExecutionContext testCase = run.child(Duration.ofMinutes(5), "Test case");
+        CountDownLatch blocked = new CountDownLatch(1);
+        Thread worker = new Thread(() -> {
+            try (ExecutionContext.Registration interrupt = testCase.interruptOnCancel()) {
+                blocked.countDown();
+                Thread.sleep(60_000);
+            } catch (InterruptedException ex) {
+                // expected
+            }
+        });
+        worker.start();
+        blocked.await();
+
+        run.cancel("Cancelled by tester");
+        worker.join(5_000);
+
+        assertThat(worker.isAlive()).isFalse();
+        assertThat(testCase.cancelReason()).isEqualTo("Cancelled by tester");
+        assertThat(run.child(Duration.ofSeconds(1), "Late case").isCancelled()).isTrue();
+    }
+
+    @Test
+    void blockingHookDoesNotHoldUpOtherDeadlines() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fired = new CountDownLatch(1);
+        try (ExecutionContext hung = ExecutionContext.root(Duration.ofMillis(10), "Hung step");
+             ExecutionContext other = ExecutionContext.root(Duration.ofMillis(100), "Other step")) {
+            hung.onCancel(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            other.onCancel(fired::countDown);
+
+            assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+        }
+    }
+}
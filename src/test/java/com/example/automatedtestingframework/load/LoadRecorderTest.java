@@ -0,0 +1,37 @@
+package com.example.automatedtestingframework.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LoadRecorderTest {
+
+    @Test
+    void foldsIntervalsIntoTimelineAndTotals() {
+        LoadRecorder recorder = new LoadRecorder();
+        for (int i = 1; i <= 100; i++) {
+            recorder.record(TimeUnit.MILLISECONDS.toNanos(i), i % 10 == 0);
+        }
+        recorder.sample(1000);
+        recorder.record(TimeUnit.MILLISECONDS.toNanos(500), true);
+        recorder.drop();
+        recorder.sample(2000);
+
+        assertThat(recorder.count()).isEqualTo(101);
+        assertThat(recorder.errors()).isEqualTo(11);
+        assertThat(recorder.dropped()).isEqualTo(1);
+        assertThat(recorder.percentileMillis(50)).isCloseTo(51, within(0.5));
+        assertThat(recorder.maxMillis()).isCloseTo(500, within(1.0));
+        assertThat(recorder.timeline()).hasSize(2);
+        assertThat(recorder.timeline().get(0).requests()).isEqualTo(100);
+        assertThat(recorder.timeline().get(0).errors()).isEqualTo(10);
+        assertThat(recorder.timeline().get(1).p99Millis()).isCloseTo(500, within(1.0));
+
+        Map<String, Object> artifact = recorder.toArtifact();
+        assertThat(artifact).containsEntry("requests", 101L).containsEntry("dropped", 1L).containsKeys("latency", "timeline", "histogram");
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.automatedtestingframework.plan;
+
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.model.TestCaseType;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TestPlanCompilerTest {
+
+    private final TestPlanCompiler compiler = new TestPlanCompiler(new JsonParserUtil(), 2);
+
+    @Test
+    void shouldReusePlanUntilTestCaseIsUpdated() {
+        TestCase testCase = newTestCase("""
+            {"requests":[{"name":"List","url":"https://api.example.com/items",
+              "headers":{"Accept":"application/json"},"expectContains":["id"]}]}
+            """);
+
+        ApiTestPlan first = compiler.apiPlan(testCase);
+        assertThat(compiler.apiPlan(testCase)).isSameAs(first);
+
+        ApiRequestStep step = first.requests().get(0);
+        assertThat(step.method()).isEqualTo("GET");
+        assertThat(step.resolveHeaders(Map.of())).containsExactly("Accept", "application/json");
+        assertThat(step.expectedStatus()).isEqualTo(200);
+        assertThat(step.hasBody()).isFalse();
+
+        testCase.setDefinitionJson("""
+            {"requests":[{"name":"Create","method":"POST","url":"https://api.example.com/items",
+              "body":{"name":"widget"},"expectedStatus":201}]}
+            """);
+        testCase.setUpdatedAt(testCase.getUpdatedAt().plusSeconds(1));
+
+        ApiRequestStep updated = compiler.apiPlan(testCase).requests().get(0);
+        assertThat(updated.method()).isEqualTo("POST");
+        assertThat(updated.resolveBody(Map.of())).isEqualTo("{\"name\":\"widget\"}");
+        assertThat(updated.expectedStatus()).isEqualTo(201);
+    }
+
+    @Test
+    void shouldCompileTemplatesAndCaptures() {
+        TestCase testCase = newTestCase("""
+            {"variables":{"base":"https://api.example.com"},
+             "requests":[
+              {"name":"Login","method":"POST","url":"{{base}}/login","body":{"user":"qa"},
+               "capture":{"token":"$.access_token","session":{"header":"Set-Cookie"},"order":{"regex":"order-(\\\\d+)"}}},
+              {"name":"Orders","url":"{{base}}/orders/{{ order }}","headers":{"Authorization":"Bearer {{token}}"}}]}
+            """);
+
+        ApiTestPlan plan = compiler.apiPlan(testCase);
+        ApiRequestStep login = plan.requests().get(0);
+        ApiRequestStep orders = plan.requests().get(1);
+        Map<String, String> variables = Map.of("base", "https://api.example.com", "token", "t0k", "order", "42");
+
+        assertThat(plan.variables()).containsEntry("base", "https://api.example.com");
+        assertThat(login.captures()).extracting(ResponseCapture::variable).containsExactly("token", "session", "order");
+        assertThat(login.captures().get(2).group()).isEqualTo(1);
+        assertThat(orders.uri()).isNull();
+        assertThat(orders.resolveUri(variables)).hasToString("https://api.example.com/orders/42");
+        assertThat(orders.resolveHeaders(variables)).containsExactly("Authorization", "Bearer t0k");
+        assertThatThrownBy(() -> orders.resolveUri(Map.of("base", "x")))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Unresolved variable {{order}}");
+    }
+
+    @Test
+    void shouldEscapeVariablesInsideJsonBodyStrings() {
+        TestCase testCase = newTestCase("""
+            {"requests":[
+              {"name":"Inline","method":"POST","url":"https://api.example.com","body":{"note":"{{note}}","tags":["{{note}}"]}},
+              {"name":"Text","method":"POST","url":"https://api.example.com","body":"{\\"note\\": \\"{{note}}\\", \\"qty\\": {{qty}}}"},
+              {"name":"Form","method":"POST","url":"https://api.example.com","body":"note={{note}}"}]}
+            """);
+        Map<String, String> variables = Map.of("note", "say \"hi\"\nbye", "qty", "3");
+
+        ApiTestPlan plan = compiler.apiPlan(testCase);
+
+        assertThat(plan.requests().get(0).resolveBody(variables))
+            .isEqualTo("{\"note\":\"say \\\"hi\\\"\\nbye\",\"tags\":[\"say \\\"hi\\\"\\nbye\"]}");
+        assertThat(plan.requests().get(1).resolveBody(variables))
+            .isEqualTo("{\"note\": \"say \\\"hi\\\"\\nbye\", \"qty\": 3}");
+        assertThat(plan.requests().get(2).resolveBody(variables)).isEqualTo("note=say \"hi\"\nbye");
+    }
+
+    @Test
+    void shouldPercentEncodeVariablesInUrlPathAndQuery() {
+        TestCase testCase = newTestCase("""
+            {"requests":[
+              {"name":"Absolute","url":"https://api.example.com/cities/{{city}}?q={{query}}&page=1"},
+              {"name":"Base","url":"{{base}}/cities/{{city}}"}]}
+            """);
+        Map<String, String> variables = Map.of("city", "New York", "query", "a&b=c#d?", "base", "https://api.example.com");
+
+        ApiTestPlan plan = compiler.apiPlan(testCase);
+
+        assertThat(plan.requests().get(0).resolveUri(variables))
+            .hasToString("https://api.example.com/cities/New%20York?q=a%26b%3Dc%23d%3F&page=1");
+        assertThat(plan.requests().get(0).resolveUri(variables).getQuery()).isEqualTo("q=a&b=c#d?&page=1");
+        assertThat(plan.requests().get(1).resolveUri(variables))
+            .hasToString("https://api.example.com/cities/New%20York");
+    }
+
+    @Test
+    void shouldCompileUiStepsWithLocators() {
+        TestCase testCase = newTestCase("""
+            {"steps":[{"action":"navigate","url":"https://example.com"},
+              {"action":"type","by":"id","selector":"q","value":"shoes","timeoutMs":100},
+              {"action":"wait","until":"networkIdle"},
+              {"action":"hover","selector":"#menu"},
+              {"action":"click","selector":"#save","settle":true},
+              {"action":"click","selector":"#next"}]}
+            """);
+        testCase.setType(TestCaseType.UI);
+
+        UiTestPlan plan = compiler.uiPlan(testCase);
+
+        assertThat(plan.steps()).hasSize(6);
+        assertThat(plan.steps().get(1)).isInstanceOfSatisfying(UiStep.Type.class, type -> {
+            assertThat(type.text()).isEqualTo("shoes");
+            assertThat(type.target().by().toString()).isEqualTo("By.id: q");
+            assertThat(type.target().timeoutMs()).isEqualTo(500);
+        });
+        assertThat(plan.steps().get(2)).isInstanceOf(UiStep.Wait.class);
+        assertThat(plan.steps().get(3)).isEqualTo(new UiStep.Unknown("hover"));
+        assertThat(plan.steps().get(4)).isInstanceOfSatisfying(UiStep.Click.class, click -> assertThat(click.settle()).isTrue());
+        assertThat(plan.steps().get(5)).isInstanceOfSatisfying(UiStep.Click.class, click -> assertThat(click.settle()).isFalse());
+    }
+
+    @Test
+    void shouldCompileSessionFixtures() {
+        Map<String, SessionFixture> fixtures = compiler.compileFixtures("""
+            {"login":{"steps":[{"action":"navigate","url":"https://app.example.com/login"},
+              {"action":"click","selector":"#submit"}],
+              "ttlSeconds":60,"verify":{"url":"https://app.example.com/account","selector":"#logout"}},
+             "guest":{"steps":[{"action":"navigate","url":"https://app.example.com"}]}}
+            """);
+
+        SessionFixture login = fixtures.get("login");
+        assertThat(login.steps()).hasSize(2);
+        assertThat(login.ttl()).hasSeconds(60);
+        assertThat(login.verifyUrl()).isEqualTo("https://app.example.com/account");
+        assertThat(login.verify().selector()).isEqualTo("#logout");
+        assertThat(fixtures.get("guest").ttl()).isEqualTo(SessionFixture.DEFAULT_TTL);
+        assertThat(fixtures.get("guest").verify()).isNull();
+
+        assertThatThrownBy(() -> compiler.compileFixtures("{\"login\":{\"steps\":[]}}"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("has no steps");
+
+        TestCase testCase = newTestCase("""
+            {"fixture":"login","steps":[{"action":"assertTitle","value":"Account"}]}
+            """);
+        testCase.setType(TestCaseType.UI);
+        assertThat(compiler.uiPlan(testCase).fixture()).isEqualTo("login");
+    }
+
+    @Test
+    void shouldDropLeastRecentlyUsedPlanWhenFull() {
+        String definition = """
+            {"requests":[{"name":"List","url":"https://api.example.com/items"}]}
+            """;
+        TestCase first = newTestCase(definition);
+        first.setId(1L);
+        TestCase second = newTestCase(definition);
+        second.setId(2L);
+        TestCase third = newTestCase(definition);
+        third.setId(3L);
+
+        ApiTestPlan firstPlan = compiler.apiPlan(first);
+        ApiTestPlan secondPlan = compiler.apiPlan(second);
+        compiler.apiPlan(first);
+        compiler.apiPlan(third);
+
+        assertThat(compiler.apiPlan(first)).isSameAs(firstPlan);
+        assertThat(compiler.apiPlan(second)).isNotSameAs(secondPlan);
+    }
+
+    private TestCase newTestCase(String definition) {
+        TestCase testCase = new TestCase();
+        testCase.setId(7L);
+        testCase.setName("Items");
+        testCase.setType(TestCaseType.API);
+        testCase.setDefinitionJson(definition);
+        testCase.setUpdatedAt(OffsetDateTime.now());
+        return testCase;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.automatedtestingframework.retry;
+
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    private final JsonParserUtil json = new JsonParserUtil();
+
+    @Test
+    void retriesListedStatusesAndWrappedTransportFailuresUntilAttemptsRunOut() {
+        RetryPolicy policy = RetryPolicy.fromJson(json.parse("{\"maxAttempts\": 3}"));
+        Throwable wrapped = new IllegalStateException("send failed",
+            new UncheckedIOException(new SocketTimeoutException("read timed out")));
+
+        assertThat(policy.shouldRetry(1, 503, null)).isTrue();
+        assertThat(policy.shouldRetry(1, 500, null)).isFalse();
+        assertThat(policy.shouldRetry(2, null, wrapped)).isTrue();
+        assertThat(policy.shouldRetry(3, 503, wrapped)).isFalse();
+        assertThat(policy.shouldRetry(1, 200, new IllegalStateException("Expected status 201"))).isFalse();
+    }
+
+    @Test
+    void runnerBacksOffExponentiallyAndStopsOnFirstPass() {
+        RetryPolicy policy = RetryPolicy.fromJson(json.parse(
+            "{\"maxAttempts\": 4, \"backoffMs\": 1, \"maxBackoffMs\": 3, \"jitter\": 0}"));
+        List<RetryRunner.Attempt<Result>> attempts = RetryRunner.run(policy,
+            number -> new Result(number == 3, number == 3 ? 200 : 503));
+
+        assertThat(attempts).extracting(RetryRunner.Attempt::number).containsExactly(1, 2, 3);
+        assertThat(attempts).extracting(RetryRunner.Attempt::backoffMs).containsExactly(1L, 2L, 0L);
+        assertThat(policy.backoff(5, RandomGenerator.getDefault())).isEqualTo(Duration.ofMillis(3));
+    }
+
+    private record Result(boolean passed, Integer responseCode) implements RetryRunner.Outcome {
+
+        @Override
+        public String errorMessage() {
+            return passed ? null : "HTTP " + responseCode;
+        }
+
+        @Override
+        public Throwable failure() {
+            return null;
+        }
+    }
+}
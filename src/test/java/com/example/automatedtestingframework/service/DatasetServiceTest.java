@@ -0,0 +1,70 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.DatasetFormat;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DatasetServiceTest {
+
+    @TempDir
+    Path artifacts;
+
+    @Test
+    void readsQuotedCsvFieldsAcrossLines() throws Exception {
+        DatasetService service = new DatasetService(new JsonParserUtil(), artifacts.toString());
+        TestCase testCase = new TestCase();
+        testCase.setId(3L);
+        String csv = "user,note\nalice,\"says \"\"hi\"\", twice\"\n\nbob,\"two\nlines\"\n";
+        service.store(testCase, new MockMultipartFile("file", "users.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(testCase.getDatasetFormat()).isEqualTo(DatasetFormat.CSV);
+        try (Stream<Map<String, String>> rows = service.open(testCase)) {
+            assertThat(rows.toList()).containsExactly(
+                Map.of("user", "alice", "note", "says \"hi\", twice"),
+                Map.of("user", "bob", "note", "two\nlines"));
+        }
+    }
+
+    @Test
+    void dropsByteOrderMarkFromCsvHeader() throws Exception {
+        DatasetService service = new DatasetService(new JsonParserUtil(), artifacts.toString());
+        TestCase testCase = new TestCase();
+        testCase.setId(5L);
+        String csv = "\uFEFF\"user\",role\nalice,admin\n";
+        service.store(testCase, new MockMultipartFile("file", "users.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)));
+
+        try (Stream<Map<String, String>> rows = service.open(testCase)) {
+            assertThat(rows.toList()).containsExactly(Map.of("user", "alice", "role", "admin"));
+        }
+    }
+
+    @Test
+    void replacingNdjsonDatasetDeletesPreviousFile() throws Exception {
+        DatasetService service = new DatasetService(new JsonParserUtil(), artifacts.toString());
+        TestCase testCase = new TestCase();
+        testCase.setId(4L);
+        service.store(testCase, new MockMultipartFile("file", "a.csv", "text/csv", "id\n1\n".getBytes(StandardCharsets.UTF_8)));
+        Path previous = Path.of(testCase.getDatasetPath());
+
+        String ndjson = "{\"id\": 1, \"tags\": [\"a\"]}\n{\"id\": \"2\"}\n";
+        service.store(testCase, new MockMultipartFile("file", "b.ndjson", "application/x-ndjson", ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(Files.exists(previous)).isFalse();
+        try (Stream<Map<String, String>> rows = service.open(testCase)) {
+            List<Map<String, String>> values = rows.toList();
+            assertThat(values).containsExactly(Map.of("id", "1", "tags", "[\"a\"]"), Map.of("id", "2"));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.analysis.CrawlOptions;
+import com.example.automatedtestingframework.analysis.EndpointAnalysisPayload;
+import com.example.automatedtestingframework.browser.WaitEngine;
+import com.example.automatedtestingframework.browser.WebDriverProvisioner;
+import com.example.automatedtestingframework.model.EndpointAnalysisResult;
+import com.example.automatedtestingframework.model.EndpointAnalysisStatus;
+import com.example.automatedtestingframework.model.Project;
+import com.example.automatedtestingframework.repository.EndpointAnalysisResultRepository;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class EndpointAnalysisServiceTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private String base;
+    private SiteCrawlerService siteCrawlerService;
+    private WaitEngine waitEngine;
+    private WebDriverProvisioner webDriverProvisioner;
+    private Project project;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            if (!exchange.getRequestURI().getPath().equals("/")) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            byte[] bytes = "<html><body><form action='/login' method='post'></form></body></html>"
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+
+        siteCrawlerService = Mockito.mock(SiteCrawlerService.class);
+        waitEngine = Mockito.mock(WaitEngine.class);
+        webDriverProvisioner = Mockito.mock(WebDriverProvisioner.class);
+        project = new Project();
+        project.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void keepsTheOtherStagesFindingsWhenNetworkCaptureTimesOut() throws InterruptedException {
+        CountDownLatch quit = new CountDownLatch(1);
+        AtomicBoolean quitWhileCapturing = new AtomicBoolean();
+        ChromeDriver driver = Mockito.mock(ChromeDriver.class);
+        Mockito.doAnswer(invocation -> {
+            quit.countDown();
+            return null;
+        }).when(driver).quit();
+        Mockito.when(webDriverProvisioner.newChromeDriver(any())).thenReturn(driver);
+        Mockito.when(waitEngine.track(driver)).thenAnswer(invocation -> {
+            // Stands in for a page that never settles; only quitting the browser ends it
+            quitWhileCapturing.set(quit.await(10, TimeUnit.SECONDS));
+            throw new WebDriverException("session deleted");
+        });
+
+        EndpointAnalysisResult result = service(300).performAnalysis(project, base);
+
+        assertThat(result.getStatus()).isEqualTo(EndpointAnalysisStatus.PARTIAL);
+        assertThat(result.getErrorDetails()).contains("Network capture timed out");
+        assertThat(result.getHtmlDiscoveryCount()).isPositive();
+        assertThat(result.getFileDiscoveryCount()).isEqualTo(4);
+        assertThat(result.getPayloadJson()).contains("/login");
+        assertThat(quit.await(5, TimeUnit.SECONDS)).isTrue();
+        waitFor(quitWhileCapturing);
+    }
+
+    @Test
+    void interruptsATimedOutCrawl() throws InterruptedException {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch finished = new CountDownLatch(1);
+        Mockito.when(siteCrawlerService.crawl(anyString(), any(), any(), any(), anyLong())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(30_000);
+            } catch (InterruptedException ex) {
+                interrupted.set(true);
+            } finally {
+                finished.countDown();
+            }
+            return new SiteCrawlerService.CrawlResult(List.of(),
+                new EndpointAnalysisPayload.CrawlSummary(0, 0, 0, 0, true));
+        });
+        Mockito.when(webDriverProvisioner.newChromeDriver(any()))
+            .thenThrow(new IllegalStateException("chromedriver unavailable"));
+
+        EndpointAnalysisResult result = service(60_000).performAnalysis(project, base, new CrawlOptions(1, 10));
+
+        assertThat(result.getErrorDetails()).contains("Site crawl timed out").contains("Network capture failed");
+        assertThat(result.getFileDiscoveryCount()).isEqualTo(4);
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isTrue();
+    }
+
+    private EndpointAnalysisService service(long networkTimeoutMs) {
+        EndpointAnalysisResultRepository repository = Mockito.mock(EndpointAnalysisResultRepository.class);
+        Mockito.when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return new EndpointAnalysisService(repository, new JsonParserUtil(), siteCrawlerService, waitEngine,
+            webDriverProvisioner, executor, 5_000, 5_000, networkTimeoutMs, 300);
+    }
+
+    private static void waitFor(AtomicBoolean flag) throws InterruptedException {
+        for (int i = 0; i < 100 && !flag.get(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(flag).isTrue();
+    }
+}
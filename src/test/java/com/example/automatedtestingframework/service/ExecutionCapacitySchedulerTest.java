@@ -0,0 +1,68 @@
+package com.example.automatedtestingframework.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExecutionCapacitySchedulerTest {
+
+    private static final long MB = 1024L * 1024L;
+
+    @TempDir
+    Path proc;
+
+    @TempDir
+    Path cgroup;
+
+    @Test
+    void countsReclaimablePageCacheAsAvailable() throws IOException {
+        meminfo(4096);
+        Files.writeString(cgroup.resolve("memory.max"), String.valueOf(2048 * MB));
+        Files.writeString(cgroup.resolve("memory.current"), String.valueOf(1800 * MB));
+        Files.writeString(cgroup.resolve("memory.stat"), "anon 734003200\ninactive_file " + 1000 * MB + "\n");
+
+        ExecutionCapacityScheduler scheduler = scheduler();
+
+        assertThat(scheduler.availableMemory()).hasValue(1248 * MB);
+        assertThat(scheduler.browserFits()).isTrue();
+    }
+
+    @Test
+    void holdsBrowsersBackWhenTheContainerWorkingSetIsNearItsLimit() throws IOException {
+        meminfo(4096);
+        Files.writeString(cgroup.resolve("memory.max"), String.valueOf(1024 * MB));
+        Files.writeString(cgroup.resolve("memory.current"), String.valueOf(900 * MB));
+        Files.writeString(cgroup.resolve("memory.stat"), "inactive_file 0\n");
+
+        assertThat(scheduler().browserFits()).isFalse();
+    }
+
+    @Test
+    void fallsBackToMemAvailableWithoutAContainerLimit() throws IOException {
+        meminfo(512);
+        Files.writeString(cgroup.resolve("memory.max"), "max\n");
+        Files.writeString(cgroup.resolve("memory.current"), String.valueOf(100 * MB));
+
+        ExecutionCapacityScheduler scheduler = scheduler();
+
+        assertThat(scheduler.availableMemory()).hasValue(512 * MB);
+        assertThat(scheduler.browserFits()).isFalse();
+    }
+
+    private void meminfo(long availableMb) throws IOException {
+        Files.writeString(proc.resolve("meminfo"), """
+            MemTotal:       16384000 kB
+            MemFree:          204800 kB
+            MemAvailable:   %d kB
+            """.formatted(availableMb * 1024));
+    }
+
+    private ExecutionCapacityScheduler scheduler() {
+        return new ExecutionCapacityScheduler(0, 2, 700, 1024, 0.75, proc, cgroup);
+    }
+}
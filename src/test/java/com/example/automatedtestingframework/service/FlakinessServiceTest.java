@@ -0,0 +1,125 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.Report;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.repository.ReportRepository;
+import com.example.automatedtestingframework.repository.TestCaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+class FlakinessServiceTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    private ReportRepository reportRepository;
+    private TestCaseRepository testCaseRepository;
+    private FlakinessService service;
+    private TestCase testCase;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = Mockito.mock(ReportRepository.class);
+        testCaseRepository = Mockito.mock(TestCaseRepository.class);
+        service = new FlakinessService(reportRepository, testCaseRepository, 20, 6, 0.3, 3);
+        testCase = new TestCase();
+        testCase.setId(7L);
+    }
+
+    @Test
+    void countsFlipsBetweenConsecutiveRunsAndPassesThatNeededARetry() {
+        FlakinessService.Score score = FlakinessService.score(reports("P", "F", "F", "P2", "P", "F"));
+
+        assertThat(score.runs()).isEqualTo(6);
+        assertThat(score.flips()).isEqualTo(3);
+        assertThat(score.retriedPasses()).isEqualTo(1);
+        assertThat(score.rate()).isEqualTo(4 / 6.0);
+    }
+
+    @Test
+    void steadyFailuresAreNotFlaky() {
+        FlakinessService.Score score = FlakinessService.score(reports("F", "F", "F", "F", "F", "F"));
+
+        assertThat(score.rate()).isZero();
+    }
+
+    @Test
+    void quarantinesOnceEnoughRunsAreFlaky() {
+        history("P", "F", "P", "F", "P", "P");
+
+        service.evaluate(testCase);
+
+        assertThat(testCase.isQuarantined()).isTrue();
+        assertThat(testCase.getQuarantineReason()).contains("Flipped 4 times").contains("last 6 runs");
+        Mockito.verify(testCaseRepository).updateQuarantine(eq(7L), eq(true), any(), any());
+    }
+
+    @Test
+    void doesNotJudgeCasesWithFewerRunsThanTheMinimum() {
+        history("P", "F", "P", "F", "P");
+
+        service.evaluate(testCase);
+
+        assertThat(testCase.isQuarantined()).isFalse();
+        Mockito.verify(testCaseRepository, Mockito.never()).updateQuarantine(anyLong(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void stableStreakStopsAtAFailureOrARetriedPass() {
+        assertThat(FlakinessService.stableStreak(reports("P", "P", "F", "P"))).isEqualTo(2);
+        assertThat(FlakinessService.stableStreak(reports("P", "P2", "P", "P"))).isEqualTo(1);
+        assertThat(FlakinessService.stableStreak(reports("F", "P", "P", "P"))).isZero();
+    }
+
+    @Test
+    void releasesAfterAStreakOfFirstAttemptPasses() {
+        testCase.setQuarantined(true);
+        history("P", "P", "P", "F", "P", "F");
+
+        service.evaluate(testCase);
+
+        assertThat(testCase.isQuarantined()).isFalse();
+        assertThat(testCase.getQuarantinedAt()).isNull();
+        Mockito.verify(testCaseRepository).updateQuarantine(7L, false, null, null);
+    }
+
+    @Test
+    void keepsQuarantineWhileTheStreakIsTooShort() {
+        testCase.setQuarantined(true);
+        history("P", "P", "P2", "P", "P", "P");
+
+        service.evaluate(testCase);
+
+        assertThat(testCase.isQuarantined()).isTrue();
+        Mockito.verify(testCaseRepository, Mockito.never()).updateQuarantine(anyLong(), anyBoolean(), any(), any());
+    }
+
+    private void history(String... outcomes) {
+        Mockito.when(reportRepository.findRecentOutcomes(eq(7L), any())).thenReturn(reports(outcomes));
+    }
+
+    /**
+     * Newest first; "P" passed on the first attempt, "P2" passed on the second, "F" failed.
+     */
+    private static List<Report> reports(String... outcomes) {
+        List<Report> reports = new ArrayList<>();
+        for (String outcome : outcomes) {
+            Report report = new Report();
+            report.setStatus(outcome.startsWith("P") ? "PASSED" : "FAILED");
+            report.setAttempts(outcome.equals("P2") ? 2 : 1);
+            reports.add(report);
+        }
+        return reports;
+    }
+}
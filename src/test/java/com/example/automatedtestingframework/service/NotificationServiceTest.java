@@ -0,0 +1,115 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.NotificationOutbox;
+import com.example.automatedtestingframework.model.NotificationStatus;
+import com.example.automatedtestingframework.repository.NotificationOutboxRepository;
+import com.example.automatedtestingframework.repository.ProjectRepository;
+import com.example.automatedtestingframework.repository.ReportRepository;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+
+class NotificationServiceTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    private NotificationOutboxRepository outboxRepository;
+    private ProjectRepository projectRepository;
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setup() {
+        outboxRepository = Mockito.mock(NotificationOutboxRepository.class);
+        projectRepository = Mockito.mock(ProjectRepository.class);
+        notificationService = new NotificationService(outboxRepository, projectRepository,
+            Mockito.mock(ReportRepository.class), new JsonParserUtil(),
+            "no-reply@example.com", "Automation", "key", 300, 3, 30, "http://localhost:5000", 10, 500);
+        Mockito.when(outboxRepository.findProjectsDue(eq(NotificationStatus.PENDING), any())).thenReturn(List.of(1L));
+    }
+
+    @Test
+    void holdsRunsFinishedInsideTheDigestWindow() {
+        NotificationOutbox lastSent = new NotificationOutbox();
+        lastSent.setSentAt(OffsetDateTime.now().minusMinutes(1));
+        Mockito.when(outboxRepository.findTopByProjectIdAndStatusOrderBySentAtDesc(1L, NotificationStatus.SENT))
+            .thenReturn(Optional.of(lastSent));
+
+        notificationService.dispatchPending();
+
+        Mockito.verify(outboxRepository, Mockito.never()).findDue(anyLong(), any(), any());
+    }
+
+    @Test
+    void failedDeliveryBacksOffThenGivesUp() {
+        NotificationOutbox first = pending();
+        NotificationOutbox second = pending();
+        second.setAttempts(2);
+        Mockito.when(outboxRepository.findTopByProjectIdAndStatusOrderBySentAtDesc(1L, NotificationStatus.SENT))
+            .thenReturn(Optional.empty());
+        Mockito.when(outboxRepository.findDue(eq(1L), eq(NotificationStatus.PENDING), any()))
+            .thenReturn(List.of(first, second));
+
+        notificationService.dispatchPending();
+
+        Mockito.verify(outboxRepository).saveAll(List.of(first, second));
+        assertThat(first.getStatus()).isEqualTo(NotificationStatus.PENDING);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getNextAttemptAt()).isAfter(OffsetDateTime.now().plusSeconds(20));
+        assertThat(first.getLastError()).contains("No notification recipients");
+        assertThat(second.getStatus()).isEqualTo(NotificationStatus.FAILED);
+    }
+
+    @Test
+    void invalidRecipientsCountAsAFailedAttempt() {
+        NotificationOutbox event = pending();
+        Mockito.when(outboxRepository.findTopByProjectIdAndStatusOrderBySentAtDesc(1L, NotificationStatus.SENT))
+            .thenReturn(Optional.empty());
+        Mockito.when(outboxRepository.findDue(eq(1L), eq(NotificationStatus.PENDING), any()))
+            .thenReturn(List.of(event));
+        Mockito.when(projectRepository.findNotificationRecipients(1L)).thenReturn("not-an-address");
+
+        notificationService.dispatchPending();
+
+        Mockito.verify(outboxRepository).saveAll(List.of(event));
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).isNotBlank();
+        assertThat(event.getNextAttemptAt()).isAfter(OffsetDateTime.now());
+    }
+
+    @Test
+    void batchesOnlyRowsDueAtTheDispatchTime() {
+        Mockito.when(outboxRepository.findTopByProjectIdAndStatusOrderBySentAtDesc(1L, NotificationStatus.SENT))
+            .thenReturn(Optional.empty());
+        Mockito.when(outboxRepository.findDue(eq(1L), eq(NotificationStatus.PENDING), any())).thenReturn(List.of());
+
+        notificationService.dispatchPending();
+
+        ArgumentCaptor<OffsetDateTime> projectsDueAt = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<OffsetDateTime> rowsDueAt = ArgumentCaptor.forClass(OffsetDateTime.class);
+        Mockito.verify(outboxRepository).findProjectsDue(eq(NotificationStatus.PENDING), projectsDueAt.capture());
+        Mockito.verify(outboxRepository).findDue(eq(1L), eq(NotificationStatus.PENDING), rowsDueAt.capture());
+        assertThat(rowsDueAt.getValue()).isEqualTo(projectsDueAt.getValue());
+    }
+
+    private static NotificationOutbox pending() {
+        NotificationOutbox event = new NotificationOutbox();
+        event.setProjectId(1L);
+        event.setProjectName("Shop");
+        event.setStatus(NotificationStatus.PENDING);
+        event.setCreatedAt(OffsetDateTime.now());
+        event.setNextAttemptAt(OffsetDateTime.now());
+        event.setPayloadJson("{\"completedAt\":\"2026-01-01T00:00:00Z\",\"reportIds\":[]}");
+        return event;
+    }
+}
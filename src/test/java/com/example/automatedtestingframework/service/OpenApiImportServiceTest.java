@@ -0,0 +1,76 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.Project;
+import com.example.automatedtestingframework.model.TestCase;
+import com.example.automatedtestingframework.model.TestCaseType;
+import com.example.automatedtestingframework.repository.TestCaseBatchRepository;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenApiImportServiceTest {
+
+    private static final String SPEC = """
+        {
+          "openapi": "3.0.1",
+          "servers": [{"url": "/api/v1"}],
+          "paths": {
+            "/pets/{petId}": {
+              "parameters": [{"name": "petId", "in": "path", "required": true, "schema": {"type": "integer"}}],
+              "get": {
+                "operationId": "getPet",
+                "responses": {"404": {}, "200": {}}
+              }
+            },
+            "/pets": {
+              "post": {
+                "requestBody": {
+                  "content": {"application/json": {"schema": {"$ref": "#/components/schemas/Pet"}}}
+                },
+                "responses": {"201": {}}
+              }
+            }
+          },
+          "components": {
+            "schemas": {
+              "Pet": {"type": "object", "properties": {"name": {"type": "string", "example": "Rex"}, "age": {"type": "integer"}}}
+            }
+          }
+        }
+        """;
+
+    private JsonParserUtil jsonParserUtil;
+    private OpenApiImportService service;
+
+    @BeforeEach
+    void setup() {
+        jsonParserUtil = new JsonParserUtil();
+        service = new OpenApiImportService(jsonParserUtil, Mockito.mock(TestCaseBatchRepository.class));
+    }
+
+    @Test
+    void shouldGenerateOneApiCasePerOperation() {
+        Project project = new Project();
+        List<TestCase> cases = service.generateTestCases(project, jsonParserUtil.parse(SPEC), "https://shop.example.com/");
+
+        assertThat(cases).hasSize(2);
+        assertThat(cases).allMatch(tc -> tc.getType() == TestCaseType.API && tc.getProject() == project);
+
+        JsonNode getPet = jsonParserUtil.parse(cases.get(0).getDefinitionJson()).path("requests").get(0);
+        assertThat(cases.get(0).getName()).isEqualTo("getPet");
+        assertThat(getPet.path("url").asText()).isEqualTo("https://shop.example.com/api/v1/pets/1");
+        assertThat(getPet.path("expectedStatus").asInt()).isEqualTo(200);
+
+        JsonNode createPet = jsonParserUtil.parse(cases.get(1).getDefinitionJson()).path("requests").get(0);
+        assertThat(cases.get(1).getName()).isEqualTo("POST /pets");
+        assertThat(createPet.path("method").asText()).isEqualTo("POST");
+        assertThat(createPet.path("expectedStatus").asInt()).isEqualTo(201);
+        assertThat(jsonParserUtil.parse(createPet.path("body").asText()).path("name").asText()).isEqualTo("Rex");
+    }
+}
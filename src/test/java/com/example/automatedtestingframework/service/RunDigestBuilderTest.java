@@ -0,0 +1,38 @@
+package com.example.automatedtestingframework.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunDigestBuilderTest {
+
+    @Test
+    void signatureIgnoresVolatileDetails() {
+        assertThat(RunDigestBuilder.signature("Expected status 200 but was 503 for order 1842\n\tat line 7"))
+            .isEqualTo(RunDigestBuilder.signature("Expected status 200 but was 502 for order 77"))
+            .isEqualTo("Expected status <n> but was <n> for order <n>");
+        assertThat(RunDigestBuilder.signature("Session 3f2a9c1e-0b7d-4e11-9a55-0c1d2e3f4a5b expired"))
+            .isEqualTo("Session <uuid> expired");
+    }
+
+    @Test
+    void digestSizeDoesNotGrowWithFailureCount() {
+        String small = digest(20);
+        String large = digest(2000);
+
+        assertThat(large).contains("<td>2000</td>", "&lt;div id=", "View full results");
+        assertThat(large.length()).isLessThan(8_000).isLessThan(small.length() + 100);
+    }
+
+    private static String digest(int failures) {
+        RunDigestBuilder builder = new RunDigestBuilder("Shop", 5, 20);
+        builder.addRun(OffsetDateTime.now(), 0, failures, 0);
+        String padding = " x".repeat(10_000);
+        for (int i = 0; i < failures; i++) {
+            builder.addFailure("case-" + i, "Element <div id=" + i + "> not found" + padding);
+        }
+        return builder.build("http://localhost:5000/reports?projectId=1");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.model.Project;
+import com.example.automatedtestingframework.repository.ProjectRepository;
+import com.example.automatedtestingframework.repository.SchedulerJobRepository;
+import com.example.automatedtestingframework.repository.TestCaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+class SchedulingServiceTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    private final Queue<Runnable> submitted = new ArrayDeque<>();
+    private ProjectRepository projectRepository;
+    private TestCaseRepository testCaseRepository;
+    private RunRegistry runRegistry;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = Mockito.mock(ProjectRepository.class);
+        testCaseRepository = Mockito.mock(TestCaseRepository.class);
+        runRegistry = new RunRegistry();
+        project = new Project();
+        project.setId(1L);
+        project.setName("Shop");
+        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        Mockito.when(testCaseRepository.findByProject(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void triggersBeforeTheRunStartsAttachToIt() {
+        SchedulingService service = service("QUEUE_ONE");
+
+        SchedulingService.RunTrigger first = service.executeProjectAsync(1L, 2);
+        SchedulingService.RunTrigger second = service.executeProjectAsync(1L, 8);
+
+        assertThat(first.outcome()).isEqualTo(SchedulingService.RunTrigger.Outcome.STARTED);
+        assertThat(second.outcome()).isEqualTo(SchedulingService.RunTrigger.Outcome.ATTACHED);
+        assertThat(second.runId()).isEqualTo(first.runId());
+        assertThat(submitted).hasSize(1);
+    }
+
+    @Test
+    void triggersDuringARunShareOneFollowUp() {
+        SchedulingService service = service("QUEUE_ONE");
+        AtomicReference<List<SchedulingService.RunTrigger>> duringRun = new AtomicReference<>();
+        Mockito.when(projectRepository.findById(1L)).thenAnswer(invocation -> {
+            if (duringRun.get() == null) {
+                duringRun.set(List.of(service.executeProjectAsync(1L, 0), service.executeProjectAsync(1L, 4)));
+            }
+            return Optional.of(project);
+        });
+
+        SchedulingService.RunTrigger first = service.executeProjectAsync(1L, 0);
+        submitted.poll().run();
+
+        assertThat(duringRun.get()).extracting(SchedulingService.RunTrigger::outcome)
+            .containsExactly(SchedulingService.RunTrigger.Outcome.QUEUED, SchedulingService.RunTrigger.Outcome.QUEUED);
+        assertThat(duringRun.get()).extracting(SchedulingService.RunTrigger::runId).containsOnly(first.runId());
+        // The follow-up was submitted as the first run finished
+        assertThat(submitted).hasSize(1);
+        SchedulingService.RunTrigger afterFirst = service.executeProjectAsync(1L, 0);
+        assertThat(afterFirst.outcome()).isEqualTo(SchedulingService.RunTrigger.Outcome.ATTACHED);
+        assertThat(afterFirst.runId()).isNotEqualTo(first.runId());
+    }
+
+    @Test
+    void cancelledRunDoesNotAbsorbNewTriggers() {
+        SchedulingService service = service("QUEUE_ONE");
+
+        SchedulingService.RunTrigger first = service.executeProjectAsync(1L, 0);
+        runRegistry.find(first.runId()).orElseThrow().context().cancel("Cancelled by user");
+        SchedulingService.RunTrigger second = service.executeProjectAsync(1L, 0);
+
+        assertThat(second.outcome()).isEqualTo(SchedulingService.RunTrigger.Outcome.STARTED);
+        assertThat(second.runId()).isNotEqualTo(first.runId());
+        assertThat(submitted).hasSize(2);
+
+        // The cancelled run finishing must not release the slot the new run holds
+        submitted.poll().run();
+        assertThat(service.executeProjectAsync(1L, 0).runId()).isEqualTo(second.runId());
+    }
+
+    private SchedulingService service(String policy) {
+        return new SchedulingService(Mockito.mock(SchedulerJobRepository.class), testCaseRepository, projectRepository,
+            Mockito.mock(NotificationService.class), Mockito.mock(ApiTestExecutor.class), Mockito.mock(UiTestExecutor.class),
+            Mockito.mock(TaskScheduler.class), submitted::add, runRegistry,
+            Mockito.mock(ExecutionCapacityScheduler.class), 60, policy);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.repository.ReportRepository;
+import com.example.automatedtestingframework.storage.ArtifactStore;
+import io.imagekit.sdk.ImageKit;
+import io.imagekit.sdk.config.Configuration;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class ScreenshotServiceTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    @Test
+    void reencodesAndDownscalesScreenshots() throws Exception {
+        BufferedImage page = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = page.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 1920, 1080);
+        graphics.setColor(Color.RED);
+        graphics.fillRect(100, 100, 600, 300);
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(page, "png", png);
+
+        ScreenshotService.EncodedImage image = ScreenshotService.encode(png.toByteArray(), "webp", 0.7f, 1280);
+
+        assertThat(image.contentType()).isIn("image/jpeg", "image/webp");
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(image.bytes()));
+        if (decoded != null) {
+            assertThat(decoded.getWidth()).isEqualTo(1280);
+            assertThat(decoded.getHeight()).isEqualTo(720);
+        }
+    }
+
+    @Test
+    void keepsBytesThatAreNotAnImage() {
+        byte[] garbage = {1, 2, 3};
+
+        ScreenshotService.EncodedImage image = ScreenshotService.encode(garbage, "jpeg", 0.7f, 1280);
+
+        assertThat(image.bytes()).isSameAs(garbage);
+        assertThat(image.extension()).isEqualTo("png");
+    }
+
+    @Test
+    void retriesImageKitBeforeFallingBackToTheArtifactStore() throws Exception {
+        Configuration configuration = Mockito.mock(Configuration.class);
+        Mockito.when(configuration.getPrivateKey()).thenReturn("private");
+        Mockito.when(configuration.getPublicKey()).thenReturn("public");
+        Mockito.when(configuration.getUrlEndpoint()).thenReturn("https://ik.example.test");
+        ImageKit imageKit = Mockito.mock(ImageKit.class);
+        Mockito.when(imageKit.getConfig()).thenReturn(configuration);
+        Mockito.when(imageKit.upload(any())).thenThrow(new IllegalStateException("502 Bad Gateway"));
+        ArtifactStore artifactStore = Mockito.mock(ArtifactStore.class);
+        ArtifactStore.StoredArtifact stored = new ArtifactStore.StoredArtifact("shot", "shot", 3, false);
+        Mockito.when(artifactStore.store(any(byte[].class), anyString())).thenReturn(stored);
+        Mockito.when(artifactStore.url(stored)).thenReturn("/artifacts/shot.png");
+        ScreenshotService service = new ScreenshotService(imageKit, artifactStore, Mockito.mock(ReportRepository.class),
+            "/UI_Report", "png", 0.75f, 1280, 1, 4, 2);
+
+        assertThat(service.upload(new byte[] {1, 2, 3}, "shot")).isEqualTo("/artifacts/shot.png");
+        Mockito.verify(imageKit, Mockito.times(2)).upload(any());
+        Mockito.verify(artifactStore).store(any(byte[].class), anyString());
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.browser.SessionSnapshot;
+import com.example.automatedtestingframework.plan.SessionFixture;
+import com.example.automatedtestingframework.plan.TestPlanCompiler;
+import com.example.automatedtestingframework.repository.ProjectRepository;
+import com.example.automatedtestingframework.util.JsonParserUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionFixtureServiceTest {
+
+    static {
+        System.setProperty("net.bytebuddy.experimental", "true");
+    }
+
+    private static final String FIXTURES = """
+        {"login":{"steps":[{"action":"navigate","url":"https://app.example.com/login"}],"ttlSeconds":600}}
+        """;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private ProjectRepository projectRepository;
+    private SessionFixtureService service;
+    private WebDriver driver;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = Mockito.mock(ProjectRepository.class);
+        Mockito.when(projectRepository.findSessionFixturesJson(1L)).thenReturn(FIXTURES);
+        service = new SessionFixtureService(projectRepository, new TestPlanCompiler(new JsonParserUtil(), 10), clock);
+
+        driver = Mockito.mock(WebDriver.class, Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+        WebDriver.Options options = Mockito.mock(WebDriver.Options.class);
+        Mockito.when(driver.manage()).thenReturn(options);
+        Mockito.when(driver.getCurrentUrl()).thenReturn("https://app.example.com:8443/home");
+        Mockito.when(options.getCookies()).thenReturn(Set.of(new Cookie("sid", "abc")));
+        Mockito.when(((JavascriptExecutor) driver).executeScript(Mockito.anyString()))
+            .thenReturn(Map.of("token", "t0k"));
+    }
+
+    @Test
+    void restoresCapturedSessionUntilTtlPasses() {
+        SessionFixture login = service.fixture(1L, "login");
+        SessionSnapshot snapshot = service.capture(1L, login, driver);
+
+        assertThat(snapshot.origin()).isEqualTo("https://app.example.com:8443");
+        assertThat(snapshot.localStorage()).containsEntry("token", "t0k");
+        assertThat(service.snapshot(1L, login)).contains(snapshot);
+
+        clock.advance(Duration.ofMinutes(10));
+        assertThat(service.snapshot(1L, login)).isEmpty();
+    }
+
+    @Test
+    void expiresWithEarliestCookieAndOnDefinitionChange() {
+        Mockito.when(driver.manage().getCookies()).thenReturn(Set.of(
+            new Cookie("sid", "abc", "/", Date.from(clock.instant().plusSeconds(60)))));
+        SessionFixture login = service.fixture(1L, "login");
+        service.capture(1L, login, driver);
+
+        clock.advance(Duration.ofSeconds(59));
+        assertThat(service.snapshot(1L, login)).isPresent();
+
+        SessionFixture edited = service.parse(FIXTURES.replace("600", "900")).get("login");
+        assertThat(service.snapshot(1L, edited)).isEmpty();
+    }
+
+    @Test
+    void invalidatesOnlyTheSnapshotThatFailed() {
+        SessionFixture login = service.fixture(1L, "login");
+        SessionSnapshot first = service.capture(1L, login, driver);
+        SessionSnapshot second = service.capture(1L, login, driver);
+
+        service.invalidate(1L, "login", first);
+        assertThat(service.snapshot(1L, login)).contains(second);
+
+        service.invalidate(1L, "login", second);
+        assertThat(service.snapshot(1L, login)).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownFixture() {
+        assertThatThrownBy(() -> service.fixture(1L, "admin"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unknown session fixture 'admin'");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
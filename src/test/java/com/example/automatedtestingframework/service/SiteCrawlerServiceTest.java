@@ -0,0 +1,120 @@
+package com.example.automatedtestingframework.service;
+
+import com.example.automatedtestingframework.analysis.CrawlOptions;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SiteCrawlerServiceTest {
+
+    private final SiteCrawlerService crawler = new SiteCrawlerService("TestBot", 4, false, 100);
+    private HttpServer server;
+    private String base;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        page("/", "<a href='/fast'>fast</a><a href='/slow'>slow</a><form action='/search'></form>");
+        page("/fast", "<form action='/login' method='post'></form>");
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void returnsPagesCrawledBeforeTheDeadline() {
+        long started = System.nanoTime();
+        SiteCrawlerService.CrawlResult result = crawler.crawl(base + "/", null, null, new CrawlOptions(2, 50),
+            started + Duration.ofMillis(1_500).toNanos());
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(4));
+        assertThat(result.summary().truncated()).isTrue();
+        assertThat(result.summary().pagesVisited()).isEqualTo(2);
+        assertThat(result.findings()).isNotEmpty();
+    }
+
+    @Test
+    void honoursRobotsForTheStartUrl() {
+        SiteCrawlerService.CrawlResult result = crawler.crawl(base + "/", "User-agent: *\nDisallow: /\n", null,
+            new CrawlOptions(2, 50), System.nanoTime() + Duration.ofSeconds(10).toNanos());
+
+        assertThat(result.summary().pagesVisited()).isZero();
+        assertThat(result.summary().disallowedByRobots()).isEqualTo(1);
+        assertThat(result.findings()).isEmpty();
+    }
+
+    @Test
+    void seedsFromTheSitemapsListedInASitemapIndex() {
+        page("/catalog", "<form action='/cart'></form>");
+        page("/about", "");
+        xml("/sitemap-pages.xml", """
+            <urlset xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+              <url><loc>%s/catalog</loc></url>
+              <url><loc>%s/about</loc></url>
+            </urlset>
+            """.formatted(base, base));
+        String index = """
+            <sitemapindex xmlns="http://www.sitemaps.org/schemas/sitemap/0.9">
+              <sitemap><loc>%s/sitemap-pages.xml</loc></sitemap>
+              <sitemap><loc>https://elsewhere.example/sitemap.xml</loc></sitemap>
+            </sitemapindex>
+            """.formatted(base);
+
+        SiteCrawlerService.CrawlResult result = crawler.crawl(base + "/fast", null, index, new CrawlOptions(0, 50),
+            System.nanoTime() + Duration.ofSeconds(10).toNanos());
+
+        assertThat(result.summary().sitemapSeeds()).isEqualTo(2);
+        assertThat(result.summary().pagesVisited()).isEqualTo(3);
+    }
+
+    private void xml(String path, String body) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    private void page(String path, String body) {
+        server.createContext(path, exchange -> {
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            byte[] bytes = ("<html><body>" + body + "</body></html>").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.automatedtestingframework.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalArtifactStoreTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        LocalArtifactStore store = new LocalArtifactStore(root.toString());
+        byte[] csv = "id,status\n1,PASSED\n".getBytes(StandardCharsets.UTF_8);
+
+        ArtifactStore.StoredArtifact first = store.store(csv, "text/csv; charset=UTF-8");
+        ArtifactStore.StoredArtifact second = store.store(csv, "text/csv");
+
+        assertThat(first.key()).isEqualTo(second.key()).endsWith(".csv").startsWith(first.sha256());
+        assertThat(first.deduplicated()).isFalse();
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(store.url(first)).isEqualTo("/artifacts/" + first.key());
+        assertThat(store.locate(first.key())).hasValueSatisfying(path ->
+            assertThat(path).hasBinaryContent(csv));
+        try (var files = Files.list(root.resolve("incoming"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectsKeysThatAreNotContentHashes() throws Exception {
+        LocalArtifactStore store = new LocalArtifactStore(root.toString());
+
+        assertThat(store.locate("../../etc/passwd")).isEmpty();
+        assertThat(store.locate("a".repeat(64) + ".png")).isEmpty();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.automatedtestingframework.traffic;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TrafficReplayTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRecordedResponsesInOrderWithoutTheLiveServer() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HttpServer live = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        live.createContext("/orders", exchange -> {
+            byte[] body = ("{\"call\":" + calls.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Order", "42");
+            exchange.sendResponseHeaders(201, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        live.start();
+        URI uri = URI.create("http://localhost:" + live.getAddress().getPort() + "/orders?region=eu");
+        byte[] payload = "{\"sku\":1}".getBytes(StandardCharsets.UTF_8);
+        HttpClient client = HttpClient.newHttpClient();
+        Path archive = directory.resolve("7.ndjson.gz");
+
+        try (TrafficSession recording = TrafficSession.recording(archive, 1024)) {
+            for (int i = 0; i < 2; i++) {
+                try (InputStream body = recording.send(client, post(uri, payload), payload).body()) {
+                    body.readAllBytes();
+                }
+            }
+        } finally {
+            live.stop(0);
+        }
+
+        try (TrafficSession replay = TrafficSession.replay(TrafficArchive.read(archive))) {
+            TrafficSession.Exchange first = replay.send(client, post(uri, payload), payload);
+            TrafficSession.Exchange second = replay.send(client, post(uri, payload), payload);
+
+            assertThat(first.statusCode()).isEqualTo(201);
+            assertThat(first.headers().firstValue("X-Order")).contains("42");
+            assertThat(new String(first.body().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"call\":1}");
+            assertThat(new String(second.body().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"call\":2}");
+
+            byte[] other = "{\"sku\":2}".getBytes(StandardCharsets.UTF_8);
+            assertThatThrownBy(() -> replay.send(client, post(uri, other), other))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("No recorded response for POST");
+        }
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void refusesToReplayABodyCutAtTheRecordingLimit() throws Exception {
+        HttpServer live = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        live.createContext("/report", exchange -> {
+            byte[] body = "0123456789".repeat(10).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        live.start();
+        URI uri = URI.create("http://localhost:" + live.getAddress().getPort() + "/report");
+        HttpClient client = HttpClient.newHttpClient();
+        Path archive = directory.resolve("8.ndjson.gz");
+
+        try (TrafficSession recording = TrafficSession.recording(archive, 16)) {
+            try (InputStream body = recording.send(client, HttpRequest.newBuilder(uri).build(), null).body()) {
+                assertThat(body.readAllBytes()).hasSize(100);
+            }
+        } finally {
+            live.stop(0);
+        }
+
+        assertThat(TrafficArchive.read(archive).values()).singleElement()
+            .satisfies(recordings -> assertThat(recordings.get(0).truncated()).isTrue());
+        try (TrafficSession replay = TrafficSession.replay(TrafficArchive.read(archive))) {
+            assertThatThrownBy(() -> replay.send(client, HttpRequest.newBuilder(uri).build(), null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("was cut at 16 bytes");
+        }
+    }
+
+    private static HttpRequest post(URI uri, byte[] body) {
+        return HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+    }
+}
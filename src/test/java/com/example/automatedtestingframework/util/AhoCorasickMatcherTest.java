@@ -0,0 +1,62 @@
+package com.example.automatedtestingframework.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void shouldFindOverlappingPatternsAcrossChunkBoundaries() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("he", "she", "hers", "\"id\":42", "café"));
+        AhoCorasickMatcher.Scan scan = matcher.newScan();
+        byte[] input = "ushers {\"id\":42} café".getBytes(StandardCharsets.UTF_8);
+
+        boolean done = false;
+        for (int offset = 0; offset < input.length; offset += 3) {
+            done = scan.feed(input, offset, Math.min(3, input.length - offset));
+        }
+
+        assertThat(done).isTrue();
+        assertThat(scan.missing()).isEmpty();
+    }
+
+    @Test
+    void shouldReportMissingPatternsAndStopEarly() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("alpha", "omega", ""));
+        AhoCorasickMatcher.Scan scan = matcher.newScan();
+        byte[] input = "alpha beta gamma".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(scan.feed(input, 0, input.length)).isFalse();
+        assertThat(scan.missing()).containsExactly("omega");
+        assertThat(scan.bytesScanned()).isEqualTo(input.length);
+
+        AhoCorasickMatcher.Scan second = matcher.newScan();
+        byte[] both = "omega alpha".getBytes(StandardCharsets.UTF_8);
+        assertThat(second.feed(both, 0, both.length)).isTrue();
+    }
+
+    @Test
+    void shouldAgreeWithSubstringSearchWhenFallingBackAlongFailureLinks() {
+        List<String> patterns = List.of("abab", "babc", "abc", "bca", "cab", "aab", "ca");
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(patterns);
+        Random random = new Random(7);
+
+        for (int round = 0; round < 200; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 12; i++) {
+                text.append((char) ('a' + random.nextInt(3)));
+            }
+            AhoCorasickMatcher.Scan scan = matcher.newScan();
+            byte[] input = text.toString().getBytes(StandardCharsets.UTF_8);
+            scan.feed(input, 0, input.length);
+
+            List<String> expected = patterns.stream().filter(pattern -> !text.toString().contains(pattern)).toList();
+            assertThat(scan.missing()).as(text.toString()).isEqualTo(expected);
+        }
+    }
+}
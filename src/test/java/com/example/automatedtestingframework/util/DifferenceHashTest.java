@@ -0,0 +1,35 @@
+package com.example.automatedtestingframework.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DifferenceHashTest {
+
+    @Test
+    void nearIdenticalFramesHashCloseAndDifferentPagesDoNot() {
+        long page = DifferenceHash.of(page(Color.BLUE, 200, 0));
+        long sameWithCaret = DifferenceHash.of(page(Color.BLUE, 200, 1));
+        long otherPage = DifferenceHash.of(page(Color.BLUE, 1200, 0));
+
+        assertThat(DifferenceHash.distance(page, sameWithCaret)).isLessThanOrEqualTo(3);
+        assertThat(DifferenceHash.distance(page, otherPage)).isGreaterThan(3);
+    }
+
+    private static BufferedImage page(Color accent, int bannerX, int caretX) {
+        BufferedImage image = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 1280, 720);
+        graphics.setColor(accent);
+        graphics.fillRect(bannerX - 200, 0, 400, 720);
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(640 + caretX, 360, 1, 14);
+        graphics.dispose();
+        return image;
+    }
+}